@@ -0,0 +1,332 @@
+package org.bouncycastle.asn1;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A general purpose ASN.1 decoder which works directly over a {@link ByteBuffer} - heap, direct or
+ * memory-mapped. Unlike {@link ASN1InputStream}, the contents of definite-length constructed objects
+ * are never copied into intermediate arrays: nested elements are decoded from slices of the source
+ * buffer, and with lazy evaluation (the default) a SEQUENCE is returned as a view over its slice that
+ * is only parsed, and its primitives materialized, when its elements are first accessed.
+ * <p>
+ * As with ASN1InputStream, {@link #readObject()} returns null after the last object in the buffer
+ * has been read.
+ * </p>
+ * <p>
+ * Note: the reader works on its own view of the buffer passed in, so the position of the original
+ * buffer is not changed. Objects returned by a lazy reader may continue to reference the source
+ * buffer, which must not be modified while they are in use.
+ * </p>
+ */
+public class ASN1ByteBufferReader
+    implements BERTags
+{
+    private final ByteBuffer buf;
+    private final InputStream in;
+    private final boolean lazyEvaluate;
+    private final byte[][] tmpBuffers;
+
+    /**
+     * Create a reader over the remaining content of the passed in buffer, with constructed objects
+     * such as sequences parsed lazily.
+     *
+     * @param input buffer containing ASN.1 encoded data.
+     */
+    public ASN1ByteBufferReader(ByteBuffer input)
+    {
+        this(input, true);
+    }
+
+    /**
+     * Create a reader over the remaining content of the passed in buffer.
+     *
+     * @param input buffer containing ASN.1 encoded data.
+     * @param lazyEvaluate true if parsing inside constructed objects can be delayed.
+     */
+    public ASN1ByteBufferReader(ByteBuffer input, boolean lazyEvaluate)
+    {
+        this(input.slice(), lazyEvaluate, new byte[11][]);
+    }
+
+    private ASN1ByteBufferReader(ByteBuffer buf, boolean lazyEvaluate, byte[][] tmpBuffers)
+    {
+        this.buf = buf;
+        this.in = new BufferInputStream(buf);
+        this.lazyEvaluate = lazyEvaluate;
+        this.tmpBuffers = tmpBuffers;
+    }
+
+    /**
+     * Return true if there is further data to be read.
+     *
+     * @return true if not all the input has been consumed, false otherwise.
+     */
+    public boolean hasRemaining()
+    {
+        return buf.hasRemaining();
+    }
+
+    /**
+     * Return the complete encoding (tag, length and contents) of the next object as a slice of the
+     * source buffer, without decoding its contents.
+     *
+     * @return a read-only view of the next object's encoding, null if the input is exhausted.
+     * @throws IOException if the encoding is malformed or truncated.
+     */
+    public ByteBuffer readEncoding()
+        throws IOException
+    {
+        if (!buf.hasRemaining())
+        {
+            return null;
+        }
+
+        int start = buf.position();
+        int tag = readTag();
+        readTagNumber(tag);
+        int length = readLength();
+
+        if (length >= 0)
+        {
+            setPosition(buf, buf.position() + length);
+        }
+        else
+        {
+            setPosition(buf, start);
+            readIndefinite();
+        }
+
+        return slice(buf, start, buf.position() - start).asReadOnlyBuffer();
+    }
+
+    public ASN1Primitive readObject()
+        throws IOException
+    {
+        if (!buf.hasRemaining())
+        {
+            return null;
+        }
+
+        int start = buf.position();
+        int tag = readTag();
+        int tagNo = readTagNumber(tag);
+        int length = readLength();
+
+        if (length >= 0)
+        {
+            // definite-length
+            try
+            {
+                return buildObject(tag, tagNo, length);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new ASN1Exception("corrupted stream detected", e);
+            }
+        }
+
+        // indefinite-length
+        if (0 == (tag & CONSTRUCTED))
+        {
+            throw new IOException("indefinite-length primitive encoding encountered");
+        }
+
+        setPosition(buf, start);
+        return readIndefinite();
+    }
+
+    ASN1EncodableVector readVector()
+        throws IOException
+    {
+        ASN1Primitive p = readObject();
+        if (null == p)
+        {
+            return new ASN1EncodableVector(0);
+        }
+
+        ASN1EncodableVector v = new ASN1EncodableVector();
+        do
+        {
+            v.add(p);
+        }
+        while ((p = readObject()) != null);
+        return v;
+    }
+
+    private ASN1Primitive buildObject(int tag, int tagNo, int length)
+        throws IOException
+    {
+        if (0 == (tag & FLAGS))
+        {
+            // primitive contents are copied exactly once, into the returned object
+            DefiniteLengthInputStream defIn = new DefiniteLengthInputStream(in, length, buf.limit());
+
+            return ASN1InputStream.createPrimitiveDERObject(tagNo, defIn, tmpBuffers);
+        }
+
+        int start = buf.position();
+        ByteBuffer contents = slice(buf, start, length);
+        setPosition(buf, start + length);
+
+        int tagClass = tag & PRIVATE;
+        if (0 != tagClass)
+        {
+            if (0 == (tag & CONSTRUCTED))
+            {
+                return ASN1TaggedObject.createPrimitive(tagClass, tagNo, toByteArray(contents));
+            }
+
+            return ASN1TaggedObject.createConstructedDL(tagClass, tagNo, readVector(contents));
+        }
+
+        switch (tagNo)
+        {
+        case BIT_STRING:
+            return ASN1InputStream.buildConstructedBitString(readVector(contents));
+        case OCTET_STRING:
+            return ASN1InputStream.buildConstructedOctetString(readVector(contents));
+        case SEQUENCE:
+        {
+            if (length < 1)
+            {
+                return DLFactory.EMPTY_SEQUENCE;
+            }
+            else if (lazyEvaluate)
+            {
+                return new LazyBufferSequence(contents);
+            }
+            else
+            {
+                return DLFactory.createSequence(readVector(contents));
+            }
+        }
+        case SET:
+            return DLFactory.createSet(readVector(contents));
+        case EXTERNAL:
+            return DLFactory.createSequence(readVector(contents)).toASN1External();
+        default:
+            throw new IOException("unknown tag " + tagNo + " encountered");
+        }
+    }
+
+    private ASN1Primitive readIndefinite()
+        throws IOException
+    {
+        // BER indefinite-length encodings are rare in bulk data, so defer to the stream parser
+        ASN1InputStream aIn = new ASN1InputStream(in, buf.remaining(), lazyEvaluate);
+
+        return aIn.readObject();
+    }
+
+    private ASN1EncodableVector readVector(ByteBuffer contents)
+        throws IOException
+    {
+        if (!contents.hasRemaining())
+        {
+            return new ASN1EncodableVector(0);
+        }
+
+        return new ASN1ByteBufferReader(contents, lazyEvaluate, tmpBuffers).readVector();
+    }
+
+    private int readTag()
+        throws IOException
+    {
+        int tag = buf.get() & 0xFF;
+        if (tag == 0)
+        {
+            throw new IOException("unexpected end-of-contents marker");
+        }
+        return tag;
+    }
+
+    private int readTagNumber(int tag)
+        throws IOException
+    {
+        return ASN1InputStream.readTagNumber(in, tag);
+    }
+
+    private int readLength()
+        throws IOException
+    {
+        int length = ASN1InputStream.readLength(in, buf.limit(), false);
+
+        int remaining = buf.remaining();
+        if (length > remaining)
+        {
+            throw new EOFException("DEF length " + length + " object truncated by " + (length - remaining));
+        }
+
+        return length;
+    }
+
+    static ByteBuffer slice(ByteBuffer buf, int off, int len)
+    {
+        ByteBuffer dup = buf.duplicate();
+        ((Buffer)dup).limit(off + len);
+        ((Buffer)dup).position(off);
+        return dup.slice();
+    }
+
+    static byte[] toByteArray(ByteBuffer buf)
+    {
+        byte[] bytes = new byte[buf.remaining()];
+        buf.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static void setPosition(ByteBuffer buf, int position)
+    {
+        ((Buffer)buf).position(position);
+    }
+
+    private static class BufferInputStream
+        extends InputStream
+    {
+        private final ByteBuffer buf;
+
+        BufferInputStream(ByteBuffer buf)
+        {
+            this.buf = buf;
+        }
+
+        public int available()
+        {
+            return buf.remaining();
+        }
+
+        public int read()
+        {
+            if (!buf.hasRemaining())
+            {
+                return -1;
+            }
+
+            return buf.get() & 0xFF;
+        }
+
+        public int read(byte[] b, int off, int len)
+        {
+            int remaining = buf.remaining();
+            if (remaining < 1)
+            {
+                return len == 0 ? 0 : -1;
+            }
+
+            int count = Math.min(len, remaining);
+            buf.get(b, off, count);
+            return count;
+        }
+
+        public long skip(long n)
+        {
+            int count = (int)Math.max(0, Math.min(n, buf.remaining()));
+            setPosition(buf, buf.position() + count);
+            return count;
+        }
+    }
+}
@@ -247,7 +247,7 @@ public ASN1Primitive readObject()
         }
     }
 
-    ASN1BitString buildConstructedBitString(ASN1EncodableVector contentsElements) throws IOException
+    static ASN1BitString buildConstructedBitString(ASN1EncodableVector contentsElements) throws IOException
     {
         ASN1BitString[] strings = new ASN1BitString[contentsElements.size()];
 
@@ -269,7 +269,7 @@ ASN1BitString buildConstructedBitString(ASN1EncodableVector contentsElements) th
         return new BERBitString(strings);
     }
 
-    ASN1OctetString buildConstructedOctetString(ASN1EncodableVector contentsElements) throws IOException
+    static ASN1OctetString buildConstructedOctetString(ASN1EncodableVector contentsElements) throws IOException
     {
         ASN1OctetString[] strings = new ASN1OctetString[contentsElements.size()];
 
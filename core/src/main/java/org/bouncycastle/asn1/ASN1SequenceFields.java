@@ -0,0 +1,113 @@
+package org.bouncycastle.asn1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The fields of a SEQUENCE as located by an {@link ASN1SequenceLayout}. Fields are held as offsets into
+ * the source encoding and are only turned into buffers or ASN.1 objects on request.
+ */
+public class ASN1SequenceFields
+{
+    private final ByteBuffer encoding;
+    private final int[] offsets;
+
+    ASN1SequenceFields(ByteBuffer encoding, int[] offsets)
+    {
+        this.encoding = encoding;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Return the number of fields in the layout used to decode the SEQUENCE.
+     *
+     * @return the field count.
+     */
+    public int size()
+    {
+        return offsets.length / 3;
+    }
+
+    /**
+     * Return whether a field is present.
+     *
+     * @param index the index of the field in the layout.
+     * @return true if the field was present in the encoding, false otherwise.
+     */
+    public boolean isPresent(int index)
+    {
+        return offsets[3 * index] >= 0;
+    }
+
+    /**
+     * Return the identifier octet of a field, from which the tag class and constructed flag can be read.
+     *
+     * @param index the index of the field in the layout.
+     * @return the first octet of the field's encoding, or -1 if the field is absent.
+     */
+    public int getIdentifier(int index)
+    {
+        int start = offsets[3 * index];
+        if (start < 0)
+        {
+            return -1;
+        }
+
+        return encoding.get(start) & 0xFF;
+    }
+
+    /**
+     * Return the complete encoding (tag, length and contents) of a field.
+     *
+     * @param index the index of the field in the layout.
+     * @return a read-only view of the encoding, or null if the field is absent.
+     */
+    public ByteBuffer getEncoding(int index)
+    {
+        int start = offsets[3 * index];
+        if (start < 0)
+        {
+            return null;
+        }
+
+        return ASN1ByteBufferReader.slice(encoding, start, offsets[3 * index + 2] - start).asReadOnlyBuffer();
+    }
+
+    /**
+     * Return the contents octets of a field.
+     *
+     * @param index the index of the field in the layout.
+     * @return a read-only view of the contents, or null if the field is absent.
+     */
+    public ByteBuffer getContents(int index)
+    {
+        int start = offsets[3 * index];
+        if (start < 0)
+        {
+            return null;
+        }
+
+        int contentsStart = offsets[3 * index + 1];
+        return ASN1ByteBufferReader.slice(encoding, contentsStart, offsets[3 * index + 2] - contentsStart)
+            .asReadOnlyBuffer();
+    }
+
+    /**
+     * Return a field as an ASN.1 object. Constructed fields are parsed lazily.
+     *
+     * @param index the index of the field in the layout.
+     * @return the field's ASN.1 object, or null if the field is absent.
+     * @throws IOException if the field's encoding is malformed.
+     */
+    public ASN1Primitive getObject(int index)
+        throws IOException
+    {
+        ByteBuffer enc = getEncoding(index);
+        if (null == enc)
+        {
+            return null;
+        }
+
+        return new ASN1ByteBufferReader(enc, true).readObject();
+    }
+}
@@ -0,0 +1,400 @@
+package org.bouncycastle.asn1;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A table-driven description of the fields of a DER encoded SEQUENCE. A layout can be used to split an
+ * encoding into its fields in a single pass over the input, recording only the offsets of each field,
+ * so individual fields can be examined or materialized without building the generic ASN.1 object tree
+ * for the whole structure. In the other direction, a SEQUENCE can be assembled from the encodings of
+ * its fields, checked against the layout, with a single copy of each field.
+ * <p>
+ * A field is described by its tag class and tag number (for example {@link BERTags#UNIVERSAL} and
+ * {@link BERTags#INTEGER}, or {@link BERTags#CONTEXT_SPECIFIC} and 0), whether it is OPTIONAL, or as
+ * matching any tag, which is used for untagged CHOICE fields.
+ * </p>
+ */
+public class ASN1SequenceLayout
+{
+    static final int ANY_TAG = -1;
+
+    /**
+     * Builder for sequence layouts. Fields are added in the order they appear in the SEQUENCE.
+     */
+    public static class Builder
+    {
+        private int[] tagClasses = new int[8];
+        private int[] tagNos = new int[8];
+        private boolean[] optional = new boolean[8];
+        private int count = 0;
+
+        /**
+         * Add a mandatory field.
+         *
+         * @param tagClass the tag class of the field.
+         * @param tagNo the tag number of the field.
+         * @return the current builder.
+         */
+        public Builder addField(int tagClass, int tagNo)
+        {
+            return add(tagClass, tagNo, false);
+        }
+
+        /**
+         * Add an OPTIONAL field.
+         *
+         * @param tagClass the tag class of the field.
+         * @param tagNo the tag number of the field.
+         * @return the current builder.
+         */
+        public Builder addOptionalField(int tagClass, int tagNo)
+        {
+            return add(tagClass, tagNo, true);
+        }
+
+        /**
+         * Add a mandatory field which will match any tag, such as an untagged CHOICE.
+         *
+         * @return the current builder.
+         */
+        public Builder addAnyField()
+        {
+            return add(ANY_TAG, ANY_TAG, false);
+        }
+
+        public ASN1SequenceLayout build()
+        {
+            int[] classes = new int[count];
+            int[] numbers = new int[count];
+            boolean[] opts = new boolean[count];
+
+            System.arraycopy(tagClasses, 0, classes, 0, count);
+            System.arraycopy(tagNos, 0, numbers, 0, count);
+            System.arraycopy(optional, 0, opts, 0, count);
+
+            return new ASN1SequenceLayout(classes, numbers, opts);
+        }
+
+        private Builder add(int tagClass, int tagNo, boolean isOptional)
+        {
+            if (tagClass != ANY_TAG && (tagClass & ~BERTags.PRIVATE) != 0)
+            {
+                throw new IllegalArgumentException("invalid tag class: " + tagClass);
+            }
+
+            if (count == tagNos.length)
+            {
+                tagClasses = grow(tagClasses);
+                tagNos = grow(tagNos);
+
+                boolean[] tmp = new boolean[count * 2];
+                System.arraycopy(optional, 0, tmp, 0, count);
+                optional = tmp;
+            }
+
+            tagClasses[count] = tagClass;
+            tagNos[count] = tagNo;
+            optional[count] = isOptional;
+            ++count;
+
+            return this;
+        }
+
+        private static int[] grow(int[] a)
+        {
+            int[] tmp = new int[a.length * 2];
+            System.arraycopy(a, 0, tmp, 0, a.length);
+            return tmp;
+        }
+    }
+
+    private final int[] tagClasses;
+    private final int[] tagNos;
+    private final boolean[] optional;
+
+    private ASN1SequenceLayout(int[] tagClasses, int[] tagNos, boolean[] optional)
+    {
+        this.tagClasses = tagClasses;
+        this.tagNos = tagNos;
+        this.optional = optional;
+    }
+
+    /**
+     * Return the number of fields in the layout.
+     *
+     * @return the field count.
+     */
+    public int getFieldCount()
+    {
+        return tagNos.length;
+    }
+
+    /**
+     * Split a complete DER encoding of a SEQUENCE of this layout into its fields.
+     *
+     * @param encoding array containing the SEQUENCE encoding.
+     * @return the fields found.
+     * @throws IOException if the encoding is malformed or does not match the layout.
+     */
+    public ASN1SequenceFields decode(byte[] encoding)
+        throws IOException
+    {
+        return decode(ByteBuffer.wrap(encoding));
+    }
+
+    /**
+     * Split the DER encoding of a SEQUENCE of this layout, found at the current position of the passed in
+     * buffer, into its fields. The position of the buffer is not changed.
+     *
+     * @param encoding buffer containing the SEQUENCE encoding.
+     * @return the fields found, referencing the passed in buffer.
+     * @throws IOException if the encoding is malformed or does not match the layout.
+     */
+    public ASN1SequenceFields decode(ByteBuffer encoding)
+        throws IOException
+    {
+        ByteBuffer buf = encoding.slice();
+        int[] header = new int[4];
+
+        int pos = readHeader(buf, 0, buf.limit(), header);
+        if (header[0] != BERTags.UNIVERSAL || header[1] != BERTags.SEQUENCE || header[2] == 0)
+        {
+            throw new IOException("SEQUENCE expected");
+        }
+
+        int end = pos + header[3];
+        int count = tagNos.length;
+        int[] offsets = new int[count * 3];
+
+        for (int i = 0; i < count; ++i)
+        {
+            if (pos < end)
+            {
+                int contentsPos = readHeader(buf, pos, end, header);
+                if (matches(i, header[0], header[1]))
+                {
+                    offsets[3 * i] = pos;
+                    offsets[3 * i + 1] = contentsPos;
+                    offsets[3 * i + 2] = contentsPos + header[3];
+
+                    pos = contentsPos + header[3];
+                    continue;
+                }
+            }
+
+            if (!optional[i])
+            {
+                throw new IOException(pos < end
+                    ? "unexpected tag [" + header[0] + ":" + header[1] + "] for field " + i
+                    : "missing field " + i);
+            }
+
+            offsets[3 * i] = -1;
+        }
+
+        if (pos != end)
+        {
+            throw new IOException("unexpected trailing element in SEQUENCE");
+        }
+
+        return new ASN1SequenceFields(ASN1ByteBufferReader.slice(buf, 0, end), offsets);
+    }
+
+    /**
+     * Encode a SEQUENCE of this layout from the complete DER encodings of its fields - the reverse of
+     * {@link #decode(byte[])}.
+     *
+     * @param fields the encoding of each field, in layout order, with null for an absent OPTIONAL field.
+     * @return the DER encoding of the SEQUENCE.
+     * @throws IOException if a field is malformed or does not match the layout.
+     */
+    public byte[] encode(byte[][] fields)
+        throws IOException
+    {
+        ByteBuffer[] bufs = new ByteBuffer[fields.length];
+        for (int i = 0; i < fields.length; ++i)
+        {
+            bufs[i] = fields[i] == null ? null : ByteBuffer.wrap(fields[i]);
+        }
+
+        return encode(bufs);
+    }
+
+    /**
+     * Encode a SEQUENCE of this layout from the complete DER encodings of its fields, each taken from the
+     * current position to the limit of its buffer, whose position is not changed. The buffers returned by
+     * {@link ASN1SequenceFields#getEncoding(int)} can be passed straight back in, so a structure can be
+     * re-encoded with some fields replaced without building its object tree.
+     *
+     * @param fields the encoding of each field, in layout order, with null for an absent OPTIONAL field.
+     * @return the DER encoding of the SEQUENCE.
+     * @throws IOException if a field is malformed or does not match the layout.
+     */
+    public byte[] encode(ByteBuffer[] fields)
+        throws IOException
+    {
+        int count = tagNos.length;
+        if (fields.length != count)
+        {
+            throw new IllegalArgumentException("layout has " + count + " fields, " + fields.length + " given");
+        }
+
+        int[] header = new int[4];
+        int contentsLength = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            ByteBuffer field = fields[i];
+            if (null == field)
+            {
+                if (!optional[i])
+                {
+                    throw new IOException("missing field " + i);
+                }
+                continue;
+            }
+
+            int start = field.position(), end = field.limit();
+            int contentsPos = readHeader(field, start, end, header);
+            if (!matches(i, header[0], header[1]))
+            {
+                throw new IOException("unexpected tag [" + header[0] + ":" + header[1] + "] for field " + i);
+            }
+            if (contentsPos + header[3] != end)
+            {
+                throw new IOException("field " + i + " is not a single element");
+            }
+
+            contentsLength += end - start;
+        }
+
+        byte[] encoding = new byte[1 + ASN1OutputStream.getLengthOfDL(contentsLength) + contentsLength];
+        encoding[0] = (byte)(BERTags.CONSTRUCTED | BERTags.SEQUENCE);
+
+        int pos = writeLength(contentsLength, encoding, 1);
+        for (int i = 0; i < count; ++i)
+        {
+            ByteBuffer field = fields[i];
+            if (null != field)
+            {
+                int len = field.remaining();
+                field.duplicate().get(encoding, pos, len);
+                pos += len;
+            }
+        }
+
+        return encoding;
+    }
+
+    private boolean matches(int field, int tagClass, int tagNo)
+    {
+        return tagClasses[field] == ANY_TAG || (tagClasses[field] == tagClass && tagNos[field] == tagNo);
+    }
+
+    private static int writeLength(int length, byte[] buf, int pos)
+    {
+        if (length < 128)
+        {
+            buf[pos++] = (byte)length;
+            return pos;
+        }
+
+        int count = ASN1OutputStream.getLengthOfDL(length) - 1;
+        buf[pos++] = (byte)(0x80 | count);
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8)
+        {
+            buf[pos++] = (byte)(length >>> shift);
+        }
+        return pos;
+    }
+
+    /**
+     * Read a DER TLV header at pos, returning the position of the contents. header receives the tag class,
+     * tag number, constructed flag and contents length.
+     */
+    private static int readHeader(ByteBuffer buf, int pos, int end, int[] header)
+        throws IOException
+    {
+        if (pos >= end)
+        {
+            throw new EOFException("EOF found when tag expected");
+        }
+
+        int tag = buf.get(pos++) & 0xFF;
+        int tagNo = tag & 0x1F;
+
+        if (tagNo == 0x1F)
+        {
+            tagNo = 0;
+
+            int b;
+            do
+            {
+                if (pos >= end)
+                {
+                    throw new EOFException("EOF found inside tag value.");
+                }
+                if ((tagNo >>> 24) != 0)
+                {
+                    throw new IOException("Tag number more than 31 bits");
+                }
+
+                b = buf.get(pos++) & 0xFF;
+                tagNo = (tagNo << 7) | (b & 0x7F);
+            }
+            while ((b & 0x80) != 0);
+
+            if (tagNo < 31)
+            {
+                throw new IOException("corrupted stream - high tag number < 31 found");
+            }
+        }
+
+        if (pos >= end)
+        {
+            throw new EOFException("EOF found when length expected");
+        }
+
+        int length = buf.get(pos++) & 0xFF;
+        if (length > 0x7F)
+        {
+            int octetsCount = length & 0x7F;
+            if (octetsCount == 0)
+            {
+                throw new IOException("indefinite-length encoding not allowed in DER");
+            }
+            if (octetsCount > 4)
+            {
+                throw new IOException("long form definite-length more than 31 bits");
+            }
+
+            length = 0;
+            while (octetsCount-- > 0)
+            {
+                if (pos >= end)
+                {
+                    throw new EOFException("EOF found reading length");
+                }
+                if ((length >>> 23) != 0)
+                {
+                    throw new IOException("long form definite-length more than 31 bits");
+                }
+                length = (length << 8) | (buf.get(pos++) & 0xFF);
+            }
+        }
+
+        if (length > end - pos)
+        {
+            throw new EOFException("DEF length " + length + " object truncated by " + (length - (end - pos)));
+        }
+
+        header[0] = tag & BERTags.PRIVATE;
+        header[1] = tagNo;
+        header[2] = tag & BERTags.CONSTRUCTED;
+        header[3] = length;
+
+        return pos;
+    }
+}
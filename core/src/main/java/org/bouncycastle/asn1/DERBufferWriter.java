@@ -0,0 +1,321 @@
+package org.bouncycastle.asn1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A reusable DER encoder writing into an internal, growable buffer, or directly into a caller supplied
+ * array or {@link ByteBuffer}.
+ * <p>
+ * The length of the complete encoding is calculated once before anything is written, which also caches
+ * the contents lengths of the constructed DER objects in the tree, so the output is produced in a single
+ * pass into a buffer of the right size. No intermediate streams or arrays are allocated per call, so a
+ * writer kept per thread (or per connection) can be used to encode large numbers of objects cheaply.
+ * </p>
+ * <p>
+ * Note: instances are not thread safe.
+ * </p>
+ */
+public class DERBufferWriter
+{
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final ArrayOutput output = new ArrayOutput();
+    private final DEROutputStream derOut = new DEROutputStream(output);
+
+    private byte[] buf;
+    private int length;
+
+    /**
+     * Create a writer with a default initial buffer.
+     */
+    public DERBufferWriter()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a writer with an initial buffer of the given size.
+     *
+     * @param initialCapacity the initial size of the internal buffer.
+     */
+    public DERBufferWriter(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("'initialCapacity' cannot be negative");
+        }
+
+        this.buf = new byte[initialCapacity];
+    }
+
+    /**
+     * Create a writer using the passed in array as its internal buffer. The array will be replaced by a
+     * larger one if an encoding does not fit.
+     *
+     * @param buffer the array to use as the initial internal buffer.
+     */
+    public DERBufferWriter(byte[] buffer)
+    {
+        if (null == buffer)
+        {
+            throw new NullPointerException("'buffer' cannot be null");
+        }
+
+        this.buf = buffer;
+    }
+
+    /**
+     * Return the DER encoded length of the passed in object.
+     *
+     * @param obj the object of interest.
+     * @return the length in bytes of the DER encoding of obj.
+     * @throws IOException if the object cannot be encoded.
+     */
+    public static int getEncodedLength(ASN1Encodable obj)
+        throws IOException
+    {
+        return obj.toASN1Primitive().toDERObject().encodedLength(true);
+    }
+
+    /**
+     * Encode the passed in object into the internal buffer, replacing any previous encoding.
+     *
+     * @param obj the object to encode.
+     * @return the length of the encoding.
+     * @throws IOException if the object cannot be encoded.
+     */
+    public int encode(ASN1Encodable obj)
+        throws IOException
+    {
+        ASN1Primitive der = obj.toASN1Primitive().toDERObject();
+
+        int len = der.encodedLength(true);
+        if (len > buf.length)
+        {
+            this.buf = new byte[len];
+        }
+
+        this.length = 0;
+        this.length = write(der, buf, 0, len);
+
+        return length;
+    }
+
+    /**
+     * Encode the passed in object directly into a caller supplied array.
+     *
+     * @param obj the object to encode.
+     * @param out the array to write the encoding to.
+     * @param outOff the offset into out the encoding should start at.
+     * @return the length of the encoding.
+     * @throws IOException if the object cannot be encoded.
+     * @throws IndexOutOfBoundsException if the encoding does not fit in out.
+     */
+    public int encode(ASN1Encodable obj, byte[] out, int outOff)
+        throws IOException
+    {
+        ASN1Primitive der = obj.toASN1Primitive().toDERObject();
+
+        int len = der.encodedLength(true);
+        if (outOff < 0 || len > out.length - outOff)
+        {
+            throw new IndexOutOfBoundsException("output buffer too short");
+        }
+
+        return write(der, out, outOff, len);
+    }
+
+    /**
+     * Encode the passed in object into a ByteBuffer, starting at its current position. On return the
+     * position of dst will have been advanced past the encoding. Heap buffers are written to directly,
+     * other buffers via the internal buffer.
+     *
+     * @param obj the object to encode.
+     * @param dst the buffer to write the encoding to.
+     * @return the length of the encoding.
+     * @throws IOException if the object cannot be encoded.
+     * @throws BufferOverflowException if the encoding does not fit in the remaining space in dst.
+     */
+    public int encode(ASN1Encodable obj, ByteBuffer dst)
+        throws IOException
+    {
+        if (dst.hasArray() && !dst.isReadOnly())
+        {
+            ASN1Primitive der = obj.toASN1Primitive().toDERObject();
+
+            int len = der.encodedLength(true);
+            if (len > dst.remaining())
+            {
+                throw new BufferOverflowException();
+            }
+
+            int pos = dst.position();
+            write(der, dst.array(), dst.arrayOffset() + pos, len);
+            ((Buffer)dst).position(pos + len);
+            return len;
+        }
+
+        int len = encode(obj);
+        if (len > dst.remaining())
+        {
+            throw new BufferOverflowException();
+        }
+
+        dst.put(buf, 0, len);
+        return len;
+    }
+
+    /**
+     * Encode the passed in object and write the encoding to a channel.
+     *
+     * @param obj the object to encode.
+     * @param channel the channel to write to.
+     * @return the length of the encoding.
+     * @throws IOException if the object cannot be encoded, or on a write error.
+     */
+    public int encode(ASN1Encodable obj, WritableByteChannel channel)
+        throws IOException
+    {
+        encode(obj);
+
+        return writeTo(channel);
+    }
+
+    /**
+     * Write the current encoding to a channel.
+     *
+     * @param channel the channel to write to.
+     * @return the number of bytes written.
+     * @throws IOException on a write error.
+     */
+    public int writeTo(WritableByteChannel channel)
+        throws IOException
+    {
+        ByteBuffer src = ByteBuffer.wrap(buf, 0, length);
+        while (src.hasRemaining())
+        {
+            channel.write(src);
+        }
+        return length;
+    }
+
+    /**
+     * Write the current encoding to an output stream.
+     *
+     * @param out the stream to write to.
+     * @return the number of bytes written.
+     * @throws IOException on a write error.
+     */
+    public int writeTo(OutputStream out)
+        throws IOException
+    {
+        out.write(buf, 0, length);
+        return length;
+    }
+
+    /**
+     * Return the internal buffer. Only the first {@link #getLength()} bytes are valid, and the contents
+     * will be overwritten by the next call to encode.
+     *
+     * @return the internal buffer.
+     */
+    public byte[] getBuffer()
+    {
+        return buf;
+    }
+
+    /**
+     * Return the length of the current encoding.
+     *
+     * @return the number of valid bytes in the internal buffer.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Return a copy of the current encoding.
+     *
+     * @return a new array containing the current encoding.
+     */
+    public byte[] toByteArray()
+    {
+        byte[] rv = new byte[length];
+        System.arraycopy(buf, 0, rv, 0, length);
+        return rv;
+    }
+
+    /**
+     * Discard the current encoding.
+     */
+    public void reset()
+    {
+        this.length = 0;
+    }
+
+    private int write(ASN1Primitive der, byte[] out, int outOff, int len)
+        throws IOException
+    {
+        output.init(out, outOff, outOff + len);
+        try
+        {
+            der.encode(derOut, true);
+
+            if (output.pos != outOff + len)
+            {
+                throw new IllegalStateException("DER encoding length mismatch");
+            }
+        }
+        finally
+        {
+            output.init(null, 0, 0);
+        }
+
+        return len;
+    }
+
+    /**
+     * Unsynchronized sink writing into a fixed region of an array.
+     */
+    private static class ArrayOutput
+        extends OutputStream
+    {
+        private byte[] buf;
+        private int pos;
+        private int end;
+
+        void init(byte[] buf, int off, int end)
+        {
+            this.buf = buf;
+            this.pos = off;
+            this.end = end;
+        }
+
+        public void write(int b)
+            throws IOException
+        {
+            if (pos >= end)
+            {
+                throw new IllegalStateException("DER encoding length mismatch");
+            }
+            buf[pos++] = (byte)b;
+        }
+
+        public void write(byte[] b, int off, int len)
+            throws IOException
+        {
+            if (len > end - pos)
+            {
+                throw new IllegalStateException("DER encoding length mismatch");
+            }
+            System.arraycopy(b, off, buf, pos, len);
+            pos += len;
+        }
+    }
+}
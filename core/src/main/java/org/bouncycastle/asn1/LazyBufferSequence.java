@@ -0,0 +1,226 @@
+package org.bouncycastle.asn1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazily parsed sequence holding a view over the contents octets in a source buffer.
+ * <p>
+ * Note: this class is for processing DER/DL encoded sequences only.
+ */
+class LazyBufferSequence
+    extends ASN1Sequence
+{
+    private static final int COPY_BUFFER_SIZE = 4096;
+
+    private ByteBuffer contents;
+
+    LazyBufferSequence(ByteBuffer contents)
+    {
+        // NOTE: Initially, the actual 'elements' will be empty
+        super();
+
+        if (null == contents)
+        {
+            throw new NullPointerException("'contents' cannot be null");
+        }
+
+        this.contents = contents;
+    }
+
+    public ASN1Encodable getObjectAt(int index)
+    {
+        force();
+
+        return super.getObjectAt(index);
+    }
+
+    public Enumeration getObjects()
+    {
+        ByteBuffer contents = getContents();
+        if (null != contents)
+        {
+            return new LazyBufferEnumeration(contents);
+        }
+
+        return super.getObjects();
+    }
+
+    public int hashCode()
+    {
+        force();
+
+        return super.hashCode();
+    }
+
+    public Iterator<ASN1Encodable> iterator()
+    {
+        force();
+
+        return super.iterator();
+    }
+
+    public int size()
+    {
+        force();
+
+        return super.size();
+    }
+
+    public ASN1Encodable[] toArray()
+    {
+        force();
+
+        return super.toArray();
+    }
+
+    ASN1Encodable[] toArrayInternal()
+    {
+        force();
+
+        return super.toArrayInternal();
+    }
+
+    int encodedLength(boolean withTag)
+        throws IOException
+    {
+        ByteBuffer contents = getContents();
+        if (null != contents)
+        {
+            return ASN1OutputStream.getLengthOfEncodingDL(withTag, contents.remaining());
+        }
+
+        return super.toDLObject().encodedLength(withTag);
+    }
+
+    void encode(ASN1OutputStream out, boolean withTag) throws IOException
+    {
+        ByteBuffer contents = getContents();
+        if (null != contents)
+        {
+            out.writeIdentifier(withTag, BERTags.CONSTRUCTED | BERTags.SEQUENCE);
+            out.writeDL(contents.remaining());
+
+            if (contents.hasArray())
+            {
+                out.write(contents.array(), contents.arrayOffset() + contents.position(), contents.remaining());
+            }
+            else
+            {
+                ByteBuffer src = contents.duplicate();
+                byte[] buf = new byte[Math.min(COPY_BUFFER_SIZE, src.remaining())];
+                while (src.hasRemaining())
+                {
+                    int count = Math.min(buf.length, src.remaining());
+                    src.get(buf, 0, count);
+                    out.write(buf, 0, count);
+                }
+            }
+            return;
+        }
+
+        super.toDLObject().encode(out, withTag);
+    }
+
+    ASN1BitString toASN1BitString()
+    {
+        return ((ASN1Sequence)toDLObject()).toASN1BitString();
+    }
+
+    ASN1External toASN1External()
+    {
+        return ((ASN1Sequence)toDLObject()).toASN1External();
+    }
+
+    ASN1OctetString toASN1OctetString()
+    {
+        return ((ASN1Sequence)toDLObject()).toASN1OctetString();
+    }
+
+    ASN1Set toASN1Set()
+    {
+        return ((ASN1Sequence)toDLObject()).toASN1Set();
+    }
+
+    ASN1Primitive toDERObject()
+    {
+        force();
+
+        return super.toDERObject();
+    }
+
+    ASN1Primitive toDLObject()
+    {
+        force();
+
+        return super.toDLObject();
+    }
+
+    private synchronized void force()
+    {
+        if (null != contents)
+        {
+            try
+            {
+                ASN1EncodableVector v = new ASN1ByteBufferReader(contents, true).readVector();
+
+                this.elements = v.takeElements();
+                this.contents = null;
+            }
+            catch (IOException e)
+            {
+                throw new ASN1ParsingException("malformed ASN.1: " + e, e);
+            }
+        }
+    }
+
+    private synchronized ByteBuffer getContents()
+    {
+        return contents;
+    }
+
+    private static class LazyBufferEnumeration
+        implements Enumeration
+    {
+        private final ASN1ByteBufferReader reader;
+
+        private Object nextObj;
+
+        LazyBufferEnumeration(ByteBuffer contents)
+        {
+            this.reader = new ASN1ByteBufferReader(contents, true);
+            this.nextObj = readObject();
+        }
+
+        public boolean hasMoreElements()
+        {
+            return nextObj != null;
+        }
+
+        public Object nextElement()
+        {
+            if (nextObj != null)
+            {
+                Object o = nextObj;
+                nextObj = readObject();
+                return o;
+            }
+            throw new NoSuchElementException();
+        }
+
+        private Object readObject()
+        {
+            try
+            {
+                return reader.readObject();
+            }
+            catch (IOException e)
+            {
+                throw new ASN1ParsingException("malformed ASN.1: " + e, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.bouncycastle.asn1.ocsp;
+
+import org.bouncycastle.asn1.ASN1SequenceLayout;
+import org.bouncycastle.asn1.BERTags;
+
+/**
+ * Field layout of a BasicOCSPResponse, for use with {@link ASN1SequenceLayout#decode(java.nio.ByteBuffer)}
+ * and {@link ASN1SequenceLayout#encode(java.nio.ByteBuffer[])}.
+ * <pre>
+ * BasicOCSPResponse       ::= SEQUENCE {
+ *    tbsResponseData      ResponseData,
+ *    signatureAlgorithm   AlgorithmIdentifier,
+ *    signature            BIT STRING,
+ *    certs                [0] EXPLICIT SEQUENCE OF Certificate OPTIONAL }
+ * </pre>
+ */
+public final class BasicOCSPResponseLayout
+{
+    public static final int TBS_RESPONSE_DATA = 0;
+    public static final int SIGNATURE_ALGORITHM = 1;
+    public static final int SIGNATURE = 2;
+    public static final int CERTS = 3;
+
+    public static final ASN1SequenceLayout LAYOUT = new ASN1SequenceLayout.Builder()
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.BIT_STRING)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+        .build();
+
+    private BasicOCSPResponseLayout()
+    {
+    }
+}
@@ -0,0 +1,37 @@
+package org.bouncycastle.asn1.ocsp;
+
+import org.bouncycastle.asn1.ASN1SequenceLayout;
+import org.bouncycastle.asn1.BERTags;
+
+/**
+ * Field layout of the ResponseData in a BasicOCSPResponse, for use with
+ * {@link ASN1SequenceLayout#decode(java.nio.ByteBuffer)} and {@link ASN1SequenceLayout#encode(java.nio.ByteBuffer[])}.
+ * <pre>
+ * ResponseData ::= SEQUENCE {
+ *     version              [0] EXPLICIT Version DEFAULT v1,
+ *     responderID              ResponderID,
+ *     producedAt               GeneralizedTime,
+ *     responses                SEQUENCE OF SingleResponse,
+ *     responseExtensions   [1] EXPLICIT Extensions OPTIONAL }
+ * </pre>
+ */
+public final class ResponseDataLayout
+{
+    public static final int VERSION = 0;
+    public static final int RESPONDER_ID = 1;
+    public static final int PRODUCED_AT = 2;
+    public static final int RESPONSES = 3;
+    public static final int RESPONSE_EXTENSIONS = 4;
+
+    public static final ASN1SequenceLayout LAYOUT = new ASN1SequenceLayout.Builder()
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+        .addAnyField()
+        .addField(BERTags.UNIVERSAL, BERTags.GENERALIZED_TIME)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 1)
+        .build();
+
+    private ResponseDataLayout()
+    {
+    }
+}
@@ -0,0 +1,107 @@
+package org.bouncycastle.asn1.pkcs;
+
+import java.math.BigInteger;
+import java.util.Enumeration;
+
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Object;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.DERSequence;
+
+/**
+ * The additional prime information for a multi-prime RSA private key, RFC 8017 A.1.2.
+ */
+public class OtherPrimeInfo
+    extends ASN1Object
+{
+    private BigInteger prime;
+    private BigInteger exponent;
+    private BigInteger coefficient;
+
+    public static OtherPrimeInfo getInstance(
+        ASN1TaggedObject obj,
+        boolean          explicit)
+    {
+        return getInstance(ASN1Sequence.getInstance(obj, explicit));
+    }
+
+    public static OtherPrimeInfo getInstance(
+        Object obj)
+    {
+        if (obj instanceof OtherPrimeInfo)
+        {
+            return (OtherPrimeInfo)obj;
+        }
+
+        if (obj != null)
+        {
+            return new OtherPrimeInfo(ASN1Sequence.getInstance(obj));
+        }
+
+        return null;
+    }
+
+    public OtherPrimeInfo(
+        BigInteger prime,
+        BigInteger exponent,
+        BigInteger coefficient)
+    {
+        this.prime = prime;
+        this.exponent = exponent;
+        this.coefficient = coefficient;
+    }
+
+    private OtherPrimeInfo(
+        ASN1Sequence seq)
+    {
+        if (seq.size() != 3)
+        {
+            throw new IllegalArgumentException("Bad sequence size: "
+                    + seq.size());
+        }
+
+        Enumeration e = seq.getObjects();
+
+        prime = ASN1Integer.getInstance(e.nextElement()).getPositiveValue();
+        exponent = ASN1Integer.getInstance(e.nextElement()).getPositiveValue();
+        coefficient = ASN1Integer.getInstance(e.nextElement()).getPositiveValue();
+    }
+
+    public BigInteger getPrime()
+    {
+        return prime;
+    }
+
+    public BigInteger getExponent()
+    {
+        return exponent;
+    }
+
+    public BigInteger getCoefficient()
+    {
+        return coefficient;
+    }
+
+    /**
+     * <pre>
+     *      OtherPrimeInfo ::= SEQUENCE {
+     *                          prime INTEGER, -- ri
+     *                          exponent INTEGER, -- di
+     *                          coefficient INTEGER -- ti
+     *                      }
+     * </pre>
+     */
+    public ASN1Primitive toASN1Primitive()
+    {
+        ASN1EncodableVector v = new ASN1EncodableVector(3);
+
+        v.add(new ASN1Integer(getPrime()));
+        v.add(new ASN1Integer(getExponent()));
+        v.add(new ASN1Integer(getCoefficient()));
+
+        return new DERSequence(v);
+    }
+}
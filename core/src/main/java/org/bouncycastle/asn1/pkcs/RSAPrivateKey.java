@@ -69,6 +69,31 @@ public RSAPrivateKey(
         this.coefficient = coefficient;
     }
 
+    /**
+     * Base constructor for a multi-prime key.
+     *
+     * @param otherPrimeInfos the information for the primes after the first two, in order.
+     */
+    public RSAPrivateKey(
+        BigInteger modulus,
+        BigInteger publicExponent,
+        BigInteger privateExponent,
+        BigInteger prime1,
+        BigInteger prime2,
+        BigInteger exponent1,
+        BigInteger exponent2,
+        BigInteger coefficient,
+        OtherPrimeInfo[] otherPrimeInfos)
+    {
+        this(modulus, publicExponent, privateExponent, prime1, prime2, exponent1, exponent2, coefficient);
+
+        if (otherPrimeInfos != null && otherPrimeInfos.length > 0)
+        {
+            this.version = BigInteger.valueOf(1);
+            this.otherPrimeInfos = new DERSequence(otherPrimeInfos);
+        }
+    }
+
     private RSAPrivateKey(
         ASN1Sequence seq)
     {
@@ -142,6 +167,27 @@ public BigInteger getCoefficient()
         return coefficient;
     }
 
+    /**
+     * Return the information for the primes after the first two of a multi-prime key.
+     *
+     * @return the other prime information, null if this is a two-prime key.
+     */
+    public OtherPrimeInfo[] getOtherPrimeInfos()
+    {
+        if (otherPrimeInfos == null)
+        {
+            return null;
+        }
+
+        OtherPrimeInfo[] infos = new OtherPrimeInfo[otherPrimeInfos.size()];
+        for (int i = 0; i != infos.length; i++)
+        {
+            infos[i] = OtherPrimeInfo.getInstance(otherPrimeInfos.getObjectAt(i));
+        }
+
+        return infos;
+    }
+
     /**
      * This outputs the key in PKCS1v2 format.
      * <pre>
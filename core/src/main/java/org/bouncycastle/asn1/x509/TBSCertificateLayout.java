@@ -0,0 +1,54 @@
+package org.bouncycastle.asn1.x509;
+
+import org.bouncycastle.asn1.ASN1SequenceLayout;
+import org.bouncycastle.asn1.BERTags;
+
+/**
+ * Field layout of a TBSCertificate, for use with {@link ASN1SequenceLayout#decode(java.nio.ByteBuffer)}
+ * where only some fields of a certificate are needed, and with
+ * {@link ASN1SequenceLayout#encode(java.nio.ByteBuffer[])} to assemble one from encoded fields.
+ * <pre>
+ * TBSCertificate ::= SEQUENCE {
+ *      version          [ 0 ]  Version DEFAULT v1(0),
+ *      serialNumber            CertificateSerialNumber,
+ *      signature               AlgorithmIdentifier,
+ *      issuer                  Name,
+ *      validity                Validity,
+ *      subject                 Name,
+ *      subjectPublicKeyInfo    SubjectPublicKeyInfo,
+ *      issuerUniqueID    [ 1 ] IMPLICIT UniqueIdentifier OPTIONAL,
+ *      subjectUniqueID   [ 2 ] IMPLICIT UniqueIdentifier OPTIONAL,
+ *      extensions        [ 3 ] Extensions OPTIONAL
+ *      }
+ * </pre>
+ */
+public final class TBSCertificateLayout
+{
+    public static final int VERSION = 0;
+    public static final int SERIAL_NUMBER = 1;
+    public static final int SIGNATURE = 2;
+    public static final int ISSUER = 3;
+    public static final int VALIDITY = 4;
+    public static final int SUBJECT = 5;
+    public static final int SUBJECT_PUBLIC_KEY_INFO = 6;
+    public static final int ISSUER_UNIQUE_ID = 7;
+    public static final int SUBJECT_UNIQUE_ID = 8;
+    public static final int EXTENSIONS = 9;
+
+    public static final ASN1SequenceLayout LAYOUT = new ASN1SequenceLayout.Builder()
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+        .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 1)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 2)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 3)
+        .build();
+
+    private TBSCertificateLayout()
+    {
+    }
+}
@@ -328,13 +328,19 @@ private void KeccakExtract()
 
     private void KeccakPermutation()
     {
-        long[] A = state;
+        KeccakPermutation(state, 0);
+    }
 
-        long a00 = A[ 0], a01 = A[ 1], a02 = A[ 2], a03 = A[ 3], a04 = A[ 4];
-        long a05 = A[ 5], a06 = A[ 6], a07 = A[ 7], a08 = A[ 8], a09 = A[ 9];
-        long a10 = A[10], a11 = A[11], a12 = A[12], a13 = A[13], a14 = A[14];
-        long a15 = A[15], a16 = A[16], a17 = A[17], a18 = A[18], a19 = A[19];
-        long a20 = A[20], a21 = A[21], a22 = A[22], a23 = A[23], a24 = A[24];
+    /**
+     * Apply the Keccak-f[1600] permutation to the 25 lanes of state held in A starting at off.
+     */
+    static void KeccakPermutation(long[] A, int off)
+    {
+        long a00 = A[off + 0], a01 = A[off + 1], a02 = A[off + 2], a03 = A[off + 3], a04 = A[off + 4];
+        long a05 = A[off + 5], a06 = A[off + 6], a07 = A[off + 7], a08 = A[off + 8], a09 = A[off + 9];
+        long a10 = A[off + 10], a11 = A[off + 11], a12 = A[off + 12], a13 = A[off + 13], a14 = A[off + 14];
+        long a15 = A[off + 15], a16 = A[off + 16], a17 = A[off + 17], a18 = A[off + 18], a19 = A[off + 19];
+        long a20 = A[off + 20], a21 = A[off + 21], a22 = A[off + 22], a23 = A[off + 23], a24 = A[off + 24];
 
         for (int i = 0; i < 24; i++)
         {
@@ -429,11 +435,11 @@ private void KeccakPermutation()
             a00 ^= KeccakRoundConstants[i];
         }
 
-        A[ 0] = a00; A[ 1] = a01; A[ 2] = a02; A[ 3] = a03; A[ 4] = a04;
-        A[ 5] = a05; A[ 6] = a06; A[ 7] = a07; A[ 8] = a08; A[ 9] = a09;
-        A[10] = a10; A[11] = a11; A[12] = a12; A[13] = a13; A[14] = a14;
-        A[15] = a15; A[16] = a16; A[17] = a17; A[18] = a18; A[19] = a19;
-        A[20] = a20; A[21] = a21; A[22] = a22; A[23] = a23; A[24] = a24;
+        A[off + 0] = a00; A[off + 1] = a01; A[off + 2] = a02; A[off + 3] = a03; A[off + 4] = a04;
+        A[off + 5] = a05; A[off + 6] = a06; A[off + 7] = a07; A[off + 8] = a08; A[off + 9] = a09;
+        A[off + 10] = a10; A[off + 11] = a11; A[off + 12] = a12; A[off + 13] = a13; A[off + 14] = a14;
+        A[off + 15] = a15; A[off + 16] = a16; A[off + 17] = a17; A[off + 18] = a18; A[off + 19] = a19;
+        A[off + 20] = a20; A[off + 21] = a21; A[off + 22] = a22; A[off + 23] = a23; A[off + 24] = a24;
     }
 
     protected CryptoServiceProperties cryptoServiceProperties()
@@ -0,0 +1,76 @@
+package org.bouncycastle.crypto.digests;
+
+/**
+ * A digest which hashes several independent messages of equal length in one pass. Each message is
+ * held in its own lane, with data common to every lane (a key, a seed, an address prefix) able to be
+ * absorbed once for all of them.
+ * <p>
+ * The number of lanes in use is fixed by the first lane-specific update after a reset: lanes beyond
+ * that count are left behind and are not available for output until the digest is reset.
+ * </p>
+ */
+public interface MultiLaneDigest
+{
+    /**
+     * Return the algorithm name.
+     *
+     * @return the algorithm name
+     */
+    String getAlgorithmName();
+
+    /**
+     * Return the size, in bytes, of the default output of each lane.
+     *
+     * @return the size of a lane's digest in bytes.
+     */
+    int getDigestSize();
+
+    /**
+     * Return the maximum number of lanes this digest can process in one pass.
+     *
+     * @return the number of lanes.
+     */
+    int getLanes();
+
+    /**
+     * Update every lane in use with the same block of bytes.
+     *
+     * @param in the array containing the data.
+     * @param inOff the offset into the array the data starts at.
+     * @param len the length of the data.
+     */
+    void update(byte[] in, int inOff, int len);
+
+    /**
+     * Update lane i with len bytes from in[i], for each of the first in.length lanes.
+     *
+     * @param in the arrays containing the data for each lane.
+     * @param inOff the offset into each array the data starts at.
+     * @param len the length of the data, the same for all lanes.
+     */
+    void update(byte[][] in, int inOff, int len);
+
+    /**
+     * Close the digest, writing getDigestSize() bytes from lane i into out[i], and reset it.
+     *
+     * @param out the arrays the digests are to be copied into.
+     * @param outOff the offset into each array the digest is to start at.
+     * @return the number of bytes written to each array.
+     */
+    int doFinal(byte[][] out, int outOff);
+
+    /**
+     * Close the digest, writing outLen bytes from lane i into out[i], and reset it.
+     *
+     * @param out the arrays the digests are to be copied into.
+     * @param outOff the offset into each array the digest is to start at.
+     * @param outLen the number of bytes to write for each lane.
+     * @return the number of bytes written to each array.
+     */
+    int doFinal(byte[][] out, int outOff, int outLen);
+
+    /**
+     * Reset the digest back to its initial state.
+     */
+    void reset();
+}
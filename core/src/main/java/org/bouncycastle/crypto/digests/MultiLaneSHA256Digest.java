@@ -0,0 +1,308 @@
+package org.bouncycastle.crypto.digests;
+
+import org.bouncycastle.util.Memoable;
+import org.bouncycastle.util.Pack;
+
+/**
+ * Multi-lane SHA-256: several SHA-256 instances sharing one chaining state array and one block position,
+ * so equal length messages can be hashed in a single pass. Each lane gives exactly the output of a
+ * {@link SHA256Digest} over the same input, optionally truncated.
+ * <p>
+ * Note: Java offers no portable vector instructions, so the lanes are compressed one after the other; the
+ * saving comes from absorbing common data once, from processing full blocks directly out of the caller's
+ * arrays and, with {@link Memoable}, from reusing a precomputed prefix state for every call.
+ * </p>
+ */
+public class MultiLaneSHA256Digest
+    implements MultiLaneDigest, Memoable
+{
+    private static final int BLOCK_SIZE = 64;
+    private static final int DIGEST_LENGTH = 32;
+
+    private final int lanes;
+    private final int[] H;
+    private final byte[] block;
+    private final int[] X = new int[64];
+
+    private int blockLen;
+    private long byteCount;
+    private int laneCount;
+
+    /**
+     * Base constructor.
+     *
+     * @param lanes the number of lanes to provide.
+     */
+    public MultiLaneSHA256Digest(int lanes)
+    {
+        if (lanes < 1)
+        {
+            throw new IllegalArgumentException("'lanes' must be at least 1");
+        }
+
+        this.lanes = lanes;
+        this.H = new int[8 * lanes];
+        this.block = new byte[BLOCK_SIZE * lanes];
+
+        reset();
+    }
+
+    public MultiLaneSHA256Digest(MultiLaneSHA256Digest source)
+    {
+        this.lanes = source.lanes;
+        this.H = new int[8 * lanes];
+        this.block = new byte[BLOCK_SIZE * lanes];
+
+        copyIn(source);
+    }
+
+    private void copyIn(MultiLaneSHA256Digest source)
+    {
+        System.arraycopy(source.H, 0, H, 0, H.length);
+        System.arraycopy(source.block, 0, block, 0, block.length);
+        this.blockLen = source.blockLen;
+        this.byteCount = source.byteCount;
+        this.laneCount = source.laneCount;
+    }
+
+    public String getAlgorithmName()
+    {
+        return "SHA-256x" + lanes;
+    }
+
+    public int getDigestSize()
+    {
+        return DIGEST_LENGTH;
+    }
+
+    public int getLanes()
+    {
+        return lanes;
+    }
+
+    public void update(byte[] in, int inOff, int len)
+    {
+        absorb(null, in, inOff, len, laneCount);
+    }
+
+    public void update(byte[][] in, int inOff, int len)
+    {
+        if (in.length > laneCount)
+        {
+            throw new IllegalArgumentException("too many lanes for current state");
+        }
+
+        laneCount = in.length;
+        absorb(in, null, inOff, len, laneCount);
+    }
+
+    public int doFinal(byte[][] out, int outOff)
+    {
+        return doFinal(out, outOff, DIGEST_LENGTH);
+    }
+
+    public int doFinal(byte[][] out, int outOff, int outLen)
+    {
+        if (outLen > DIGEST_LENGTH)
+        {
+            throw new IllegalArgumentException("'outLen' cannot exceed " + DIGEST_LENGTH);
+        }
+
+        int count = out.length;
+        if (count > laneCount)
+        {
+            throw new IllegalArgumentException("too many lanes for current state");
+        }
+
+        long bitLength = byteCount << 3;
+
+        for (int l = 0; l < count; ++l)
+        {
+            int bOff = l * BLOCK_SIZE;
+            int pos = blockLen;
+
+            block[bOff + pos++] = (byte)0x80;
+            if (pos > BLOCK_SIZE - 8)
+            {
+                while (pos < BLOCK_SIZE)
+                {
+                    block[bOff + pos++] = 0;
+                }
+                processBlock(block, bOff, l);
+                pos = 0;
+            }
+            while (pos < BLOCK_SIZE - 8)
+            {
+                block[bOff + pos++] = 0;
+            }
+            Pack.longToBigEndian(bitLength, block, bOff + BLOCK_SIZE - 8);
+            processBlock(block, bOff, l);
+
+            byte[] lOut = out[l];
+            int hOff = l * 8;
+            int words = outLen >>> 2;
+            Pack.intToBigEndian(H, hOff, words, lOut, outOff);
+
+            int partial = outLen & 3;
+            if (partial != 0)
+            {
+                int w = H[hOff + words];
+                int pOff = outOff + (words << 2);
+                for (int i = 0; i < partial; ++i)
+                {
+                    lOut[pOff + i] = (byte)(w >>> (24 - (i << 3)));
+                }
+            }
+        }
+
+        reset();
+
+        return outLen;
+    }
+
+    public void reset()
+    {
+        for (int l = 0; l < lanes; ++l)
+        {
+            int hOff = l * 8;
+            H[hOff    ] = 0x6a09e667;
+            H[hOff + 1] = 0xbb67ae85;
+            H[hOff + 2] = 0x3c6ef372;
+            H[hOff + 3] = 0xa54ff53a;
+            H[hOff + 4] = 0x510e527f;
+            H[hOff + 5] = 0x9b05688c;
+            H[hOff + 6] = 0x1f83d9ab;
+            H[hOff + 7] = 0x5be0cd19;
+        }
+        blockLen = 0;
+        byteCount = 0;
+        laneCount = lanes;
+    }
+
+    public Memoable copy()
+    {
+        return new MultiLaneSHA256Digest(this);
+    }
+
+    public void reset(Memoable other)
+    {
+        MultiLaneSHA256Digest d = (MultiLaneSHA256Digest)other;
+        if (d.lanes != lanes)
+        {
+            throw new IllegalArgumentException("incompatible digest passed to reset");
+        }
+
+        copyIn(d);
+    }
+
+    private void absorb(byte[][] in, byte[] common, int inOff, int len, int count)
+    {
+        byteCount += len;
+
+        while (len > 0)
+        {
+            if (blockLen == 0 && len >= BLOCK_SIZE)
+            {
+                for (int l = 0; l < count; ++l)
+                {
+                    processBlock(in == null ? common : in[l], inOff, l);
+                }
+                inOff += BLOCK_SIZE;
+                len -= BLOCK_SIZE;
+                continue;
+            }
+
+            int chunk = Math.min(BLOCK_SIZE - blockLen, len);
+            for (int l = 0; l < count; ++l)
+            {
+                System.arraycopy(in == null ? common : in[l], inOff, block, l * BLOCK_SIZE + blockLen, chunk);
+            }
+            blockLen += chunk;
+            inOff += chunk;
+            len -= chunk;
+
+            if (blockLen == BLOCK_SIZE)
+            {
+                for (int l = 0; l < count; ++l)
+                {
+                    processBlock(block, l * BLOCK_SIZE, l);
+                }
+                blockLen = 0;
+            }
+        }
+    }
+
+    private void processBlock(byte[] buf, int off, int lane)
+    {
+        int[] X = this.X;
+
+        for (int t = 0; t < 16; ++t)
+        {
+            X[t] = Pack.bigEndianToInt(buf, off);
+            off += 4;
+        }
+
+        for (int t = 16; t < 64; ++t)
+        {
+            X[t] = SHA256Digest.Theta1(X[t - 2]) + X[t - 7] + SHA256Digest.Theta0(X[t - 15]) + X[t - 16];
+        }
+
+        int hOff = lane * 8;
+        int a = H[hOff], b = H[hOff + 1], c = H[hOff + 2], d = H[hOff + 3];
+        int e = H[hOff + 4], f = H[hOff + 5], g = H[hOff + 6], h = H[hOff + 7];
+
+        // rounds unrolled by 8 as in SHA256Digest, so the working variables never need to be rotated
+        int t = 0;
+        for (int i = 0; i < 8; i++)
+        {
+            h += SHA256Digest.Sum1(e) + SHA256Digest.Ch(e, f, g) + SHA256Digest.K[t] + X[t];
+            d += h;
+            h += SHA256Digest.Sum0(a) + SHA256Digest.Maj(a, b, c);
+            ++t;
+
+            g += SHA256Digest.Sum1(d) + SHA256Digest.Ch(d, e, f) + SHA256Digest.K[t] + X[t];
+            c += g;
+            g += SHA256Digest.Sum0(h) + SHA256Digest.Maj(h, a, b);
+            ++t;
+
+            f += SHA256Digest.Sum1(c) + SHA256Digest.Ch(c, d, e) + SHA256Digest.K[t] + X[t];
+            b += f;
+            f += SHA256Digest.Sum0(g) + SHA256Digest.Maj(g, h, a);
+            ++t;
+
+            e += SHA256Digest.Sum1(b) + SHA256Digest.Ch(b, c, d) + SHA256Digest.K[t] + X[t];
+            a += e;
+            e += SHA256Digest.Sum0(f) + SHA256Digest.Maj(f, g, h);
+            ++t;
+
+            d += SHA256Digest.Sum1(a) + SHA256Digest.Ch(a, b, c) + SHA256Digest.K[t] + X[t];
+            h += d;
+            d += SHA256Digest.Sum0(e) + SHA256Digest.Maj(e, f, g);
+            ++t;
+
+            c += SHA256Digest.Sum1(h) + SHA256Digest.Ch(h, a, b) + SHA256Digest.K[t] + X[t];
+            g += c;
+            c += SHA256Digest.Sum0(d) + SHA256Digest.Maj(d, e, f);
+            ++t;
+
+            b += SHA256Digest.Sum1(g) + SHA256Digest.Ch(g, h, a) + SHA256Digest.K[t] + X[t];
+            f += b;
+            b += SHA256Digest.Sum0(c) + SHA256Digest.Maj(c, d, e);
+            ++t;
+
+            a += SHA256Digest.Sum1(f) + SHA256Digest.Ch(f, g, h) + SHA256Digest.K[t] + X[t];
+            e += a;
+            a += SHA256Digest.Sum0(b) + SHA256Digest.Maj(b, c, d);
+            ++t;
+        }
+
+        H[hOff    ] += a;
+        H[hOff + 1] += b;
+        H[hOff + 2] += c;
+        H[hOff + 3] += d;
+        H[hOff + 4] += e;
+        H[hOff + 5] += f;
+        H[hOff + 6] += g;
+        H[hOff + 7] += h;
+    }
+}
@@ -0,0 +1,241 @@
+package org.bouncycastle.crypto.digests;
+
+import org.bouncycastle.util.Memoable;
+import org.bouncycastle.util.Pack;
+
+/**
+ * Multi-lane SHAKE: several SHAKE instances of the same strength sharing one state array and one queue
+ * position, so equal length messages can be hashed in a single pass. Each lane gives exactly the output
+ * of a {@link SHAKEDigest} over the same input.
+ * <p>
+ * Note: Java offers no portable vector instructions, so the lanes are permuted one after the other; the
+ * saving comes from absorbing common data once, from processing full blocks directly out of the caller's
+ * arrays and, with {@link Memoable}, from reusing a precomputed prefix state for every call.
+ * </p>
+ */
+public class MultiLaneSHAKEDigest
+    implements MultiLaneDigest, Memoable
+{
+    private static final int STATE_SIZE = 25;
+
+    private final int bitLength;
+    private final int lanes;
+    private final int rate;
+    private final long[] state;
+    private final byte[] queue;
+
+    private int queueLen;
+    private int laneCount;
+
+    /**
+     * Base constructor.
+     *
+     * @param bitLength the strength of the underlying SHAKE, 128 or 256.
+     * @param lanes the number of lanes to provide.
+     */
+    public MultiLaneSHAKEDigest(int bitLength, int lanes)
+    {
+        if (bitLength != 128 && bitLength != 256)
+        {
+            throw new IllegalArgumentException("'bitLength' " + bitLength + " not supported for SHAKE");
+        }
+        if (lanes < 1)
+        {
+            throw new IllegalArgumentException("'lanes' must be at least 1");
+        }
+
+        this.bitLength = bitLength;
+        this.lanes = lanes;
+        this.rate = (1600 - (bitLength << 1)) >>> 3;
+        this.state = new long[STATE_SIZE * lanes];
+        this.queue = new byte[rate * lanes];
+        this.laneCount = lanes;
+    }
+
+    public MultiLaneSHAKEDigest(MultiLaneSHAKEDigest source)
+    {
+        this.bitLength = source.bitLength;
+        this.lanes = source.lanes;
+        this.rate = source.rate;
+        this.state = new long[STATE_SIZE * lanes];
+        this.queue = new byte[rate * lanes];
+
+        copyIn(source);
+    }
+
+    private void copyIn(MultiLaneSHAKEDigest source)
+    {
+        System.arraycopy(source.state, 0, state, 0, state.length);
+        System.arraycopy(source.queue, 0, queue, 0, queue.length);
+        this.queueLen = source.queueLen;
+        this.laneCount = source.laneCount;
+    }
+
+    public String getAlgorithmName()
+    {
+        return "SHAKE" + bitLength + "x" + lanes;
+    }
+
+    public int getDigestSize()
+    {
+        return bitLength / 4;
+    }
+
+    public int getLanes()
+    {
+        return lanes;
+    }
+
+    public void update(byte[] in, int inOff, int len)
+    {
+        absorb(null, in, inOff, len, laneCount);
+    }
+
+    public void update(byte[][] in, int inOff, int len)
+    {
+        if (in.length > laneCount)
+        {
+            throw new IllegalArgumentException("too many lanes for current state");
+        }
+
+        laneCount = in.length;
+        absorb(in, null, inOff, len, laneCount);
+    }
+
+    public int doFinal(byte[][] out, int outOff)
+    {
+        return doFinal(out, outOff, getDigestSize());
+    }
+
+    public int doFinal(byte[][] out, int outOff, int outLen)
+    {
+        int count = out.length;
+        if (count > laneCount)
+        {
+            throw new IllegalArgumentException("too many lanes for current state");
+        }
+
+        for (int l = 0; l < count; ++l)
+        {
+            int qOff = l * rate;
+            queue[qOff + queueLen] = 0x1F;
+            for (int i = queueLen + 1; i < rate; ++i)
+            {
+                queue[qOff + i] = 0;
+            }
+            queue[qOff + rate - 1] |= (byte)0x80;
+
+            absorbBlock(queue, qOff, l);
+            squeeze(l, out[l], outOff, outLen);
+        }
+
+        reset();
+
+        return outLen;
+    }
+
+    public void reset()
+    {
+        for (int i = 0; i < state.length; ++i)
+        {
+            state[i] = 0L;
+        }
+        queueLen = 0;
+        laneCount = lanes;
+    }
+
+    public Memoable copy()
+    {
+        return new MultiLaneSHAKEDigest(this);
+    }
+
+    public void reset(Memoable other)
+    {
+        MultiLaneSHAKEDigest d = (MultiLaneSHAKEDigest)other;
+        if (d.bitLength != bitLength || d.lanes != lanes)
+        {
+            throw new IllegalArgumentException("incompatible digest passed to reset");
+        }
+
+        copyIn(d);
+    }
+
+    private void absorb(byte[][] in, byte[] common, int inOff, int len, int count)
+    {
+        while (len > 0)
+        {
+            if (queueLen == 0 && len >= rate)
+            {
+                for (int l = 0; l < count; ++l)
+                {
+                    absorbBlock(in == null ? common : in[l], inOff, l);
+                }
+                inOff += rate;
+                len -= rate;
+                continue;
+            }
+
+            int chunk = Math.min(rate - queueLen, len);
+            for (int l = 0; l < count; ++l)
+            {
+                System.arraycopy(in == null ? common : in[l], inOff, queue, l * rate + queueLen, chunk);
+            }
+            queueLen += chunk;
+            inOff += chunk;
+            len -= chunk;
+
+            if (queueLen == rate)
+            {
+                for (int l = 0; l < count; ++l)
+                {
+                    absorbBlock(queue, l * rate, l);
+                }
+                queueLen = 0;
+            }
+        }
+    }
+
+    private void absorbBlock(byte[] data, int off, int lane)
+    {
+        int base = lane * STATE_SIZE;
+        int count = rate >>> 3;
+        for (int i = 0; i < count; ++i)
+        {
+            state[base + i] ^= Pack.littleEndianToLong(data, off);
+            off += 8;
+        }
+
+        KeccakDigest.KeccakPermutation(state, base);
+    }
+
+    private void squeeze(int lane, byte[] out, int outOff, int outLen)
+    {
+        int base = lane * STATE_SIZE;
+        int pos = 0;
+        for (;;)
+        {
+            int chunk = Math.min(rate, outLen - pos);
+            int full = chunk >>> 3;
+            Pack.longToLittleEndian(state, base, full, out, outOff + pos);
+
+            int partial = chunk & 7;
+            if (partial != 0)
+            {
+                long w = state[base + full];
+                int bOff = outOff + pos + (full << 3);
+                for (int i = 0; i < partial; ++i)
+                {
+                    out[bOff + i] = (byte)(w >>> (i << 3));
+                }
+            }
+
+            pos += chunk;
+            if (pos == outLen)
+            {
+                break;
+            }
+
+            KeccakDigest.KeccakPermutation(state, base);
+        }
+    }
+}
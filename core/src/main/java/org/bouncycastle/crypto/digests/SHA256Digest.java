@@ -305,34 +305,34 @@ protected void processBlock()
     }
 
     /* SHA-256 functions */
-    private static int Ch(int x, int y, int z)
+    static int Ch(int x, int y, int z)
     {
         return (x & y) ^ ((~x) & z);
 //        return z ^ (x & (y ^ z));
     }
 
-    private static int Maj(int x, int y, int z)
+    static int Maj(int x, int y, int z)
     {
 //        return (x & y) ^ (x & z) ^ (y & z);
         return (x & y) | (z & (x ^ y));
     }
 
-    private static int Sum0(int x)
+    static int Sum0(int x)
     {
         return ((x >>> 2) | (x << 30)) ^ ((x >>> 13) | (x << 19)) ^ ((x >>> 22) | (x << 10));
     }
 
-    private static int Sum1(int x)
+    static int Sum1(int x)
     {
         return ((x >>> 6) | (x << 26)) ^ ((x >>> 11) | (x << 21)) ^ ((x >>> 25) | (x << 7));
     }
 
-    private static int Theta0(int x)
+    static int Theta0(int x)
     {
         return ((x >>> 7) | (x << 25)) ^ ((x >>> 18) | (x << 14)) ^ (x >>> 3);
     }
 
-    private static int Theta1(int x)
+    static int Theta1(int x)
     {
         return ((x >>> 17) | (x << 15)) ^ ((x >>> 19) | (x << 13)) ^ (x >>> 10);
     }
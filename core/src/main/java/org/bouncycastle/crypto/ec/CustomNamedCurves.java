@@ -28,6 +28,8 @@
 import org.bouncycastle.math.ec.custom.sec.SecP256R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP384R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve64;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field64;
 import org.bouncycastle.math.ec.custom.sec.SecT113R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecT113R2Curve;
 import org.bouncycastle.math.ec.custom.sec.SecT131R1Curve;
@@ -382,6 +384,10 @@ protected X9ECParameters createParameters()
     {
         protected ECCurve createCurve()
         {
+            if (SecP521R1Field64.isPreferred())
+            {
+                return configureCurve(new SecP521R1Curve64());
+            }
             return configureCurve(new SecP521R1Curve());
         }
 
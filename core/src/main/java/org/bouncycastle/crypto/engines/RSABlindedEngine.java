@@ -10,7 +10,6 @@
 import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
-import org.bouncycastle.util.BigIntegers;
 
 /**
  * this does your basic RSA algorithm with blinding
@@ -18,8 +17,6 @@
 public class RSABlindedEngine
     implements AsymmetricBlockCipher
 {
-    private static final BigInteger ONE = BigInteger.valueOf(1);
-
     private RSACoreEngine    core = new RSACoreEngine();
     private RSAKeyParameters key;
     private SecureRandom     random;
@@ -107,9 +104,9 @@ private BigInteger processInput(BigInteger input)
             {
                 BigInteger m = crtKey.getModulus();
 
-                BigInteger r = BigIntegers.createRandomInRange(ONE, m.subtract(ONE), random);
-                BigInteger blind = r.modPow(e, m);
-                BigInteger unblind = BigIntegers.modOddInverse(m, r);
+                BigInteger[] blinding = RSABlindingCache.getBlindingPair(crtKey, random);
+                BigInteger blind = blinding[0];
+                BigInteger unblind = blinding[1];
 
                 BigInteger blindedInput = blind.multiply(input).mod(m);
                 BigInteger blindedResult = core.processBlock(blindedInput);
@@ -0,0 +1,111 @@
+package org.bouncycastle.crypto.engines;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
+import org.bouncycastle.util.BigIntegers;
+import org.bouncycastle.util.Properties;
+
+/**
+ * Per key blinding factors for RSABlindedEngine.
+ * <p>
+ * Rather than drawing a fresh random r for every private key operation, which needs an exponentiation and a
+ * modular inversion, each key keeps a pair (r^e, r^-1) which is moved on by squaring both halves after every
+ * use, and is replaced by a freshly generated pair after a fixed number of uses. This is the approach taken
+ * by OpenSSL. The number of uses can be set with the property "org.bouncycastle.rsa.blinding_refresh" -
+ * a value of 1 or less means a new pair is generated for every operation.
+ * </p>
+ * <p>
+ * Keys are looked up by the identity of their parameters object and are dropped when that object is no
+ * longer referenced. A pair is never handed out twice, so the cache can be shared between threads.
+ * </p>
+ */
+class RSABlindingCache
+{
+    private static final int DEFAULT_REFRESH = 32;
+    private static final BigInteger ONE = BigInteger.valueOf(1);
+
+    private static final Map blindings = new WeakHashMap();
+
+    private RSABlindingCache()
+    {
+    }
+
+    /**
+     * Return a blinding pair for a private key operation with key.
+     *
+     * @param key the private key the operation is for.
+     * @param random source of randomness for generating a new pair.
+     * @return an array containing r^e and r^-1 mod the key's modulus.
+     */
+    static BigInteger[] getBlindingPair(RSAPrivateCrtKeyParameters key, SecureRandom random)
+    {
+        int refresh = Properties.asInteger("org.bouncycastle.rsa.blinding_refresh", DEFAULT_REFRESH);
+        if (refresh <= 1)
+        {
+            return generatePair(key.getModulus(), key.getPublicExponent(), random);
+        }
+
+        Blinding blinding;
+        synchronized (blindings)
+        {
+            blinding = (Blinding)blindings.get(key);
+            if (blinding == null)
+            {
+                // the entry must not refer back to the key, or it would never be collected.
+                blinding = new Blinding(key.getModulus(), key.getPublicExponent());
+                blindings.put(key, blinding);
+            }
+        }
+
+        return blinding.next(refresh, random);
+    }
+
+    private static BigInteger[] generatePair(BigInteger m, BigInteger e, SecureRandom random)
+    {
+        BigInteger r = BigIntegers.createRandomInRange(ONE, m.subtract(ONE), random);
+
+        return new BigInteger[]{ r.modPow(e, m), BigIntegers.modOddInverse(m, r) };
+    }
+
+    private static class Blinding
+    {
+        private final BigInteger m;
+        private final BigInteger e;
+
+        private BigInteger blind;
+        private BigInteger unblind;
+        private int uses;
+
+        Blinding(BigInteger m, BigInteger e)
+        {
+            this.m = m;
+            this.e = e;
+        }
+
+        synchronized BigInteger[] next(int refresh, SecureRandom random)
+        {
+            if (blind == null || uses >= refresh)
+            {
+                BigInteger[] pair = generatePair(m, e, random);
+
+                blind = pair[0];
+                unblind = pair[1];
+                uses = 0;
+            }
+            else
+            {
+                // (r^2)^e = (r^e)^2 and (r^2)^-1 = (r^-1)^2, so squaring both keeps the pair consistent.
+                blind = blind.multiply(blind).mod(m);
+                unblind = unblind.multiply(unblind).mod(m);
+            }
+
+            uses++;
+
+            return new BigInteger[]{ blind, unblind };
+        }
+    }
+}
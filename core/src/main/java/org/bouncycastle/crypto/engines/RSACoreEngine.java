@@ -10,6 +10,7 @@
 import org.bouncycastle.crypto.constraints.DefaultServiceProperties;
 import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
 import org.bouncycastle.util.Arrays;
 
@@ -206,6 +207,11 @@ public BigInteger processBlock(BigInteger input)
                 // m = h * q + mQ
                 m = h.multiply(q).add(mQ);
 
+                if (crtKey instanceof RSAMultiPrimePrivateCrtKeyParameters)
+                {
+                    m = addOtherPrimes((RSAMultiPrimePrivateCrtKeyParameters)crtKey, input, m);
+                }
+
                 // defence against Arjen Lenstra’s CRT attack
                 BigInteger check = m.modPow(e, crtKey.getModulus()); 
                 if (!check.equals(input))
@@ -220,6 +226,32 @@ public BigInteger processBlock(BigInteger input)
         return input.modPow(key.getExponent(), key.getModulus());
     }
 
+    /**
+     * Extend the result m mod p * q to the remaining primes of a multi-prime key, as in RFC 8017, 5.1.2.
+     */
+    private static BigInteger addOtherPrimes(RSAMultiPrimePrivateCrtKeyParameters key, BigInteger input, BigInteger m)
+    {
+        BigInteger[] primes = key.getOtherPrimes();
+        BigInteger[] exponents = key.getOtherExponents();
+        BigInteger[] coefficients = key.getOtherCoefficients();
+
+        BigInteger r = key.getP().multiply(key.getQ());
+        for (int i = 0; i != primes.length; i++)
+        {
+            // mI = ((input mod rI) ^ dI)) mod rI
+            BigInteger mI = (input.remainder(primes[i])).modPow(exponents[i], primes[i]);
+
+            // h = tI * (mI - m) mod rI
+            BigInteger h = mI.subtract(m).multiply(coefficients[i]).mod(primes[i]);
+
+            // m = m + r * h, r being the product of the preceding primes
+            m = m.add(r.multiply(h));
+            r = r.multiply(primes[i]);
+        }
+
+        return m;
+    }
+
     private CryptoServicePurpose getPurpose(boolean isPrivate, boolean forEncryption)
     {
         boolean isSigning = isPrivate && forEncryption;
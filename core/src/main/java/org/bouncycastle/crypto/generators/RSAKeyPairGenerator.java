@@ -11,6 +11,7 @@
 import org.bouncycastle.crypto.constraints.DefaultServiceProperties;
 import org.bouncycastle.crypto.params.RSAKeyGenerationParameters;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
 import org.bouncycastle.math.Primes;
 import org.bouncycastle.math.ec.WNafUtil;
@@ -35,6 +36,11 @@ public void init(KeyGenerationParameters param)
 
     public AsymmetricCipherKeyPair generateKeyPair()
     {
+        if (param.getNumberOfPrimes() > 2)
+        {
+            return generateMultiPrimeKeyPair(param.getNumberOfPrimes());
+        }
+
         AsymmetricCipherKeyPair result = null;
         boolean done = false;
 
@@ -155,6 +161,119 @@ public AsymmetricCipherKeyPair generateKeyPair()
         return result;
     }
 
+    /**
+     * Generate a key with numPrimes primes of (nearly) equal length, as described in RFC 8017. The checks
+     * made on p and q for a two-prime key are applied to the primes pairwise and to their product.
+     */
+    private AsymmetricCipherKeyPair generateMultiPrimeKeyPair(int numPrimes)
+    {
+        int strength = param.getStrength();
+        BigInteger e = param.getPublicExponent();
+
+        int[] bitlengths = new int[numPrimes];
+        for (int i = 0; i != numPrimes; i++)
+        {
+            bitlengths[i] = strength / numPrimes + ((i < strength % numPrimes) ? 1 : 0);
+        }
+
+        int mindiffbits = Math.max(bitlengths[numPrimes - 1] - 100, (2 * bitlengths[numPrimes - 1]) / 3);
+        int minWeight = strength >> 2;
+
+        // d lower bound is 2^(strength / 2)
+        BigInteger dLowerBound = BigInteger.valueOf(2).pow(strength / 2);
+        BigInteger minDiff = ONE.shiftLeft(mindiffbits);
+
+        for (;;)
+        {
+            BigInteger[] primes = new BigInteger[numPrimes];
+            BigInteger n = ONE;
+
+            for (int i = 0; i != numPrimes;)
+            {
+                // squared bound (sqrt(2)*2^(bits-1))^2
+                BigInteger r = chooseRandomPrime(bitlengths[i], e, ONE.shiftLeft(2 * bitlengths[i] - 1));
+
+                // no two primes should be too close together (or equal!)
+                boolean tooClose = false;
+                for (int j = 0; j != i; j++)
+                {
+                    BigInteger diff = r.subtract(primes[j]).abs();
+                    if (diff.bitLength() < mindiffbits || diff.compareTo(minDiff) <= 0)
+                    {
+                        tooClose = true;
+                        break;
+                    }
+                }
+
+                if (!tooClose)
+                {
+                    primes[i++] = r;
+                    n = n.multiply(r);
+                }
+            }
+
+            if (n.bitLength() != strength || WNafUtil.getNafWeight(n) < minWeight)
+            {
+                continue;
+            }
+
+            // largest first, so p > q as for a two-prime key
+            java.util.Arrays.sort(primes);
+            for (int i = 0; i < numPrimes / 2; i++)
+            {
+                BigInteger t = primes[i];
+                primes[i] = primes[numPrimes - 1 - i];
+                primes[numPrimes - 1 - i] = t;
+            }
+
+            BigInteger lcm = ONE;
+            for (int i = 0; i != numPrimes; i++)
+            {
+                BigInteger rSub1 = primes[i].subtract(ONE);
+                lcm = lcm.divide(lcm.gcd(rSub1)).multiply(rSub1);
+            }
+
+            //
+            // calculate the private exponent
+            //
+            BigInteger d = e.modInverse(lcm);
+
+            if (d.compareTo(dLowerBound) <= 0)
+            {
+                continue;
+            }
+
+            //
+            // calculate the CRT factors
+            //
+            BigInteger p = primes[0], q = primes[1];
+            BigInteger dP = d.remainder(p.subtract(ONE));
+            BigInteger dQ = d.remainder(q.subtract(ONE));
+            BigInteger qInv = BigIntegers.modOddInverse(p, q);
+
+            BigInteger[] otherPrimes = new BigInteger[numPrimes - 2];
+            BigInteger[] otherExponents = new BigInteger[numPrimes - 2];
+            BigInteger[] otherCoefficients = new BigInteger[numPrimes - 2];
+
+            BigInteger product = p.multiply(q);
+            for (int i = 2; i != numPrimes; i++)
+            {
+                BigInteger r = primes[i];
+
+                otherPrimes[i - 2] = r;
+                otherExponents[i - 2] = d.remainder(r.subtract(ONE));
+                otherCoefficients[i - 2] = BigIntegers.modOddInverse(r, product.mod(r));
+
+                product = product.multiply(r);
+            }
+
+            return new AsymmetricCipherKeyPair(
+                new RSAKeyParameters(false, n, e, true),
+                new RSAMultiPrimePrivateCrtKeyParameters(n, e, d, p, q, dP, dQ, qInv,
+                    otherPrimes, otherExponents, otherCoefficients, true));
+        }
+    }
+
     /**
      * Choose a random prime value for use with RSA
      *
@@ -29,6 +29,8 @@
 import org.bouncycastle.math.ec.custom.sec.SecP256R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP384R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve64;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field64;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Pack;
 import org.bouncycastle.util.Strings;
@@ -104,7 +106,14 @@ protected DHKEM(short kemid)
         case HPKE.kem_P521_SHA512:
             this.hkdf = new HKDF(HPKE.kdf_HKDF_SHA512);
 
-            curve = new SecP521R1Curve();
+            if (SecP521R1Field64.isPreferred())
+            {
+                curve = new SecP521R1Curve64();
+            }
+            else
+            {
+                curve = new SecP521R1Curve();
+            }
             domainParams = new ECDomainParameters(
                 curve,
                 curve.createPoint(
@@ -10,12 +10,29 @@
 {
     private BigInteger publicExponent;
     private int certainty;
+    private int numberOfPrimes;
 
     public RSAKeyGenerationParameters(
         BigInteger      publicExponent,
         SecureRandom    random,
         int             strength,
         int             certainty)
+    {
+        this(publicExponent, random, strength, certainty, 2);
+    }
+
+    /**
+     * Parameters for generating a key with numberOfPrimes prime factors (RFC 8017 multi-prime RSA). The
+     * number of primes allowed depends on the strength - 3 from 1024 bits, 4 from 4096 bits and 5 from 8192
+     * bits - so that each prime remains large enough that the modulus is still hardest to attack by
+     * factoring it as a whole.
+     */
+    public RSAKeyGenerationParameters(
+        BigInteger      publicExponent,
+        SecureRandom    random,
+        int             strength,
+        int             certainty,
+        int             numberOfPrimes)
     {
         super(random, strength);
 
@@ -32,8 +49,22 @@ public RSAKeyGenerationParameters(
                 throw new IllegalArgumentException("public exponent cannot be even");
         }
         
+        if (numberOfPrimes < 2 || numberOfPrimes > getMaxNumberOfPrimes(strength))
+        {
+            throw new IllegalArgumentException("number of primes out of range for key strength");
+        }
+
         this.publicExponent = publicExponent;
         this.certainty = certainty;
+        this.numberOfPrimes = numberOfPrimes;
+    }
+
+    private static int getMaxNumberOfPrimes(int strength)
+    {
+        return strength < 1024 ? 2
+            :  strength < 4096 ? 3
+            :  strength < 8192 ? 4
+            :  5;
     }
 
     public BigInteger getPublicExponent()
@@ -45,4 +76,9 @@ public int getCertainty()
     {
         return certainty;
     }
+
+    public int getNumberOfPrimes()
+    {
+        return numberOfPrimes;
+    }
 }
@@ -0,0 +1,89 @@
+package org.bouncycastle.crypto.params;
+
+import java.math.BigInteger;
+
+import org.bouncycastle.util.Arrays;
+
+/**
+ * A multi-prime RSA private key (RFC 8017), with the CRT values for the first two primes held as for a
+ * two-prime key and, for each of the remaining primes r_i, the exponent d_i = d mod (r_i - 1) and the
+ * coefficient t_i = (r_1 * r_2 * ... * r_(i-1))^-1 mod r_i.
+ */
+public class RSAMultiPrimePrivateCrtKeyParameters
+    extends RSAPrivateCrtKeyParameters
+{
+    private BigInteger[] otherPrimes;
+    private BigInteger[] otherExponents;
+    private BigInteger[] otherCoefficients;
+
+    public RSAMultiPrimePrivateCrtKeyParameters(
+        BigInteger   modulus,
+        BigInteger   publicExponent,
+        BigInteger   privateExponent,
+        BigInteger   p,
+        BigInteger   q,
+        BigInteger   dP,
+        BigInteger   dQ,
+        BigInteger   qInv,
+        BigInteger[] otherPrimes,
+        BigInteger[] otherExponents,
+        BigInteger[] otherCoefficients)
+    {
+        this(modulus, publicExponent, privateExponent, p, q, dP, dQ, qInv, otherPrimes, otherExponents, otherCoefficients, false);
+    }
+
+    public RSAMultiPrimePrivateCrtKeyParameters(
+        BigInteger   modulus,
+        BigInteger   publicExponent,
+        BigInteger   privateExponent,
+        BigInteger   p,
+        BigInteger   q,
+        BigInteger   dP,
+        BigInteger   dQ,
+        BigInteger   qInv,
+        BigInteger[] otherPrimes,
+        BigInteger[] otherExponents,
+        BigInteger[] otherCoefficients,
+        boolean      isInternal)
+    {
+        super(modulus, publicExponent, privateExponent, p, q, dP, dQ, qInv, isInternal);
+
+        if (otherPrimes == null || otherPrimes.length == 0)
+        {
+            throw new IllegalArgumentException("multi-prime key requires at least one other prime");
+        }
+        if (otherExponents == null || otherExponents.length != otherPrimes.length
+            || otherCoefficients == null || otherCoefficients.length != otherPrimes.length)
+        {
+            throw new IllegalArgumentException("other prime information inconsistent");
+        }
+
+        this.otherPrimes = Arrays.clone(otherPrimes);
+        this.otherExponents = Arrays.clone(otherExponents);
+        this.otherCoefficients = Arrays.clone(otherCoefficients);
+    }
+
+    /**
+     * Return the primes after p and q, r_3 onwards.
+     */
+    public BigInteger[] getOtherPrimes()
+    {
+        return Arrays.clone(otherPrimes);
+    }
+
+    /**
+     * Return the CRT exponents d_i for the primes after p and q.
+     */
+    public BigInteger[] getOtherExponents()
+    {
+        return Arrays.clone(otherExponents);
+    }
+
+    /**
+     * Return the CRT coefficients t_i for the primes after p and q.
+     */
+    public BigInteger[] getOtherCoefficients()
+    {
+        return Arrays.clone(otherCoefficients);
+    }
+}
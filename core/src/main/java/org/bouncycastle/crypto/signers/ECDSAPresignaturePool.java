@@ -0,0 +1,285 @@
+package org.bouncycastle.crypto.signers;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.bouncycastle.crypto.CryptoServicesRegistrar;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECConstants;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.util.BigIntegers;
+import org.bouncycastle.util.Properties;
+
+/**
+ * A bounded pool of ECDSA presignatures for one set of domain parameters. With a random k, the expensive parts of
+ * signing - the point multiplication k.G and the inversion of k mod n - do not depend on the message or the key,
+ * so they can be done ahead of time, leaving {@link ECDSASigner#generateSignature(byte[])} a couple of modular
+ * multiplications.
+ * <p>
+ * Each presignature, the pair (k^-1 mod n, r), is removed from the pool when it is taken and is never handed out
+ * again - signing two messages with the same k would reveal the private key. The pool can be filled on demand with
+ * {@link #fill()}, or kept topped up by a low priority background thread started with {@link #start()}. A signer
+ * finding the pool empty computes its signature as usual.
+ * </p>
+ * <p>
+ * Signers created with the default constructor of {@link ECDSASigner}, which includes those behind the provider's
+ * ECDSA signatures, use a shared pool for their domain parameters when no SecureRandom is passed in at
+ * initialisation and the property "org.bouncycastle.ecdsa.presignature_pool_size" is set to the pool size wanted.
+ * The default is zero, which disables the shared pools.
+ * </p>
+ */
+public class ECDSAPresignaturePool
+{
+    private static final int MAX_SHARED_POOLS = 8;
+
+    private static final Map sharedPools = new LinkedHashMap(16, 0.75f, true);
+
+    /**
+     * Return the shared pool, started on first use, for the passed in domain parameters.
+     *
+     * @param params the domain parameters of the signing key.
+     * @return the shared pool, or null if shared pools are disabled.
+     */
+    static ECDSAPresignaturePool getShared(ECDomainParameters params)
+    {
+        int capacity = Properties.asInteger("org.bouncycastle.ecdsa.presignature_pool_size", 0);
+        if (capacity <= 0)
+        {
+            return null;
+        }
+
+        synchronized (sharedPools)
+        {
+            ECDSAPresignaturePool pool = (ECDSAPresignaturePool)sharedPools.get(params);
+            if (pool == null)
+            {
+                pool = new ECDSAPresignaturePool(params, capacity);
+                pool.start();
+
+                sharedPools.put(params, pool);
+
+                for (Iterator it = sharedPools.values().iterator(); sharedPools.size() > MAX_SHARED_POOLS && it.hasNext();)
+                {
+                    ((ECDSAPresignaturePool)it.next()).stop();
+                    it.remove();
+                }
+            }
+            return pool;
+        }
+    }
+
+    private final ECDomainParameters params;
+    private final int capacity;
+    private final SecureRandom random;
+    private final LinkedList presignatures = new LinkedList();
+
+    private Thread filler = null;
+    private long generatedCount = 0, usedCount = 0, missedCount = 0;
+
+    /**
+     * Create a pool using the default SecureRandom of {@link CryptoServicesRegistrar}.
+     *
+     * @param params the domain parameters presignatures are generated for.
+     * @param capacity the maximum number of presignatures held.
+     */
+    public ECDSAPresignaturePool(ECDomainParameters params, int capacity)
+    {
+        this(params, capacity, null);
+    }
+
+    /**
+     * Create a pool generating its k values from the passed in SecureRandom.
+     *
+     * @param params the domain parameters presignatures are generated for.
+     * @param capacity the maximum number of presignatures held.
+     * @param random the source of randomness for k, null for the default.
+     */
+    public ECDSAPresignaturePool(ECDomainParameters params, int capacity, SecureRandom random)
+    {
+        if (params == null)
+        {
+            throw new NullPointerException("'params' cannot be null");
+        }
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("'capacity' must be positive");
+        }
+
+        this.params = params;
+        this.capacity = capacity;
+        this.random = CryptoServicesRegistrar.getSecureRandom(random);
+    }
+
+    public ECDomainParameters getParameters()
+    {
+        return params;
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Return the number of presignatures currently available.
+     */
+    public synchronized int size()
+    {
+        return presignatures.size();
+    }
+
+    /**
+     * Return the number of presignatures generated and added to the pool.
+     */
+    public synchronized long getGeneratedCount()
+    {
+        return generatedCount;
+    }
+
+    /**
+     * Return the number of presignatures taken from the pool by signers.
+     */
+    public synchronized long getUsedCount()
+    {
+        return usedCount;
+    }
+
+    /**
+     * Return the number of times a signer found the pool empty.
+     */
+    public synchronized long getMissedCount()
+    {
+        return missedCount;
+    }
+
+    /**
+     * Fill the pool to capacity on the calling thread.
+     */
+    public void fill()
+    {
+        while (size() < capacity)
+        {
+            offer(generate());
+        }
+    }
+
+    /**
+     * Start a background thread which refills the pool whenever presignatures are taken from it. The thread is a
+     * daemon thread of minimum priority, so it makes use of otherwise idle time.
+     */
+    public synchronized void start()
+    {
+        if (filler == null)
+        {
+            filler = new Thread(new Filler(), "BC ECDSA presignature pool");
+            filler.setDaemon(true);
+            filler.setPriority(Thread.MIN_PRIORITY);
+            filler.start();
+        }
+    }
+
+    /**
+     * Stop the background thread, if any. Presignatures already in the pool remain available.
+     */
+    public synchronized void stop()
+    {
+        filler = null;
+        notifyAll();
+    }
+
+    /**
+     * Remove and return the next presignature, which is never returned again.
+     *
+     * @return a presignature, or null if the pool is empty.
+     */
+    synchronized Presignature take()
+    {
+        if (presignatures.isEmpty())
+        {
+            ++missedCount;
+            return null;
+        }
+
+        ++usedCount;
+        notifyAll();
+        return (Presignature)presignatures.removeFirst();
+    }
+
+    private synchronized void offer(Presignature presignature)
+    {
+        if (presignatures.size() < capacity)
+        {
+            presignatures.addLast(presignature);
+            ++generatedCount;
+        }
+    }
+
+    private synchronized boolean awaitSpace()
+    {
+        while (filler == Thread.currentThread() && presignatures.size() >= capacity)
+        {
+            try
+            {
+                wait();
+            }
+            catch (InterruptedException e)
+            {
+                filler = null;
+                Thread.currentThread().interrupt();
+            }
+        }
+        return filler == Thread.currentThread();
+    }
+
+    private Presignature generate()
+    {
+        BigInteger n = params.getN();
+
+        RandomDSAKCalculator kCalculator = new RandomDSAKCalculator();
+        kCalculator.init(n, random);
+
+        FixedPointCombMultiplier basePointMultiplier = new FixedPointCombMultiplier();
+
+        BigInteger k, r;
+        do
+        {
+            k = kCalculator.nextK();
+
+            ECPoint p = basePointMultiplier.multiply(params.getG(), k).normalize();
+
+            r = p.getAffineXCoord().toBigInteger().mod(n);
+        }
+        while (r.equals(ECConstants.ZERO));
+
+        return new Presignature(BigIntegers.modOddInverse(n, k), r);
+    }
+
+    static class Presignature
+    {
+        final BigInteger kInv;
+        final BigInteger r;
+
+        Presignature(BigInteger kInv, BigInteger r)
+        {
+            this.kInv = kInv;
+            this.r = r;
+        }
+    }
+
+    private class Filler
+        implements Runnable
+    {
+        public void run()
+        {
+            while (awaitSpace())
+            {
+                offer(generate());
+            }
+        }
+    }
+}
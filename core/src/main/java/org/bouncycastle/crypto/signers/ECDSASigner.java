@@ -27,9 +27,12 @@
     implements ECConstants, DSAExt
 {
     private final DSAKCalculator kCalculator;
+    private final ECDSAPresignaturePool pool;
+    private final boolean sharedPool;
 
     private ECKeyParameters key;
     private SecureRandom    random;
+    private ECDSAPresignaturePool presignatures;
 
     /**
      * Default configuration, random K values.
@@ -37,6 +40,8 @@
     public ECDSASigner()
     {
         this.kCalculator = new RandomDSAKCalculator();
+        this.pool = null;
+        this.sharedPool = true;
     }
 
     /**
@@ -47,6 +52,25 @@ public ECDSASigner()
     public ECDSASigner(DSAKCalculator kCalculator)
     {
         this.kCalculator = kCalculator;
+        this.pool = null;
+        this.sharedPool = false;
+    }
+
+    /**
+     * Configuration with random K values, taken as presignatures from the passed in pool while it has any.
+     *
+     * @param pool a pool of presignatures for the domain parameters of the signing key.
+     */
+    public ECDSASigner(ECDSAPresignaturePool pool)
+    {
+        if (pool == null)
+        {
+            throw new NullPointerException("'pool' cannot be null");
+        }
+
+        this.kCalculator = new RandomDSAKCalculator();
+        this.pool = pool;
+        this.sharedPool = false;
     }
 
     public void init(
@@ -77,6 +101,7 @@ public void init(
         CryptoServicesRegistrar.checkConstraints(Utils.getDefaultProperties("ECDSA", key, forSigning));
 
         this.random = initSecureRandom(forSigning && !kCalculator.isDeterministic(), providedRandom);
+        this.presignatures = forSigning ? initPresignaturePool(providedRandom != null) : null;
     }
 
     public BigInteger getOrder()
@@ -111,6 +136,21 @@ public BigInteger[] generateSignature(
 
         BigInteger r, s;
 
+        if (presignatures != null)
+        {
+            ECDSAPresignaturePool.Presignature presignature;
+            while ((presignature = presignatures.take()) != null)
+            {
+                r = presignature.r;
+                s = presignature.kInv.multiply(e.add(d.multiply(r))).mod(n);
+
+                if (!s.equals(ZERO))
+                {
+                    return new BigInteger[]{ r, s };
+                }
+            }
+        }
+
         ECMultiplier basePointMultiplier = createBasePointMultiplier();
 
         // 5.3.2
@@ -254,6 +294,23 @@ protected ECFieldElement getDenominator(int coordinateSystem, ECPoint p)
         }
     }
 
+    private ECDSAPresignaturePool initPresignaturePool(boolean randomProvided)
+    {
+        ECDomainParameters ec = key.getParameters();
+
+        if (pool != null)
+        {
+            if (!pool.getParameters().equals(ec))
+            {
+                throw new IllegalArgumentException("presignature pool is for different domain parameters");
+            }
+            return pool;
+        }
+
+        // a caller providing their own SecureRandom gets K values from it
+        return sharedPool && !randomProvided ? ECDSAPresignaturePool.getShared(ec) : null;
+    }
+
     protected SecureRandom initSecureRandom(boolean needed, SecureRandom provided)
     {
         return needed ? CryptoServicesRegistrar.getSecureRandom(provided) : null;
@@ -15,6 +15,7 @@
 import org.bouncycastle.asn1.cryptopro.ECGOST3410NamedCurves;
 import org.bouncycastle.asn1.cryptopro.GOST3410PublicKeyAlgParameters;
 import org.bouncycastle.asn1.pkcs.DHParameter;
+import org.bouncycastle.asn1.pkcs.OtherPrimeInfo;
 import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.pkcs.RSAPrivateKey;
@@ -40,6 +41,7 @@
 import org.bouncycastle.crypto.params.Ed448PrivateKeyParameters;
 import org.bouncycastle.crypto.params.ElGamalParameters;
 import org.bouncycastle.crypto.params.ElGamalPrivateKeyParameters;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.X25519PrivateKeyParameters;
 import org.bouncycastle.crypto.params.X448PrivateKeyParameters;
@@ -113,6 +115,26 @@ public static AsymmetricKeyParameter createKey(PrivateKeyInfo keyInfo)
         {
             RSAPrivateKey keyStructure = RSAPrivateKey.getInstance(keyInfo.parsePrivateKey());
 
+            OtherPrimeInfo[] otherPrimeInfos = keyStructure.getOtherPrimeInfos();
+            if (otherPrimeInfos != null)
+            {
+                BigInteger[] primes = new BigInteger[otherPrimeInfos.length];
+                BigInteger[] exponents = new BigInteger[otherPrimeInfos.length];
+                BigInteger[] coefficients = new BigInteger[otherPrimeInfos.length];
+
+                for (int i = 0; i != otherPrimeInfos.length; i++)
+                {
+                    primes[i] = otherPrimeInfos[i].getPrime();
+                    exponents[i] = otherPrimeInfos[i].getExponent();
+                    coefficients[i] = otherPrimeInfos[i].getCoefficient();
+                }
+
+                return new RSAMultiPrimePrivateCrtKeyParameters(keyStructure.getModulus(),
+                    keyStructure.getPublicExponent(), keyStructure.getPrivateExponent(),
+                    keyStructure.getPrime1(), keyStructure.getPrime2(), keyStructure.getExponent1(),
+                    keyStructure.getExponent2(), keyStructure.getCoefficient(), primes, exponents, coefficients);
+            }
+
             return new RSAPrivateCrtKeyParameters(keyStructure.getModulus(),
                 keyStructure.getPublicExponent(), keyStructure.getPrivateExponent(),
                 keyStructure.getPrime1(), keyStructure.getPrime2(), keyStructure.getExponent1(),
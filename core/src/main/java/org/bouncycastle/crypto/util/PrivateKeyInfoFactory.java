@@ -14,6 +14,7 @@
 import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.cryptopro.CryptoProObjectIdentifiers;
 import org.bouncycastle.asn1.cryptopro.GOST3410PublicKeyAlgParameters;
+import org.bouncycastle.asn1.pkcs.OtherPrimeInfo;
 import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.pkcs.RSAPrivateKey;
@@ -34,6 +35,7 @@
 import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
 import org.bouncycastle.crypto.params.Ed448PrivateKeyParameters;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.X25519PrivateKeyParameters;
 import org.bouncycastle.crypto.params.X448PrivateKeyParameters;
@@ -91,6 +93,24 @@ public static PrivateKeyInfo createPrivateKeyInfo(AsymmetricKeyParameter private
         {
             RSAPrivateCrtKeyParameters priv = (RSAPrivateCrtKeyParameters)privateKey;
 
+            if (priv instanceof RSAMultiPrimePrivateCrtKeyParameters)
+            {
+                RSAMultiPrimePrivateCrtKeyParameters multiPriv = (RSAMultiPrimePrivateCrtKeyParameters)priv;
+                BigInteger[] primes = multiPriv.getOtherPrimes();
+                BigInteger[] exponents = multiPriv.getOtherExponents();
+                BigInteger[] coefficients = multiPriv.getOtherCoefficients();
+
+                OtherPrimeInfo[] otherPrimeInfos = new OtherPrimeInfo[primes.length];
+                for (int i = 0; i != primes.length; i++)
+                {
+                    otherPrimeInfos[i] = new OtherPrimeInfo(primes[i], exponents[i], coefficients[i]);
+                }
+
+                return new PrivateKeyInfo(new AlgorithmIdentifier(PKCSObjectIdentifiers.rsaEncryption, DERNull.INSTANCE),
+                    new RSAPrivateKey(priv.getModulus(), priv.getPublicExponent(), priv.getExponent(), priv.getP(), priv.getQ(), priv.getDP(), priv.getDQ(), priv.getQInv(), otherPrimeInfos),
+                    attributes);
+            }
+
             return new PrivateKeyInfo(new AlgorithmIdentifier(PKCSObjectIdentifiers.rsaEncryption, DERNull.INSTANCE),
                 new RSAPrivateKey(priv.getModulus(), priv.getPublicExponent(), priv.getExponent(), priv.getP(), priv.getQ(), priv.getDP(), priv.getDQ(), priv.getQInv()),
                 attributes);
@@ -7,4 +7,22 @@ public ECPoint lookupVar(int index)
     {
         return lookup(index);
     }
+
+    /**
+     * Starting from the point at infinity, double and then add the entry at each of the given indices in turn,
+     * looking entries up as {@link #lookup(int)} does - the main loop of {@link FixedPointCombMultiplier}.
+     * Tables for specific curves may override this to work without creating intermediate points.
+     *
+     * @param indices the table indices, at least one.
+     * @return the accumulated point.
+     */
+    public ECPoint twicePlusLookups(int[] indices)
+    {
+        ECPoint R = lookup(indices[0]);
+        for (int i = 1; i < indices.length; ++i)
+        {
+            R = R.twicePlus(lookup(indices[i]));
+        }
+        return R;
+    }
 }
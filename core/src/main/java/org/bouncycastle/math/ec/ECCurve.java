@@ -387,11 +387,20 @@ public ECMultiplier getMultiplier()
      * Decode a point on this curve from its ASN.1 encoding. The different
      * encodings are taken account of, including point compression for
      * <code>F<sub>p</sub></code> (X9.62 s 4.2.1 pg 17).
+     * <p>
+     * Decoded points are cached by encoding, so decoding the same public key again usually returns the
+     * same instance, together with any precomputations made for it - see {@link ECPointCache}.
+     * </p>
      * @return The decoded point.
      */
     public ECPoint decodePoint(byte[] encoded)
     {
-        ECPoint p = null;
+        ECPoint p = ECPointCache.get(this, encoded);
+        if (p != null)
+        {
+            return p;
+        }
+
         int expectedLength = getFieldElementEncodingLength();
 
         byte type = encoded[0];
@@ -467,9 +476,33 @@ public ECPoint decodePoint(byte[] encoded)
             throw new IllegalArgumentException("Invalid infinity encoding");
         }
 
+        if (type != 0x00)
+        {
+            p = ECPointCache.put(this, encoded, p);
+        }
+
         return p;
     }
 
+    /**
+     * Decode a batch of points on this curve from their ASN.1 encodings, as for {@link #decodePoint(byte[])}.
+     * Curves that can share work between the points of a batch, such as the field inversions needed for point
+     * decompression, override this to do so.
+     *
+     * @param encodings the point encodings.
+     * @return the decoded points, in the same order as the encodings.
+     * @throws IllegalArgumentException if any of the encodings is invalid.
+     */
+    public ECPoint[] decodePoints(byte[][] encodings)
+    {
+        ECPoint[] points = new ECPoint[encodings.length];
+        for (int i = 0; i < encodings.length; ++i)
+        {
+            points[i] = decodePoint(encodings[i]);
+        }
+        return points;
+    }
+
     /**
      * Create a cache-safe lookup table for the specified sequence of points. All the points MUST
      * belong to this {@link ECCurve} instance, and MUST already be normalized.
@@ -953,45 +986,111 @@ public ECFieldElement randomFieldElementMult(SecureRandom r)
          */
         protected ECPoint decompressPoint(int yTilde, BigInteger X1)
         {
-            ECFieldElement x = this.fromBigInteger(X1), y = null;
+            ECFieldElement x = this.fromBigInteger(X1);
             if (x.isZero())
             {
-                y = this.getB().sqrt();
+                return this.createRawPoint(x, this.getB().sqrt());
             }
-            else
-            { 
-                ECFieldElement beta = x.square().invert().multiply(this.getB()).add(this.getA()).add(x);
-                ECFieldElement z = solveQuadraticEquation(beta);
-                if (z != null)
+
+            return decompressPoint(yTilde, x, x.square().invert());
+        }
+
+        /**
+         * Decompresses a compressed point with non-zero x, given the inverse of x<sup>2</sup>.
+         */
+        private ECPoint decompressPoint(int yTilde, ECFieldElement x, ECFieldElement xSquaredInv)
+        {
+            ECFieldElement beta = xSquaredInv.multiply(this.getB()).add(this.getA()).add(x);
+            ECFieldElement z = solveQuadraticEquation(beta);
+            if (z == null)
+            {
+                throw new IllegalArgumentException("Invalid point compression");
+            }
+
+            if (z.testBitZero() != (yTilde == 1))
+            {
+                z = z.addOne();
+            }
+
+            ECFieldElement y;
+            switch (this.getCoordinateSystem())
+            {
+            case ECCurve.COORD_LAMBDA_AFFINE:
+            case ECCurve.COORD_LAMBDA_PROJECTIVE:
+            {
+                y = z.add(x);
+                break;
+            }
+            default:
+            {
+                y = z.multiply(x);
+                break;
+            }
+            }
+
+            return this.createRawPoint(x, y);
+        }
+
+        /**
+         * Decode a batch of points, as for {@link #decodePoint(byte[])}. The inverses of x<sup>2</sup> needed to
+         * decompress the compressed points are all found using a single field inversion.
+         */
+        public ECPoint[] decodePoints(byte[][] encodings)
+        {
+            int count = encodings.length, expectedLength = getFieldElementEncodingLength();
+            ECPoint[] points = new ECPoint[count];
+
+            int[] pending = new int[count];
+            ECFieldElement[] xs = new ECFieldElement[count], zs = new ECFieldElement[count];
+            int pendingCount = 0;
+
+            for (int i = 0; i < count; ++i)
+            {
+                byte[] encoded = encodings[i];
+                byte type = encoded[0];
+
+                if ((type == 0x02 || type == 0x03) && encoded.length == (expectedLength + 1))
                 {
-                    if (z.testBitZero() != (yTilde == 1))
+                    ECPoint p = ECPointCache.get(this, encoded);
+                    if (p != null)
                     {
-                        z = z.addOne();
+                        points[i] = p;
+                        continue;
                     }
 
-                    switch (this.getCoordinateSystem())
-                    {
-                    case ECCurve.COORD_LAMBDA_AFFINE:
-                    case ECCurve.COORD_LAMBDA_PROJECTIVE:
-                    {
-                        y = z.add(x);
-                        break;
-                    }
-                    default:
+                    ECFieldElement x = fromBigInteger(BigIntegers.fromUnsignedByteArray(encoded, 1, expectedLength));
+                    if (!x.isZero())
                     {
-                        y = z.multiply(x);
-                        break;
-                    }
+                        pending[pendingCount] = i;
+                        xs[pendingCount] = x;
+                        zs[pendingCount] = x.square();
+                        ++pendingCount;
+                        continue;
                     }
                 }
+
+                points[i] = decodePoint(encoded);
             }
 
-            if (y == null)
+            if (pendingCount > 0)
             {
-                throw new IllegalArgumentException("Invalid point compression");
+                ECAlgorithms.montgomeryTrick(zs, 0, pendingCount);
+
+                for (int j = 0; j < pendingCount; ++j)
+                {
+                    int i = pending[j];
+
+                    ECPoint p = decompressPoint(encodings[i][0] & 1, xs[j], zs[j]);
+                    if (!p.implIsValid(true, true))
+                    {
+                        throw new IllegalArgumentException("Invalid point");
+                    }
+
+                    points[i] = ECPointCache.put(this, encodings[i], p);
+                }
             }
 
-            return this.createRawPoint(x, y);
+            return points;
         }
 
         /**
@@ -0,0 +1,154 @@
+package org.bouncycastle.math.ec;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Properties;
+
+/**
+ * A bounded cache of points decoded by {@link ECCurve#decodePoint(byte[])}, keyed on the curve and the encoding. A
+ * point carries its own precomputations (see {@link PreCompInfo}), so returning the same instance for a public key
+ * that is decoded again - from a certificate, a key spec or a handshake message - means the WNaf tables built for
+ * it by an earlier verification or agreement are reused rather than rebuilt.
+ * <p>
+ * Lookups do not lock. When the cache grows past its size an eighth of it is evicted, entries looked up since the
+ * previous eviction being given a second chance, so the cache keeps roughly the most used points rather than
+ * strictly the most recent ones.
+ * </p>
+ * <p>
+ * Only points that decoded and validated successfully are cached. The number of points held is read once, from the
+ * property "org.bouncycastle.ec.point_cache_size" - a size of zero disables the cache. The cache can also be
+ * bypassed for the current thread by setting the override "org.bouncycastle.ec.disable_point_cache".
+ * </p>
+ */
+class ECPointCache
+{
+    private static final int DEFAULT_SIZE = 8192;
+
+    private static final int MAX_SIZE = Properties.asInteger("org.bouncycastle.ec.point_cache_size", DEFAULT_SIZE);
+
+    private static final ConcurrentHashMap points = new ConcurrentHashMap();
+    private static final Object evictionLock = new Object();
+
+    private ECPointCache()
+    {
+    }
+
+    static ECPoint get(ECCurve curve, byte[] encoding)
+    {
+        if (isDisabled())
+        {
+            return null;
+        }
+
+        Entry entry = (Entry)points.get(new CacheKey(curve, encoding));
+        if (entry == null)
+        {
+            return null;
+        }
+
+        entry.referenced = true;
+        return entry.point;
+    }
+
+    static ECPoint put(ECCurve curve, byte[] encoding, ECPoint point)
+    {
+        if (isDisabled())
+        {
+            return point;
+        }
+
+        // if another thread decoded the same point first, its entry wins so precomputations are shared
+        Entry existing = (Entry)points.putIfAbsent(new CacheKey(curve, Arrays.clone(encoding)), new Entry(point));
+        if (existing != null)
+        {
+            existing.referenced = true;
+            return existing.point;
+        }
+
+        if (points.size() > MAX_SIZE)
+        {
+            evict();
+        }
+
+        return point;
+    }
+
+    private static boolean isDisabled()
+    {
+        return MAX_SIZE <= 0 || Properties.isOverrideSet("org.bouncycastle.ec.disable_point_cache");
+    }
+
+    private static void evict()
+    {
+        synchronized (evictionLock)
+        {
+            int targetSize = MAX_SIZE - (MAX_SIZE >>> 3);
+
+            // the first pass clears the flag of referenced entries, the second removes whatever it has to
+            for (int pass = 0; pass < 2 && points.size() > targetSize; ++pass)
+            {
+                for (Iterator it = points.values().iterator(); points.size() > targetSize && it.hasNext();)
+                {
+                    Entry entry = (Entry)it.next();
+                    if (pass == 0 && entry.referenced)
+                    {
+                        entry.referenced = false;
+                    }
+                    else
+                    {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Entry
+    {
+        final ECPoint point;
+
+        volatile boolean referenced = true;
+
+        Entry(ECPoint point)
+        {
+            this.point = point;
+        }
+    }
+
+    private static class CacheKey
+    {
+        private final ECCurve curve;
+        private final byte[] encoding;
+        private final int hashCode;
+
+        CacheKey(ECCurve curve, byte[] encoding)
+        {
+            this.curve = curve;
+            this.encoding = encoding;
+            this.hashCode = Arrays.hashCode(encoding);
+        }
+
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        public boolean equals(Object o)
+        {
+            if (o == this)
+            {
+                return true;
+            }
+            if (!(o instanceof CacheKey))
+            {
+                return false;
+            }
+
+            CacheKey other = (CacheKey)o;
+
+            return curve == other.curve && Arrays.areEqual(encoding, other.encoding);
+        }
+    }
+}
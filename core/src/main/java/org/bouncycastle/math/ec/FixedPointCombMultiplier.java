@@ -28,11 +28,11 @@ protected ECPoint multiplyPositive(ECPoint p, BigInteger k)
 
         int d = (size + width - 1) / width;
 
-        ECPoint R = c.getInfinity();
-
         int fullComb = d * width;
         int[] K = Nat.fromBigInteger(fullComb, k);
 
+        int[] indices = new int[d];
+
         int top = fullComb - 1; 
         for (int i = 0; i < d; ++i)
         {
@@ -46,9 +46,21 @@ protected ECPoint multiplyPositive(ECPoint p, BigInteger k)
                 secretIndex ^= secretBit;
             }
 
-            ECPoint add = lookupTable.lookup(secretIndex);
+            indices[i] = secretIndex;
+        }
 
-            R = R.twicePlus(add);
+        ECPoint R;
+        if (lookupTable instanceof AbstractECLookupTable)
+        {
+            R = ((AbstractECLookupTable)lookupTable).twicePlusLookups(indices);
+        }
+        else
+        {
+            R = c.getInfinity();
+            for (int i = 0; i < d; ++i)
+            {
+                R = R.twicePlus(lookupTable.lookup(indices[i]));
+            }
         }
 
         return R.add(info.getOffset());
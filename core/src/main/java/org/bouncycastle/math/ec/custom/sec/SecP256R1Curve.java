@@ -8,6 +8,7 @@
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECLookupTable;
+import org.bouncycastle.math.ec.ECMultiplier;
 import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.math.raw.Nat256;
 import org.bouncycastle.util.encoders.Hex;
@@ -83,6 +84,17 @@ public ECPoint getInfinity()
         return infinity;
     }
 
+    protected ECMultiplier createDefaultMultiplier()
+    {
+        return new SecPR1WNafMultiplier()
+        {
+            SecPR1Workspace createWorkspace()
+            {
+                return new SecP256R1Workspace(SecP256R1Curve.this);
+            }
+        };
+    }
+
     public ECLookupTable createCacheSafeLookupTable(ECPoint[] points, int off, final int len)
     {
         final int FE_INTS = 8;
@@ -126,6 +138,11 @@ public ECPoint lookup(int index)
                 return createPoint(x, y);
             }
 
+            public ECPoint twicePlusLookups(int[] indices)
+            {
+                return new SecP256R1Workspace(SecP256R1Curve.this).twicePlusLookups(this, table, len, indices);
+            }
+
             public ECPoint lookupVar(int index)
             {
                 int[] x = Nat256.create(), y = Nat256.create();
@@ -0,0 +1,78 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat;
+import org.bouncycastle.math.raw.Nat256;
+
+class SecP256R1Workspace extends SecPR1Workspace
+{
+    private final ECCurve curve;
+    private final int[] tt = Nat256.createExt();
+
+    SecP256R1Workspace(ECCurve curve)
+    {
+        super(8);
+
+        this.curve = curve;
+    }
+
+    protected void add(int[] x, int[] y, int[] z)
+    {
+        SecP256R1Field.add(x, y, z);
+    }
+
+    protected boolean isZero(int[] x)
+    {
+        return Nat256.isZero(x);
+    }
+
+    protected void multiply(int[] x, int[] y, int[] z)
+    {
+        SecP256R1Field.multiply(x, y, z, tt);
+    }
+
+    protected void square(int[] x, int[] z)
+    {
+        SecP256R1Field.square(x, z, tt);
+    }
+
+    protected void subtract(int[] x, int[] y, int[] z)
+    {
+        SecP256R1Field.subtract(x, y, z);
+    }
+
+    protected void twice(int[] x, int[] z)
+    {
+        SecP256R1Field.twice(x, z);
+    }
+
+    protected void threeTimes(int[] x)
+    {
+        int c = Nat256.addBothTo(x, x, x);
+        SecP256R1Field.reduce32(c, x);
+    }
+
+    protected void timesPow2(int[] x, int n, int[] z)
+    {
+        int c = Nat.shiftUpBits(8, x, n, 0, z);
+        SecP256R1Field.reduce32(c, z);
+    }
+
+    protected int[] getRawX(ECPoint p)
+    {
+        return ((SecP256R1FieldElement)p.getRawXCoord()).x;
+    }
+
+    protected int[] getRawY(ECPoint p)
+    {
+        return ((SecP256R1FieldElement)p.getRawYCoord()).x;
+    }
+
+    protected ECPoint createPoint(int[] x, int[] y, int[] z)
+    {
+        return new SecP256R1Point(curve, new SecP256R1FieldElement(x), new SecP256R1FieldElement(y),
+            new ECFieldElement[]{ new SecP256R1FieldElement(z) });
+    }
+}
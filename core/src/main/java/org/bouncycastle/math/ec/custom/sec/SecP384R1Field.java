@@ -95,8 +95,8 @@ public static int isZero(int[] x)
 
     public static void multiply(int[] x, int[] y, int[] z)
     {
-        int[] tt = Nat.create(24);
-        Nat384.mul(x, y, tt);
+        int[] tt = Nat.create(48);
+        Nat384.mul(x, y, tt, tt, 24);
         reduce(tt, z);
     }
 
@@ -106,6 +106,16 @@ public static void multiply(int[] x, int[] y, int[] z, int[] tt)
         reduce(tt, z);
     }
 
+    /**
+     * As for {@link #multiply(int[], int[], int[], int[])}, with t holding 24 words of scratch space for the
+     * Karatsuba middle product so that nothing is allocated.
+     */
+    public static void multiply(int[] x, int[] y, int[] z, int[] tt, int[] t)
+    {
+        Nat384.mul(x, y, tt, t, 0);
+        reduce(tt, z);
+    }
+
     public static void negate(int[] x, int[] z)
     {
         if (0 != isZero(x))
@@ -237,8 +247,8 @@ public static void reduce32(int x, int[] z)
 
     public static void square(int[] x, int[] z)
     {
-        int[] tt = Nat.create(24);
-        Nat384.square(x, tt);
+        int[] tt = Nat.create(48);
+        Nat384.square(x, tt, tt, 24);
         reduce(tt, z);
     }
 
@@ -248,19 +258,22 @@ public static void square(int[] x, int[] z, int[] tt)
         reduce(tt, z);
     }
 
+    /**
+     * As for {@link #square(int[], int[], int[])}, with t holding 24 words of scratch space for the Karatsuba
+     * middle product so that nothing is allocated.
+     */
+    public static void square(int[] x, int[] z, int[] tt, int[] t)
+    {
+        Nat384.square(x, tt, t, 0);
+        reduce(tt, z);
+    }
+
     public static void squareN(int[] x, int n, int[] z)
     {
 //        assert n > 0;
 
-        int[] tt = Nat.create(24);
-        Nat384.square(x, tt);
-        reduce(tt, z);
-
-        while (--n > 0)
-        {
-            Nat384.square(z, tt);
-            reduce(tt, z);
-        }
+        int[] tt = Nat.create(48);
+        squareN(x, n, z, tt, tt, 24);
     }
 
     public static void squareN(int[] x, int n, int[] z, int[] tt)
@@ -277,6 +290,15 @@ public static void squareN(int[] x, int n, int[] z, int[] tt)
         }
     }
 
+    /**
+     * As for {@link #squareN(int[], int, int[], int[])}, with t holding 24 words of scratch space for the
+     * Karatsuba middle product so that nothing is allocated.
+     */
+    public static void squareN(int[] x, int n, int[] z, int[] tt, int[] t)
+    {
+        squareN(x, n, z, tt, t, 0);
+    }
+
     public static void subtract(int[] x, int[] y, int[] z)
     {
         int c = Nat.sub(12, x, y, z);
@@ -358,4 +380,18 @@ private static void subPInvFrom(int[] z)
             Nat.decAt(12, z, 5);
         }
     }
+
+    private static void squareN(int[] x, int n, int[] z, int[] tt, int[] t, int tOff)
+    {
+//        assert n > 0;
+
+        Nat384.square(x, tt, t, tOff);
+        reduce(tt, z);
+
+        while (--n > 0)
+        {
+            Nat384.square(z, tt, t, tOff);
+            reduce(tt, z);
+        }
+    }
 }
@@ -48,6 +48,7 @@ public ECPoint add(ECPoint b)
 
         int c;
         int[] tt0 = Nat.create(24);
+        int[] scratch = Nat.create(24);
         int[] tt1 = Nat.create(24);
         int[] tt2 = Nat.create(24);
         int[] t3 = Nat.create(12);
@@ -63,13 +64,13 @@ public ECPoint add(ECPoint b)
         else
         {
             S2 = t3;
-            SecP384R1Field.square(Z1.x, S2, tt0);
+            SecP384R1Field.square(Z1.x, S2, tt0, scratch);
 
             U2 = tt2;
-            SecP384R1Field.multiply(S2, X2.x, U2, tt0);
+            SecP384R1Field.multiply(S2, X2.x, U2, tt0, scratch);
 
-            SecP384R1Field.multiply(S2, Z1.x, S2, tt0);
-            SecP384R1Field.multiply(S2, Y2.x, S2, tt0);
+            SecP384R1Field.multiply(S2, Z1.x, S2, tt0, scratch);
+            SecP384R1Field.multiply(S2, Y2.x, S2, tt0, scratch);
         }
 
         boolean Z2IsOne = Z2.isOne();
@@ -82,13 +83,13 @@ public ECPoint add(ECPoint b)
         else
         {
             S1 = t4;
-            SecP384R1Field.square(Z2.x, S1, tt0);
+            SecP384R1Field.square(Z2.x, S1, tt0, scratch);
 
             U1 = tt1;
-            SecP384R1Field.multiply(S1, X1.x, U1, tt0);
+            SecP384R1Field.multiply(S1, X1.x, U1, tt0, scratch);
 
-            SecP384R1Field.multiply(S1, Z2.x, S1, tt0);
-            SecP384R1Field.multiply(S1, Y1.x, S1, tt0);
+            SecP384R1Field.multiply(S1, Z2.x, S1, tt0, scratch);
+            SecP384R1Field.multiply(S1, Y1.x, S1, tt0, scratch);
         }
 
         int[] H = Nat.create(12);
@@ -111,38 +112,38 @@ public ECPoint add(ECPoint b)
         }
 
         int[] HSquared = t3;
-        SecP384R1Field.square(H, HSquared, tt0);
+        SecP384R1Field.square(H, HSquared, tt0, scratch);
 
         int[] G = Nat.create(12);
-        SecP384R1Field.multiply(HSquared, H, G, tt0);
+        SecP384R1Field.multiply(HSquared, H, G, tt0, scratch);
 
         int[] V = t3;
-        SecP384R1Field.multiply(HSquared, U1, V, tt0);
+        SecP384R1Field.multiply(HSquared, U1, V, tt0, scratch);
 
         SecP384R1Field.negate(G, G);
-        Nat384.mul(S1, G, tt1);
+        Nat384.mul(S1, G, tt1, scratch, 0);
 
         c = Nat.addBothTo(12, V, V, G);
         SecP384R1Field.reduce32(c, G);
 
         SecP384R1FieldElement X3 = new SecP384R1FieldElement(t4);
-        SecP384R1Field.square(R, X3.x, tt0);
+        SecP384R1Field.square(R, X3.x, tt0, scratch);
         SecP384R1Field.subtract(X3.x, G, X3.x);
 
         SecP384R1FieldElement Y3 = new SecP384R1FieldElement(G);
         SecP384R1Field.subtract(V, X3.x, Y3.x);
-        Nat384.mul(Y3.x, R, tt2);
+        Nat384.mul(Y3.x, R, tt2, scratch, 0);
         SecP384R1Field.addExt(tt1, tt2, tt1);
         SecP384R1Field.reduce(tt1, Y3.x);
 
         SecP384R1FieldElement Z3 = new SecP384R1FieldElement(H);
         if (!Z1IsOne)
         {
-            SecP384R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0);
+            SecP384R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0, scratch);
         }
         if (!Z2IsOne)
         {
-            SecP384R1Field.multiply(Z3.x, Z2.x, Z3.x, tt0);
+            SecP384R1Field.multiply(Z3.x, Z2.x, Z3.x, tt0, scratch);
         }
 
         ECFieldElement[] zs = new ECFieldElement[]{ Z3 };
@@ -169,14 +170,15 @@ public ECPoint twice()
 
         int c;
         int[] tt0 = Nat.create(24);
+        int[] scratch = Nat.create(24);
         int[] t1 = Nat.create(12);
         int[] t2 = Nat.create(12);
 
         int[] Y1Squared = Nat.create(12);
-        SecP384R1Field.square(Y1.x, Y1Squared, tt0);
+        SecP384R1Field.square(Y1.x, Y1Squared, tt0, scratch);
 
         int[] T = Nat.create(12);
-        SecP384R1Field.square(Y1Squared, T, tt0);
+        SecP384R1Field.square(Y1Squared, T, tt0, scratch);
 
         boolean Z1IsOne = Z1.isOne();
 
@@ -184,19 +186,19 @@ public ECPoint twice()
         if (!Z1IsOne)
         {
             Z1Squared = t2;
-            SecP384R1Field.square(Z1.x, Z1Squared, tt0);
+            SecP384R1Field.square(Z1.x, Z1Squared, tt0, scratch);
         }
 
         SecP384R1Field.subtract(X1.x, Z1Squared, t1);
 
         int[] M = t2;
         SecP384R1Field.add(X1.x, Z1Squared, M);
-        SecP384R1Field.multiply(M, t1, M, tt0);
+        SecP384R1Field.multiply(M, t1, M, tt0, scratch);
         c = Nat.addBothTo(12, M, M, M);
         SecP384R1Field.reduce32(c, M);
 
         int[] S = Y1Squared;
-        SecP384R1Field.multiply(Y1Squared, X1.x, S, tt0);
+        SecP384R1Field.multiply(Y1Squared, X1.x, S, tt0, scratch);
         c = Nat.shiftUpBits(12, S, 2, 0);
         SecP384R1Field.reduce32(c, S);
 
@@ -204,20 +206,20 @@ public ECPoint twice()
         SecP384R1Field.reduce32(c, t1);
 
         SecP384R1FieldElement X3 = new SecP384R1FieldElement(T);
-        SecP384R1Field.square(M, X3.x, tt0);
+        SecP384R1Field.square(M, X3.x, tt0, scratch);
         SecP384R1Field.subtract(X3.x, S, X3.x);
         SecP384R1Field.subtract(X3.x, S, X3.x);
 
         SecP384R1FieldElement Y3 = new SecP384R1FieldElement(S);
         SecP384R1Field.subtract(S, X3.x, Y3.x);
-        SecP384R1Field.multiply(Y3.x, M, Y3.x, tt0);
+        SecP384R1Field.multiply(Y3.x, M, Y3.x, tt0, scratch);
         SecP384R1Field.subtract(Y3.x, t1, Y3.x);
 
         SecP384R1FieldElement Z3 = new SecP384R1FieldElement(M);
         SecP384R1Field.twice(Y1.x, Z3.x);
         if (!Z1IsOne)
         {
-            SecP384R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0);
+            SecP384R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0, scratch);
         }
 
         return new SecP384R1Point(curve, X3, Y3, new ECFieldElement[]{ Z3 });
@@ -0,0 +1,78 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat;
+
+class SecP384R1Workspace extends SecPR1Workspace
+{
+    private final ECCurve curve;
+    private final int[] tt = Nat.create(24);
+    private final int[] t = Nat.create(24);
+
+    SecP384R1Workspace(ECCurve curve)
+    {
+        super(12);
+
+        this.curve = curve;
+    }
+
+    protected void add(int[] x, int[] y, int[] z)
+    {
+        SecP384R1Field.add(x, y, z);
+    }
+
+    protected boolean isZero(int[] x)
+    {
+        return Nat.isZero(12, x);
+    }
+
+    protected void multiply(int[] x, int[] y, int[] z)
+    {
+        SecP384R1Field.multiply(x, y, z, tt, t);
+    }
+
+    protected void square(int[] x, int[] z)
+    {
+        SecP384R1Field.square(x, z, tt, t);
+    }
+
+    protected void subtract(int[] x, int[] y, int[] z)
+    {
+        SecP384R1Field.subtract(x, y, z);
+    }
+
+    protected void twice(int[] x, int[] z)
+    {
+        SecP384R1Field.twice(x, z);
+    }
+
+    protected void threeTimes(int[] x)
+    {
+        int c = Nat.addBothTo(12, x, x, x);
+        SecP384R1Field.reduce32(c, x);
+    }
+
+    protected void timesPow2(int[] x, int n, int[] z)
+    {
+        int c = Nat.shiftUpBits(12, x, n, 0, z);
+        SecP384R1Field.reduce32(c, z);
+    }
+
+    protected int[] getRawX(ECPoint p)
+    {
+        return ((SecP384R1FieldElement)p.getRawXCoord()).x;
+    }
+
+    protected int[] getRawY(ECPoint p)
+    {
+        return ((SecP384R1FieldElement)p.getRawYCoord()).x;
+    }
+
+    protected ECPoint createPoint(int[] x, int[] y, int[] z)
+    {
+        return new SecP384R1Point(curve, new SecP384R1FieldElement(x), new SecP384R1FieldElement(y),
+            new ECFieldElement[]{ new SecP384R1FieldElement(z) });
+    }
+}
@@ -72,8 +72,8 @@ public static int isZero(int[] x)
 
     public static void multiply(int[] x, int[] y, int[] z)
     {
-        int[] tt = Nat.create(33);
-        implMultiply(x, y, tt);
+        int[] tt = Nat.create(65);
+        implMultiply(x, y, tt, tt, 33);
         reduce(tt, z);
     }
 
@@ -83,6 +83,16 @@ public static void multiply(int[] x, int[] y, int[] z, int[] tt)
         reduce(tt, z);
     }
 
+    /**
+     * As for {@link #multiply(int[], int[], int[], int[])}, with t holding 32 words of scratch space for the
+     * Karatsuba middle product so that nothing is allocated.
+     */
+    public static void multiply(int[] x, int[] y, int[] z, int[] tt, int[] t)
+    {
+        implMultiply(x, y, tt, t, 0);
+        reduce(tt, z);
+    }
+
     public static void negate(int[] x, int[] z)
     {
         if (0 != isZero(x))
@@ -146,8 +156,8 @@ public static void reduce23(int[] z)
 
     public static void square(int[] x, int[] z)
     {
-        int[] tt = Nat.create(33);
-        implSquare(x, tt);
+        int[] tt = Nat.create(65);
+        implSquare(x, tt, tt, 33);
         reduce(tt, z);
     }
 
@@ -157,19 +167,22 @@ public static void square(int[] x, int[] z, int[] tt)
         reduce(tt, z);
     }
 
+    /**
+     * As for {@link #square(int[], int[], int[])}, with t holding 32 words of scratch space for the Karatsuba
+     * middle product so that nothing is allocated.
+     */
+    public static void square(int[] x, int[] z, int[] tt, int[] t)
+    {
+        implSquare(x, tt, t, 0);
+        reduce(tt, z);
+    }
+
     public static void squareN(int[] x, int n, int[] z)
     {
 //        assert n > 0;
 
-        int[] tt = Nat.create(33);
-        implSquare(x, tt);
-        reduce(tt, z);
-
-        while (--n > 0)
-        {
-            implSquare(z, tt);
-            reduce(tt, z);
-        }
+        int[] tt = Nat.create(65);
+        squareN(x, n, z, tt, tt, 33);
     }
 
     public static void squareN(int[] x, int n, int[] z, int[] tt)
@@ -186,6 +199,15 @@ public static void squareN(int[] x, int n, int[] z, int[] tt)
         }
     }
 
+    /**
+     * As for {@link #squareN(int[], int, int[], int[])}, with t holding 32 words of scratch space for the
+     * Karatsuba middle product so that nothing is allocated.
+     */
+    public static void squareN(int[] x, int n, int[] z, int[] tt, int[] t)
+    {
+        squareN(x, n, z, tt, t, 0);
+    }
+
     public static void subtract(int[] x, int[] y, int[] z)
     {
         int c = Nat.sub(16, x, y, z) + x[16] - y[16];
@@ -212,6 +234,14 @@ protected static void implMultiply(int[] x, int[] y, int[] zz)
         zz[32] = Nat.mul31BothAdd(16, x16, y, y16, x, zz, 16) + (x16 * y16);
     }
 
+    protected static void implMultiply(int[] x, int[] y, int[] zz, int[] t, int tOff)
+    {
+        Nat512.mul(x, y, zz, t, tOff);
+
+        int x16 = x[16], y16 = y[16];
+        zz[32] = Nat.mul31BothAdd(16, x16, y, y16, x, zz, 16) + (x16 * y16);
+    }
+
     protected static void implSquare(int[] x, int[] zz)
     {
         Nat512.square(x, zz);
@@ -219,4 +249,26 @@ protected static void implSquare(int[] x, int[] zz)
         int x16 = x[16];
         zz[32] = Nat.mulWordAddTo(16, x16 << 1, x, 0, zz, 16) + (x16 * x16);
     }
+
+    protected static void implSquare(int[] x, int[] zz, int[] t, int tOff)
+    {
+        Nat512.square(x, zz, t, tOff);
+
+        int x16 = x[16];
+        zz[32] = Nat.mulWordAddTo(16, x16 << 1, x, 0, zz, 16) + (x16 * x16);
+    }
+
+    private static void squareN(int[] x, int n, int[] z, int[] tt, int[] t, int tOff)
+    {
+//        assert n > 0;
+
+        implSquare(x, tt, t, tOff);
+        reduce(tt, z);
+
+        while (--n > 0)
+        {
+            implSquare(z, tt, t, tOff);
+            reduce(tt, z);
+        }
+    }
 }
@@ -0,0 +1,478 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import org.bouncycastle.math.raw.Mul64;
+import org.bouncycastle.math.raw.Nat;
+
+/*
+ * Field elements are held as 9 unsigned limbs of nominally 58 bits, so that 2^522 == 2 folds the top of a product
+ * back in. Products are formed from operands pre-shifted by 6 bits in total (plus one for each doubling of a term), so
+ * that the high half of each 64x64-bit product (see Mul64) is the part above 2^58 and the top 58 bits of the low half
+ * are the part below it. Results are only partially reduced: every limb is below 2^58 + 2^6, which is also what multiply and
+ * square accept. Use normalize to obtain the canonical form.
+ */
+public abstract class SecP521R1Field64
+{
+    public static final int SIZE = 9;
+
+    private static final long M57 = 0x01FFFFFFFFFFFFFFL;
+    private static final long M58 = 0x03FFFFFFFFFFFFFFL;
+
+    // 4.p, as limbs large enough to subtract any partially reduced value from
+    private static final long P4_0 = 0x07FFFFFFFFFFFFFCL;
+    private static final long P4_N = 0x07FFFFFFFFFFFFFEL;
+
+    /**
+     * Whether this field outperforms {@link SecP521R1Field} on the running JVM, which is the case when the high half
+     * of a 64x64-bit product is available as an intrinsic.
+     */
+    public static boolean isPreferred()
+    {
+        return Mul64.isIntrinsic();
+    }
+
+    public static void add(long[] x, long[] y, long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = x[i] + y[i];
+        }
+        reduce(z);
+    }
+
+    public static void copy(long[] x, long[] z)
+    {
+        System.arraycopy(x, 0, z, 0, SIZE);
+    }
+
+    public static long[] create()
+    {
+        return new long[SIZE];
+    }
+
+    /**
+     * Decode a fully reduced value from its 17-word representation, as used by {@link SecP521R1Field}.
+     */
+    public static void decode(int[] x, long[] z)
+    {
+        long x0 = x[0] & 0xFFFFFFFFL, x1 = x[1] & 0xFFFFFFFFL, x2 = x[2] & 0xFFFFFFFFL, x3 = x[3] & 0xFFFFFFFFL;
+        long x4 = x[4] & 0xFFFFFFFFL, x5 = x[5] & 0xFFFFFFFFL, x6 = x[6] & 0xFFFFFFFFL, x7 = x[7] & 0xFFFFFFFFL;
+        long x8 = x[8] & 0xFFFFFFFFL, x9 = x[9] & 0xFFFFFFFFL, x10 = x[10] & 0xFFFFFFFFL, x11 = x[11] & 0xFFFFFFFFL;
+        long x12 = x[12] & 0xFFFFFFFFL, x13 = x[13] & 0xFFFFFFFFL, x14 = x[14] & 0xFFFFFFFFL, x15 = x[15] & 0xFFFFFFFFL;
+        long x16 = x[16] & 0xFFFFFFFFL;
+
+        z[0] = (x0 | (x1 << 32)) & M58;
+        z[1] = ((x1 >>> 26) | (x2 << 6) | (x3 << 38)) & M58;
+        z[2] = ((x3 >>> 20) | (x4 << 12) | (x5 << 44)) & M58;
+        z[3] = ((x5 >>> 14) | (x6 << 18) | (x7 << 50)) & M58;
+        z[4] = ((x7 >>> 8) | (x8 << 24) | (x9 << 56)) & M58;
+        z[5] = ((x9 >>> 2) | (x10 << 30)) & M58;
+        z[6] = ((x10 >>> 28) | (x11 << 4) | (x12 << 36)) & M58;
+        z[7] = ((x12 >>> 22) | (x13 << 10) | (x14 << 42)) & M58;
+        z[8] = ((x14 >>> 16) | (x15 << 16) | (x16 << 48)) & M58;
+    }
+
+    /**
+     * Encode a normalized value in the 17-word representation used by {@link SecP521R1Field}.
+     */
+    public static void encode(long[] x, int[] z)
+    {
+        long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4], x5 = x[5], x6 = x[6], x7 = x[7], x8 = x[8];
+
+        z[ 0] = (int)x0;
+        z[ 1] = (int)((x0 >>> 32) | (x1 << 26));
+        z[ 2] = (int)(x1 >>> 6);
+        z[ 3] = (int)((x1 >>> 38) | (x2 << 20));
+        z[ 4] = (int)(x2 >>> 12);
+        z[ 5] = (int)((x2 >>> 44) | (x3 << 14));
+        z[ 6] = (int)(x3 >>> 18);
+        z[ 7] = (int)((x3 >>> 50) | (x4 << 8));
+        z[ 8] = (int)(x4 >>> 24);
+        z[ 9] = (int)((x4 >>> 56) | (x5 << 2));
+        z[10] = (int)((x5 >>> 30) | (x6 << 28));
+        z[11] = (int)(x6 >>> 4);
+        z[12] = (int)((x6 >>> 36) | (x7 << 22));
+        z[13] = (int)(x7 >>> 10);
+        z[14] = (int)((x7 >>> 42) | (x8 << 16));
+        z[15] = (int)(x8 >>> 16);
+        z[16] = (int)(x8 >>> 48);
+    }
+
+    public static long[] fromBigInteger(BigInteger x)
+    {
+        long[] z = create();
+        decode(SecP521R1Field.fromBigInteger(x), z);
+        return z;
+    }
+
+    public static void inv(long[] x, long[] z)
+    {
+        long[] t = create();
+        copy(x, t);
+        normalize(t);
+
+        int[] u = Nat.create(17);
+        encode(t, u);
+        SecP521R1Field.inv(u, u);
+        decode(u, z);
+    }
+
+    /**
+     * Whether a normalized value is zero.
+     */
+    public static boolean isZero(long[] x)
+    {
+        long d = 0;
+        for (int i = 0; i < SIZE; ++i)
+        {
+            d |= x[i];
+        }
+        return d == 0L;
+    }
+
+    /**
+     * Whether a normalized value is one.
+     */
+    public static boolean isOne(long[] x)
+    {
+        long d = x[0] ^ 1L;
+        for (int i = 1; i < SIZE; ++i)
+        {
+            d |= x[i];
+        }
+        return d == 0L;
+    }
+
+    public static void multiply(long[] x, int y, long[] z)
+    {
+//        assert 0 <= y && y <= 16;
+
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = x[i] * y;
+        }
+        reduce(z);
+    }
+
+    public static void multiply(long[] x, long[] y, long[] z)
+    {
+        long x0 = x[0] << 3, x1 = x[1] << 3, x2 = x[2] << 3, x3 = x[3] << 3, x4 = x[4] << 3;
+        long x5 = x[5] << 3, x6 = x[6] << 3, x7 = x[7] << 3, x8 = x[8] << 3;
+        long y0 = y[0] << 3, y1 = y[1] << 3, y2 = y[2] << 3, y3 = y[3] << 3, y4 = y[4] << 3;
+        long y5 = y[5] << 3, y6 = y[6] << 3, y7 = y[7] << 3, y8 = y[8] << 3;
+        long s1 = y[1] << 4, s2 = y[2] << 4, s3 = y[3] << 4, s4 = y[4] << 4, s5 = y[5] << 4;
+        long s6 = y[6] << 4, s7 = y[7] << 4, s8 = y[8] << 4;
+
+        long l0, l1, l2, l3, l4, l5, l6, l7, l8, h0, h1, h2, h3, h4, h5, h6, h7, h8;
+
+        l0  = (x0 * y0) >>> 6;     h0  = Mul64.multiplyHigh(x0, y0);
+        l0 += (x1 * s8) >>> 6;     h0 += Mul64.multiplyHigh(x1, s8);
+        l0 += (x2 * s7) >>> 6;     h0 += Mul64.multiplyHigh(x2, s7);
+        l0 += (x3 * s6) >>> 6;     h0 += Mul64.multiplyHigh(x3, s6);
+        l0 += (x4 * s5) >>> 6;     h0 += Mul64.multiplyHigh(x4, s5);
+        l0 += (x5 * s4) >>> 6;     h0 += Mul64.multiplyHigh(x5, s4);
+        l0 += (x6 * s3) >>> 6;     h0 += Mul64.multiplyHigh(x6, s3);
+        l0 += (x7 * s2) >>> 6;     h0 += Mul64.multiplyHigh(x7, s2);
+        l0 += (x8 * s1) >>> 6;     h0 += Mul64.multiplyHigh(x8, s1);
+
+        l1  = (x0 * y1) >>> 6;     h1  = Mul64.multiplyHigh(x0, y1);
+        l1 += (x1 * y0) >>> 6;     h1 += Mul64.multiplyHigh(x1, y0);
+        l1 += (x2 * s8) >>> 6;     h1 += Mul64.multiplyHigh(x2, s8);
+        l1 += (x3 * s7) >>> 6;     h1 += Mul64.multiplyHigh(x3, s7);
+        l1 += (x4 * s6) >>> 6;     h1 += Mul64.multiplyHigh(x4, s6);
+        l1 += (x5 * s5) >>> 6;     h1 += Mul64.multiplyHigh(x5, s5);
+        l1 += (x6 * s4) >>> 6;     h1 += Mul64.multiplyHigh(x6, s4);
+        l1 += (x7 * s3) >>> 6;     h1 += Mul64.multiplyHigh(x7, s3);
+        l1 += (x8 * s2) >>> 6;     h1 += Mul64.multiplyHigh(x8, s2);
+
+        l2  = (x0 * y2) >>> 6;     h2  = Mul64.multiplyHigh(x0, y2);
+        l2 += (x1 * y1) >>> 6;     h2 += Mul64.multiplyHigh(x1, y1);
+        l2 += (x2 * y0) >>> 6;     h2 += Mul64.multiplyHigh(x2, y0);
+        l2 += (x3 * s8) >>> 6;     h2 += Mul64.multiplyHigh(x3, s8);
+        l2 += (x4 * s7) >>> 6;     h2 += Mul64.multiplyHigh(x4, s7);
+        l2 += (x5 * s6) >>> 6;     h2 += Mul64.multiplyHigh(x5, s6);
+        l2 += (x6 * s5) >>> 6;     h2 += Mul64.multiplyHigh(x6, s5);
+        l2 += (x7 * s4) >>> 6;     h2 += Mul64.multiplyHigh(x7, s4);
+        l2 += (x8 * s3) >>> 6;     h2 += Mul64.multiplyHigh(x8, s3);
+
+        l3  = (x0 * y3) >>> 6;     h3  = Mul64.multiplyHigh(x0, y3);
+        l3 += (x1 * y2) >>> 6;     h3 += Mul64.multiplyHigh(x1, y2);
+        l3 += (x2 * y1) >>> 6;     h3 += Mul64.multiplyHigh(x2, y1);
+        l3 += (x3 * y0) >>> 6;     h3 += Mul64.multiplyHigh(x3, y0);
+        l3 += (x4 * s8) >>> 6;     h3 += Mul64.multiplyHigh(x4, s8);
+        l3 += (x5 * s7) >>> 6;     h3 += Mul64.multiplyHigh(x5, s7);
+        l3 += (x6 * s6) >>> 6;     h3 += Mul64.multiplyHigh(x6, s6);
+        l3 += (x7 * s5) >>> 6;     h3 += Mul64.multiplyHigh(x7, s5);
+        l3 += (x8 * s4) >>> 6;     h3 += Mul64.multiplyHigh(x8, s4);
+
+        l4  = (x0 * y4) >>> 6;     h4  = Mul64.multiplyHigh(x0, y4);
+        l4 += (x1 * y3) >>> 6;     h4 += Mul64.multiplyHigh(x1, y3);
+        l4 += (x2 * y2) >>> 6;     h4 += Mul64.multiplyHigh(x2, y2);
+        l4 += (x3 * y1) >>> 6;     h4 += Mul64.multiplyHigh(x3, y1);
+        l4 += (x4 * y0) >>> 6;     h4 += Mul64.multiplyHigh(x4, y0);
+        l4 += (x5 * s8) >>> 6;     h4 += Mul64.multiplyHigh(x5, s8);
+        l4 += (x6 * s7) >>> 6;     h4 += Mul64.multiplyHigh(x6, s7);
+        l4 += (x7 * s6) >>> 6;     h4 += Mul64.multiplyHigh(x7, s6);
+        l4 += (x8 * s5) >>> 6;     h4 += Mul64.multiplyHigh(x8, s5);
+
+        l5  = (x0 * y5) >>> 6;     h5  = Mul64.multiplyHigh(x0, y5);
+        l5 += (x1 * y4) >>> 6;     h5 += Mul64.multiplyHigh(x1, y4);
+        l5 += (x2 * y3) >>> 6;     h5 += Mul64.multiplyHigh(x2, y3);
+        l5 += (x3 * y2) >>> 6;     h5 += Mul64.multiplyHigh(x3, y2);
+        l5 += (x4 * y1) >>> 6;     h5 += Mul64.multiplyHigh(x4, y1);
+        l5 += (x5 * y0) >>> 6;     h5 += Mul64.multiplyHigh(x5, y0);
+        l5 += (x6 * s8) >>> 6;     h5 += Mul64.multiplyHigh(x6, s8);
+        l5 += (x7 * s7) >>> 6;     h5 += Mul64.multiplyHigh(x7, s7);
+        l5 += (x8 * s6) >>> 6;     h5 += Mul64.multiplyHigh(x8, s6);
+
+        l6  = (x0 * y6) >>> 6;     h6  = Mul64.multiplyHigh(x0, y6);
+        l6 += (x1 * y5) >>> 6;     h6 += Mul64.multiplyHigh(x1, y5);
+        l6 += (x2 * y4) >>> 6;     h6 += Mul64.multiplyHigh(x2, y4);
+        l6 += (x3 * y3) >>> 6;     h6 += Mul64.multiplyHigh(x3, y3);
+        l6 += (x4 * y2) >>> 6;     h6 += Mul64.multiplyHigh(x4, y2);
+        l6 += (x5 * y1) >>> 6;     h6 += Mul64.multiplyHigh(x5, y1);
+        l6 += (x6 * y0) >>> 6;     h6 += Mul64.multiplyHigh(x6, y0);
+        l6 += (x7 * s8) >>> 6;     h6 += Mul64.multiplyHigh(x7, s8);
+        l6 += (x8 * s7) >>> 6;     h6 += Mul64.multiplyHigh(x8, s7);
+
+        l7  = (x0 * y7) >>> 6;     h7  = Mul64.multiplyHigh(x0, y7);
+        l7 += (x1 * y6) >>> 6;     h7 += Mul64.multiplyHigh(x1, y6);
+        l7 += (x2 * y5) >>> 6;     h7 += Mul64.multiplyHigh(x2, y5);
+        l7 += (x3 * y4) >>> 6;     h7 += Mul64.multiplyHigh(x3, y4);
+        l7 += (x4 * y3) >>> 6;     h7 += Mul64.multiplyHigh(x4, y3);
+        l7 += (x5 * y2) >>> 6;     h7 += Mul64.multiplyHigh(x5, y2);
+        l7 += (x6 * y1) >>> 6;     h7 += Mul64.multiplyHigh(x6, y1);
+        l7 += (x7 * y0) >>> 6;     h7 += Mul64.multiplyHigh(x7, y0);
+        l7 += (x8 * s8) >>> 6;     h7 += Mul64.multiplyHigh(x8, s8);
+
+        l8  = (x0 * y8) >>> 6;     h8  = Mul64.multiplyHigh(x0, y8);
+        l8 += (x1 * y7) >>> 6;     h8 += Mul64.multiplyHigh(x1, y7);
+        l8 += (x2 * y6) >>> 6;     h8 += Mul64.multiplyHigh(x2, y6);
+        l8 += (x3 * y5) >>> 6;     h8 += Mul64.multiplyHigh(x3, y5);
+        l8 += (x4 * y4) >>> 6;     h8 += Mul64.multiplyHigh(x4, y4);
+        l8 += (x5 * y3) >>> 6;     h8 += Mul64.multiplyHigh(x5, y3);
+        l8 += (x6 * y2) >>> 6;     h8 += Mul64.multiplyHigh(x6, y2);
+        l8 += (x7 * y1) >>> 6;     h8 += Mul64.multiplyHigh(x7, y1);
+        l8 += (x8 * y0) >>> 6;     h8 += Mul64.multiplyHigh(x8, y0);
+
+        reduce(l0, h0, l1, h1, l2, h2, l3, h3, l4, h4, l5, h5, l6, h6, l7, h7, l8, h8, z);
+    }
+
+    public static void negate(long[] x, long[] z)
+    {
+        z[0] = P4_0 - x[0];
+        for (int i = 1; i < SIZE; ++i)
+        {
+            z[i] = P4_N - x[i];
+        }
+        reduce(z);
+    }
+
+    /**
+     * Reduce a value in place to its canonical form, in [0, p).
+     */
+    public static void normalize(long[] z)
+    {
+        long z0 = z[0], z1 = z[1], z2 = z[2], z3 = z[3], z4 = z[4], z5 = z[5], z6 = z[6], z7 = z[7], z8 = z[8];
+
+        z1 += z0 >>> 58; z0 &= M58;
+        z2 += z1 >>> 58; z1 &= M58;
+        z3 += z2 >>> 58; z2 &= M58;
+        z4 += z3 >>> 58; z3 &= M58;
+        z5 += z4 >>> 58; z4 &= M58;
+        z6 += z5 >>> 58; z5 &= M58;
+        z7 += z6 >>> 58; z6 &= M58;
+        z8 += z7 >>> 58; z7 &= M58;
+        z0 += z8 >>> 57; z8 &= M57;
+        z1 += z0 >>> 58; z0 &= M58;
+        z2 += z1 >>> 58; z1 &= M58;
+        z3 += z2 >>> 58; z2 &= M58;
+        z4 += z3 >>> 58; z3 &= M58;
+        z5 += z4 >>> 58; z4 &= M58;
+        z6 += z5 >>> 58; z5 &= M58;
+        z7 += z6 >>> 58; z6 &= M58;
+        z8 += z7 >>> 58; z7 &= M58;
+
+        // z <= 2^521 + 2^464, which is less than 2.p; subtract p (i.e. add 1 mod 2^521) if z >= p
+        long c = (z0 + 1) >>> 58;
+        c = (z1 + c) >>> 58;
+        c = (z2 + c) >>> 58;
+        c = (z3 + c) >>> 58;
+        c = (z4 + c) >>> 58;
+        c = (z5 + c) >>> 58;
+        c = (z6 + c) >>> 58;
+        c = (z7 + c) >>> 58;
+        c = (z8 + c) >>> 57;
+
+        z0 += c;
+        z1 += z0 >>> 58; z0 &= M58;
+        z2 += z1 >>> 58; z1 &= M58;
+        z3 += z2 >>> 58; z2 &= M58;
+        z4 += z3 >>> 58; z3 &= M58;
+        z5 += z4 >>> 58; z4 &= M58;
+        z6 += z5 >>> 58; z5 &= M58;
+        z7 += z6 >>> 58; z6 &= M58;
+        z8 += z7 >>> 58; z7 &= M58;
+        z8 &= M57;
+
+        z[0] = z0; z[1] = z1; z[2] = z2; z[3] = z3; z[4] = z4; z[5] = z5; z[6] = z6; z[7] = z7; z[8] = z8;
+    }
+
+    public static void random(SecureRandom r, long[] z)
+    {
+        int[] t = Nat.create(17);
+        SecP521R1Field.random(r, t);
+        decode(t, z);
+    }
+
+    public static void randomMult(SecureRandom r, long[] z)
+    {
+        int[] t = Nat.create(17);
+        SecP521R1Field.randomMult(r, t);
+        decode(t, z);
+    }
+
+    private static void reduce(long[] z)
+    {
+        long z0 = z[0], z1 = z[1], z2 = z[2], z3 = z[3], z4 = z[4], z5 = z[5], z6 = z[6], z7 = z[7], z8 = z[8];
+
+        z1 += z0 >>> 58; z0 &= M58;
+        z2 += z1 >>> 58; z1 &= M58;
+        z3 += z2 >>> 58; z2 &= M58;
+        z4 += z3 >>> 58; z3 &= M58;
+        z5 += z4 >>> 58; z4 &= M58;
+        z6 += z5 >>> 58; z5 &= M58;
+        z7 += z6 >>> 58; z6 &= M58;
+        z8 += z7 >>> 58; z7 &= M58;
+        z0 += (z8 >>> 58) << 1; z8 &= M58;
+        z1 += z0 >>> 58; z0 &= M58;
+
+        z[0] = z0; z[1] = z1; z[2] = z2; z[3] = z3; z[4] = z4; z[5] = z5; z[6] = z6; z[7] = z7; z[8] = z8;
+    }
+
+    private static void reduce(long l0, long h0, long l1, long h1, long l2, long h2, long l3, long h3, long l4, long h4,
+        long l5, long h5, long l6, long h6, long l7, long h7, long l8, long h8, long[] z)
+    {
+        l1 += h0 + (l0 >>> 58); l0 &= M58;
+        l2 += h1 + (l1 >>> 58); l1 &= M58;
+        l3 += h2 + (l2 >>> 58); l2 &= M58;
+        l4 += h3 + (l3 >>> 58); l3 &= M58;
+        l5 += h4 + (l4 >>> 58); l4 &= M58;
+        l6 += h5 + (l5 >>> 58); l5 &= M58;
+        l7 += h6 + (l6 >>> 58); l6 &= M58;
+        l8 += h7 + (l7 >>> 58); l7 &= M58;
+        l0 += (h8 + (l8 >>> 58)) << 1; l8 &= M58;
+        l1 += l0 >>> 58; l0 &= M58;
+
+        z[0] = l0; z[1] = l1; z[2] = l2; z[3] = l3; z[4] = l4; z[5] = l5; z[6] = l6; z[7] = l7; z[8] = l8;
+    }
+
+    public static void square(long[] x, long[] z)
+    {
+        long x0 = x[0] << 3, x1 = x[1] << 3, x2 = x[2] << 3, x3 = x[3] << 3, x4 = x[4] << 3;
+        long x5 = x[5] << 3, x6 = x[6] << 3, x7 = x[7] << 3, x8 = x[8] << 3;
+        long d0 = x[0] << 4, d1 = x[1] << 4, d2 = x[2] << 4, d3 = x[3] << 4, d4 = x[4] << 4;
+        long d5 = x[5] << 4, d6 = x[6] << 4, d7 = x[7] << 4, d8 = x[8] << 4;
+
+        long l0, l1, l2, l3, l4, l5, l6, l7, l8, h0, h1, h2, h3, h4, h5, h6, h7, h8;
+
+        l0  = (x0 * x0) >>> 6;     h0  = Mul64.multiplyHigh(x0, x0);
+        l0 += (d1 * d8) >>> 6;     h0 += Mul64.multiplyHigh(d1, d8);
+        l0 += (d2 * d7) >>> 6;     h0 += Mul64.multiplyHigh(d2, d7);
+        l0 += (d3 * d6) >>> 6;     h0 += Mul64.multiplyHigh(d3, d6);
+        l0 += (d4 * d5) >>> 6;     h0 += Mul64.multiplyHigh(d4, d5);
+
+        l1  = (x0 * d1) >>> 6;     h1  = Mul64.multiplyHigh(x0, d1);
+        l1 += (d2 * d8) >>> 6;     h1 += Mul64.multiplyHigh(d2, d8);
+        l1 += (d3 * d7) >>> 6;     h1 += Mul64.multiplyHigh(d3, d7);
+        l1 += (d4 * d6) >>> 6;     h1 += Mul64.multiplyHigh(d4, d6);
+        l1 += (x5 * d5) >>> 6;     h1 += Mul64.multiplyHigh(x5, d5);
+
+        l2  = (x0 * d2) >>> 6;     h2  = Mul64.multiplyHigh(x0, d2);
+        l2 += (x1 * x1) >>> 6;     h2 += Mul64.multiplyHigh(x1, x1);
+        l2 += (d3 * d8) >>> 6;     h2 += Mul64.multiplyHigh(d3, d8);
+        l2 += (d4 * d7) >>> 6;     h2 += Mul64.multiplyHigh(d4, d7);
+        l2 += (d5 * d6) >>> 6;     h2 += Mul64.multiplyHigh(d5, d6);
+
+        l3  = (x0 * d3) >>> 6;     h3  = Mul64.multiplyHigh(x0, d3);
+        l3 += (x1 * d2) >>> 6;     h3 += Mul64.multiplyHigh(x1, d2);
+        l3 += (d4 * d8) >>> 6;     h3 += Mul64.multiplyHigh(d4, d8);
+        l3 += (d5 * d7) >>> 6;     h3 += Mul64.multiplyHigh(d5, d7);
+        l3 += (x6 * d6) >>> 6;     h3 += Mul64.multiplyHigh(x6, d6);
+
+        l4  = (x0 * d4) >>> 6;     h4  = Mul64.multiplyHigh(x0, d4);
+        l4 += (x1 * d3) >>> 6;     h4 += Mul64.multiplyHigh(x1, d3);
+        l4 += (x2 * x2) >>> 6;     h4 += Mul64.multiplyHigh(x2, x2);
+        l4 += (d5 * d8) >>> 6;     h4 += Mul64.multiplyHigh(d5, d8);
+        l4 += (d6 * d7) >>> 6;     h4 += Mul64.multiplyHigh(d6, d7);
+
+        l5  = (x0 * d5) >>> 6;     h5  = Mul64.multiplyHigh(x0, d5);
+        l5 += (x1 * d4) >>> 6;     h5 += Mul64.multiplyHigh(x1, d4);
+        l5 += (x2 * d3) >>> 6;     h5 += Mul64.multiplyHigh(x2, d3);
+        l5 += (d6 * d8) >>> 6;     h5 += Mul64.multiplyHigh(d6, d8);
+        l5 += (x7 * d7) >>> 6;     h5 += Mul64.multiplyHigh(x7, d7);
+
+        l6  = (x0 * d6) >>> 6;     h6  = Mul64.multiplyHigh(x0, d6);
+        l6 += (x1 * d5) >>> 6;     h6 += Mul64.multiplyHigh(x1, d5);
+        l6 += (x2 * d4) >>> 6;     h6 += Mul64.multiplyHigh(x2, d4);
+        l6 += (x3 * x3) >>> 6;     h6 += Mul64.multiplyHigh(x3, x3);
+        l6 += (d7 * d8) >>> 6;     h6 += Mul64.multiplyHigh(d7, d8);
+
+        l7  = (x0 * d7) >>> 6;     h7  = Mul64.multiplyHigh(x0, d7);
+        l7 += (x1 * d6) >>> 6;     h7 += Mul64.multiplyHigh(x1, d6);
+        l7 += (x2 * d5) >>> 6;     h7 += Mul64.multiplyHigh(x2, d5);
+        l7 += (x3 * d4) >>> 6;     h7 += Mul64.multiplyHigh(x3, d4);
+        l7 += (x8 * d8) >>> 6;     h7 += Mul64.multiplyHigh(x8, d8);
+
+        l8  = (x0 * d8) >>> 6;     h8  = Mul64.multiplyHigh(x0, d8);
+        l8 += (x1 * d7) >>> 6;     h8 += Mul64.multiplyHigh(x1, d7);
+        l8 += (x2 * d6) >>> 6;     h8 += Mul64.multiplyHigh(x2, d6);
+        l8 += (x3 * d5) >>> 6;     h8 += Mul64.multiplyHigh(x3, d5);
+        l8 += (x4 * x4) >>> 6;     h8 += Mul64.multiplyHigh(x4, x4);
+
+        reduce(l0, h0, l1, h1, l2, h2, l3, h3, l4, h4, l5, h5, l6, h6, l7, h7, l8, h8, z);
+    }
+
+    public static void squareN(long[] x, int n, long[] z)
+    {
+//        assert n > 0;
+
+        square(x, z);
+
+        while (--n > 0)
+        {
+            square(z, z);
+        }
+    }
+
+    public static void subtract(long[] x, long[] y, long[] z)
+    {
+        z[0] = x[0] + P4_0 - y[0];
+        for (int i = 1; i < SIZE; ++i)
+        {
+            z[i] = x[i] + P4_N - y[i];
+        }
+        reduce(z);
+    }
+
+    /**
+     * The value of a normalized field element.
+     */
+    public static BigInteger toBigInteger(long[] x)
+    {
+        int[] t = Nat.create(17);
+        encode(x, t);
+        return Nat.toBigInteger(17, t);
+    }
+
+    public static void twice(long[] x, long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = x[i] << 1;
+        }
+        reduce(z);
+    }
+}
@@ -139,11 +139,12 @@ public ECFieldElement sqrt()
         }
 
         int[] tt0 = Nat.create(33);
+        int[] scratch = Nat.create(32);
         int[] t1 = Nat.create(17);
         int[] t2 = Nat.create(17);
 
-        SecP521R1Field.squareN(x1, 519, t1, tt0);
-        SecP521R1Field.square(t1, t2, tt0);
+        SecP521R1Field.squareN(x1, 519, t1, tt0, scratch);
+        SecP521R1Field.square(t1, t2, tt0, scratch);
 
         return Nat.eq(17, x1, t2) ? new SecP521R1FieldElement(t1) : null;
     }
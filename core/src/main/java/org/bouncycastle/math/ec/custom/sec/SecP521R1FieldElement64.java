@@ -0,0 +1,178 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import java.math.BigInteger;
+
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.util.Arrays;
+
+/**
+ * An element of the secp521r1 field held in 58-bit limbs (see {@link SecP521R1Field64}), always normalized.
+ */
+public class SecP521R1FieldElement64 extends ECFieldElement.AbstractFp
+{
+    public static final BigInteger Q = SecP521R1FieldElement.Q;
+
+    protected long[] x;
+
+    public SecP521R1FieldElement64(BigInteger x)
+    {
+        if (x == null || x.signum() < 0 || x.compareTo(Q) >= 0)
+        {
+            throw new IllegalArgumentException("x value invalid for SecP521R1FieldElement64");
+        }
+
+        this.x = SecP521R1Field64.fromBigInteger(x);
+    }
+
+    public SecP521R1FieldElement64()
+    {
+        this.x = SecP521R1Field64.create();
+    }
+
+    protected SecP521R1FieldElement64(long[] x)
+    {
+        this.x = x;
+    }
+
+    public boolean isZero()
+    {
+        return SecP521R1Field64.isZero(x);
+    }
+
+    public boolean isOne()
+    {
+        return SecP521R1Field64.isOne(x);
+    }
+
+    public boolean testBitZero()
+    {
+        return (x[0] & 1L) != 0L;
+    }
+
+    public BigInteger toBigInteger()
+    {
+        return SecP521R1Field64.toBigInteger(x);
+    }
+
+    public String getFieldName()
+    {
+        return "SecP521R1Field";
+    }
+
+    public int getFieldSize()
+    {
+        return Q.bitLength();
+    }
+
+    public ECFieldElement add(ECFieldElement b)
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.add(x, ((SecP521R1FieldElement64)b).x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement addOne()
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.copy(x, z);
+        z[0] += 1;
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement subtract(ECFieldElement b)
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.subtract(x, ((SecP521R1FieldElement64)b).x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement multiply(ECFieldElement b)
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.multiply(x, ((SecP521R1FieldElement64)b).x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement divide(ECFieldElement b)
+    {
+//        return multiply(b.invert());
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.inv(((SecP521R1FieldElement64)b).x, z);
+        SecP521R1Field64.multiply(z, x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement negate()
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.negate(x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement square()
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.square(x, z);
+        SecP521R1Field64.normalize(z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    public ECFieldElement invert()
+    {
+        long[] z = SecP521R1Field64.create();
+        SecP521R1Field64.inv(x, z);
+        return new SecP521R1FieldElement64(z);
+    }
+
+    /**
+     * return a sqrt root - the routine verifies that the calculation returns the right value - if
+     * none exists it returns null.
+     */
+    public ECFieldElement sqrt()
+    {
+        // Raise this element to the exponent 2^519
+
+        long[] x1 = this.x;
+        if (SecP521R1Field64.isZero(x1) || SecP521R1Field64.isOne(x1))
+        {
+            return this;
+        }
+
+        long[] t1 = SecP521R1Field64.create();
+        long[] t2 = SecP521R1Field64.create();
+
+        SecP521R1Field64.squareN(x1, 519, t1);
+        SecP521R1Field64.square(t1, t2);
+        SecP521R1Field64.normalize(t1);
+        SecP521R1Field64.normalize(t2);
+
+        return Arrays.areEqual(x1, t2) ? new SecP521R1FieldElement64(t1) : null;
+    }
+
+    public boolean equals(Object other)
+    {
+        if (other == this)
+        {
+            return true;
+        }
+
+        if (!(other instanceof SecP521R1FieldElement64))
+        {
+            return false;
+        }
+
+        SecP521R1FieldElement64 o = (SecP521R1FieldElement64)other;
+        return Arrays.areEqual(x, o.x);
+    }
+
+    public int hashCode()
+    {
+        return Q.hashCode() ^ Arrays.hashCode(x, 0, SecP521R1Field64.SIZE);
+    }
+}
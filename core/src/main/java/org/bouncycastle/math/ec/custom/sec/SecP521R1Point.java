@@ -46,6 +46,7 @@ public ECPoint add(ECPoint b)
         SecP521R1FieldElement Z2 = (SecP521R1FieldElement)b.getZCoord(0);
 
         int[] tt0 = Nat.create(33);
+        int[] scratch = Nat.create(32);
         int[] t1 = Nat.create(17);
         int[] t2 = Nat.create(17);
         int[] t3 = Nat.create(17);
@@ -61,13 +62,13 @@ public ECPoint add(ECPoint b)
         else
         {
             S2 = t3;
-            SecP521R1Field.square(Z1.x, S2, tt0);
+            SecP521R1Field.square(Z1.x, S2, tt0, scratch);
 
             U2 = t2;
-            SecP521R1Field.multiply(S2, X2.x, U2, tt0);
+            SecP521R1Field.multiply(S2, X2.x, U2, tt0, scratch);
 
-            SecP521R1Field.multiply(S2, Z1.x, S2, tt0);
-            SecP521R1Field.multiply(S2, Y2.x, S2, tt0);
+            SecP521R1Field.multiply(S2, Z1.x, S2, tt0, scratch);
+            SecP521R1Field.multiply(S2, Y2.x, S2, tt0, scratch);
         }
 
         boolean Z2IsOne = Z2.isOne();
@@ -80,13 +81,13 @@ public ECPoint add(ECPoint b)
         else
         {
             S1 = t4;
-            SecP521R1Field.square(Z2.x, S1, tt0);
+            SecP521R1Field.square(Z2.x, S1, tt0, scratch);
 
             U1 = t1;
-            SecP521R1Field.multiply(S1, X1.x, U1, tt0);
+            SecP521R1Field.multiply(S1, X1.x, U1, tt0, scratch);
 
-            SecP521R1Field.multiply(S1, Z2.x, S1, tt0);
-            SecP521R1Field.multiply(S1, Y1.x, S1, tt0);
+            SecP521R1Field.multiply(S1, Z2.x, S1, tt0, scratch);
+            SecP521R1Field.multiply(S1, Y1.x, S1, tt0, scratch);
         }
 
         int[] H = Nat.create(17);
@@ -109,35 +110,35 @@ public ECPoint add(ECPoint b)
         }
 
         int[] HSquared = t3;
-        SecP521R1Field.square(H, HSquared, tt0);
+        SecP521R1Field.square(H, HSquared, tt0, scratch);
 
         int[] G = Nat.create(17);
-        SecP521R1Field.multiply(HSquared, H, G, tt0);
+        SecP521R1Field.multiply(HSquared, H, G, tt0, scratch);
 
         int[] V = t3;
-        SecP521R1Field.multiply(HSquared, U1, V, tt0);
+        SecP521R1Field.multiply(HSquared, U1, V, tt0, scratch);
 
-        SecP521R1Field.multiply(S1, G, t1, tt0);
+        SecP521R1Field.multiply(S1, G, t1, tt0, scratch);
 
         SecP521R1FieldElement X3 = new SecP521R1FieldElement(t4);
-        SecP521R1Field.square(R, X3.x, tt0);
+        SecP521R1Field.square(R, X3.x, tt0, scratch);
         SecP521R1Field.add(X3.x, G, X3.x);
         SecP521R1Field.subtract(X3.x, V, X3.x);
         SecP521R1Field.subtract(X3.x, V, X3.x);
 
         SecP521R1FieldElement Y3 = new SecP521R1FieldElement(G);
         SecP521R1Field.subtract(V, X3.x, Y3.x);
-        SecP521R1Field.multiply(Y3.x, R, t2, tt0);
+        SecP521R1Field.multiply(Y3.x, R, t2, tt0, scratch);
         SecP521R1Field.subtract(t2, t1, Y3.x);
 
         SecP521R1FieldElement Z3 = new SecP521R1FieldElement(H);
         if (!Z1IsOne)
         {
-            SecP521R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0);
+            SecP521R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0, scratch);
         }
         if (!Z2IsOne)
         {
-            SecP521R1Field.multiply(Z3.x, Z2.x, Z3.x, tt0);
+            SecP521R1Field.multiply(Z3.x, Z2.x, Z3.x, tt0, scratch);
         }
 
         ECFieldElement[] zs = new ECFieldElement[]{ Z3 };
@@ -163,14 +164,15 @@ public ECPoint twice()
         SecP521R1FieldElement X1 = (SecP521R1FieldElement)this.x, Z1 = (SecP521R1FieldElement)this.zs[0];
 
         int[] tt0 = Nat.create(33);
+        int[] scratch = Nat.create(32);
         int[] t1 = Nat.create(17);
         int[] t2 = Nat.create(17);
 
         int[] Y1Squared = Nat.create(17);
-        SecP521R1Field.square(Y1.x, Y1Squared, tt0);
+        SecP521R1Field.square(Y1.x, Y1Squared, tt0, scratch);
 
         int[] T = Nat.create(17);
-        SecP521R1Field.square(Y1Squared, T, tt0);
+        SecP521R1Field.square(Y1Squared, T, tt0, scratch);
 
         boolean Z1IsOne = Z1.isOne();
 
@@ -178,19 +180,19 @@ public ECPoint twice()
         if (!Z1IsOne)
         {
             Z1Squared = t2;
-            SecP521R1Field.square(Z1.x, Z1Squared, tt0);
+            SecP521R1Field.square(Z1.x, Z1Squared, tt0, scratch);
         }
 
         SecP521R1Field.subtract(X1.x, Z1Squared, t1);
 
         int[] M = t2;
         SecP521R1Field.add(X1.x, Z1Squared, M);
-        SecP521R1Field.multiply(M, t1, M, tt0);
+        SecP521R1Field.multiply(M, t1, M, tt0, scratch);
         Nat.addBothTo(17, M, M, M);
         SecP521R1Field.reduce23(M);
 
         int[] S = Y1Squared;
-        SecP521R1Field.multiply(Y1Squared, X1.x, S, tt0);
+        SecP521R1Field.multiply(Y1Squared, X1.x, S, tt0, scratch);
         Nat.shiftUpBits(17, S, 2, 0);
         SecP521R1Field.reduce23(S);
 
@@ -198,20 +200,20 @@ public ECPoint twice()
         SecP521R1Field.reduce23(t1);
 
         SecP521R1FieldElement X3 = new SecP521R1FieldElement(T);
-        SecP521R1Field.square(M, X3.x, tt0);
+        SecP521R1Field.square(M, X3.x, tt0, scratch);
         SecP521R1Field.subtract(X3.x, S, X3.x);
         SecP521R1Field.subtract(X3.x, S, X3.x);
 
         SecP521R1FieldElement Y3 = new SecP521R1FieldElement(S);
         SecP521R1Field.subtract(S, X3.x, Y3.x);
-        SecP521R1Field.multiply(Y3.x, M, Y3.x, tt0);
+        SecP521R1Field.multiply(Y3.x, M, Y3.x, tt0, scratch);
         SecP521R1Field.subtract(Y3.x, t1, Y3.x);
 
         SecP521R1FieldElement Z3 = new SecP521R1FieldElement(M);
         SecP521R1Field.twice(Y1.x, Z3.x);
         if (!Z1IsOne)
         {
-            SecP521R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0);
+            SecP521R1Field.multiply(Z3.x, Z1.x, Z3.x, tt0, scratch);
         }
 
         return new SecP521R1Point(curve, X3, Y3, new ECFieldElement[]{ Z3 });
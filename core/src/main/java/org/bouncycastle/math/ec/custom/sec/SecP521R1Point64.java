@@ -0,0 +1,298 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+
+public class SecP521R1Point64 extends ECPoint.AbstractFp
+{
+    SecP521R1Point64(ECCurve curve, ECFieldElement x, ECFieldElement y)
+    {
+        super(curve, x, y);
+    }
+
+    SecP521R1Point64(ECCurve curve, ECFieldElement x, ECFieldElement y, ECFieldElement[] zs)
+    {
+        super(curve, x, y, zs);
+    }
+
+    protected ECPoint detach()
+    {
+        return new SecP521R1Point64(null, getAffineXCoord(), getAffineYCoord());
+    }
+
+    public ECPoint add(ECPoint b)
+    {
+        if (this.isInfinity())
+        {
+            return b;
+        }
+        if (b.isInfinity())
+        {
+            return this;
+        }
+        if (this == b)
+        {
+            return twice();
+        }
+
+        ECCurve curve = this.getCurve();
+
+        SecP521R1FieldElement64 X1 = (SecP521R1FieldElement64)this.x, Y1 = (SecP521R1FieldElement64)this.y;
+        SecP521R1FieldElement64 X2 = (SecP521R1FieldElement64)b.getXCoord(), Y2 = (SecP521R1FieldElement64)b.getYCoord();
+
+        SecP521R1FieldElement64 Z1 = (SecP521R1FieldElement64)this.zs[0];
+        SecP521R1FieldElement64 Z2 = (SecP521R1FieldElement64)b.getZCoord(0);
+
+        long[] t1 = SecP521R1Field64.create();
+        long[] t2 = SecP521R1Field64.create();
+        long[] t3 = SecP521R1Field64.create();
+        long[] t4 = SecP521R1Field64.create();
+
+        boolean Z1IsOne = Z1.isOne();
+        long[] U2, S2;
+        if (Z1IsOne)
+        {
+            U2 = X2.x;
+            S2 = Y2.x;
+        }
+        else
+        {
+            S2 = t3;
+            SecP521R1Field64.square(Z1.x, S2);
+
+            U2 = t2;
+            SecP521R1Field64.multiply(S2, X2.x, U2);
+
+            SecP521R1Field64.multiply(S2, Z1.x, S2);
+            SecP521R1Field64.multiply(S2, Y2.x, S2);
+        }
+
+        boolean Z2IsOne = Z2.isOne();
+        long[] U1, S1;
+        if (Z2IsOne)
+        {
+            U1 = X1.x;
+            S1 = Y1.x;
+        }
+        else
+        {
+            S1 = t4;
+            SecP521R1Field64.square(Z2.x, S1);
+
+            U1 = t1;
+            SecP521R1Field64.multiply(S1, X1.x, U1);
+
+            SecP521R1Field64.multiply(S1, Z2.x, S1);
+            SecP521R1Field64.multiply(S1, Y1.x, S1);
+        }
+
+        long[] H = SecP521R1Field64.create();
+        SecP521R1Field64.subtract(U1, U2, H);
+
+        long[] R = t2;
+        SecP521R1Field64.subtract(S1, S2, R);
+
+        // Check if b == this or b == -this
+        SecP521R1Field64.normalize(H);
+        if (SecP521R1Field64.isZero(H))
+        {
+            SecP521R1Field64.normalize(R);
+            if (SecP521R1Field64.isZero(R))
+            {
+                // this == b, i.e. this must be doubled
+                return this.twice();
+            }
+
+            // this == -b, i.e. the result is the point at infinity
+            return curve.getInfinity();
+        }
+
+        long[] HSquared = t3;
+        SecP521R1Field64.square(H, HSquared);
+
+        long[] G = SecP521R1Field64.create();
+        SecP521R1Field64.multiply(HSquared, H, G);
+
+        long[] V = t3;
+        SecP521R1Field64.multiply(HSquared, U1, V);
+
+        SecP521R1Field64.multiply(S1, G, t1);
+
+        SecP521R1FieldElement64 X3 = new SecP521R1FieldElement64(t4);
+        SecP521R1Field64.square(R, X3.x);
+        SecP521R1Field64.add(X3.x, G, X3.x);
+        SecP521R1Field64.subtract(X3.x, V, X3.x);
+        SecP521R1Field64.subtract(X3.x, V, X3.x);
+
+        SecP521R1FieldElement64 Y3 = new SecP521R1FieldElement64(G);
+        SecP521R1Field64.subtract(V, X3.x, Y3.x);
+        SecP521R1Field64.multiply(Y3.x, R, t2);
+        SecP521R1Field64.subtract(t2, t1, Y3.x);
+
+        SecP521R1FieldElement64 Z3 = new SecP521R1FieldElement64(H);
+        if (!Z1IsOne)
+        {
+            SecP521R1Field64.multiply(Z3.x, Z1.x, Z3.x);
+        }
+        if (!Z2IsOne)
+        {
+            SecP521R1Field64.multiply(Z3.x, Z2.x, Z3.x);
+        }
+
+        SecP521R1Field64.normalize(X3.x);
+        SecP521R1Field64.normalize(Y3.x);
+        SecP521R1Field64.normalize(Z3.x);
+
+        ECFieldElement[] zs = new ECFieldElement[]{ Z3 };
+
+        return new SecP521R1Point64(curve, X3, Y3, zs);
+    }
+
+    public ECPoint twice()
+    {
+        if (this.isInfinity())
+        {
+            return this;
+        }
+
+        ECCurve curve = this.getCurve();
+
+        SecP521R1FieldElement64 Y1 = (SecP521R1FieldElement64)this.y;
+        if (Y1.isZero())
+        {
+            return curve.getInfinity();
+        }
+
+        SecP521R1FieldElement64 X1 = (SecP521R1FieldElement64)this.x, Z1 = (SecP521R1FieldElement64)this.zs[0];
+
+        long[] t1 = SecP521R1Field64.create();
+        long[] t2 = SecP521R1Field64.create();
+
+        long[] Y1Squared = SecP521R1Field64.create();
+        SecP521R1Field64.square(Y1.x, Y1Squared);
+
+        long[] T = SecP521R1Field64.create();
+        SecP521R1Field64.square(Y1Squared, T);
+
+        boolean Z1IsOne = Z1.isOne();
+
+        long[] Z1Squared = Z1.x;
+        if (!Z1IsOne)
+        {
+            Z1Squared = t2;
+            SecP521R1Field64.square(Z1.x, Z1Squared);
+        }
+
+        SecP521R1Field64.subtract(X1.x, Z1Squared, t1);
+
+        long[] M = t2;
+        SecP521R1Field64.add(X1.x, Z1Squared, M);
+        SecP521R1Field64.multiply(M, t1, M);
+        SecP521R1Field64.multiply(M, 3, M);
+
+        long[] S = Y1Squared;
+        SecP521R1Field64.multiply(Y1Squared, X1.x, S);
+        SecP521R1Field64.multiply(S, 4, S);
+
+        SecP521R1Field64.multiply(T, 8, t1);
+
+        SecP521R1FieldElement64 X3 = new SecP521R1FieldElement64(T);
+        SecP521R1Field64.square(M, X3.x);
+        SecP521R1Field64.subtract(X3.x, S, X3.x);
+        SecP521R1Field64.subtract(X3.x, S, X3.x);
+
+        SecP521R1FieldElement64 Y3 = new SecP521R1FieldElement64(S);
+        SecP521R1Field64.subtract(S, X3.x, Y3.x);
+        SecP521R1Field64.multiply(Y3.x, M, Y3.x);
+        SecP521R1Field64.subtract(Y3.x, t1, Y3.x);
+
+        SecP521R1FieldElement64 Z3 = new SecP521R1FieldElement64(M);
+        SecP521R1Field64.twice(Y1.x, Z3.x);
+        if (!Z1IsOne)
+        {
+            SecP521R1Field64.multiply(Z3.x, Z1.x, Z3.x);
+        }
+
+        SecP521R1Field64.normalize(X3.x);
+        SecP521R1Field64.normalize(Y3.x);
+        SecP521R1Field64.normalize(Z3.x);
+
+        return new SecP521R1Point64(curve, X3, Y3, new ECFieldElement[]{ Z3 });
+    }
+
+    public ECPoint twicePlus(ECPoint b)
+    {
+        if (this == b)
+        {
+            return threeTimes();
+        }
+        if (this.isInfinity())
+        {
+            return b;
+        }
+        if (b.isInfinity())
+        {
+            return twice();
+        }
+
+        ECFieldElement Y1 = this.y;
+        if (Y1.isZero())
+        {
+            return b;
+        }
+
+        return twice().add(b);
+    }
+
+    public ECPoint threeTimes()
+    {
+        if (this.isInfinity() || this.y.isZero())
+        {
+            return this;
+        }
+
+        // NOTE: Be careful about recursions between twicePlus and threeTimes
+        return twice().add(this);
+    }
+
+    protected ECFieldElement two(ECFieldElement x)
+    {
+        return x.add(x);
+    }
+
+    protected ECFieldElement three(ECFieldElement x)
+    {
+        return two(x).add(x);
+    }
+
+    protected ECFieldElement four(ECFieldElement x)
+    {
+        return two(two(x));
+    }
+
+    protected ECFieldElement eight(ECFieldElement x)
+    {
+        return four(two(x));
+    }
+
+    protected ECFieldElement doubleProductFromSquares(ECFieldElement a, ECFieldElement b,
+        ECFieldElement aSquared, ECFieldElement bSquared)
+    {
+        /*
+         * NOTE: If squaring in the field is faster than multiplication, then this is a quicker
+         * way to calculate 2.A.B, if A^2 and B^2 are already known.
+         */
+        return a.add(b).square().subtract(aSquared).subtract(bSquared);
+    }
+
+    public ECPoint negate()
+    {
+        if (this.isInfinity())
+        {
+            return this;
+        }
+
+        return new SecP521R1Point64(curve, this.x, this.y.negate(), this.zs);
+    }
+}
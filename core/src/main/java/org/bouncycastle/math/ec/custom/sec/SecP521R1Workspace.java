@@ -0,0 +1,66 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.raw.Nat;
+
+class SecP521R1Workspace extends SecPR1Workspace
+{
+    private final ECCurve curve;
+    private final int[] tt = Nat.create(33);
+    private final int[] t = Nat.create(32);
+
+    SecP521R1Workspace(ECCurve curve)
+    {
+        super(17);
+
+        this.curve = curve;
+    }
+
+    protected void add(int[] x, int[] y, int[] z)
+    {
+        SecP521R1Field.add(x, y, z);
+    }
+
+    protected boolean isZero(int[] x)
+    {
+        return Nat.isZero(17, x);
+    }
+
+    protected void multiply(int[] x, int[] y, int[] z)
+    {
+        SecP521R1Field.multiply(x, y, z, tt, t);
+    }
+
+    protected void square(int[] x, int[] z)
+    {
+        SecP521R1Field.square(x, z, tt, t);
+    }
+
+    protected void subtract(int[] x, int[] y, int[] z)
+    {
+        SecP521R1Field.subtract(x, y, z);
+    }
+
+    protected void twice(int[] x, int[] z)
+    {
+        SecP521R1Field.twice(x, z);
+    }
+
+    protected int[] getRawX(ECPoint p)
+    {
+        return ((SecP521R1FieldElement)p.getRawXCoord()).x;
+    }
+
+    protected int[] getRawY(ECPoint p)
+    {
+        return ((SecP521R1FieldElement)p.getRawYCoord()).x;
+    }
+
+    protected ECPoint createPoint(int[] x, int[] y, int[] z)
+    {
+        return new SecP521R1Point(curve, new SecP521R1FieldElement(x), new SecP521R1FieldElement(y),
+            new ECFieldElement[]{ new SecP521R1FieldElement(z) });
+    }
+}
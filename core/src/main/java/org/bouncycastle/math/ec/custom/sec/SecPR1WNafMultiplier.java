@@ -0,0 +1,91 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import java.math.BigInteger;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.WNafL2RMultiplier;
+import org.bouncycastle.math.ec.WNafPreCompInfo;
+import org.bouncycastle.math.ec.WNafUtil;
+
+/**
+ * The Window NAF multiplication of {@link WNafL2RMultiplier}, sharing its precomputations, but accumulating the
+ * result in a {@link SecPR1Workspace} instead of creating new points for every doubling and addition.
+ */
+abstract class SecPR1WNafMultiplier extends WNafL2RMultiplier
+{
+    abstract SecPR1Workspace createWorkspace();
+
+    protected ECPoint multiplyPositive(ECPoint p, BigInteger k)
+    {
+        int minWidth = WNafUtil.getWindowSize(k.bitLength());
+
+        WNafPreCompInfo info = WNafUtil.precompute(p, minWidth, true);
+        ECPoint[] preComp = info.getPreComp();
+        ECPoint[] preCompNeg = info.getPreCompNeg();
+        int width = info.getWidth();
+
+        // The workspace only adds affine points
+        if (!areNormalized(preComp, width) || !areNormalized(preCompNeg, width))
+        {
+            return super.multiplyPositive(p, k);
+        }
+
+        int[] wnaf = WNafUtil.generateCompactWindowNaf(width, k);
+
+        SecPR1Workspace w = createWorkspace();
+
+        int i = wnaf.length;
+        {
+            int wi = wnaf[--i];
+            int digit = wi >> 16, zeroes = wi & 0xFFFF;
+
+            ECPoint r = (digit < 0 ? preCompNeg : preComp)[Math.abs(digit) >>> 1];
+
+            w.setAffine(w.getRawX(r), w.getRawY(r));
+            w.pointDouble(zeroes);
+        }
+
+        ECPoint R = null;
+
+        while (i > 0)
+        {
+            int wi = wnaf[--i];
+            int digit = wi >> 16, zeroes = wi & 0xFFFF;
+
+            ECPoint r = (digit < 0 ? preCompNeg : preComp)[Math.abs(digit) >>> 1];
+
+            if (R == null)
+            {
+                w.pointDouble();
+                if (w.pointAddAffine(w.getRawX(r), w.getRawY(r)))
+                {
+                    w.pointDouble(zeroes);
+                    continue;
+                }
+
+                R = w.toPoint().add(r);
+            }
+            else
+            {
+                R = R.twicePlus(r);
+            }
+
+            R = R.timesPow2(zeroes);
+        }
+
+        return R == null ? w.toPoint() : R;
+    }
+
+    private static boolean areNormalized(ECPoint[] points, int width)
+    {
+        int len = 1 << (width - 2);
+        for (int i = 0; i < len; ++i)
+        {
+            if (!points[i].isNormalized())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
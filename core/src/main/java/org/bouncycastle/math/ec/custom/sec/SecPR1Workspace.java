@@ -0,0 +1,246 @@
+package org.bouncycastle.math.ec.custom.sec;
+
+import org.bouncycastle.math.ec.ECLookupTable;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * A mutable point in Jacobian coordinates, together with the scratch space its formulae need, for the prime
+ * curves of this package with a = -3. Doublings and additions of affine points work in place on the raw int[]
+ * representation of the curve's field, so a scalar multiplication allocates one workspace rather than new field
+ * elements and points for every step, as the {@link ECPoint} methods must.
+ * <p>
+ * The formulae have no special cases. An addition that would need one (a doubling, or a result at infinity) is
+ * reported to the caller, which then finishes the multiplication with {@link ECPoint} arithmetic.
+ * </p>
+ */
+abstract class SecPR1Workspace
+{
+    protected final int size;
+    protected final int[] x, y, z;
+
+    private final int[] lx, ly, t0, t1, t2, t3, t4;
+
+    SecPR1Workspace(int size)
+    {
+        this.size = size;
+        this.x = new int[size];
+        this.y = new int[size];
+        this.z = new int[size];
+        this.lx = new int[size];
+        this.ly = new int[size];
+        this.t0 = new int[size];
+        this.t1 = new int[size];
+        this.t2 = new int[size];
+        this.t3 = new int[size];
+        this.t4 = new int[size];
+    }
+
+    protected abstract void add(int[] x, int[] y, int[] z);
+
+    protected abstract boolean isZero(int[] x);
+
+    protected abstract void multiply(int[] x, int[] y, int[] z);
+
+    protected abstract void square(int[] x, int[] z);
+
+    protected abstract void subtract(int[] x, int[] y, int[] z);
+
+    protected abstract void twice(int[] x, int[] z);
+
+    /**
+     * x = 3.x - curves with a reduce32 method can override this to reduce once.
+     */
+    protected void threeTimes(int[] x)
+    {
+        add(x, x, t4);
+        add(t4, x, x);
+    }
+
+    /**
+     * z = 2^n.x, for small n - curves with a reduce32 method can override this to shift and reduce once.
+     */
+    protected void timesPow2(int[] x, int n, int[] z)
+    {
+        twice(x, z);
+        while (--n > 0)
+        {
+            twice(z, z);
+        }
+    }
+
+    protected abstract int[] getRawX(ECPoint p);
+
+    protected abstract int[] getRawY(ECPoint p);
+
+    /**
+     * Create a point from the given coordinates, which it may keep - the workspace is not used afterwards.
+     */
+    protected abstract ECPoint createPoint(int[] x, int[] y, int[] z);
+
+    ECPoint toPoint()
+    {
+        return createPoint(x, y, z);
+    }
+
+    void setAffine(int[] px, int[] py)
+    {
+        System.arraycopy(px, 0, x, 0, size);
+        System.arraycopy(py, 0, y, 0, size);
+        for (int i = 1; i < size; ++i)
+        {
+            z[i] = 0;
+        }
+        z[0] = 1;
+    }
+
+    /**
+     * Add an affine point to the accumulated point, unless that needs one of the special cases.
+     *
+     * @return false, leaving the accumulated point unchanged, if the x coordinates of the two points are equal.
+     */
+    boolean pointAddAffine(int[] px, int[] py)
+    {
+        int[] Z1Squared = t0;
+        square(z, Z1Squared);
+
+        int[] U2 = t1;
+        multiply(Z1Squared, px, U2);
+
+        int[] S2 = t0;
+        multiply(Z1Squared, z, S2);
+        multiply(S2, py, S2);
+
+        int[] H = t1;
+        subtract(x, U2, H);
+
+        int[] R = t0;
+        subtract(y, S2, R);
+
+        if (isZero(H))
+        {
+            return false;
+        }
+
+        int[] HSquared = t2;
+        square(H, HSquared);
+
+        int[] G = t3;
+        multiply(HSquared, H, G);
+
+        int[] V = t2;
+        multiply(HSquared, x, V);
+
+        multiply(z, H, z);
+
+        int[] S1G = t4;
+        multiply(y, G, S1G);
+
+        int[] W = t3;
+        twice(V, t1);
+        subtract(t1, G, W);
+
+        square(R, x);
+        subtract(x, W, x);
+
+        subtract(V, x, y);
+        multiply(y, R, y);
+        subtract(y, S1G, y);
+
+        return true;
+    }
+
+    void pointDouble()
+    {
+        int[] Y1Squared = t0;
+        square(y, Y1Squared);
+
+        int[] T = t1;
+        square(Y1Squared, T);
+
+        int[] Z1Squared = t2;
+        square(z, Z1Squared);
+
+        subtract(x, Z1Squared, t3);
+
+        int[] M = t2;
+        add(x, Z1Squared, M);
+        multiply(M, t3, M);
+        threeTimes(M);
+
+        int[] S = t0;
+        multiply(Y1Squared, x, S);
+        timesPow2(S, 2, S);
+
+        timesPow2(T, 3, T);
+
+        multiply(y, z, z);
+        twice(z, z);
+
+        square(M, x);
+        subtract(x, S, x);
+        subtract(x, S, x);
+
+        subtract(S, x, y);
+        multiply(y, M, y);
+        subtract(y, T, y);
+    }
+
+    void pointDouble(int e)
+    {
+        while (--e >= 0)
+        {
+            pointDouble();
+        }
+    }
+
+    /**
+     * The comb loop of {@link org.bouncycastle.math.ec.FixedPointCombMultiplier}, over a table holding the x and
+     * y coordinates of each of len affine points in turn.
+     */
+    ECPoint twicePlusLookups(ECLookupTable lookupTable, int[] table, int len, int[] indices)
+    {
+        lookup(table, len, indices[0], x, y);
+        setAffine(x, y);
+
+        for (int i = 1; i < indices.length; ++i)
+        {
+            pointDouble();
+
+            lookup(table, len, indices[i], lx, ly);
+            if (!pointAddAffine(lx, ly))
+            {
+                ECPoint R = toPoint().add(lookupTable.lookup(indices[i]));
+                while (++i < indices.length)
+                {
+                    R = R.twicePlus(lookupTable.lookup(indices[i]));
+                }
+                return R;
+            }
+        }
+
+        return toPoint();
+    }
+
+    private void lookup(int[] table, int len, int index, int[] rx, int[] ry)
+    {
+        for (int j = 0; j < size; ++j)
+        {
+            rx[j] = 0;
+            ry[j] = 0;
+        }
+
+        int pos = 0;
+        for (int i = 0; i < len; ++i)
+        {
+            int MASK = ((i ^ index) - 1) >> 31;
+
+            for (int j = 0; j < size; ++j)
+            {
+                rx[j] ^= table[pos + j] & MASK;
+                ry[j] ^= table[pos + size + j] & MASK;
+            }
+
+            pos += (size * 2);
+        }
+    }
+}
@@ -17,6 +17,9 @@ private Friend() {}
     public static final int SCALAR_SIZE = 32;
 
     private static class F extends X25519Field {};
+    private static class F64 extends X25519Field64 {};
+
+    private static final boolean FIELD64 = X25519Field64.isPreferred();
 
     private static final int C_A = 486662;
     private static final int C_A24 = (C_A + 2)/4;
@@ -85,6 +88,21 @@ private static void pointDouble(int[] x, int[] z)
         F.mul(z, a, z);
     }
 
+    private static void pointDouble(long[] x, long[] z)
+    {
+        long[] a = F64.create();
+        long[] b = F64.create();
+
+        F64.apm(x, z, a, b);
+        F64.sqr(a, a);
+        F64.sqr(b, b);
+        F64.mul(a, b, x);
+        F64.sub(a, b, a);
+        F64.mul(a, C_A24, z);
+        F64.add(z, b, z);
+        F64.mul(z, a, z);
+    }
+
     public static void precompute()
     {
         Ed25519.precompute();
@@ -94,6 +112,12 @@ public static void scalarMult(byte[] k, int kOff, byte[] u, int uOff, byte[] r,
     {
         int[] n = new int[8];       decodeScalar(k, kOff, n);
 
+        if (FIELD64)
+        {
+            scalarMult64(n, u, uOff, r, rOff);
+            return;
+        }
+
         int[] x1 = F.create();      F.decode(u, uOff, x1);
         int[] x2 = F.create();      F.copy(x1, 0, x2, 0);
         int[] z2 = F.create();      z2[0] = 1;
@@ -151,6 +175,61 @@ public static void scalarMult(byte[] k, int kOff, byte[] u, int uOff, byte[] r,
         F.encode(x2, r, rOff);
     }
 
+    private static void scalarMult64(int[] n, byte[] u, int uOff, byte[] r, int rOff)
+    {
+        long[] x1 = F64.create();   F64.decode(u, uOff, x1);
+        long[] x2 = F64.create();   F64.copy(x1, 0, x2, 0);
+        long[] z2 = F64.create();   z2[0] = 1;
+        long[] x3 = F64.create();   x3[0] = 1;
+        long[] z3 = F64.create();
+
+        long[] t1 = F64.create();
+        long[] t2 = F64.create();
+
+        int bit = 254, swap = 1;
+        do
+        {
+            F64.apm(x3, z3, t1, x3);
+            F64.apm(x2, z2, z3, x2);
+            F64.mul(t1, x2, t1);
+            F64.mul(x3, z3, x3);
+            F64.sqr(z3, z3);
+            F64.sqr(x2, x2);
+
+            F64.sub(z3, x2, t2);
+            F64.mul(t2, C_A24, z2);
+            F64.add(z2, x2, z2);
+            F64.mul(z2, t2, z2);
+            F64.mul(x2, z3, x2);
+
+            F64.apm(t1, x3, x3, z3);
+            F64.sqr(x3, x3);
+            F64.sqr(z3, z3);
+            F64.mul(z3, x1, z3);
+
+            --bit;
+
+            int word = bit >>> 5, shift = bit & 0x1F;
+            int kt = (n[word] >>> shift) & 1;
+            swap ^= kt;
+            F64.cswap(swap, x2, x3);
+            F64.cswap(swap, z2, z3);
+            swap = kt;
+        }
+        while (bit >= 3);
+
+        for (int i = 0; i < 3; ++i)
+        {
+            pointDouble(x2, z2);
+        }
+
+        F64.inv(z2, z2);
+        F64.mul(x2, z2, x2);
+
+        F64.normalize(x2);
+        F64.encode(x2, r, rOff);
+    }
+
     public static void scalarMultBase(byte[] k, int kOff, byte[] r, int rOff)
     {
         // Equivalent (but much slower)
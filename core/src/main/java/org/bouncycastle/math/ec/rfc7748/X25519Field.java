@@ -2,6 +2,11 @@
 
 import org.bouncycastle.math.raw.Mod;
 
+/*
+ * Field elements are held as 10 limbs of alternately 26 and 25 bits, so that every limb product fits in a
+ * long. X25519Field64 is the radix-2^51 alternative, used where the high half of a 64x64-bit product is an
+ * intrinsic.
+ */
 public abstract class X25519Field
 {
     public static final int SIZE = 10;
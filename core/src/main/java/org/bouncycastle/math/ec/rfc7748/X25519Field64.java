@@ -0,0 +1,396 @@
+package org.bouncycastle.math.ec.rfc7748;
+
+import org.bouncycastle.math.raw.Mod;
+import org.bouncycastle.math.raw.Mul64;
+
+/*
+ * Field elements are held as 5 signed limbs of nominally 51 bits. Products are formed from operands pre-shifted by
+ * 13 bits in total, so that the high half of each 64x64-bit product (see Mul64) is the part above 2^51 and the top
+ * 51 bits of the low half are the part below it. Limbs of up to 2^53 in magnitude are accepted by mul and sqr.
+ */
+public abstract class X25519Field64
+{
+    public static final int SIZE = 5;
+
+    private static final long M51 = 0x0007FFFFFFFFFFFFL;
+
+    private static final int[] P32 = new int[]{ 0xFFFFFFED, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF,
+        0xFFFFFFFF, 0x7FFFFFFF };
+
+    /**
+     * Whether this field outperforms {@link X25519Field} on the running JVM, which is the case when the high half of
+     * a 64x64-bit product is available as an intrinsic.
+     */
+    public static boolean isPreferred()
+    {
+        return Mul64.isIntrinsic();
+    }
+
+    public static void add(long[] x, long[] y, long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = x[i] + y[i];
+        }
+    }
+
+    public static void apm(long[] x, long[] y, long[] zp, long[] zm)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            long xi = x[i], yi = y[i];
+            zp[i] = xi + yi;
+            zm[i] = xi - yi;
+        }
+    }
+
+    public static void carry(long[] z)
+    {
+        long z0 = z[0], z1 = z[1], z2 = z[2], z3 = z[3], z4 = z[4];
+
+        z1 += (z0 >> 51); z0 &= M51;
+        z2 += (z1 >> 51); z1 &= M51;
+        z3 += (z2 >> 51); z2 &= M51;
+        z4 += (z3 >> 51); z3 &= M51;
+        z0 += (z4 >> 51) * 19; z4 &= M51;
+        z1 += (z0 >> 51); z0 &= M51;
+
+        z[0] = z0; z[1] = z1; z[2] = z2; z[3] = z3; z[4] = z4;
+    }
+
+    public static void cmov(int cond, long[] x, int xOff, long[] z, int zOff)
+    {
+//        assert 0 == cond || -1 == cond;
+
+        long mask = cond;
+        for (int i = 0; i < SIZE; ++i)
+        {
+            long z_i = z[zOff + i], diff = z_i ^ x[xOff + i];
+            z_i ^= (diff & mask);
+            z[zOff + i] = z_i;
+        }
+    }
+
+    public static void cnegate(int negate, long[] z)
+    {
+//      assert negate >>> 1 == 0;
+
+        long mask = 0L - negate;
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = (z[i] ^ mask) - mask;
+        }
+    }
+
+    public static void copy(long[] x, int xOff, long[] z, int zOff)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[zOff + i] = x[xOff + i];
+        }
+    }
+
+    public static long[] create()
+    {
+        return new long[SIZE];
+    }
+
+    public static long[] createTable(int n)
+    {
+        return new long[SIZE * n];
+    }
+
+    public static void cswap(int swap, long[] a, long[] b)
+    {
+//        assert swap >>> 1 == 0;
+//        assert a != b;
+
+        long mask = 0L - swap;
+        for (int i = 0; i < SIZE; ++i)
+        {
+            long ai = a[i], bi = b[i];
+            long dummy = mask & (ai ^ bi);
+            a[i] = ai ^ dummy;
+            b[i] = bi ^ dummy;
+        }
+    }
+
+    public static void decode(int[] x, int xOff, long[] z, int zOff)
+    {
+        long t0 = (x[xOff + 0] & 0xFFFFFFFFL) | ((long)x[xOff + 1] << 32);
+        long t1 = (x[xOff + 2] & 0xFFFFFFFFL) | ((long)x[xOff + 3] << 32);
+        long t2 = (x[xOff + 4] & 0xFFFFFFFFL) | ((long)x[xOff + 5] << 32);
+        long t3 = (x[xOff + 6] & 0xFFFFFFFFL) | ((long)x[xOff + 7] << 32);
+
+        decode256(t0, t1, t2, t3, z, zOff);
+    }
+
+    public static void decode(byte[] x, int xOff, long[] z)
+    {
+        decode(x, xOff, z, 0);
+    }
+
+    public static void decode(byte[] x, int xOff, long[] z, int zOff)
+    {
+        long t0 = decode64(x, xOff + 0);
+        long t1 = decode64(x, xOff + 8);
+        long t2 = decode64(x, xOff + 16);
+        long t3 = decode64(x, xOff + 24);
+
+        decode256(t0, t1, t2, t3, z, zOff);
+    }
+
+    private static void decode256(long t0, long t1, long t2, long t3, long[] z, int zOff)
+    {
+        z[zOff + 0] = t0 & M51;
+        z[zOff + 1] = ((t1 << 13) | (t0 >>> 51)) & M51;
+        z[zOff + 2] = ((t2 << 26) | (t1 >>> 38)) & M51;
+        z[zOff + 3] = ((t3 << 39) | (t2 >>> 25)) & M51;
+        z[zOff + 4] = (t3 >>> 12) & M51;
+    }
+
+    private static long decode64(byte[] bs, int off)
+    {
+        long n = 0;
+        for (int i = 7; i >= 0; --i)
+        {
+            n = (n << 8) | (bs[off + i] & 0xFF);
+        }
+        return n;
+    }
+
+    public static void encode(long[] x, int[] z, int zOff)
+    {
+        long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+        long t0 =  x0         | (x1 << 51);
+        long t1 = (x1 >>> 13) | (x2 << 38);
+        long t2 = (x2 >>> 26) | (x3 << 25);
+        long t3 = (x3 >>> 39) | (x4 << 12);
+
+        z[zOff + 0] = (int)t0; z[zOff + 1] = (int)(t0 >>> 32);
+        z[zOff + 2] = (int)t1; z[zOff + 3] = (int)(t1 >>> 32);
+        z[zOff + 4] = (int)t2; z[zOff + 5] = (int)(t2 >>> 32);
+        z[zOff + 6] = (int)t3; z[zOff + 7] = (int)(t3 >>> 32);
+    }
+
+    public static void encode(long[] x, byte[] z, int zOff)
+    {
+        long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+        long t0 =  x0         | (x1 << 51);  encode64(t0, z, zOff + 0);
+        long t1 = (x1 >>> 13) | (x2 << 38);  encode64(t1, z, zOff + 8);
+        long t2 = (x2 >>> 26) | (x3 << 25);  encode64(t2, z, zOff + 16);
+        long t3 = (x3 >>> 39) | (x4 << 12);  encode64(t3, z, zOff + 24);
+    }
+
+    private static void encode64(long n, byte[] bs, int off)
+    {
+        for (int i = 0; i < 8; ++i)
+        {
+            bs[off + i] = (byte)(n >>> (i << 3));
+        }
+    }
+
+    public static void inv(long[] x, long[] z)
+    {
+        long[] t = create();
+        int[] u = new int[8];
+
+        copy(x, 0, t, 0);
+        normalize(t);
+        encode(t, u, 0);
+
+        Mod.modOddInverse(P32, u, u);
+
+        decode(u, 0, z, 0);
+    }
+
+    public static void invVar(long[] x, long[] z)
+    {
+        long[] t = create();
+        int[] u = new int[8];
+
+        copy(x, 0, t, 0);
+        normalize(t);
+        encode(t, u, 0);
+
+        Mod.modOddInverseVar(P32, u, u);
+
+        decode(u, 0, z, 0);
+    }
+
+    public static void mul(long[] x, int y, long[] z)
+    {
+//        assert y >= 0;
+
+        long y0 = (long)y << 5;
+        long x0 = x[0] << 8, x1 = x[1] << 8, x2 = x[2] << 8, x3 = x[3] << 8, x4 = x[4] << 8;
+
+        reduce(
+            (x0 * y0) >>> 13, Mul64.multiplyHigh(x0, y0),
+            (x1 * y0) >>> 13, Mul64.multiplyHigh(x1, y0),
+            (x2 * y0) >>> 13, Mul64.multiplyHigh(x2, y0),
+            (x3 * y0) >>> 13, Mul64.multiplyHigh(x3, y0),
+            (x4 * y0) >>> 13, Mul64.multiplyHigh(x4, y0),
+            z);
+    }
+
+    public static void mul(long[] x, long[] y, long[] z)
+    {
+        long x0 = x[0] << 8, x1 = x[1] << 8, x2 = x[2] << 8, x3 = x[3] << 8, x4 = x[4] << 8;
+        long y0 = y[0] << 5, y1 = y[1] << 5, y2 = y[2] << 5, y3 = y[3] << 5, y4 = y[4] << 5;
+        long s1 = y1 * 19, s2 = y2 * 19, s3 = y3 * 19, s4 = y4 * 19;
+
+        long l0, l1, l2, l3, l4, h0, h1, h2, h3, h4;
+
+        l0  = (x0 * y0) >>> 13;     h0  = Mul64.multiplyHigh(x0, y0);
+        l0 += (x1 * s4) >>> 13;     h0 += Mul64.multiplyHigh(x1, s4);
+        l0 += (x2 * s3) >>> 13;     h0 += Mul64.multiplyHigh(x2, s3);
+        l0 += (x3 * s2) >>> 13;     h0 += Mul64.multiplyHigh(x3, s2);
+        l0 += (x4 * s1) >>> 13;     h0 += Mul64.multiplyHigh(x4, s1);
+
+        l1  = (x0 * y1) >>> 13;     h1  = Mul64.multiplyHigh(x0, y1);
+        l1 += (x1 * y0) >>> 13;     h1 += Mul64.multiplyHigh(x1, y0);
+        l1 += (x2 * s4) >>> 13;     h1 += Mul64.multiplyHigh(x2, s4);
+        l1 += (x3 * s3) >>> 13;     h1 += Mul64.multiplyHigh(x3, s3);
+        l1 += (x4 * s2) >>> 13;     h1 += Mul64.multiplyHigh(x4, s2);
+
+        l2  = (x0 * y2) >>> 13;     h2  = Mul64.multiplyHigh(x0, y2);
+        l2 += (x1 * y1) >>> 13;     h2 += Mul64.multiplyHigh(x1, y1);
+        l2 += (x2 * y0) >>> 13;     h2 += Mul64.multiplyHigh(x2, y0);
+        l2 += (x3 * s4) >>> 13;     h2 += Mul64.multiplyHigh(x3, s4);
+        l2 += (x4 * s3) >>> 13;     h2 += Mul64.multiplyHigh(x4, s3);
+
+        l3  = (x0 * y3) >>> 13;     h3  = Mul64.multiplyHigh(x0, y3);
+        l3 += (x1 * y2) >>> 13;     h3 += Mul64.multiplyHigh(x1, y2);
+        l3 += (x2 * y1) >>> 13;     h3 += Mul64.multiplyHigh(x2, y1);
+        l3 += (x3 * y0) >>> 13;     h3 += Mul64.multiplyHigh(x3, y0);
+        l3 += (x4 * s4) >>> 13;     h3 += Mul64.multiplyHigh(x4, s4);
+
+        l4  = (x0 * y4) >>> 13;     h4  = Mul64.multiplyHigh(x0, y4);
+        l4 += (x1 * y3) >>> 13;     h4 += Mul64.multiplyHigh(x1, y3);
+        l4 += (x2 * y2) >>> 13;     h4 += Mul64.multiplyHigh(x2, y2);
+        l4 += (x3 * y1) >>> 13;     h4 += Mul64.multiplyHigh(x3, y1);
+        l4 += (x4 * y0) >>> 13;     h4 += Mul64.multiplyHigh(x4, y0);
+
+        reduce(l0, h0, l1, h1, l2, h2, l3, h3, l4, h4, z);
+    }
+
+    public static void negate(long[] x, long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = -x[i];
+        }
+    }
+
+    public static void normalize(long[] z)
+    {
+        long x = (z[4] >>> 50) & 1;
+        reduce(z, x);
+        reduce(z, -x);
+//        assert z[4] >>> 50 == 0;
+    }
+
+    public static void one(long[] z)
+    {
+        z[0] = 1;
+        for (int i = 1; i < SIZE; ++i)
+        {
+            z[i] = 0;
+        }
+    }
+
+    private static void reduce(long[] z, long x)
+    {
+        long t = z[4], z4 = t & M51;
+        t = (t >> 51) + x;
+
+        long cc = t * 19;
+        cc += z[0]; z[0] = cc & M51; cc >>= 51;
+        cc += z[1]; z[1] = cc & M51; cc >>= 51;
+        cc += z[2]; z[2] = cc & M51; cc >>= 51;
+        cc += z[3]; z[3] = cc & M51; cc >>= 51;
+        z[4] = z4 + cc;
+    }
+
+    /*
+     * Each (l, h) pair is the sum of some products split at 2^51; l collects the low parts (each below 2^51) and h
+     * the (signed) high parts.
+     */
+    private static void reduce(long l0, long h0, long l1, long h1, long l2, long h2, long l3, long h3, long l4,
+        long h4, long[] z)
+    {
+        l1 += h0 + (l0 >> 51); l0 &= M51;
+        l2 += h1 + (l1 >> 51); l1 &= M51;
+        l3 += h2 + (l2 >> 51); l2 &= M51;
+        l4 += h3 + (l3 >> 51); l3 &= M51;
+        l0 += (h4 + (l4 >> 51)) * 19; l4 &= M51;
+        l1 += (l0 >> 51); l0 &= M51;
+
+        z[0] = l0; z[1] = l1; z[2] = l2; z[3] = l3; z[4] = l4;
+    }
+
+    public static void sqr(long[] x, long[] z)
+    {
+        long x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4];
+
+        long a0 = x0 << 8, a1 = x1 << 8, a2 = x2 << 8, a3 = x3 << 8, a4 = x4 << 8;
+        long d0 = x0 << 9, d1 = x1 << 9, d2 = x2 << 9, d3 = x3 << 9;
+        long b0 = x0 << 5, b1 = x1 << 5, b2 = x2 << 5, b3 = x3 << 5, b4 = x4 << 5;
+        long s3 = (x3 * 19) << 5, s4 = (x4 * 19) << 5;
+
+        long l0, l1, l2, l3, l4, h0, h1, h2, h3, h4;
+
+        l0  = (a0 * b0) >>> 13;     h0  = Mul64.multiplyHigh(a0, b0);
+        l0 += (d1 * s4) >>> 13;     h0 += Mul64.multiplyHigh(d1, s4);
+        l0 += (d2 * s3) >>> 13;     h0 += Mul64.multiplyHigh(d2, s3);
+
+        l1  = (d0 * b1) >>> 13;     h1  = Mul64.multiplyHigh(d0, b1);
+        l1 += (d2 * s4) >>> 13;     h1 += Mul64.multiplyHigh(d2, s4);
+        l1 += (a3 * s3) >>> 13;     h1 += Mul64.multiplyHigh(a3, s3);
+
+        l2  = (d0 * b2) >>> 13;     h2  = Mul64.multiplyHigh(d0, b2);
+        l2 += (a1 * b1) >>> 13;     h2 += Mul64.multiplyHigh(a1, b1);
+        l2 += (d3 * s4) >>> 13;     h2 += Mul64.multiplyHigh(d3, s4);
+
+        l3  = (d0 * b3) >>> 13;     h3  = Mul64.multiplyHigh(d0, b3);
+        l3 += (d1 * b2) >>> 13;     h3 += Mul64.multiplyHigh(d1, b2);
+        l3 += (a4 * s4) >>> 13;     h3 += Mul64.multiplyHigh(a4, s4);
+
+        l4  = (d0 * b4) >>> 13;     h4  = Mul64.multiplyHigh(d0, b4);
+        l4 += (d1 * b3) >>> 13;     h4 += Mul64.multiplyHigh(d1, b3);
+        l4 += (a2 * b2) >>> 13;     h4 += Mul64.multiplyHigh(a2, b2);
+
+        reduce(l0, h0, l1, h1, l2, h2, l3, h3, l4, h4, z);
+    }
+
+    public static void sqr(long[] x, int n, long[] z)
+    {
+//        assert n > 0;
+
+        sqr(x, z);
+
+        while (--n > 0)
+        {
+            sqr(z, z);
+        }
+    }
+
+    public static void sub(long[] x, long[] y, long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = x[i] - y[i];
+        }
+    }
+
+    public static void zero(long[] z)
+    {
+        for (int i = 0; i < SIZE; ++i)
+        {
+            z[i] = 0;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.math.ec.rfc7748.X25519;
 import org.bouncycastle.math.ec.rfc7748.X25519Field;
+import org.bouncycastle.math.ec.rfc7748.X25519Field64;
 import org.bouncycastle.math.raw.Interleave;
 import org.bouncycastle.math.raw.Nat256;
 
@@ -35,6 +36,16 @@
     {
         final int[] data;
 
+        /*
+         * A comb table for the negated point, built on the second verification against this instance so that a
+         * long-lived public key stops paying for a per-verification table and the 128 doublings of the Straus
+         * method. A single use key never builds it.
+         */
+        volatile int[] precompComb = null;
+        // The same table for Ed25519Points64, when X25519Field64 is preferred
+        volatile long[] precompComb64 = null;
+        boolean used = false;
+
         PublicPoint(int[] data)
         {
             this.data = data;
@@ -43,6 +54,8 @@
 
     private static class F extends X25519Field {};
 
+    private static final boolean FIELD64 = X25519Field64.isPreferred();
+
     private static final int COORD_INTS = 8;
     private static final int POINT_BYTES = COORD_INTS * 4;
     private static final int SCALAR_INTS = 8;
@@ -102,7 +115,7 @@ private static class F extends X25519Field {};
     private static PointPrecomp[] PRECOMP_BASE128_WNAF = null;    
     private static int[] PRECOMP_BASE_COMB = null;
 
-    private static class PointAccum
+    static class PointAccum
     {
         int[] x = F.create();
         int[] y = F.create();
@@ -111,7 +124,7 @@ private static class F extends X25519Field {};
         int[] v = F.create();
     }
 
-    private static class PointAffine
+    static class PointAffine
     {
         int[] x = F.create();
         int[] y = F.create();
@@ -125,7 +138,7 @@ private static class F extends X25519Field {};
         int[] t = F.create();
     }
 
-    private static class PointPrecomp
+    static class PointPrecomp
     {
         int[] ymx_h = F.create();       // (y - x)/2
         int[] ypx_h = F.create();       // (y + x)/2
@@ -272,6 +285,62 @@ private static byte[] copy(byte[] buf, int off, int len)
         return result;
     }
 
+    private static int[] createCombTable(PointExtended[] points, int pointsOff)
+    {
+        // NOTE: Each z coordinate must already have been set to 1/(2.z) (see invertDoubleZs)
+
+        int combPoints = PRECOMP_BLOCKS * PRECOMP_POINTS;
+        int[] table = F.createTable(combPoints * 3);
+        PointPrecomp s = new PointPrecomp();
+        int off = 0;
+        for (int i = 0; i < combPoints; ++i)
+        {
+            PointExtended q = points[pointsOff + i];
+
+            // Calculate x/2 and y/2 (because the z value holds half the inverse; see above).
+            F.mul(q.x, q.z, q.x);
+            F.mul(q.y, q.z, q.y);
+
+            // y/2 +/- x/2
+            F.apm(q.y, q.x, s.ypx_h, s.ymx_h);
+
+            // x/2 * y/2 * (4.d) == x.y.d
+            F.mul(q.x, q.y, s.xyd);
+            F.mul(s.xyd, C_d4, s.xyd);
+
+            F.normalize(s.ymx_h);
+            F.normalize(s.ypx_h);
+            F.normalize(s.xyd);
+
+            F.copy(s.ymx_h, 0, table, off);       off += F.SIZE;
+            F.copy(s.ypx_h, 0, table, off);       off += F.SIZE;
+            F.copy(s.xyd  , 0, table, off);       off += F.SIZE;
+        }
+//        assert off == table.length;
+        return table;
+    }
+
+    private static int[] createPublicComb(PointAffine p)
+    {
+        int combPoints = PRECOMP_BLOCKS * PRECOMP_POINTS;
+        PointExtended[] points = new PointExtended[combPoints];
+        PointTemp t = new PointTemp();
+
+        PointAccum q = new PointAccum();
+        F.copy(p.x, 0, q.x, 0);
+        F.copy(p.y, 0, q.y, 0);
+        F.one(q.z);
+        F.copy(p.x, 0, q.u, 0);
+        F.copy(p.y, 0, q.v, 0);
+
+        pointPrecomputeComb(q, points, 0, t);
+
+        // Set each z coordinate to 1/(2.z) to avoid calculating halves of x, y in createCombTable
+        invertDoubleZs(points);
+
+        return createCombTable(points, 0);
+    }
+
     private static Digest createDigest()
     {
         Digest d = new SHA512Digest();
@@ -614,6 +683,19 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
         byte[] A = new byte[PUBLIC_KEY_SIZE];
         encodePublicPoint(publicPoint, A, 0);
 
+        int[] precompComb = publicPoint.precompComb;
+        if (precompComb == null && publicPoint.used)
+        {
+            // NOTE: Threads racing here build identical tables; whichever is published last is kept
+            precompComb = createPublicComb(pA);
+            if (FIELD64)
+            {
+                publicPoint.precompComb64 = Ed25519Points64.convertTable(precompComb);
+            }
+            publicPoint.precompComb = precompComb;
+        }
+        publicPoint.used = true;
+
         Digest d = createDigest();
         byte[] h = new byte[64];
 
@@ -631,6 +713,27 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
         int[] nA = new int[SCALAR_INTS];
         Scalar25519.decode(k, nA);
 
+        PointAccum pZ = new PointAccum();
+
+        if (precompComb != null)
+        {
+            PointTemp t = new PointTemp();
+            scalarMultCombVar(nS, nA, precompComb, publicPoint.precompComb64, pZ);
+
+            PointExtended eR = new PointExtended();
+            pointCopy(pR, eR);
+            PointPrecompZ zR = new PointPrecompZ();
+            pointCopy(eR, zR);
+            pointAddVar(false, zR, pZ, t);
+
+            // NOTE: Clears the cofactor of 8, including any multiple of the order added by the signed digits
+            pointDouble(pZ);
+            pointDouble(pZ);
+            pointDouble(pZ);
+
+            return normalizeToNeutralElementVar(pZ);
+        }
+
         int[] v0 = new int[4];
         int[] v1 = new int[4];
 
@@ -641,7 +744,6 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
 
         Scalar25519.multiply128Var(nS, v1, nS);
 
-        PointAccum pZ = new PointAccum();
         scalarMultStraus128Var(nS, v0, pA, v1, pR, pZ);
         return normalizeToNeutralElementVar(pZ);
     }
@@ -907,6 +1009,18 @@ private static void pointLookup(int block, int index, PointPrecomp p)
         }
     }
 
+    private static void pointLookupVar(int[] table, int block, int index, PointPrecomp p)
+    {
+//        assert 0 <= block && block < PRECOMP_BLOCKS;
+//        assert 0 <= index && index < PRECOMP_POINTS;
+
+        int off = (block * PRECOMP_POINTS + index) * 3 * F.SIZE;
+
+        F.copy(table, off, p.ymx_h, 0);     off += F.SIZE;
+        F.copy(table, off, p.ypx_h, 0);     off += F.SIZE;
+        F.copy(table, off, p.xyd,   0);
+    }
+
     private static void pointLookupZ(int[] x, int n, int[] table, PointPrecompZ r)
     {
         // TODO This method is currently hard-coded to 4-bit windows and 8 precomputed points
@@ -948,6 +1062,60 @@ private static void pointPrecompute(PointAffine p, PointExtended[] points, int p
         }
     }
 
+    private static void pointPrecomputeComb(PointAccum p, PointExtended[] points, int pointsOff, PointTemp t)
+    {
+        int pointsIndex = pointsOff;
+        PointExtended[] toothPowers = new PointExtended[PRECOMP_TEETH];
+        for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
+        {
+            toothPowers[tooth] = new PointExtended();
+        }
+
+        PointExtended u = new PointExtended();
+        for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+        {
+            PointExtended sum = points[pointsIndex++] = new PointExtended();
+
+            for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
+            {
+                if (tooth == 0)
+                {
+                    pointCopy(p, sum);
+                }
+                else
+                {
+                    pointCopy(p, u);
+                    pointAdd(sum, u, sum, t);
+                }
+
+                pointDouble(p);
+                pointCopy(p, toothPowers[tooth]);
+
+                if (block + tooth != PRECOMP_BLOCKS + PRECOMP_TEETH - 2)
+                {
+                    for (int spacing = 1; spacing < PRECOMP_SPACING; ++spacing)
+                    {
+                        pointDouble(p);
+                    }
+                }
+            }
+
+            F.negate(sum.x, sum.x);
+            F.negate(sum.t, sum.t);
+
+            for (int tooth = 0; tooth < (PRECOMP_TEETH - 1); ++tooth)
+            {
+                int size = 1 << tooth;
+                for (int j = 0; j < size; ++j, ++pointsIndex)
+                {
+                    points[pointsIndex] = new PointExtended();
+                    pointAdd(points[pointsIndex - size], toothPowers[tooth], points[pointsIndex], t);
+                }
+            }
+        }
+//        assert pointsIndex == pointsOff + PRECOMP_BLOCKS * PRECOMP_POINTS;
+    }
+
     private static int[] pointPrecomputeZ(PointAffine p, int count, PointTemp t)
     {
 //        assert count > 0;
@@ -1052,56 +1220,7 @@ public static void precompute()
             F.copy(p.x, 0, p.u, 0);
             F.copy(p.y, 0, p.v, 0);
 
-            int pointsIndex = wnafPoints * 2;
-            PointExtended[] toothPowers = new PointExtended[PRECOMP_TEETH];
-            for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
-            {
-                toothPowers[tooth] = new PointExtended();
-            }
-
-            PointExtended u = new PointExtended();
-            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
-            {
-                PointExtended sum = points[pointsIndex++] = new PointExtended();
-
-                for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
-                {
-                    if (tooth == 0)
-                    {
-                        pointCopy(p, sum);
-                    }
-                    else
-                    {
-                        pointCopy(p, u);
-                        pointAdd(sum, u, sum, t);
-                    }
-
-                    pointDouble(p);
-                    pointCopy(p, toothPowers[tooth]);
-
-                    if (block + tooth != PRECOMP_BLOCKS + PRECOMP_TEETH - 2)
-                    {
-                        for (int spacing = 1; spacing < PRECOMP_SPACING; ++spacing)
-                        {
-                            pointDouble(p);
-                        }
-                    }
-                }
-
-                F.negate(sum.x, sum.x);
-                F.negate(sum.t, sum.t);
-
-                for (int tooth = 0; tooth < (PRECOMP_TEETH - 1); ++tooth)
-                {
-                    int size = 1 << tooth;
-                    for (int j = 0; j < size; ++j, ++pointsIndex)
-                    {
-                        points[pointsIndex] = new PointExtended();
-                        pointAdd(points[pointsIndex - size], toothPowers[tooth], points[pointsIndex], t);
-                    }
-                }
-            }
-//            assert pointsIndex == totalPoints;
+            pointPrecomputeComb(p, points, wnafPoints * 2, t);
 
             // Set each z coordinate to 1/(2.z) to avoid calculating halves of x, y in the following code
             invertDoubleZs(points);
@@ -1150,33 +1269,14 @@ public static void precompute()
                 F.normalize(r.xyd);
             }
 
-            PRECOMP_BASE_COMB = F.createTable(combPoints * 3);
-            PointPrecomp s = new PointPrecomp();
-            int off = 0;
-            for (int i = wnafPoints * 2; i < totalPoints; ++i)
-            {
-                PointExtended q = points[i];
-
-                // Calculate x/2 and y/2 (because the z value holds half the inverse; see above).
-                F.mul(q.x, q.z, q.x);
-                F.mul(q.y, q.z, q.y);
-
-                // y/2 +/- x/2
-                F.apm(q.y, q.x, s.ypx_h, s.ymx_h);
+            int[] baseComb = createCombTable(points, wnafPoints * 2);
 
-                // x/2 * y/2 * (4.d) == x.y.d
-                F.mul(q.x, q.y, s.xyd);
-                F.mul(s.xyd, C_d4, s.xyd);
-
-                F.normalize(s.ymx_h);
-                F.normalize(s.ypx_h);
-                F.normalize(s.xyd);
-
-                F.copy(s.ymx_h, 0, PRECOMP_BASE_COMB, off);       off += F.SIZE;
-                F.copy(s.ypx_h, 0, PRECOMP_BASE_COMB, off);       off += F.SIZE;
-                F.copy(s.xyd  , 0, PRECOMP_BASE_COMB, off);       off += F.SIZE;
+            if (FIELD64)
+            {
+                Ed25519Points64.precompute(PRECOMP_BASE_WNAF, PRECOMP_BASE128_WNAF, baseComb);
             }
-//            assert off == PRECOMP_BASE_COMB.length;
+
+            PRECOMP_BASE_COMB = baseComb;
         }
     }
 
@@ -1234,6 +1334,12 @@ private static void scalarMultBase(byte[] k, PointAccum r)
         Scalar25519.toSignedDigits(PRECOMP_RANGE, n);
         groupCombBits(n);
 
+        if (FIELD64)
+        {
+            Ed25519Points64.scalarMultBase(n, r);
+            return;
+        }
+
         PointPrecomp p = new PointPrecomp();
         PointTemp t = new PointTemp();
 
@@ -1307,6 +1413,54 @@ public static void scalarMultBaseYZ(X25519.Friend friend, byte[] k, int kOff, in
         F.copy(p.z, 0, z, 0);
     }
 
+    private static void scalarMultCombVar(int[] nb, int[] np, int[] table, long[] table64, PointAccum r)
+    {
+//        assert nb.length == SCALAR_INTS;
+//        assert np.length == SCALAR_INTS;
+
+        precompute();
+
+        Scalar25519.toSignedDigits(PRECOMP_RANGE, nb);
+        groupCombBits(nb);
+        Scalar25519.toSignedDigits(PRECOMP_RANGE, np);
+        groupCombBits(np);
+
+        if (FIELD64)
+        {
+            Ed25519Points64.scalarMultCombVar(nb, np, table64, r);
+            return;
+        }
+
+        PointPrecomp p = new PointPrecomp();
+        PointTemp t = new PointTemp();
+
+        pointSetNeutral(r);
+
+        int cOff = (PRECOMP_SPACING - 1) * PRECOMP_TEETH;
+        for (;;)
+        {
+            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+            {
+                int wb = nb[block] >>> cOff;
+                int sb = (wb >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(PRECOMP_BASE_COMB, block, (wb ^ -sb) & PRECOMP_MASK, p);
+                pointAddVar(sb != 0, p, r, t);
+
+                int wp = np[block] >>> cOff;
+                int sp = (wp >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(table, block, (wp ^ -sp) & PRECOMP_MASK, p);
+                pointAddVar(sp != 0, p, r, t);
+            }
+
+            if ((cOff -= PRECOMP_TEETH) < 0)
+            {
+                break;
+            }
+
+            pointDouble(r);
+        }
+    }
+
     private static void scalarMultOrderVar(PointAffine p, PointAccum r)
     {
         byte[] ws_p = new byte[253];
@@ -1348,6 +1502,12 @@ private static void scalarMultStraus128Var(int[] nb, int[] np, PointAffine p, in
 
         precompute();
 
+        if (FIELD64)
+        {
+            Ed25519Points64.scalarMultStraus128Var(nb, np, p, nq, q, r);
+            return;
+        }
+
         byte[] ws_b = new byte[256];
         byte[] ws_p = new byte[128];
         byte[] ws_q = new byte[128];
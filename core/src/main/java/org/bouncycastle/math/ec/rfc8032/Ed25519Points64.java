@@ -0,0 +1,506 @@
+package org.bouncycastle.math.ec.rfc8032;
+
+import org.bouncycastle.math.ec.rfc7748.X25519Field;
+import org.bouncycastle.math.ec.rfc7748.X25519Field64;
+
+/*
+ * The scalar multiplications of Ed25519 carried out over X25519Field64, for use when that field is preferred (see
+ * X25519Field64.isPreferred). The formulae and tables are those of Ed25519; points are passed in and out in its int
+ * representation, so only the inner loops change.
+ */
+abstract class Ed25519Points64
+{
+    private static class F extends X25519Field64 {};
+
+    private static final int PRECOMP_BLOCKS = 8;
+    private static final int PRECOMP_TEETH = 4;
+    private static final int PRECOMP_SPACING = 8;
+    private static final int PRECOMP_POINTS = 1 << (PRECOMP_TEETH - 1);
+    private static final int PRECOMP_MASK = PRECOMP_POINTS - 1;
+
+    private static final int WNAF_WIDTH_128 = 4;
+    private static final int WNAF_WIDTH_BASE = 6;
+
+    private static final long[] C_d2 = new long[]{ 0x69B9426B2F159L, 0x35050762ADD7AL, 0x3CF44C0038052L,
+        0x6738CC7407977L, 0x2406D9DC56DFFL };
+
+    private static PointPrecomp[] PRECOMP_BASE_WNAF = null;
+    private static PointPrecomp[] PRECOMP_BASE128_WNAF = null;
+    private static long[] PRECOMP_BASE_COMB = null;
+
+    private static class PointAccum
+    {
+        long[] x = F.create();
+        long[] y = F.create();
+        long[] z = F.create();
+        long[] u = F.create();
+        long[] v = F.create();
+    }
+
+    private static class PointExtended
+    {
+        long[] x = F.create();
+        long[] y = F.create();
+        long[] z = F.create();
+        long[] t = F.create();
+    }
+
+    private static class PointPrecomp
+    {
+        long[] ymx_h = F.create();      // (y - x)/2
+        long[] ypx_h = F.create();      // (y + x)/2
+        long[] xyd = F.create();        // x.y.d
+    }
+
+    private static class PointPrecompZ
+    {
+        long[] ymx_h = F.create();      // (y - x)/2
+        long[] ypx_h = F.create();      // (y + x)/2
+        long[] xyd = F.create();        // x.y.d
+        long[] z = F.create();
+    }
+
+    // Temp space to avoid allocations in point formulae.
+    private static class PointTemp
+    {
+        long[] r0 = F.create();
+        long[] r1 = F.create();
+    }
+
+    static long[] convertTable(int[] table)
+    {
+        int count = table.length / X25519Field.SIZE;
+        long[] r = F.createTable(count);
+        for (int i = 0; i < count; ++i)
+        {
+            fromInt(table, i * X25519Field.SIZE, r, i * F.SIZE);
+        }
+        return r;
+    }
+
+    private static void fromInt(int[] x, int xOff, long[] z, int zOff)
+    {
+        int[] t = X25519Field.create();
+        X25519Field.copy(x, xOff, t, 0);
+        X25519Field.normalize(t);
+
+        int[] u = new int[8];
+        X25519Field.encode(t, u, 0);
+        F.decode(u, 0, z, zOff);
+    }
+
+    private static void pointAdd(PointExtended p, PointExtended q, PointExtended r, PointTemp t)
+    {
+        // p may ref the same point as r (or q), but q may not ref the same point as r.
+//        assert q != r;
+
+        long[] a = r.x;
+        long[] b = r.y;
+        long[] c = t.r0;
+        long[] d = t.r1;
+        long[] e = a;
+        long[] f = c;
+        long[] g = d;
+        long[] h = b;
+
+        F.apm(p.y, p.x, b, a);
+        F.apm(q.y, q.x, d, c);
+        F.mul(a, c, a);
+        F.mul(b, d, b);
+        F.mul(p.t, q.t, c);
+        F.mul(c, C_d2, c);
+        F.add(p.z, p.z, d);
+        F.mul(d, q.z, d);
+        F.apm(b, a, h, e);
+        F.apm(d, c, g, f);
+        F.mul(e, h, r.t);
+        F.mul(f, g, r.z);
+        F.mul(e, f, r.x);
+        F.mul(h, g, r.y);
+    }
+
+    private static void pointAdd(PointPrecomp p, PointAccum r, PointTemp t)
+    {
+        long[] a = r.x;
+        long[] b = r.y;
+        long[] c = t.r0;
+        long[] e = r.u;
+        long[] f = a;
+        long[] g = b;
+        long[] h = r.v;
+
+        F.apm(r.y, r.x, b, a);
+        F.mul(a, p.ymx_h, a);
+        F.mul(b, p.ypx_h, b);
+        F.mul(r.u, r.v, c);
+        F.mul(c, p.xyd, c);
+        F.apm(b, a, h, e);
+        F.apm(r.z, c, g, f);
+        F.mul(f, g, r.z);
+        F.mul(f, e, r.x);
+        F.mul(g, h, r.y);
+    }
+
+    private static void pointAddVar(boolean negate, PointPrecomp p, PointAccum r, PointTemp t)
+    {
+        long[] a = r.x;
+        long[] b = r.y;
+        long[] c = t.r0;
+        long[] e = r.u;
+        long[] f = a;
+        long[] g = b;
+        long[] h = r.v;
+
+        long[] na, nb;
+        if (negate)
+        {
+            na = b; nb = a;
+        }
+        else
+        {
+            na = a; nb = b;
+        }
+        long[] nf = na, ng = nb;
+
+        F.apm(r.y, r.x, b, a);
+        F.mul(na, p.ymx_h, na);
+        F.mul(nb, p.ypx_h, nb);
+        F.mul(r.u, r.v, c);
+        F.mul(c, p.xyd, c);
+        F.apm(b, a, h, e);
+        F.apm(r.z, c, ng, nf);
+        F.mul(f, g, r.z);
+        F.mul(f, e, r.x);
+        F.mul(g, h, r.y);
+    }
+
+    private static void pointAddVar(boolean negate, PointPrecompZ p, PointAccum r, PointTemp t)
+    {
+        long[] a = r.x;
+        long[] b = r.y;
+        long[] c = t.r0;
+        long[] d = r.z;
+        long[] e = r.u;
+        long[] f = a;
+        long[] g = b;
+        long[] h = r.v;
+
+        long[] na, nb;
+        if (negate)
+        {
+            na = b; nb = a;
+        }
+        else
+        {
+            na = a; nb = b;
+        }
+        long[] nf = na, ng = nb;
+
+        F.apm(r.y, r.x, b, a);
+        F.mul(na, p.ymx_h, na);
+        F.mul(nb, p.ypx_h, nb);
+        F.mul(r.u, r.v, c);
+        F.mul(c, p.xyd, c);
+        F.mul(r.z, p.z, d);
+        F.apm(b, a, h, e);
+        F.apm(d, c, ng, nf);
+        F.mul(f, g, r.z);
+        F.mul(f, e, r.x);
+        F.mul(g, h, r.y);
+    }
+
+    private static void pointCopy(PointExtended p, PointPrecompZ r)
+    {
+        // To avoid halving x and y, we double t and z instead.
+        F.apm(p.y, p.x, r.ypx_h, r.ymx_h);
+        F.mul(p.t, C_d2, r.xyd);
+        F.add(p.z, p.z, r.z);
+    }
+
+    private static void pointDouble(PointAccum r)
+    {
+        long[] a = r.x;
+        long[] b = r.y;
+        long[] c = r.z;
+        long[] e = r.u;
+        long[] f = a;
+        long[] g = b;
+        long[] h = r.v;
+
+        F.add(r.x, r.y, e);
+        F.sqr(r.x, a);
+        F.sqr(r.y, b);
+        F.sqr(r.z, c);
+        F.add(c, c, c);
+        F.apm(a, b, h, g);
+        F.sqr(e, e);
+        F.sub(h, e, e);
+        F.add(c, g, f);
+        F.carry(f);
+        F.mul(f, g, r.z);
+        F.mul(f, e, r.x);
+        F.mul(g, h, r.y);
+    }
+
+    private static void pointLookup(int block, int index, PointPrecomp p)
+    {
+//        assert 0 <= block && block < PRECOMP_BLOCKS;
+//        assert 0 <= index && index < PRECOMP_POINTS;
+
+        int off = block * PRECOMP_POINTS * 3 * F.SIZE;
+
+        for (int i = 0; i < PRECOMP_POINTS; ++i)
+        {
+            int cond = ((i ^ index) - 1) >> 31;
+            F.cmov(cond, PRECOMP_BASE_COMB, off, p.ymx_h, 0);     off += F.SIZE;
+            F.cmov(cond, PRECOMP_BASE_COMB, off, p.ypx_h, 0);     off += F.SIZE;
+            F.cmov(cond, PRECOMP_BASE_COMB, off, p.xyd,   0);     off += F.SIZE;
+        }
+    }
+
+    private static void pointLookupVar(long[] table, int block, int index, PointPrecomp p)
+    {
+//        assert 0 <= block && block < PRECOMP_BLOCKS;
+//        assert 0 <= index && index < PRECOMP_POINTS;
+
+        int off = (block * PRECOMP_POINTS + index) * 3 * F.SIZE;
+
+        F.copy(table, off, p.ymx_h, 0);     off += F.SIZE;
+        F.copy(table, off, p.ypx_h, 0);     off += F.SIZE;
+        F.copy(table, off, p.xyd,   0);
+    }
+
+    private static void pointPrecomputeZ(Ed25519.PointAffine p, PointPrecompZ[] points, int count, PointTemp t)
+    {
+//        assert count > 0;
+
+        PointExtended q = new PointExtended();
+        fromInt(p.x, 0, q.x, 0);
+        fromInt(p.y, 0, q.y, 0);
+        F.one(q.z);
+        F.mul(q.x, q.y, q.t);
+
+        PointExtended d = new PointExtended();
+        pointAdd(q, q, d, t);
+
+        int i = 0;
+        for (;;)
+        {
+            PointPrecompZ r = points[i] = new PointPrecompZ();
+            pointCopy(q, r);
+
+            if (++i == count)
+            {
+                break;
+            }
+
+            pointAdd(q, d, q, t);
+        }
+    }
+
+    private static void pointSetNeutral(PointAccum p)
+    {
+        F.zero(p.x);
+        F.one(p.y);
+        F.one(p.z);
+        F.zero(p.u);
+        F.one(p.v);
+    }
+
+    /**
+     * Convert the int tables built by {@link Ed25519#precompute()}. Must be called while holding its lock.
+     */
+    static void precompute(Ed25519.PointPrecomp[] baseWnaf, Ed25519.PointPrecomp[] base128Wnaf, int[] baseComb)
+    {
+        PRECOMP_BASE_WNAF = precomputeWnaf(baseWnaf);
+        PRECOMP_BASE128_WNAF = precomputeWnaf(base128Wnaf);
+        PRECOMP_BASE_COMB = convertTable(baseComb);
+    }
+
+    private static PointPrecomp[] precomputeWnaf(Ed25519.PointPrecomp[] points)
+    {
+        PointPrecomp[] r = new PointPrecomp[points.length];
+        for (int i = 0; i < points.length; ++i)
+        {
+            Ed25519.PointPrecomp p = points[i];
+            PointPrecomp q = r[i] = new PointPrecomp();
+            fromInt(p.ymx_h, 0, q.ymx_h, 0);
+            fromInt(p.ypx_h, 0, q.ypx_h, 0);
+            fromInt(p.xyd, 0, q.xyd, 0);
+        }
+        return r;
+    }
+
+    static void scalarMultBase(int[] n, Ed25519.PointAccum r)
+    {
+        // NOTE: n must already be in signed digits, with the comb bits grouped (see Ed25519.scalarMultBase)
+
+        PointAccum q = new PointAccum();
+        PointPrecomp p = new PointPrecomp();
+        PointTemp t = new PointTemp();
+
+        pointSetNeutral(q);
+        int resultSign = 0;
+
+        int cOff = (PRECOMP_SPACING - 1) * PRECOMP_TEETH;
+        for (;;)
+        {
+            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+            {
+                int w = n[block] >>> cOff;
+                int sign = (w >>> (PRECOMP_TEETH - 1)) & 1;
+                int abs = (w ^ -sign) & PRECOMP_MASK;
+
+//                assert sign == 0 || sign == 1;
+//                assert 0 <= abs && abs < PRECOMP_POINTS;
+
+                pointLookup(block, abs, p);
+
+                F.cnegate(resultSign ^ sign, q.x);
+                F.cnegate(resultSign ^ sign, q.u);
+                resultSign = sign;
+
+                pointAdd(p, q, t);
+            }
+
+            if ((cOff -= PRECOMP_TEETH) < 0)
+            {
+                break;
+            }
+
+            pointDouble(q);
+        }
+
+        F.cnegate(resultSign, q.x);
+        F.cnegate(resultSign, q.u);
+
+        toInt(q, r);
+    }
+
+    static void scalarMultCombVar(int[] nb, int[] np, long[] table, Ed25519.PointAccum r)
+    {
+        // NOTE: nb, np must already be in signed digits, with the comb bits grouped (see Ed25519.scalarMultCombVar)
+
+        PointAccum q = new PointAccum();
+        PointPrecomp p = new PointPrecomp();
+        PointTemp t = new PointTemp();
+
+        pointSetNeutral(q);
+
+        int cOff = (PRECOMP_SPACING - 1) * PRECOMP_TEETH;
+        for (;;)
+        {
+            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+            {
+                int wb = nb[block] >>> cOff;
+                int sb = (wb >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(PRECOMP_BASE_COMB, block, (wb ^ -sb) & PRECOMP_MASK, p);
+                pointAddVar(sb != 0, p, q, t);
+
+                int wp = np[block] >>> cOff;
+                int sp = (wp >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(table, block, (wp ^ -sp) & PRECOMP_MASK, p);
+                pointAddVar(sp != 0, p, q, t);
+            }
+
+            if ((cOff -= PRECOMP_TEETH) < 0)
+            {
+                break;
+            }
+
+            pointDouble(q);
+        }
+
+        toInt(q, r);
+    }
+
+    static void scalarMultStraus128Var(int[] nb, int[] np, Ed25519.PointAffine p, int[] nq, Ed25519.PointAffine q,
+        Ed25519.PointAccum r)
+    {
+        byte[] ws_b = new byte[256];
+        byte[] ws_p = new byte[128];
+        byte[] ws_q = new byte[128];
+
+        Wnaf.getSignedVar(nb, WNAF_WIDTH_BASE, ws_b);
+        Wnaf.getSignedVar(np, WNAF_WIDTH_128, ws_p);
+        Wnaf.getSignedVar(nq, WNAF_WIDTH_128, ws_q);
+
+        int count = 1 << (WNAF_WIDTH_128 - 2);
+        PointPrecompZ[] tp = new PointPrecompZ[count];
+        PointPrecompZ[] tq = new PointPrecompZ[count];
+        PointTemp t = new PointTemp();
+        pointPrecomputeZ(p, tp, count, t);
+        pointPrecomputeZ(q, tq, count, t);
+
+        PointAccum s = new PointAccum();
+        pointSetNeutral(s);
+
+        int bit = 128;
+        while (--bit >= 0)
+        {
+            if ((ws_b[bit] | ws_b[128 + bit] | ws_p[bit] | ws_q[bit]) != 0)
+            {
+                break;
+            }
+        }
+
+        for (; bit >= 0; --bit)
+        {
+            int wb = ws_b[bit];
+            if (wb != 0)
+            {
+                int index = (wb >> 1) ^ (wb >> 31);
+                pointAddVar(wb < 0, PRECOMP_BASE_WNAF[index], s, t);
+            }
+
+            int wb128 = ws_b[128 + bit];
+            if (wb128 != 0)
+            {
+                int index = (wb128 >> 1) ^ (wb128 >> 31);
+                pointAddVar(wb128 < 0, PRECOMP_BASE128_WNAF[index], s, t);
+            }
+
+            int wp = ws_p[bit];
+            if (wp != 0)
+            {
+                int index = (wp >> 1) ^ (wp >> 31);
+                pointAddVar(wp < 0, tp[index], s, t);
+            }
+
+            int wq = ws_q[bit];
+            if (wq != 0)
+            {
+                int index = (wq >> 1) ^ (wq >> 31);
+                pointAddVar(wq < 0, tq[index], s, t);
+            }
+
+            pointDouble(s);
+        }
+
+        // NOTE: Together with the final pointDouble of the loop, this clears the cofactor of 8
+        pointDouble(s);
+        pointDouble(s);
+
+        toInt(s, r);
+    }
+
+    private static void toInt(long[] x, int[] z)
+    {
+        long[] t = F.create();
+        F.copy(x, 0, t, 0);
+        F.normalize(t);
+
+        int[] u = new int[8];
+        F.encode(t, u, 0);
+        X25519Field.decode(u, 0, z);
+    }
+
+    private static void toInt(PointAccum p, Ed25519.PointAccum r)
+    {
+        toInt(p.x, r.x);
+        toInt(p.y, r.y);
+        toInt(p.z, r.z);
+        toInt(p.u, r.u);
+        toInt(p.v, r.v);
+    }
+}
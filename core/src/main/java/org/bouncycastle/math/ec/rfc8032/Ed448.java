@@ -31,6 +31,14 @@
     {
         final int[] data;
 
+        /*
+         * A comb table for the negated point, built on the second verification against this instance so that a
+         * long-lived public key stops paying for a per-verification table and the 225 doublings of the Straus
+         * method. A single use key never builds it.
+         */
+        volatile int[] precompComb = null;
+        boolean used = false;
+
         PublicPoint(int[] data)
         {
             this.data = data;
@@ -246,6 +254,42 @@ public static Xof createPrehash()
         return createXof();
     }
 
+    private static int[] createCombTable(PointProjective[] points, int pointsOff)
+    {
+        // NOTE: Each z coordinate must already have been inverted (see invertZs)
+
+        int combPoints = PRECOMP_BLOCKS * PRECOMP_POINTS;
+        int[] table = F.createTable(combPoints * 2);
+        int off = 0;
+        for (int i = 0; i < combPoints; ++i)
+        {
+            PointProjective q = points[pointsOff + i];
+
+            F.mul(q.x, q.z, q.x);       F.normalize(q.x);
+            F.mul(q.y, q.z, q.y);       F.normalize(q.y);
+
+            F.copy(q.x, 0, table, off);     off += F.SIZE;
+            F.copy(q.y, 0, table, off);     off += F.SIZE;
+        }
+//        assert off == table.length;
+        return table;
+    }
+
+    private static int[] createPublicComb(PointAffine p)
+    {
+        PointProjective[] points = new PointProjective[PRECOMP_BLOCKS * PRECOMP_POINTS];
+        PointTemp t = new PointTemp();
+
+        PointProjective q = new PointProjective();
+        pointCopy(p, q);
+
+        pointPrecomputeComb(q, points, 0, t);
+
+        invertZs(points);
+
+        return createCombTable(points, 0);
+    }
+
     private static Xof createXof()
     {
         return new SHAKEDigest(256);
@@ -558,6 +602,14 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
         byte[] A = new byte[PUBLIC_KEY_SIZE];
         encodePublicPoint(publicPoint, A, 0);
 
+        int[] precompComb = publicPoint.precompComb;
+        if (precompComb == null && publicPoint.used)
+        {
+            // NOTE: Threads racing here build identical tables; whichever is published last is kept
+            publicPoint.precompComb = precompComb = createPublicComb(pA);
+        }
+        publicPoint.used = true;
+
         Xof d = createXof();
         byte[] h = new byte[SCALAR_BYTES * 2];
 
@@ -572,6 +624,21 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
         int[] nA = new int[SCALAR_INTS];
         Scalar448.decode(k, nA);
 
+        PointProjective pZ = new PointProjective();
+
+        if (precompComb != null)
+        {
+            PointTemp t = new PointTemp();
+            scalarMultCombVar(nS, nA, precompComb, pZ);
+            pointAddVar(false, pR, pZ, t);
+
+            // NOTE: Clears the cofactor of 4, including any multiple of the order added by the signed digits
+            pointDouble(pZ, t);
+            pointDouble(pZ, t);
+
+            return normalizeToNeutralElementVar(pZ);
+        }
+
         int[] v0 = new int[8];
         int[] v1 = new int[8];
 
@@ -582,7 +649,6 @@ private static boolean implVerify(byte[] sig, int sigOff, PublicPoint publicPoin
 
         Scalar448.multiply225Var(nS, v1, nS);
 
-        PointProjective pZ = new PointProjective();
         scalarMultStraus225Var(nS, v0, pA, v1, pR, pZ);
         return normalizeToNeutralElementVar(pZ);
     }
@@ -851,6 +917,17 @@ private static void pointLookup(int block, int index, PointAffine p)
         }
     }
 
+    private static void pointLookupVar(int[] table, int block, int index, PointAffine p)
+    {
+//        assert 0 <= block && block < PRECOMP_BLOCKS;
+//        assert 0 <= index && index < PRECOMP_POINTS;
+
+        int off = (block * PRECOMP_POINTS + index) * 2 * F.SIZE;
+
+        F.copy(table, off, p.x, 0);     off += F.SIZE;
+        F.copy(table, off, p.y, 0);
+    }
+
     private static void pointLookup(int[] x, int n, int[] table, PointProjective r)
     {
         // TODO This method is currently hardcoded to 4-bit windows and 8 precomputed points
@@ -915,6 +992,58 @@ private static int[] pointPrecompute(PointProjective p, int count, PointTemp t)
         return table;
     }
 
+    private static void pointPrecomputeComb(PointProjective p, PointProjective[] points, int pointsOff, PointTemp t)
+    {
+        int pointsIndex = pointsOff;
+        PointProjective[] toothPowers = new PointProjective[PRECOMP_TEETH];
+        for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
+        {
+            toothPowers[tooth] = new PointProjective();
+        }
+
+        for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+        {
+            PointProjective sum = points[pointsIndex++] = new PointProjective();
+
+            for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
+            {
+                if (tooth == 0)
+                {
+                    pointCopy(p, sum);
+                }
+                else
+                {
+                    pointAdd(p, sum, t);
+                }
+
+                pointDouble(p, t);
+                pointCopy(p, toothPowers[tooth]);
+
+                if (block + tooth != PRECOMP_BLOCKS + PRECOMP_TEETH - 2)
+                {
+                    for (int spacing = 1; spacing < PRECOMP_SPACING; ++spacing)
+                    {
+                        pointDouble(p, t);
+                    }
+                }
+            }
+
+            F.negate(sum.x, sum.x);
+
+            for (int tooth = 0; tooth < (PRECOMP_TEETH - 1); ++tooth)
+            {
+                int size = 1 << tooth;
+                for (int j = 0; j < size; ++j, ++pointsIndex)
+                {
+                    points[pointsIndex] = new PointProjective();
+                    pointCopy(points[pointsIndex - size], points[pointsIndex]);
+                    pointAdd(toothPowers[tooth], points[pointsIndex], t);
+                }
+            }
+        }
+//        assert pointsIndex == pointsOff + PRECOMP_BLOCKS * PRECOMP_POINTS;
+    }
+
     private static void pointPrecompute(PointAffine p, PointProjective[] points, int pointsOff, int pointsLen,
         PointTemp t)
     {
@@ -975,54 +1104,7 @@ public static void precompute()
             PointProjective p = new PointProjective();
             pointCopy(B, p);
 
-            int pointsIndex = wnafPoints * 2;
-            PointProjective[] toothPowers = new PointProjective[PRECOMP_TEETH];
-            for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
-            {
-                toothPowers[tooth] = new PointProjective();
-            }
-
-            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
-            {
-                PointProjective sum = points[pointsIndex++] = new PointProjective();
-
-                for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
-                {
-                    if (tooth == 0)
-                    {
-                        pointCopy(p, sum);
-                    }
-                    else
-                    {
-                        pointAdd(p, sum, t);
-                    }
-
-                    pointDouble(p, t);
-                    pointCopy(p, toothPowers[tooth]);
-
-                    if (block + tooth != PRECOMP_BLOCKS + PRECOMP_TEETH - 2)
-                    {
-                        for (int spacing = 1; spacing < PRECOMP_SPACING; ++spacing)
-                        {
-                            pointDouble(p, t);
-                        }
-                    }
-                }
-
-                F.negate(sum.x, sum.x);
-
-                for (int tooth = 0; tooth < (PRECOMP_TEETH - 1); ++tooth)
-                {
-                    int size = 1 << tooth;
-                    for (int j = 0; j < size; ++j, ++pointsIndex)
-                    {
-                        points[pointsIndex] = new PointProjective();
-                        pointCopy(points[pointsIndex - size], points[pointsIndex]);
-                        pointAdd(toothPowers[tooth], points[pointsIndex], t);
-                    }
-                }
-            }
-//            assert pointsIndex == totalPoints;
+            pointPrecomputeComb(p, points, wnafPoints * 2, t);
 
             invertZs(points);
 
@@ -1046,19 +1128,7 @@ public static void precompute()
                 F.mul(q.y, q.z, r.y);       F.normalize(r.y);
             }
 
-            PRECOMP_BASE_COMB = F.createTable(combPoints * 2);
-            int off = 0;
-            for (int i = wnafPoints * 2; i < totalPoints; ++i)
-            {
-                PointProjective q = points[i];
-
-                F.mul(q.x, q.z, q.x);       F.normalize(q.x);
-                F.mul(q.y, q.z, q.y);       F.normalize(q.y);
-
-                F.copy(q.x, 0, PRECOMP_BASE_COMB, off);     off += F.SIZE;
-                F.copy(q.y, 0, PRECOMP_BASE_COMB, off);     off += F.SIZE;
-            }
-//            assert off == PRECOMP_BASE_COMB.length;
+            PRECOMP_BASE_COMB = createCombTable(points, wnafPoints * 2);
         }
     }
 
@@ -1198,6 +1268,56 @@ public static void scalarMultBaseXY(X448.Friend friend, byte[] k, int kOff, int[
         F.copy(p.y, 0, y, 0);
     }
 
+    private static void scalarMultCombVar(int[] nb, int[] np, int[] table, PointProjective r)
+    {
+//        assert nb.length == SCALAR_INTS;
+//        assert np.length == SCALAR_INTS;
+
+        precompute();
+
+        int[] mb = new int[SCALAR_INTS + 1];
+        Scalar448.toSignedDigits(PRECOMP_RANGE, nb, mb);
+        int[] mp = new int[SCALAR_INTS + 1];
+        Scalar448.toSignedDigits(PRECOMP_RANGE, np, mp);
+
+        PointAffine p = new PointAffine();
+        PointTemp t = new PointTemp();
+
+        pointSetNeutral(r);
+
+        int cOff = PRECOMP_SPACING - 1;
+        for (;;)
+        {
+            int tPos = cOff;
+
+            for (int block = 0; block < PRECOMP_BLOCKS; ++block)
+            {
+                int wb = 0, wp = 0;
+                for (int tooth = 0; tooth < PRECOMP_TEETH; ++tooth)
+                {
+                    wb |= ((mb[tPos >>> 5] >>> (tPos & 0x1F)) & 1) << tooth;
+                    wp |= ((mp[tPos >>> 5] >>> (tPos & 0x1F)) & 1) << tooth;
+                    tPos += PRECOMP_SPACING;
+                }
+
+                int sb = (wb >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(PRECOMP_BASE_COMB, block, (wb ^ -sb) & PRECOMP_MASK, p);
+                pointAddVar(sb != 0, p, r, t);
+
+                int sp = (wp >>> (PRECOMP_TEETH - 1)) & 1;
+                pointLookupVar(table, block, (wp ^ -sp) & PRECOMP_MASK, p);
+                pointAddVar(sp != 0, p, r, t);
+            }
+
+            if (--cOff < 0)
+            {
+                break;
+            }
+
+            pointDouble(r, t);
+        }
+    }
+
     private static void scalarMultOrderVar(PointAffine p, PointProjective r)
     {
         byte[] ws_p = new byte[447];
@@ -0,0 +1,24 @@
+package org.bouncycastle.math.raw;
+
+/*
+ * The high half of a signed 64x64-bit product. The multi-release provider jar replaces this class (see
+ * prov/src/main/jdk1.9) with one using Math.multiplyHigh, which HotSpot compiles to a single instruction.
+ */
+public abstract class Mul64
+{
+    public static boolean isIntrinsic()
+    {
+        return false;
+    }
+
+    public static long multiplyHigh(long x, long y)
+    {
+        long x1 = x >> 32, x0 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32, y0 = y & 0xFFFFFFFFL;
+
+        long t = x1 * y0 + ((x0 * y0) >>> 32);
+        long u = x0 * y1 + (t & 0xFFFFFFFFL);
+
+        return x1 * y1 + (t >> 32) + (u >> 32);
+    }
+}
@@ -4,6 +4,15 @@
 public abstract class Nat384
 {
     public static void mul(int[] x, int[] y, int[] zz)
+    {
+        mul(x, y, zz, Nat.create(24), 0);
+    }
+
+    /**
+     * As for {@link #mul(int[], int[], int[])}, but using 24 words of t, starting at tOff, as scratch space for
+     * the Karatsuba middle product instead of allocating it.
+     */
+    public static void mul(int[] x, int[] y, int[] zz, int[] t, int tOff)
     {
         Nat192.mul(x, y, zz);
         Nat192.mul(x, 6, y, 6, zz, 12);
@@ -12,17 +21,24 @@ public static void mul(int[] x, int[] y, int[] zz)
         int c12 = c18 + Nat192.addTo(zz, 0, zz, 6, 0);
         c18 += Nat192.addTo(zz, 18, zz, 12, c12);
 
-        int[] dx = Nat192.create(), dy = Nat192.create();
-        boolean neg = Nat192.diff(x, 6, x, 0, dx, 0) != Nat192.diff(y, 6, y, 0, dy, 0);
+        boolean neg = Nat192.diff(x, 6, x, 0, t, tOff) != Nat192.diff(y, 6, y, 0, t, tOff + 6);
 
-        int[] tt = Nat192.createExt();
-        Nat192.mul(dx, dy, tt);
+        Nat192.mul(t, tOff, t, tOff + 6, t, tOff + 12);
 
-        c18 += neg ? Nat.addTo(12, tt, 0, zz, 6) : Nat.subFrom(12, tt, 0, zz, 6);
+        c18 += neg ? Nat.addTo(12, t, tOff + 12, zz, 6) : Nat.subFrom(12, t, tOff + 12, zz, 6);
         Nat.addWordAt(24, c18, zz, 18); 
     }
 
     public static void square(int[] x, int[] zz)
+    {
+        square(x, zz, Nat.create(24), 0);
+    }
+
+    /**
+     * As for {@link #square(int[], int[])}, but using 24 words of t, starting at tOff, as scratch space for
+     * the Karatsuba middle product instead of allocating it.
+     */
+    public static void square(int[] x, int[] zz, int[] t, int tOff)
     {
         Nat192.square(x, zz);
         Nat192.square(x, 6, zz, 12);
@@ -31,13 +47,11 @@ public static void square(int[] x, int[] zz)
         int c12 = c18 + Nat192.addTo(zz, 0, zz, 6, 0);
         c18 += Nat192.addTo(zz, 18, zz, 12, c12);
 
-        int[] dx = Nat192.create();
-        Nat192.diff(x, 6, x, 0, dx, 0);
+        Nat192.diff(x, 6, x, 0, t, tOff);
 
-        int[] tt = Nat192.createExt();
-        Nat192.square(dx, tt);
+        Nat192.square(t, tOff, t, tOff + 12);
 
-        c18 += Nat.subFrom(12, tt, 0, zz, 6);
+        c18 += Nat.subFrom(12, t, tOff + 12, zz, 6);
         Nat.addWordAt(24, c18, zz, 18); 
     }
 }
@@ -4,6 +4,15 @@
 public abstract class Nat512
 {
     public static void mul(int[] x, int[] y, int[] zz)
+    {
+        mul(x, y, zz, Nat.create(32), 0);
+    }
+
+    /**
+     * As for {@link #mul(int[], int[], int[])}, but using 32 words of t, starting at tOff, as scratch space for
+     * the Karatsuba middle product instead of allocating it.
+     */
+    public static void mul(int[] x, int[] y, int[] zz, int[] t, int tOff)
     {
         Nat256.mul(x, y, zz);
         Nat256.mul(x, 8, y, 8, zz, 16);
@@ -12,17 +21,24 @@ public static void mul(int[] x, int[] y, int[] zz)
         int c16 = c24 + Nat256.addTo(zz, 0, zz, 8, 0);
         c24 += Nat256.addTo(zz, 24, zz, 16, c16);
 
-        int[] dx = Nat256.create(), dy = Nat256.create();
-        boolean neg = Nat256.diff(x, 8, x, 0, dx, 0) != Nat256.diff(y, 8, y, 0, dy, 0);
+        boolean neg = Nat256.diff(x, 8, x, 0, t, tOff) != Nat256.diff(y, 8, y, 0, t, tOff + 8);
 
-        int[] tt = Nat256.createExt();
-        Nat256.mul(dx, dy, tt);
+        Nat256.mul(t, tOff, t, tOff + 8, t, tOff + 16);
 
-        c24 += neg ? Nat.addTo(16, tt, 0, zz, 8) : Nat.subFrom(16, tt, 0, zz, 8);
+        c24 += neg ? Nat.addTo(16, t, tOff + 16, zz, 8) : Nat.subFrom(16, t, tOff + 16, zz, 8);
         Nat.addWordAt(32, c24, zz, 24); 
     }
 
     public static void square(int[] x, int[] zz)
+    {
+        square(x, zz, Nat.create(32), 0);
+    }
+
+    /**
+     * As for {@link #square(int[], int[])}, but using 32 words of t, starting at tOff, as scratch space for
+     * the Karatsuba middle product instead of allocating it.
+     */
+    public static void square(int[] x, int[] zz, int[] t, int tOff)
     {
         Nat256.square(x, zz);
         Nat256.square(x, 8, zz, 16);
@@ -31,13 +47,11 @@ public static void square(int[] x, int[] zz)
         int c16 = c24 + Nat256.addTo(zz, 0, zz, 8, 0);
         c24 += Nat256.addTo(zz, 24, zz, 16, c16);
 
-        int[] dx = Nat256.create();
-        Nat256.diff(x, 8, x, 0, dx, 0);
+        Nat256.diff(x, 8, x, 0, t, tOff);
 
-        int[] tt = Nat256.createExt();
-        Nat256.square(dx, tt);
+        Nat256.square(t, tOff, t, tOff + 16);
 
-        c24 += Nat.subFrom(16, tt, 0, zz, 8);
+        c24 += Nat.subFrom(16, t, tOff + 16, zz, 8);
         Nat.addWordAt(32, c24, zz, 24); 
     }
 }
@@ -12,6 +12,7 @@
 class BIKERing
 {
     private static final int PERMUTATION_CUTOFF = 64;
+    private static final int KARATSUBA_CUTOFF = 8;
 
     private final int bits;
     private final int size;
@@ -196,41 +197,102 @@ private static int implModAdd(int m, int x, int y)
     protected void implMultiplyAcc(long[] x, long[] y, long[] zz)
     {
         long[] u = new long[16];
+        long[] t = new long[(size << 2) + 64];
 
+        implKaratsuba(u, x, 0, y, 0, size, zz, 0, t, 0);
+    }
+
+    /*
+     * Recursive Karatsuba, splitting down to KARATSUBA_CUTOFF words and finishing with the arbitrary-degree
+     * Karatsuba in implMulAcc. The output region zz[zzOff..zzOff + 2n) must be zero on entry, t provides the
+     * scratch space (about 4n words) for the middle products.
+     */
+    private static void implKaratsuba(long[] u, long[] x, int xOff, long[] y, int yOff, int n, long[] zz, int zzOff,
+        long[] t, int tOff)
+    {
+        if (n <= KARATSUBA_CUTOFF)
+        {
+            implMulAcc(u, x, xOff, y, yOff, n, zz, zzOff);
+            return;
+        }
+
+        int nl = (n + 1) >>> 1, nh = n >>> 1;
+
+        // the low and high products go straight into their places in zz.
+        implKaratsuba(u, x, xOff, y, yOff, nl, zz, zzOff, t, tOff);
+        implKaratsuba(u, x, xOff + nl, y, yOff + nl, nh, zz, zzOff + (nl << 1), t, tOff);
+
+        int xm = tOff, ym = tOff + nl, zm = tOff + (nl << 1);
+        for (int i = 0; i < nh; ++i)
+        {
+            t[xm + i] = x[xOff + i] ^ x[xOff + nl + i];
+            t[ym + i] = y[yOff + i] ^ y[yOff + nl + i];
+        }
+        if (nh < nl)
+        {
+            t[xm + nh] = x[xOff + nh];
+            t[ym + nh] = y[yOff + nh];
+        }
+        for (int i = 0; i < (nl << 1); ++i)
+        {
+            t[zm + i] = 0L;
+        }
+
+        implKaratsuba(u, t, xm, t, ym, nl, t, zm, t, tOff + (nl << 2));
+
+        // middle term: (xl + xh)(yl + yh) - xl.yl - xh.yh, added in at word nl.
+        for (int i = 0; i < (nl << 1); ++i)
+        {
+            t[zm + i] ^= zz[zzOff + i];
+        }
+        for (int i = 0; i < (nh << 1); ++i)
+        {
+            t[zm + i] ^= zz[zzOff + (nl << 1) + i];
+        }
+
+        int count = Math.min(nl << 1, (n << 1) - nl);
+        for (int i = 0; i < count; ++i)
+        {
+            zz[zzOff + nl + i] ^= t[zm + i];
+        }
+    }
+
+    private static void implMulAcc(long[] u, long[] x, int xOff, long[] y, int yOff, int n, long[] zz, int zzOff)
+    {
         // Schoolbook
 
-//        for (int i = 0; i < size; ++i)
+//        for (int i = 0; i < n; ++i)
 //        {
-//            long x_i = x[i];
+//            long x_i = x[xOff + i];
 //
-//            for (int j = 0; j < size; ++j)
+//            for (int j = 0; j < n; ++j)
 //            {
-//                long y_j = y[j];
+//                long y_j = y[yOff + j];
 //
-//                implMulwAcc(u, x_i, y_j, zz, i + j);
+//                implMulwAcc(u, x_i, y_j, zz, zzOff + i + j);
 //            }
 //        }
 
         // Arbitrary-degree Karatsuba
 
-        for (int i = 0; i < size; ++i)
+        for (int i = 0; i < n; ++i)
         {
-            implMulwAcc(u, x[i], y[i], zz, i << 1);
+            implMulwAcc(u, x[xOff + i], y[yOff + i], zz, zzOff + (i << 1));
         }
 
-        long v0 = zz[0], v1 = zz[1];
-        for (int i = 1; i < size; ++i)
+        long v0 = zz[zzOff], v1 = zz[zzOff + 1];
+        for (int i = 1; i < n; ++i)
         {
-            v0 ^= zz[i << 1]; zz[i] = v0 ^ v1; v1 ^= zz[(i << 1) + 1];
+            v0 ^= zz[zzOff + (i << 1)]; zz[zzOff + i] = v0 ^ v1; v1 ^= zz[zzOff + (i << 1) + 1];
         }
 
         long w = v0 ^ v1;
-        for (int i = 0; i < size; ++i)
+        for (int i = 0; i < n; ++i)
         {
-            zz[size + i] = zz[i] ^ w;
+            zz[zzOff + n + i] = zz[zzOff + i] ^ w;
         }
 
-        int last = size - 1;
+        int last = n - 1;
         for (int zPos = 1; zPos < (last * 2); ++zPos)
         {
             int hi = Math.min(last, zPos);
@@ -238,7 +300,7 @@ protected void implMultiplyAcc(long[] x, long[] y, long[] zz)
 
             while (lo < hi)
             {
-                implMulwAcc(u, x[lo] ^ x[hi], y[lo] ^ y[hi], zz, zPos);
+                implMulwAcc(u, x[xOff + lo] ^ x[xOff + hi], y[yOff + lo] ^ y[yOff + hi], zz, zzOff + zPos);
 
                 ++lo;
                 --hi;
@@ -30,23 +30,17 @@ static void layerBenes(long[] data, long[] bits, int lgs)
         }
     }
 
-    private void apply_benes(byte[] r, byte[] bits, int rev)
+    /* the condition bits are loaded (and transposed) once per layer and applied to every sequence in bs */
+    private void apply_benes(long[][] bs, byte[] bits, int rev)
     {
-        int i;
+        int i, v;
 
         int cond_ptr;
         int inc, low;
+        int count = bs.length;
 
-        long[] bs = new long[64];
         long[] cond = new long[64];
 
-        //
-        for (i = 0; i < 64; i++)//DONE use Utils load8
-        {
-//            bs[i] = Pack.littleEndianToLong(r, i*8);
-            bs[i] = Utils.load8(r, i*8);
-        }
-
         if (rev == 0)
         {
             inc = 256;
@@ -60,7 +54,10 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
 
         //
 
-        transpose_64x64(bs, bs);
+        for (v = 0; v < count; v++)
+        {
+            transpose_64x64(bs[v], bs[v]);
+        }
         for (low = 0; low <= 5; low++)
         {
             for (i = 0; i < 64; i++)//DONE use Utils load4
@@ -70,12 +67,18 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
             }
 
             transpose_64x64(cond, cond);
-            layerBenes(bs, cond, low);
+            for (v = 0; v < count; v++)
+            {
+                layerBenes(bs[v], cond, low);
+            }
 
             cond_ptr += inc;
         }
 
-        transpose_64x64(bs, bs);
+        for (v = 0; v < count; v++)
+        {
+            transpose_64x64(bs[v], bs[v]);
+        }
 
         for (low = 0; low <= 5; low++)
         {
@@ -84,7 +87,10 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
                 cond[i] = Utils.load8(bits, cond_ptr + i*8);
 //                cond[i] = Pack.littleEndianToLong(bits, cond_ptr + i*8);
             }
-            layerBenes(bs, cond, low);
+            for (v = 0; v < count; v++)
+            {
+                layerBenes(bs[v], cond, low);
+            }
             cond_ptr += inc;
         }
         for (low = 4; low >= 0; low--)
@@ -95,11 +101,17 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
 //                cond[i] = Pack.littleEndianToLong(bits, cond_ptr + i*8);
             }
 
-            layerBenes(bs, cond, low);
+            for (v = 0; v < count; v++)
+            {
+                layerBenes(bs[v], cond, low);
+            }
             cond_ptr += inc;
         }
 
-        transpose_64x64(bs, bs);
+        for (v = 0; v < count; v++)
+        {
+            transpose_64x64(bs[v], bs[v]);
+        }
 
         for (low = 5; low >= 0; low--)
         {
@@ -110,19 +122,16 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
             }
 
             transpose_64x64(cond, cond);
-            layerBenes(bs, cond, low);
+            for (v = 0; v < count; v++)
+            {
+                layerBenes(bs[v], cond, low);
+            }
             cond_ptr += inc;
         }
 
-        transpose_64x64(bs, bs);
-
-        //
-        for (i = 0; i < 64; i++)//DONE use Utils store8
+        for (v = 0; v < count; v++)
         {
-            Utils.store8(r,i*8, bs[i]);
-//            byte[] temp = Pack.longToLittleEndian(bs[i]);
-//            System.arraycopy(temp, 0, r, i * 8, 8);
-
+            transpose_64x64(bs[v], bs[v]);
         }
     }
 
@@ -130,15 +139,7 @@ private void apply_benes(byte[] r, byte[] bits, int rev)
     public void support_gen(short[] s, byte[] c)
     {
         short a;
-        byte[][] L = new byte[GFBITS][(1 << GFBITS)/8];
-
-        for(int i = 0; i < GFBITS; i++)
-        {
-            for (int j = 0; j < (1 << GFBITS)/8; j++)
-            {
-                L[i][j] = 0;
-            }
-        }
+        long[][] L = new long[GFBITS][(1 << GFBITS)/64];
 
         for(int i = 0; i < (1 << GFBITS); i++)//DONE change to Utils bitrev
         {
@@ -147,14 +148,11 @@ public void support_gen(short[] s, byte[] c)
 
             for(int j = 0; j < GFBITS; j++)
             {
-                L[j][i/8] |=((a >> j) & 1) << (i%8);
+                L[j][i >>> 6] |= (long)((a >> j) & 1) << (i & 63);
             }
         }
 
-        for(int j = 0; j < GFBITS; j++)
-        {
-            apply_benes(L[j], c, 0);
-        }
+        apply_benes(L, c, 0);
 
         for (int i = 0; i < SYS_N; i++)
         {
@@ -162,7 +160,7 @@ public void support_gen(short[] s, byte[] c)
             for (int j = GFBITS-1; j >= 0; j--)
             {
                 s[i] <<= 1;
-                s[i] |= (L[j][i/8] >> (i%8)) & 1;
+                s[i] |= (L[j][i >>> 6] >>> (i & 63)) & 1;
 
             }
         }
@@ -58,23 +58,20 @@ static void layer_ex(long[] data, long[] bits, int lgs)
         }
     }
 
-    /* input: r, sequence of bits to be permuted */
+    /* input: r, sequences of bits to be permuted */
     /*        bits, condition bits of the Benes network */
     /*        rev, 0 for normal application; !0 for inverse */
     /* output: r, permuted bits */
-    void apply_benes(byte[] r, byte[] bits, int rev)
+    /* the condition bits are loaded (and transposed) once per layer and applied to every sequence in r */
+    void apply_benes(long[][] r, byte[] bits, int rev)
     {
-        int i, iter, inc;
+        int i, v, iter, inc;
 
-        int r_ptr = 0;
         int bits_ptr = 0;
+        int count = r.length;
 
-//        long[] r_int_v_0 = new long[64];
-//        long[] r_int_v_1 = new long[64];
-//        long[] r_int_h_0 = new long[64];
-//        long[] r_int_h_1 = new long[64];
-        long[] r_int_v = new long[128];
-        long[] r_int_h = new long[128];
+        long[][] r_int_v = new long[count][128];
+        long[][] r_int_h = new long[count][128];
         long[] b_int_v = new long[64];
         long[] b_int_h = new long[64];
 
@@ -92,14 +89,17 @@ void apply_benes(byte[] r, byte[] bits, int rev)
             inc = -1024;
         }
 
-        for (i = 0; i < 64; i++)//TODO use load8
+        for (v = 0; v < count; v++)
         {
-            r_int_v[i + 0] = Utils.load8(r, r_ptr + i * 16 + 0);
-            r_int_v[i + 64] = Utils.load8(r, r_ptr + i * 16 + 8);
-        }
+            for (i = 0; i < 64; i++)
+            {
+                r_int_v[v][i + 0] = r[v][i * 2 + 0];
+                r_int_v[v][i + 64] = r[v][i * 2 + 1];
+            }
 
-        transpose_64x64(r_int_h, r_int_v, 0);
-        transpose_64x64(r_int_h, r_int_v, 64);
+            transpose_64x64(r_int_h[v], r_int_v[v], 0);
+            transpose_64x64(r_int_h[v], r_int_v[v], 64);
+        }
 
         for (iter = 0; iter <= 6; iter++)
         {
@@ -113,11 +113,17 @@ void apply_benes(byte[] r, byte[] bits, int rev)
 
             transpose_64x64(b_int_h, b_int_v);
 
-            layer_ex(r_int_h, b_int_h, iter);
+            for (v = 0; v < count; v++)
+            {
+                layer_ex(r_int_h[v], b_int_h, iter);
+            }
         }
 
-        transpose_64x64(r_int_v, r_int_h, 0);
-        transpose_64x64(r_int_v, r_int_h, 64);
+        for (v = 0; v < count; v++)
+        {
+            transpose_64x64(r_int_v[v], r_int_h[v], 0);
+            transpose_64x64(r_int_v[v], r_int_h[v], 64);
+        }
 
         for (iter = 0; iter <= 5; iter++)
         {
@@ -128,7 +134,10 @@ void apply_benes(byte[] r, byte[] bits, int rev)
             }
             bits_ptr += inc;
 
-            layer_in(r_int_v, b_int_v, iter);
+            for (v = 0; v < count; v++)
+            {
+                layer_in(r_int_v[v], b_int_v, iter);
+            }
         }
 
         for (iter = 4; iter >= 0; iter--)
@@ -140,11 +149,17 @@ void apply_benes(byte[] r, byte[] bits, int rev)
             }
             bits_ptr += inc;
 
-            layer_in(r_int_v, b_int_v, iter);
+            for (v = 0; v < count; v++)
+            {
+                layer_in(r_int_v[v], b_int_v, iter);
+            }
         }
 
-        transpose_64x64(r_int_h, r_int_v, 0);
-        transpose_64x64(r_int_h, r_int_v, 64);
+        for (v = 0; v < count; v++)
+        {
+            transpose_64x64(r_int_h[v], r_int_v[v], 0);
+            transpose_64x64(r_int_h[v], r_int_v[v], 64);
+        }
 
         for (iter = 6; iter >= 0; iter--)
         {
@@ -158,16 +173,22 @@ void apply_benes(byte[] r, byte[] bits, int rev)
 
             transpose_64x64(b_int_h, b_int_v);
 
-            layer_ex(r_int_h, b_int_h, iter);
+            for (v = 0; v < count; v++)
+            {
+                layer_ex(r_int_h[v], b_int_h, iter);
+            }
         }
 
-        transpose_64x64(r_int_v, r_int_h, 0);
-        transpose_64x64(r_int_v, r_int_h, 64);
-
-        for (i = 0; i < 64; i++)//TODO use store8
+        for (v = 0; v < count; v++)
         {
-            Utils.store8(r, r_ptr + i * 16 + 0, r_int_v[0 + i]);
-            Utils.store8(r, r_ptr + i * 16 + 8, r_int_v[64 + i]);
+            transpose_64x64(r_int_v[v], r_int_h[v], 0);
+            transpose_64x64(r_int_v[v], r_int_h[v], 64);
+
+            for (i = 0; i < 64; i++)
+            {
+                r[v][i * 2 + 0] = r_int_v[v][0 + i];
+                r[v][i * 2 + 1] = r_int_v[v][64 + i];
+            }
         }
     }
 
@@ -177,36 +198,27 @@ public void support_gen(short[] s, byte[] c)
     {
         short a;
         int i, j;
-        byte[][] L = new byte[GFBITS][(1 << GFBITS) / 8];
+        long[][] L = new long[GFBITS][(1 << GFBITS) / 64];
 
-        for (i = 0; i < GFBITS; i++)
-        {
-            for (j = 0; j < (1 << GFBITS) / 8; j++)
-            {
-                L[i][j] = 0;
-            }
-        }
         for (i = 0; i < (1 << GFBITS); i++)
         {
             a = Utils.bitrev((short)i, GFBITS);
 
             for (j = 0; j < GFBITS; j++)
             {
-                L[j][i / 8] |= ((a >> j) & 1) << (i % 8);
+                L[j][i >>> 6] |= (long)((a >> j) & 1) << (i & 63);
             }
         }
 
-        for (j = 0; j < GFBITS; j++)
-        {
-            apply_benes(L[j], c, 0);
-        }
+        apply_benes(L, c, 0);
+
         for (i = 0; i < SYS_N; i++)
         {
             s[i] = 0;
             for (j = GFBITS - 1; j >= 0; j--)
             {
                 s[i] <<= 1;
-                s[i] |= (L[j][i / 8] >> (i % 8)) & 1;
+                s[i] |= (L[j][i >>> 6] >>> (i & 63)) & 1;
             }
         }
     }
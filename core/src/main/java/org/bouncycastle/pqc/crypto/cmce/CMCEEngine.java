@@ -873,45 +873,24 @@ private void synd(short[] out, short[] f, short[] L, byte[] r)
         }
     }
 
-    private int mov_columns(byte[][] mat, short[] pi, long[] pivots)
+    private int mov_columns(long[][] mat, short[] pi, long[] pivots)
     {
         int i, j, k, s, block_idx, row, tail;
-        long[] buf = new long[64],
+        long[] buf = new long[32],
             ctz_list = new long[32];
-        long t, d, mask, one = 1;
-
-        byte[] tmp = new byte[9]; // Used for padding
+        long t, d, mask, one = 1, lowMask;
 
         row = PK_NROWS - 32;
-        block_idx = row / 8;
-        tail = row % 8;
+        block_idx = row >>> 6;
+        tail = row & 63;
+        lowMask = (one << tail) - 1;
 
         // extract the 32x64 matrix
-        if (usePadding)
-        {
-            for (i = 0; i < 32; i++)
-            {
-                for (j = 0; j < 9; j++)
-                {
-                    tmp[j] = mat[row + i][block_idx + j];
-                }
-                for (j = 0; j < 8; j++)
-                {
-                    tmp[j] = (byte)(((tmp[j] & 0xff) >> tail) | (tmp[j + 1] << (8 - tail)));
-                }
-
-                buf[i] = Utils.load8(tmp, 0);
-            }
-        }
-        else
+        for (i = 0; i < 32; i++)
         {
-            for (i = 0; i < 32; i++)
-            {
-                buf[i] = Utils.load8(mat[row + i], block_idx);
-            }
+            buf[i] = load64(mat[row + i], block_idx, tail);
         }
 
-
         // compute the column indices of pivots by Gaussian elimination.
         // the indices are stored in ctz_list
 
@@ -964,22 +943,9 @@ private int mov_columns(byte[][] mat, short[] pi, long[] pivots)
 
         for (i = 0; i < PK_NROWS; i++)
         {
-            if (usePadding)
-            {
-                for (k = 0; k < 9; k++)
-                {
-                    tmp[k] = mat[i][block_idx + k];
-                }
-                for (k = 0; k < 8; k++)
-                {
-                    tmp[k] = (byte)(((tmp[k] & 0xff) >> tail) | (tmp[k + 1] << (8 - tail)));
-                }
-                t = Utils.load8(tmp, 0);
-            }
-            else
-            {
-                t = Utils.load8(mat[i], block_idx);
-            }
+            long[] matRow = mat[i];
+
+            t = load64(matRow, block_idx, tail);
 
             for (j = 0; j < 32; j++)
             {
@@ -990,27 +956,31 @@ private int mov_columns(byte[][] mat, short[] pi, long[] pivots)
                 t ^= d << ctz_list[j];
                 t ^= d << j;
             }
-            if (usePadding)
-            {
-                Utils.store8(tmp, 0, t);
 
-                mat[i][block_idx + 8] = (byte)(((mat[i][block_idx + 8] & 0xff) >>> tail << tail) | ((tmp[7] & 0xff) >>> (8 - tail)));
-                mat[i][block_idx + 0] = (byte)(((tmp[0] & 0xff) << tail) | ((mat[i][block_idx] & 0xff) << (8 - tail) >>> (8 - tail)));
-
-                for (k = 7; k >= 1; k--)
-                {
-                    mat[i][block_idx + k] = (byte)(((tmp[k] & 0xff) << tail) | ((tmp[k - 1] & 0xff) >>> (8 - tail)));
-                }
+            if (tail == 0)
+            {
+                matRow[block_idx] = t;
             }
             else
             {
-                Utils.store8(mat[i], block_idx, t);
+                matRow[block_idx] = (matRow[block_idx] & lowMask) | (t << tail);
+                matRow[block_idx + 1] = (matRow[block_idx + 1] & ~lowMask) | (t >>> (64 - tail));
             }
         }
 
         return 0;
     }
 
+    /* return the 64 bits of row starting at bit (block_idx * 64 + tail) */
+    private static long load64(long[] row, int block_idx, int tail)
+    {
+        if (tail == 0)
+        {
+            return row[block_idx];
+        }
+        return (row[block_idx] >>> tail) | (row[block_idx + 1] << (64 - tail));
+    }
+
     /* return number of trailing zeros of the non-zero input in */
     private static int ctz(long in)
     {
@@ -1428,39 +1398,30 @@ private int pk_gen(byte[] pk, byte[] sk, int[] perm, short[] pi, long[] pivots)
         {
             inv[i] = gf.gf_inv(inv[i]);
         }
-        byte[][] mat = new byte[PK_NROWS][(SYS_N / 8)];
-        byte b;
-        for (i = 0; i < PK_NROWS; i++)
-        {
-            for (j = 0; j < SYS_N / 8; j++)
-            {
-                mat[i][j] = 0;
-            }
-        }
+        // the matrix is bit-sliced: row i holds bit (i % GFBITS) of the column entries, 64 columns to a word
+        int nBlocks = (SYS_N + 63) >>> 6;
+        long[][] mat = new long[PK_NROWS][nBlocks];
+        long[] block = new long[64];
 
         for (i = 0; i < SYS_T; i++)
         {
-            for (j = 0; j < SYS_N; j += 8)
+            for (j = 0; j < SYS_N; j += 64)
             {
+                int count = Math.min(64, SYS_N - j);
+                for (k = 0; k < count; k++)
+                {
+                    block[k] = inv[j + k] & GFMASK;
+                }
+                for (; k < 64; k++)
+                {
+                    block[k] = 0;
+                }
+
+                BENES.transpose_64x64(block, block);
+
                 for (k = 0; k < GFBITS; k++)
                 {
-                    b = (byte)((inv[j + 7] >>> k) & 1);
-                    b <<= 1;
-                    b |= (inv[j + 6] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 5] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 4] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 3] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 2] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 1] >>> k) & 1;
-                    b <<= 1;
-                    b |= (inv[j + 0] >>> k) & 1;
-
-                    mat[i * GFBITS + k][j / 8] = b;
+                    mat[i * GFBITS + k][j >>> 6] = block[k];
                 }
             }
 
@@ -1471,12 +1432,15 @@ private int pk_gen(byte[] pk, byte[] sk, int[] perm, short[] pi, long[] pivots)
         }
 
         // gaussian elimination
+        //
+        // all rows are zero to the left of the current pivot column, so each row operation only needs
+        // to cover the words from the one holding the pivot onwards.
         int row, c;
-        byte mask;
+        long mask;
         for (row = 0; row < PK_NROWS; row++)
         {
-            i = row >>> 3;
-            j = row & 7;
+            i = row >>> 6;
+            j = row & 63;
 
             if (usePivots)
             {
@@ -1490,21 +1454,21 @@ private int pk_gen(byte[] pk, byte[] sk, int[] perm, short[] pi, long[] pivots)
                 }
             }
 
+            long[] matRow = mat[row];
             for (k = row + 1; k < PK_NROWS; k++)
             {
-                mask = (byte)(mat[row][i] ^ mat[k][i]);
-                mask >>= j;
-                mask &= 1;
-                mask = (byte)-mask;
+                long[] matK = mat[k];
+                mask = matRow[i] ^ matK[i];
+                mask = -((mask >>> j) & 1);
 
-                for (c = 0; c < SYS_N / 8; c++)
+                for (c = i; c < nBlocks; c++)
                 {
-                    mat[row][c] ^= mat[k][c] & mask;
+                    matRow[c] ^= matK[c] & mask;
                 }
             }
             // 7. Compute (T,cn−k−μ+1,...,cn−k,Γ′) =  MatGen(Γ). If this fails, set δ =  δ′ and
             // restart the algorithm.
-            if (((mat[row][i] >> j) & 1) == 0) // return if not systematic
+            if (((matRow[i] >>> j) & 1) == 0) // return if not systematic
             {
 //                System.out.println("FAIL 2\n");
                 return -1;
@@ -1514,13 +1478,12 @@ private int pk_gen(byte[] pk, byte[] sk, int[] perm, short[] pi, long[] pivots)
             {
                 if (k != row)
                 {
-                    mask = (byte)(mat[k][i] >> j);
-                    mask &= 1;
-                    mask = (byte)-mask;
+                    long[] matK = mat[k];
+                    mask = -((matK[i] >>> j) & 1);
 
-                    for (c = 0; c < SYS_N / 8; c++)
+                    for (c = i; c < nBlocks; c++)
                     {
-                        mat[k][c] ^= mat[row][c] & mask;
+                        matK[c] ^= matRow[c] & mask;
                     }
                 }
             }
@@ -1529,41 +1492,21 @@ private int pk_gen(byte[] pk, byte[] sk, int[] perm, short[] pi, long[] pivots)
         // FieldOrdering 2.4.2 - 5. Output (α1,α2,...,αq)
         if (pk != null)
         {
-            if (usePadding)
+            // T is made up of the columns following the identity part, packed PK_ROW_BYTES to a row.
+            int pk_index = 0;
+            for (i = 0; i < PK_NROWS; i++)
             {
-                int pk_index = 0, tail = PK_NROWS % 8;
-                if (tail == 0)
-                {
-                    System.arraycopy(mat[i], (PK_NROWS - 1) / 8, pk, pk_index, SYS_N / 8);
-                    pk_index += SYS_N / 8;
-                }
-                else
+                long[] matRow = mat[i];
+                for (j = 0; j < PK_ROW_BYTES; j++)
                 {
-                    for (i = 0; i < PK_NROWS; i++)
+                    int bit = PK_NROWS + j * 8;
+                    int word = bit >>> 6, shift = bit & 63;
+                    long v = matRow[word] >>> shift;
+                    if (shift > 56 && word + 1 < nBlocks)
                     {
-                        for (j = (PK_NROWS - 1) / 8; j < SYS_N / 8 - 1; j++)
-                        {
-                            pk[pk_index++] = (byte)(((mat[i][j] & 0xff) >>> tail) | (mat[i][j + 1] << (8 - tail)));
-                        }
-                        pk[pk_index++] = (byte)((mat[i][j] & 0xff) >>> tail);
+                        v |= matRow[word + 1] << (64 - shift);
                     }
-                }
-            }
-            else
-            {
-//                for (i = 0; i < PK_NROWS; i++)
-//                {
-//                    k = 0;
-//                    for (j = 0; j < (((SYS_N - PK_NROWS) + 7) / 8); j++)
-//                    {
-//                        pk[i * (((SYS_N - PK_NROWS) + 7) / 8) + k] = mat[i][j + PK_NROWS / 8];
-//                        k++;
-//                    }
-//                }
-                int count = (SYS_N - PK_NROWS + 7) / 8;
-                for (i = 0; i < PK_NROWS; i++)
-                {
-                    System.arraycopy(mat[i], PK_NROWS / 8, pk, count * i, count);
+                    pk[pk_index++] = (byte)v;
                 }
             }
         }
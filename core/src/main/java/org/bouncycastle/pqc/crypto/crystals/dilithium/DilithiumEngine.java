@@ -319,19 +319,46 @@ public byte[][] generateKeyPair()
     }
 
     public byte[] signSignature(byte[] msg, int msglen, byte[] rho, byte[] key, byte[] tr, byte[] t0Enc, byte[] s1Enc, byte[] s2Enc)
+    {
+        return signSignature(msg, msglen, expandPrivateKey(rho, key, tr, t0Enc, s1Enc, s2Enc));
+    }
+
+    /**
+     * Unpack a private key, expand the matrix A and move s1, s2 and t0 into the NTT domain, ready for
+     * any number of signatures.
+     */
+    DilithiumExpandedPrivateKey expandPrivateKey(byte[] rho, byte[] key, byte[] tr, byte[] t0Enc, byte[] s1Enc, byte[] s2Enc)
+    {
+        PolyVecL s1 = new PolyVecL(this);
+        PolyVecK t0 = new PolyVecK(this), s2 = new PolyVecK(this);
+        PolyVecMatrix aMatrix = new PolyVecMatrix(this);
+
+        Packing.unpackSecretKey(t0, s1, s2, t0Enc, s1Enc, s2Enc, this);
+
+        aMatrix.expandMatrix(rho);
+
+        s1.polyVecNtt();
+        s2.polyVecNtt();
+
+        t0.polyVecNtt();
+
+        return new DilithiumExpandedPrivateKey(aMatrix, s1, s2, t0, Arrays.clone(key), Arrays.clone(tr));
+    }
+
+    byte[] signSignature(byte[] msg, int msglen, DilithiumExpandedPrivateKey privateKey)
     {
         int n;
         byte[] outSig = new byte[CryptoBytes + msglen];
         byte[] mu = new byte[CrhBytes], rhoPrime = new byte[CrhBytes];
         short nonce = 0;
-        PolyVecL s1 = new PolyVecL(this), y = new PolyVecL(this), z = new PolyVecL(this);
-        PolyVecK t0 = new PolyVecK(this), s2 = new PolyVecK(this), w1 = new PolyVecK(this), w0 = new PolyVecK(this), h = new PolyVecK(this);
+        PolyVecL y = new PolyVecL(this), z = new PolyVecL(this);
+        PolyVecK w1 = new PolyVecK(this), w0 = new PolyVecK(this), h = new PolyVecK(this);
         Poly cp = new Poly(this);
-        PolyVecMatrix aMatrix = new PolyVecMatrix(this);
-
-        Packing.unpackSecretKey(t0, s1, s2, t0Enc, s1Enc, s2Enc, this);
+        PolyVecMatrix aMatrix = privateKey.aMatrix;
+        PolyVecL s1 = privateKey.s1;
+        PolyVecK s2 = privateKey.s2, t0 = privateKey.t0;
 
-        this.shake256Digest.update(tr, 0, TrBytes);
+        this.shake256Digest.update(privateKey.tr, 0, TrBytes);
         this.shake256Digest.update(msg, 0, msglen);
         this.shake256Digest.doFinal(mu, 0, CrhBytes);
 
@@ -341,19 +368,12 @@ public byte[] signSignature(byte[] msg, int msglen, byte[] rho, byte[] key, byte
             random.nextBytes(rnd);
         }
 
-        byte[] keyMu = Arrays.copyOf(key, SeedBytes + RndBytes + CrhBytes);
+        byte[] keyMu = Arrays.copyOf(privateKey.key, SeedBytes + RndBytes + CrhBytes);
         System.arraycopy(rnd, 0, keyMu, SeedBytes, RndBytes);
         System.arraycopy(mu, 0, keyMu, SeedBytes + RndBytes, CrhBytes);
         shake256Digest.update(keyMu, 0, SeedBytes + RndBytes + CrhBytes);
         shake256Digest.doFinal(rhoPrime, 0, CrhBytes);
 
-        aMatrix.expandMatrix(rho);
-
-        s1.polyVecNtt();
-        s2.polyVecNtt();
-
-        t0.polyVecNtt();
-
         int count = 0;
         while (count < 1000)
         {
@@ -429,113 +449,98 @@ public byte[] sign(byte[] msg, int mlen, byte[] rho, byte[] key, byte[] tr, byte
     }
 
     public boolean signVerify(byte[] sig, int siglen, byte[] msg, int msglen, byte[] rho, byte[] encT1)
+    {
+        if (siglen != CryptoBytes)
+        {
+            return false;
+        }
+
+        return signVerify(sig, siglen, msg, msglen, expandPublicKey(rho, encT1));
+    }
+
+    /**
+     * Unpack a public key, expand the matrix A, move t1 * 2^d into the NTT domain and calculate
+     * tr = H(rho || t1), ready for any number of verifications.
+     */
+    DilithiumExpandedPublicKey expandPublicKey(byte[] rho, byte[] encT1)
+    {
+        PolyVecMatrix aMatrix = new PolyVecMatrix(this);
+        PolyVecK t1 = new PolyVecK(this);
+        byte[] tr = new byte[TrBytes];
+
+        t1 = Packing.unpackPublicKey(t1, encT1, this);
+
+        aMatrix.expandMatrix(rho);
+
+        t1.shiftLeft();
+        t1.polyVecNtt();
+
+        shake256Digest.update(rho, 0, rho.length);
+        shake256Digest.update(encT1, 0, encT1.length);
+        shake256Digest.doFinal(tr, 0, TrBytes);
+
+        // each Poly holds DilithiumN ints plus object overhead
+        int sizeEstimate = (DilithiumK * DilithiumL + DilithiumK) * (DilithiumN * 4 + 64) + 256;
+
+        return new DilithiumExpandedPublicKey(aMatrix, t1, tr, sizeEstimate);
+    }
+
+    boolean signVerify(byte[] sig, int siglen, byte[] msg, int msglen, DilithiumExpandedPublicKey publicKey)
     {
         byte[] buf,
             mu = new byte[CrhBytes],
             c,
             c2 = new byte[DilithiumCTilde];
         Poly cp = new Poly(this);
-        PolyVecMatrix aMatrix = new PolyVecMatrix(this);
         PolyVecL z = new PolyVecL(this);
-        PolyVecK t1 = new PolyVecK(this), w1 = new PolyVecK(this), h = new PolyVecK(this);
+        PolyVecK ct1 = new PolyVecK(this), w1 = new PolyVecK(this), h = new PolyVecK(this);
 
         if (siglen != CryptoBytes)
         {
             return false;
         }
 
-        // System.out.println("publickey = ");
-        // Helper.printByteArray(publicKey);
-
-        t1 = Packing.unpackPublicKey(t1, encT1, this);
-
-        // System.out.println(t1.toString("t1"));
-
-        // System.out.println("rho = ");
-        // Helper.printByteArray(rho);
-
         if (!Packing.unpackSignature(z, h, sig, this))
         {
             return false;
         }
         c = Arrays.copyOfRange(sig, 0, DilithiumCTilde);
 
-        // System.out.println(z.toString("z"));
-        // System.out.println(h.toString("h"));
-
         if (z.checkNorm(getDilithiumGamma1() - getDilithiumBeta()))
         {
             return false;
         }
 
         // Compute crh(crh(rho, t1), msg)
-        shake256Digest.update(rho, 0, rho.length);
-        shake256Digest.update(encT1, 0, encT1.length);
-        shake256Digest.doFinal(mu, 0, TrBytes);
-        // System.out.println("mu before = ");
-        // Helper.printByteArray(mu);
-
-        shake256Digest.update(mu, 0, TrBytes);
+        shake256Digest.update(publicKey.tr, 0, TrBytes);
         shake256Digest.update(msg, 0, msglen);
         shake256Digest.doFinal(mu, 0);
 
-        // System.out.println("mu after = ");
-        // Helper.printByteArray(mu);
-
         // Matrix-vector multiplication; compute Az - c2^dt1
         cp.challenge(Arrays.copyOfRange(c, 0, SeedBytes));  // use only first SeedBytes of c.
-        // System.out.println("cp = ");
-        // System.out.println(cp.toString());
-
-        aMatrix.expandMatrix(rho);
-        // System.out.println(aMatrix.toString("aMatrix = "));
-
 
         z.polyVecNtt();
-        aMatrix.pointwiseMontgomery(w1, z);
+        publicKey.aMatrix.pointwiseMontgomery(w1, z);
 
         cp.polyNtt();
-        // System.out.println("cp = ");
-        // System.out.println(cp.toString());
 
-        t1.shiftLeft();
-        t1.polyVecNtt();
-        t1.pointwisePolyMontgomery(cp, t1);
+        ct1.pointwisePolyMontgomery(cp, publicKey.t1);
 
-        // System.out.println(t1.toString("t1"));
-
-        w1.subtract(t1);
+        w1.subtract(ct1);
         w1.reduce();
         w1.invNttToMont();
 
-        // System.out.println(w1.toString("w1 before caddq"));
-
         // Reconstruct w1
         w1.conditionalAddQ();
-        // System.out.println(w1.toString("w1 before hint"));
         w1.useHint(w1, h);
-        // System.out.println(w1.toString("w1"));
 
         buf = w1.packW1();
 
-        // System.out.println("buf = ");
-        // Helper.printByteArray(buf);
-
-        // System.out.println("mu = ");
-        // Helper.printByteArray(mu);
-
         SHAKEDigest shakeDigest256 = new SHAKEDigest(256);
         shakeDigest256.update(mu, 0, CrhBytes);
         shakeDigest256.update(buf, 0, DilithiumK * DilithiumPolyW1PackedBytes);
         shakeDigest256.doFinal(c2, 0, DilithiumCTilde);
 
-        // System.out.println("c = ");
-        // Helper.printByteArray(c);
-
-        // System.out.println("c2 = ");
-        // Helper.printByteArray(c2);
-
-
         return Arrays.constantTimeAreEqual(c, c2);
     }
 
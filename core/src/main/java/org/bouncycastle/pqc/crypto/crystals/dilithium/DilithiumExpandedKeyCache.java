@@ -0,0 +1,141 @@
+package org.bouncycastle.pqc.crypto.crystals.dilithium;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Properties;
+
+/**
+ * Caches of expanded keys for DilithiumSigner so the matrix A is expanded and the NTT of the key vectors
+ * is taken once per key rather than once per operation.
+ * <p>
+ * Public keys are held in a least recently used cache keyed on the parameters and the key encoding, so
+ * keys decoded again from certificates also hit. The total size of the cached keys is limited to a budget,
+ * in kilobytes, which can be set with the property "org.bouncycastle.dilithium.expanded_key_cache_size" -
+ * a budget of zero disables the cache.
+ * </p>
+ * <p>
+ * Private keys are only ever looked up by the identity of their parameters object and are dropped when
+ * that object is no longer referenced, so no private key material is retained beyond the key's own lifetime.
+ * </p>
+ */
+class DilithiumExpandedKeyCache
+{
+    private static final int DEFAULT_BUDGET_KB = 8192;
+
+    private static final Map publicKeys = new LinkedHashMap(16, 0.75f, true);
+    private static final Map privateKeys = new WeakHashMap();
+    private static long publicKeysSize = 0;
+
+    private DilithiumExpandedKeyCache()
+    {
+    }
+
+    static DilithiumExpandedPublicKey getPublicKey(DilithiumPublicKeyParameters pubKey)
+    {
+        DilithiumEngine engine = pubKey.getParameters().getEngine(null);
+
+        long budget = (long)Properties.asInteger("org.bouncycastle.dilithium.expanded_key_cache_size", DEFAULT_BUDGET_KB) * 1024;
+        if (budget <= 0)
+        {
+            return engine.expandPublicKey(pubKey.rho, pubKey.t1);
+        }
+
+        CacheKey cacheKey = new CacheKey(pubKey.getParameters(), pubKey.getEncoded());
+
+        DilithiumExpandedPublicKey expanded;
+        synchronized (publicKeys)
+        {
+            expanded = (DilithiumExpandedPublicKey)publicKeys.get(cacheKey);
+        }
+
+        if (expanded == null)
+        {
+            // expand outside the lock, if another thread beats us to it the first entry wins
+            expanded = engine.expandPublicKey(pubKey.rho, pubKey.t1);
+
+            synchronized (publicKeys)
+            {
+                DilithiumExpandedPublicKey existing = (DilithiumExpandedPublicKey)publicKeys.get(cacheKey);
+                if (existing != null)
+                {
+                    return existing;
+                }
+
+                publicKeys.put(cacheKey, expanded);
+                publicKeysSize += expanded.sizeEstimate;
+
+                for (Iterator it = publicKeys.values().iterator(); publicKeysSize > budget && it.hasNext();)
+                {
+                    DilithiumExpandedPublicKey eldest = (DilithiumExpandedPublicKey)it.next();
+
+                    publicKeysSize -= eldest.sizeEstimate;
+                    it.remove();
+                }
+            }
+        }
+
+        return expanded;
+    }
+
+    static DilithiumExpandedPrivateKey getPrivateKey(DilithiumPrivateKeyParameters privKey)
+    {
+        DilithiumExpandedPrivateKey expanded;
+        synchronized (privateKeys)
+        {
+            expanded = (DilithiumExpandedPrivateKey)privateKeys.get(privKey);
+        }
+
+        if (expanded == null)
+        {
+            DilithiumEngine engine = privKey.getParameters().getEngine(null);
+
+            expanded = engine.expandPrivateKey(privKey.rho, privKey.k, privKey.tr, privKey.t0, privKey.s1, privKey.s2);
+
+            synchronized (privateKeys)
+            {
+                privateKeys.put(privKey, expanded);
+            }
+        }
+
+        return expanded;
+    }
+
+    private static class CacheKey
+    {
+        private final DilithiumParameters parameters;
+        private final byte[] encoding;
+        private final int hashCode;
+
+        CacheKey(DilithiumParameters parameters, byte[] encoding)
+        {
+            this.parameters = parameters;
+            this.encoding = encoding;
+            this.hashCode = Arrays.hashCode(encoding);
+        }
+
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        public boolean equals(Object o)
+        {
+            if (o == this)
+            {
+                return true;
+            }
+            if (!(o instanceof CacheKey))
+            {
+                return false;
+            }
+
+            CacheKey other = (CacheKey)o;
+
+            return parameters == other.parameters && Arrays.areEqual(encoding, other.encoding);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.bouncycastle.pqc.crypto.crystals.dilithium;
+
+/**
+ * A private key with the matrix A expanded from rho and the secret vectors s1, s2 and t0 unpacked and
+ * in NTT form. Instances are never modified after construction so can be shared between threads.
+ */
+class DilithiumExpandedPrivateKey
+{
+    final PolyVecMatrix aMatrix;
+    final PolyVecL s1;
+    final PolyVecK s2;
+    final PolyVecK t0;
+    final byte[] key;
+    final byte[] tr;
+
+    DilithiumExpandedPrivateKey(PolyVecMatrix aMatrix, PolyVecL s1, PolyVecK s2, PolyVecK t0, byte[] key, byte[] tr)
+    {
+        this.aMatrix = aMatrix;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.t0 = t0;
+        this.key = key;
+        this.tr = tr;
+    }
+}
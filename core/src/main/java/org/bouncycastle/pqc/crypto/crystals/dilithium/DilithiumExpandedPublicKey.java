@@ -0,0 +1,27 @@
+package org.bouncycastle.pqc.crypto.crystals.dilithium;
+
+/**
+ * A public key with the work that only depends on the key done in advance: the matrix A expanded from
+ * rho, t1 * 2^d in NTT form, and tr = H(rho || t1). Instances are never modified after construction so
+ * can be shared between threads.
+ */
+class DilithiumExpandedPublicKey
+{
+    final PolyVecMatrix aMatrix;
+    final PolyVecK t1;
+    final byte[] tr;
+    final int sizeEstimate;
+
+    /**
+     * Base constructor.
+     *
+     * @param sizeEstimate an estimate of the memory used by the expanded key in bytes.
+     */
+    DilithiumExpandedPublicKey(PolyVecMatrix aMatrix, PolyVecK t1, byte[] tr, int sizeEstimate)
+    {
+        this.aMatrix = aMatrix;
+        this.t1 = t1;
+        this.tr = tr;
+        this.sizeEstimate = sizeEstimate;
+    }
+}
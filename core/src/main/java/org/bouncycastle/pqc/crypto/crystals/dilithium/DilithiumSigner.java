@@ -11,6 +11,8 @@
 {
     private DilithiumPrivateKeyParameters privKey;
     private DilithiumPublicKeyParameters pubKey;
+    private DilithiumExpandedPrivateKey expandedPrivKey;
+    private DilithiumExpandedPublicKey expandedPubKey;
 
     private SecureRandom random;
 
@@ -32,10 +34,12 @@ public void init(boolean forSigning, CipherParameters param)
                 privKey = (DilithiumPrivateKeyParameters)param;
                 random = null;
             }
+            expandedPrivKey = DilithiumExpandedKeyCache.getPrivateKey(privKey);
         }
         else
         {
             pubKey = (DilithiumPublicKeyParameters)param;
+            expandedPubKey = DilithiumExpandedKeyCache.getPublicKey(pubKey);
         }
     }
 
@@ -43,13 +47,13 @@ public byte[] generateSignature(byte[] message)
     {
         DilithiumEngine engine = privKey.getParameters().getEngine(random);
 
-        return engine.sign(message, message.length, privKey.rho, privKey.k, privKey.tr, privKey.t0, privKey.s1, privKey.s2);
+        return engine.signSignature(message, message.length, expandedPrivKey);
     }
 
     public boolean verifySignature(byte[] message, byte[] signature)
     {
         DilithiumEngine engine = pubKey.getParameters().getEngine(random);
 
-        return engine.signOpen(message, signature, signature.length, pubKey.rho, pubKey.t1);
+        return engine.signVerify(signature, signature.length, message, message.length, expandedPubKey);
     }
 }
@@ -217,6 +217,17 @@ public byte[][] generateKemKeyPair()
     }
 
     public byte[][] kemEncrypt(byte[] publicKeyInput)
+    {
+        return kemEncrypt(expandPublicKey(publicKeyInput));
+    }
+
+    /**
+     * Validate and expand an encoded public key for use with kemEncrypt().
+     *
+     * @param publicKeyInput the encoded public key.
+     * @return the expanded public key.
+     */
+    KyberExpandedPublicKey expandPublicKey(byte[] publicKeyInput)
     {
         // Input validation (6.2 ML-KEM Encaps)
         // Type Check
@@ -224,16 +235,44 @@ public byte[][] kemEncrypt(byte[] publicKeyInput)
         {
             throw new IllegalArgumentException("Input validation Error: Type check failed for ml-kem encapsulation");
         }
+
+        byte[] hpk = new byte[KyberSymBytes];
+
+        symmetric.hash_h(hpk, publicKeyInput, 0);
+
+        KyberExpandedPublicKey publicKey = indCpa.expandPublicKey(publicKeyInput, hpk);
+
         // Modulus Check
-        PolyVec polyVec = new PolyVec(this);
-        byte[] seed = indCpa.unpackPublicKey(polyVec, publicKeyInput);
-        byte[] ek = indCpa.packPublicKey(polyVec, seed);
+        byte[] ek = indCpa.packPublicKey(publicKey.t, Arrays.copyOfRange(publicKeyInput, KyberPolyVecBytes, publicKeyInput.length));
         if (!Arrays.areEqual(ek, publicKeyInput))
         {
             throw new IllegalArgumentException("Input validation: Modulus check failed for ml-kem encapsulation");
         }
 
+        return publicKey;
+    }
+
+    /**
+     * Expand an encoded private key for use with kemDecrypt().
+     *
+     * @param secretKey the encoded private key.
+     * @return the expanded private key.
+     */
+    KyberExpandedPrivateKey expandPrivateKey(byte[] secretKey)
+    {
+        PolyVec s = new PolyVec(this);
 
+        indCpa.unpackSecretKey(s, secretKey);
+
+        byte[] publicKey = Arrays.copyOfRange(secretKey, KyberIndCpaSecretKeyBytes, KyberIndCpaSecretKeyBytes + KyberIndCpaPublicKeyBytes);
+        byte[] hpk = Arrays.copyOfRange(secretKey, KyberSecretKeyBytes - 2 * KyberSymBytes, KyberSecretKeyBytes - KyberSymBytes);
+        byte[] z = Arrays.copyOfRange(secretKey, KyberSecretKeyBytes - KyberSymBytes, KyberSecretKeyBytes);
+
+        return new KyberExpandedPrivateKey(s, indCpa.expandPublicKey(publicKey, hpk), z);
+    }
+
+    byte[][] kemEncrypt(KyberExpandedPublicKey publicKey)
+    {
         byte[] outputCipherText;
 
         byte[] buf = new byte[2 * KyberSymBytes];
@@ -246,13 +285,13 @@ public byte[][] kemEncrypt(byte[] publicKeyInput)
         System.arraycopy(randBytes, 0, buf, 0, KyberSymBytes);
 
         // SHA3-256 Public Key
-        symmetric.hash_h(buf, publicKeyInput, KyberSymBytes);
+        System.arraycopy(publicKey.hpk, 0, buf, KyberSymBytes, KyberSymBytes);
 
         // SHA3-512( SHA3-256(RandBytes) || SHA3-256(PublicKey) )
         symmetric.hash_g(kr, buf);
 
         // IndCpa Encryption
-        outputCipherText = indCpa.encrypt(Arrays.copyOfRange(buf, 0, KyberSymBytes), publicKeyInput, Arrays.copyOfRange(kr, 32, kr.length));
+        outputCipherText = indCpa.encrypt(Arrays.copyOfRange(buf, 0, KyberSymBytes), publicKey, Arrays.copyOfRange(kr, 32, kr.length));
 
         byte[] outputSharedSecret = new byte[sessionKeyLength];
 
@@ -266,25 +305,28 @@ public byte[][] kemEncrypt(byte[] publicKeyInput)
     }
 
     public byte[] kemDecrypt(byte[] cipherText, byte[] secretKey)
+    {
+        return kemDecrypt(cipherText, expandPrivateKey(secretKey));
+    }
+
+    byte[] kemDecrypt(byte[] cipherText, KyberExpandedPrivateKey secretKey)
     {
         byte[] buf = new byte[2 * KyberSymBytes],
             kr = new byte[2 * KyberSymBytes];
 
-        byte[] publicKey = Arrays.copyOfRange(secretKey, KyberIndCpaSecretKeyBytes, secretKey.length);
-
-        System.arraycopy(indCpa.decrypt(cipherText, secretKey), 0, buf, 0, KyberSymBytes);
+        System.arraycopy(indCpa.decrypt(cipherText, secretKey.s), 0, buf, 0, KyberSymBytes);
 
-        System.arraycopy(secretKey, KyberSecretKeyBytes - 2 * KyberSymBytes, buf, KyberSymBytes, KyberSymBytes);
+        System.arraycopy(secretKey.publicKey.hpk, 0, buf, KyberSymBytes, KyberSymBytes);
 
         symmetric.hash_g(kr, buf);
 
-        byte[] cmp = indCpa.encrypt(Arrays.copyOfRange(buf, 0, KyberSymBytes), publicKey, Arrays.copyOfRange(kr, KyberSymBytes, kr.length));
+        byte[] cmp = indCpa.encrypt(Arrays.copyOfRange(buf, 0, KyberSymBytes), secretKey.publicKey, Arrays.copyOfRange(kr, KyberSymBytes, kr.length));
 
         boolean fail = !(Arrays.constantTimeAreEqual(cipherText, cmp));
 
         symmetric.hash_h(kr, cipherText, KyberSymBytes);
 
-        cmov(kr, Arrays.copyOfRange(secretKey, KyberSecretKeyBytes - KyberSymBytes, KyberSecretKeyBytes), KyberSymBytes, fail);
+        cmov(kr, secretKey.z, KyberSymBytes, fail);
 
         return Arrays.copyOfRange(kr, 0, sessionKeyLength);
     }
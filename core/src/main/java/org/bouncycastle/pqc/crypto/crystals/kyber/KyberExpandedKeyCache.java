@@ -0,0 +1,102 @@
+package org.bouncycastle.pqc.crypto.crystals.kyber;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Properties;
+
+/**
+ * A least recently used cache of expanded public keys, keyed on the key encoding, so repeated
+ * encapsulations to the same recipient only generate the matrix A once. The total size of the cached
+ * keys is limited to a budget, in kilobytes, which can be set with the property
+ * "org.bouncycastle.kyber.expanded_key_cache_size" - a budget of zero disables the cache.
+ */
+class KyberExpandedKeyCache
+{
+    private static final int DEFAULT_BUDGET_KB = 2048;
+
+    private static final Map cache = new LinkedHashMap(16, 0.75f, true);
+    private static long cacheSize = 0;
+
+    private KyberExpandedKeyCache()
+    {
+    }
+
+    static KyberExpandedPublicKey getPublicKey(KyberEngine engine, byte[] encoding)
+    {
+        long budget = (long)Properties.asInteger("org.bouncycastle.kyber.expanded_key_cache_size", DEFAULT_BUDGET_KB) * 1024;
+        if (budget <= 0)
+        {
+            return engine.expandPublicKey(encoding);
+        }
+
+        CacheKey cacheKey = new CacheKey(encoding);
+
+        KyberExpandedPublicKey publicKey;
+        synchronized (cache)
+        {
+            publicKey = (KyberExpandedPublicKey)cache.get(cacheKey);
+        }
+
+        if (publicKey == null)
+        {
+            // expand outside the lock, if another thread beats us to it the first entry wins
+            publicKey = engine.expandPublicKey(encoding);
+
+            synchronized (cache)
+            {
+                KyberExpandedPublicKey existing = (KyberExpandedPublicKey)cache.get(cacheKey);
+                if (existing != null)
+                {
+                    return existing;
+                }
+
+                cache.put(cacheKey, publicKey);
+                cacheSize += publicKey.getSizeEstimate();
+
+                for (Iterator it = cache.values().iterator(); cacheSize > budget && it.hasNext();)
+                {
+                    KyberExpandedPublicKey eldest = (KyberExpandedPublicKey)it.next();
+
+                    cacheSize -= eldest.getSizeEstimate();
+                    it.remove();
+                }
+            }
+        }
+
+        return publicKey;
+    }
+
+    private static class CacheKey
+    {
+        private final byte[] encoding;
+        private final int hashCode;
+
+        CacheKey(byte[] encoding)
+        {
+            this.encoding = encoding;
+            this.hashCode = Arrays.hashCode(encoding);
+        }
+
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        public boolean equals(Object o)
+        {
+            if (o == this)
+            {
+                return true;
+            }
+            if (!(o instanceof CacheKey))
+            {
+                return false;
+            }
+
+            return Arrays.areEqual(encoding, ((CacheKey)o).encoding);
+        }
+    }
+}
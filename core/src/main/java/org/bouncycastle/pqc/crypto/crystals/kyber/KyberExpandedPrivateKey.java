@@ -0,0 +1,19 @@
+package org.bouncycastle.pqc.crypto.crystals.kyber;
+
+/**
+ * A private key with the secret vector s unpacked and the public key expanded ready for the
+ * re-encryption done during decapsulation.
+ */
+class KyberExpandedPrivateKey
+{
+    final PolyVec s;
+    final KyberExpandedPublicKey publicKey;
+    final byte[] z;
+
+    KyberExpandedPrivateKey(PolyVec s, KyberExpandedPublicKey publicKey, byte[] z)
+    {
+        this.s = s;
+        this.publicKey = publicKey;
+        this.z = z;
+    }
+}
@@ -0,0 +1,30 @@
+package org.bouncycastle.pqc.crypto.crystals.kyber;
+
+/**
+ * A public key with the work that only depends on the key done in advance: the vector t in NTT form,
+ * the transposed matrix A generated from the public seed, and H(ek) for the shared secret derivation.
+ * Instances are never modified after construction so can be shared between threads.
+ */
+class KyberExpandedPublicKey
+{
+    final PolyVec t;
+    final PolyVec[] aMatrixTranspose;
+    final byte[] hpk;
+
+    KyberExpandedPublicKey(PolyVec t, PolyVec[] aMatrixTranspose, byte[] hpk)
+    {
+        this.t = t;
+        this.aMatrixTranspose = aMatrixTranspose;
+        this.hpk = hpk;
+    }
+
+    /**
+     * Return an estimate of the memory used by the expanded key in bytes.
+     */
+    int getSizeEstimate()
+    {
+        int k = t.vec.length;
+
+        return (k * k + k) * (KyberEngine.KyberN * 2 + 64) + 128;
+    }
+}
@@ -143,58 +143,47 @@ byte[][] generateKeyPair()
 
     public byte[] encrypt(byte[] msg, byte[] publicKeyInput, byte[] coins)
     {
-        int i;
-        byte[] seed;
-        byte nonce = (byte)0;
-        PolyVec sp = new PolyVec(engine),
-            publicKeyPolyVec = new PolyVec(engine),
-            errorPolyVector = new PolyVec(engine),
-            bp = new PolyVec(engine);
-        PolyVec[] aMatrixTranspose = new PolyVec[engine.getKyberK()];
-        Poly errorPoly = new Poly(engine),
-            v = new Poly(engine),
-            k = new Poly(engine);
-
-
-        // System.out.print("publickeyinput = ");
-        // Helper.printByteArray(publicKeyInput);
-        // System.out.println();
-
-        seed = unpackPublicKey(publicKeyPolyVec, publicKeyInput);
-
-        // System.out.print("publickeyPolyVec = [");
-        // for (i = 0; i < kyberK; i++) {
-        //     Helper.printShortArray(publicKeyPolyVec.getVectorIndex(i).getCoeffs());
-        //     System.out.print("], \n");
-        // }
-        // System.out.println("]"); 
+        return encrypt(msg, expandPublicKey(publicKeyInput, null), coins);
+    }
 
-        // System.out.print("seed = ");
-        // Helper.printByteArray(seed);
-        // System.out.println();
+    /**
+     * Unpack a public key and generate its transposed matrix, ready for any number of encryptions.
+     *
+     * @param publicKeyInput the packed public key.
+     * @param hpk H(ek) for the public key, carried with the expanded key.
+     * @return the expanded public key.
+     */
+    KyberExpandedPublicKey expandPublicKey(byte[] publicKeyInput, byte[] hpk)
+    {
+        PolyVec publicKeyPolyVec = new PolyVec(engine);
+        PolyVec[] aMatrixTranspose = new PolyVec[kyberK];
 
-        k.fromMsg(msg);
+        byte[] seed = unpackPublicKey(publicKeyPolyVec, publicKeyInput);
 
-        for (i = 0; i < kyberK; i++)
+        for (int i = 0; i < kyberK; i++)
         {
             aMatrixTranspose[i] = new PolyVec(engine);
         }
 
         generateMatrix(aMatrixTranspose, seed, true);
 
-        // System.out.print("matrix transposed = ");
-        // for (i = 0; i < kyberK; i++) {
-        //     System.out.print("[");
-        //     for(int j = 0; j < kyberK; j++) {
-        //         System.out.print("[");
-        //         for (int l = 0; l < 256; l++) {
-        //             System.out.printf("%d ,", aMatrixTranspose[i].getVectorIndex(j).getCoeffIndex(l));
-        //         }
-        //         System.out.print("] ,\n");
-        //     }
-        //     System.out.println("] ,");
-        // }
+        return new KyberExpandedPublicKey(publicKeyPolyVec, aMatrixTranspose, hpk);
+    }
+
+    byte[] encrypt(byte[] msg, KyberExpandedPublicKey publicKey, byte[] coins)
+    {
+        int i;
+        byte nonce = (byte)0;
+        PolyVec sp = new PolyVec(engine),
+            publicKeyPolyVec = publicKey.t,
+            errorPolyVector = new PolyVec(engine),
+            bp = new PolyVec(engine);
+        PolyVec[] aMatrixTranspose = publicKey.aMatrixTranspose;
+        Poly errorPoly = new Poly(engine),
+            v = new Poly(engine),
+            k = new Poly(engine);
 
+        k.fromMsg(msg);
 
         for (i = 0; i < kyberK; i++)
         {
@@ -385,47 +374,21 @@ private static int rejectionSampling(Poly outputBuffer, int coeffOff, int len, b
 
     public byte[] decrypt(byte[] cipherText, byte[] secretKey)
     {
-        int i;
-        byte[] outputMessage = new byte[KyberEngine.getKyberIndCpaMsgBytes()];
-
-        PolyVec bp = new PolyVec(engine), secretKeyPolyVec = new PolyVec(engine);
-        Poly v = new Poly(engine), mp = new Poly(engine);
-
-        unpackCipherText(bp, v, cipherText);
-
-        // System.out.print("bp = [");
-        // for (i = 0; i < kyberK; i++) {
-        //     Helper.printShortArray(bp.getVectorIndex(i).getCoeffs());
-        //     System.out.print("], \n");
-        // }
-        // System.out.println("]"); 
-
-
-        // System.out.print("v = ");
-        // Helper.printShortArray(v.getCoeffs());
-        // System.out.println();
+        PolyVec secretKeyPolyVec = new PolyVec(engine);
 
         unpackSecretKey(secretKeyPolyVec, secretKey);
 
-        // System.out.print("decrypt secretkey = ");;
-        // Helper.printByteArray(secretKey);
+        return decrypt(cipherText, secretKeyPolyVec);
+    }
 
-        // System.out.print("SecretKeyPolyVec = [");
-        // for (i = 0; i < kyberK; i++) {
-        //     System.out.print("[");
-        //     for (int j =0; j < KyberEngine.KyberN; j++) {
-        //         System.out.print(secretKeyPolyVec.getVectorIndex(i).getCoeffIndex(j) + ", ");
-        //     }
-        //     System.out.println("],");
-        // }
-        // System.out.println("]");
+    byte[] decrypt(byte[] cipherText, PolyVec secretKeyPolyVec)
+    {
+        byte[] outputMessage;
 
-        // System.out.print("bp before ntt = [");
-        // for (i = 0; i < kyberK; i++) {
-        //     Helper.printShortArray(bp.getVectorIndex(i).getCoeffs());
-        //     System.out.print("], \n");
-        // }
-        // System.out.println("]"); 
+        PolyVec bp = new PolyVec(engine);
+        Poly v = new Poly(engine), mp = new Poly(engine);
+
+        unpackCipherText(bp, v, cipherText);
 
         bp.polyVecNtt();
 
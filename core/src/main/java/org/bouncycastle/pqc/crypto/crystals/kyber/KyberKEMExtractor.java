@@ -8,12 +8,12 @@
 {
     private KyberEngine engine;
 
-    private KyberPrivateKeyParameters key;
+    private KyberExpandedPrivateKey key;
 
     public KyberKEMExtractor(KyberPrivateKeyParameters privParams)
     {
-        this.key = privParams;
         initCipher(privParams);
+        this.key = engine.expandPrivateKey(privParams.getEncoded());
     }
 
     private void initCipher(AsymmetricKeyParameter recipientKey)
@@ -26,7 +26,7 @@ private void initCipher(AsymmetricKeyParameter recipientKey)
     public byte[] extractSecret(byte[] encapsulation)
     {
         // Decryption
-        byte[] sharedSecret = engine.kemDecrypt(encapsulation, key.getEncoded());
+        byte[] sharedSecret = engine.kemDecrypt(encapsulation, key);
         return sharedSecret;
     }
 
@@ -23,7 +23,7 @@ public SecretWithEncapsulation generateEncapsulated(AsymmetricKeyParameter recip
         KyberPublicKeyParameters key = (KyberPublicKeyParameters)recipientKey;
         KyberEngine engine = key.getParameters().getEngine();
         engine.init(sr);
-        byte[][] kemEncrypt = engine.kemEncrypt(key.getEncoded());
+        byte[][] kemEncrypt = engine.kemEncrypt(KyberExpandedKeyCache.getPublicKey(engine, key.getEncoded()));
         return new SecretWithEncapsulationImpl(kemEncrypt[0], kemEncrypt[1]);
     }
 }
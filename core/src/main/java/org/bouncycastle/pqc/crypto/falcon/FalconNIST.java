@@ -128,6 +128,27 @@ byte[][] crypto_sign_keypair(byte[] srcpk, int pk, byte[] srcsk, int sk)
         return new byte[][] { Arrays.copyOfRange(srcpk, 1, srcpk.length), fEnc, gEnc, FEnc };
     }
 
+    /*
+     * Decode the private key and expand it into the B0 matrix and ffLDL tree used by sign_tree. The result
+     * is only ever read from during signing, so may be shared between signatures.
+     */
+    FalconFPR[] expand_privkey(byte[] srcsk, int sk)
+    {
+        byte[] f = new byte[N],
+               g = new byte[N],
+               F = new byte[N],
+               G = new byte[N];
+
+        decode_privkey(f, g, F, G, srcsk, sk);
+
+        FalconSign sign = new FalconSign();
+        FalconFPR[] expanded_key = new FalconFPR[(LOGN + 5) * N];
+
+        sign.expand_privkey(expanded_key, 0, f, 0, g, 0, F, 0, G, 0, LOGN, new FalconFPR[10 * N], 0);
+
+        return expanded_key;
+    }
+
     byte[] crypto_sign(boolean attached, byte[] srcsm,
                     byte[] srcm, int m, int mlen,
                     byte[] srcsk, int sk)
@@ -137,18 +158,51 @@ byte[] crypto_sign(boolean attached, byte[] srcsm,
                F = new byte[N],
                G = new byte[N];
 
+        FalconSign sign = new FalconSign();
+
+        decode_privkey(f, g, F, G, srcsk, sk);
+
         short[] sig = new short[N];
-        short[] hm = new short[N];
+        SHAKE256 sc = new SHAKE256();
+        short[] hm = hash_message(srcm, m, mlen, srcsm, sc);
 
-        byte[] seed = new byte[48],
-            nonce = new byte[NONCELEN];
+//        savcw = set_fpu_cw(2);
 
+        /*
+         * Compute the signature.
+         */
+//        Zf(sign_dyn)(r.sig, &sc, f, g, F, G, r.hm, 10, tmp.b);
+        sign.sign_dyn(sig, 0, sc, f, 0, g, 0, F, 0, G, 0, hm, 0, LOGN, new FalconFPR[10 * N], 0);
 
-        SHAKE256 sc = new SHAKE256();
-        int u, v, sig_len;
+//        set_fpu_cw(savcw);
+
+        return encode_signature(attached, srcsm, sig);
+    }
+
+    /*
+     * Sign using a private key already expanded by expand_privkey(), which avoids decoding the key and
+     * rebuilding the ffLDL tree on every signature. Signatures are the same as those from the compact key.
+     */
+    byte[] crypto_sign(boolean attached, byte[] srcsm,
+                    byte[] srcm, int m, int mlen,
+                    FalconFPR[] expanded_key)
+    {
         FalconSign sign = new FalconSign();
+
+        short[] sig = new short[N];
+        SHAKE256 sc = new SHAKE256();
+        short[] hm = hash_message(srcm, m, mlen, srcsm, sc);
+
+//        Zf(sign_tree)(r.sig, &sc, expanded_key, r.hm, 10, tmp.b);
+        sign.sign_tree(sig, 0, sc, expanded_key, 0, hm, 0, LOGN, new FalconFPR[10 * N], 0);
+
+        return encode_signature(attached, srcsm, sig);
+    }
+
+    private void decode_privkey(byte[] f, byte[] g, byte[] F, byte[] G, byte[] srcsk, int sk)
+    {
         FalconVrfy vrfy = new FalconVrfy();
-        FalconCommon common = new FalconCommon();
+        int u, v;
 
         /*
          * Decode the private key.
@@ -188,6 +242,18 @@ byte[] crypto_sign(boolean attached, byte[] srcsm,
         {
             throw new IllegalStateException("complete_private failed");
         }
+    }
+
+    /*
+     * Pick a nonce, writing it into the signature buffer, hash the message to a point, and seed the
+     * sampler RNG in sc.
+     */
+    private short[] hash_message(byte[] srcm, int m, int mlen, byte[] srcsm, SHAKE256 sc)
+    {
+        short[] hm = new short[N];
+        byte[] seed = new byte[48],
+            nonce = new byte[NONCELEN];
+        FalconCommon common = new FalconCommon();
 
         /*
          * Create a random nonce (40 bytes).
@@ -222,15 +288,14 @@ byte[] crypto_sign(boolean attached, byte[] srcsm,
         sc.inner_shake256_inject(seed, 0, seed.length);
         sc.i_shake256_flip();
 
-//        savcw = set_fpu_cw(2);
+        System.arraycopy(nonce, 0, srcsm, 1, NONCELEN);
 
-        /*
-         * Compute the signature.
-         */
-//        Zf(sign_dyn)(r.sig, &sc, f, g, F, G, r.hm, 10, tmp.b);
-        sign.sign_dyn(sig, 0, sc, f, 0, g, 0, F, 0, G, 0, hm, 0, LOGN, new FalconFPR[10 * N], 0);
+        return hm;
+    }
 
-//        set_fpu_cw(savcw);
+    private byte[] encode_signature(boolean attached, byte[] srcsm, short[] sig)
+    {
+        int sig_len;
 
         byte[] esig = new byte[CRYPTO_BYTES - 2 - NONCELEN];
         if (attached)
@@ -260,8 +325,7 @@ byte[] crypto_sign(boolean attached, byte[] srcsm,
 
         // header
         srcsm[0] = (byte)(0x30 + LOGN);
-        // nonce
-        System.arraycopy(nonce, 0, srcsm, 1, NONCELEN);
+        // nonce - already in place
 
         // signature
         System.arraycopy(esig, 0, srcsm, 1 + NONCELEN, sig_len);
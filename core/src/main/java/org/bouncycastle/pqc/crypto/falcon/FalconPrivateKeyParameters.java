@@ -10,6 +10,8 @@
     private final byte[] g;
     private final byte[] F;
 
+    private FalconFPR[] expandedKey;
+
     public FalconPrivateKeyParameters(FalconParameters parameters, byte[] f, byte[] g, byte[] F, byte[] pk_encoded)
     {
         super(true, parameters);
@@ -43,4 +45,22 @@ public byte[] getSpolyF()
     {
         return Arrays.clone(F);
     }
+
+    /**
+     * Return the expanded form of the key used for signing - the FFT form of the basis and the ffLDL tree,
+     * (logn + 5) * 2^logn values in all. It is calculated on first use and then kept with the key, so later
+     * signatures skip the most expensive part of the work.
+     */
+    synchronized FalconFPR[] getExpandedKey()
+    {
+        if (expandedKey == null)
+        {
+            FalconParameters parameters = getParameters();
+
+            expandedKey = new FalconNIST(parameters.getLogN(), parameters.getNonceLength(), null)
+                .expand_privkey(getEncoded(), 0);
+        }
+
+        return expandedKey;
+    }
 }
@@ -755,7 +755,7 @@ int do_sign_tree(SamplerZ samp, SamplerCtx samp_ctx, short[] srcs2, int s2,
 //            memcpy(s2, s2tmp, n * sizeof *s2);
             System.arraycopy(s2tmp, 0, srcs2, s2, n);
 //            memcpy(tmp, s1tmp, n * sizeof *s1tmp);
-            System.arraycopy(s1tmp, 0, srctmp, tmp, n);
+//            System.arraycopy(s1tmp, 0, srctmp, tmp, n);
             return 1;
         }
         return 0;
@@ -10,6 +10,7 @@
     implements MessageSigner
 {
     private byte[] encodedkey;
+    private FalconPrivateKeyParameters privateKey;
     private FalconNIST nist;
 
     public void init(boolean forSigning, CipherParameters param)
@@ -19,7 +20,7 @@ public void init(boolean forSigning, CipherParameters param)
             if (param instanceof ParametersWithRandom)
             {
                 FalconPrivateKeyParameters skparam = ((FalconPrivateKeyParameters)((ParametersWithRandom)param).getParameters());
-                encodedkey = skparam.getEncoded();
+                privateKey = skparam;
                 nist = new FalconNIST(skparam.getParameters().getLogN(),
                     skparam.getParameters().getNonceLength(),
                     ((ParametersWithRandom)param).getRandom());
@@ -27,7 +28,7 @@ public void init(boolean forSigning, CipherParameters param)
             else
             {
                 FalconPrivateKeyParameters skparam = (FalconPrivateKeyParameters)param;
-                encodedkey = ((FalconPrivateKeyParameters)param).getEncoded();
+                privateKey = skparam;
                 nist = new FalconNIST(skparam.getParameters().getLogN(),
                     skparam.getParameters().getNonceLength(),
                     CryptoServicesRegistrar.getSecureRandom());
@@ -36,6 +37,7 @@ public void init(boolean forSigning, CipherParameters param)
         else
         {
             FalconPublicKeyParameters pkparam = (FalconPublicKeyParameters)param;
+            privateKey = null;
             encodedkey = pkparam.getH();
             nist = new FalconNIST(pkparam.getParameters().getLogN(),
                 pkparam.getParameters().getNonceLength(),
@@ -47,7 +49,7 @@ public byte[] generateSignature(byte[] message)
     {
         byte[] sm = new byte[nist.CRYPTO_BYTES];
 
-        return nist.crypto_sign(false, sm, message, 0, message.length, encodedkey, 0);
+        return nist.crypto_sign(false, sm, message, 0, message.length, privateKey.getExpandedKey());
     }
 
     public boolean verifySignature(byte[] message, byte[] signature)
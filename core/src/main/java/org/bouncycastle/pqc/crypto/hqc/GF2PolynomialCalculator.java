@@ -23,83 +23,32 @@ protected void multLongs(long[] res, long[] a, long[] b)
     }
 
 
-    private void base_mul(long[] c, int cOffset, long a, long b)
+    /**
+     * Constant time multiplication of two 64 bit binary polynomials, c = a * b.
+     * <p>
+     * Each bit of a selects, by masking rather than branching or table lookup, a shifted copy of b to be
+     * added in, so the sequence of operations and memory accesses does not depend on either input.
+     * </p>
+     */
+    private static void base_mul(long[] c, int cOffset, long a, long b)
     {
+        long l = b & -(a & 1L);
         long h = 0;
-        long l = 0;
-        long g;
-        long[] u = new long[16];
-        long[] mask_tab = new long[4];
-
-        // Step 1
-        u[0] = 0;
-        u[1] = b & ((1L << (64 - 4)) - 1L);
-        u[2] = u[1] << 1;
-        u[3] = u[2] ^ u[1];
-        u[4] = u[2] << 1;
-        u[5] = u[4] ^ u[1];
-        u[6] = u[3] << 1;
-        u[7] = u[6] ^ u[1];
-        u[8] = u[4] << 1;
-        u[9] = u[8] ^ u[1];
-        u[10] = u[5] << 1;
-        u[11] = u[10] ^ u[1];
-        u[12] = u[6] << 1;
-        u[13] = u[12] ^ u[1];
-        u[14] = u[7] << 1;
-        u[15] = u[14] ^ u[1];
-
-        g=0;
-        long tmp1 = a & 15;
-
-        for(int i = 0; i < 16; i++)
-        {
-            long tmp2 = tmp1 - i;
-            g ^= (u[i] & -(1 - ((tmp2 | -tmp2) >>> 63)));
-        }
-        l = g;
-        h = 0;
 
-        // Step 2
-        for (byte i = 4; i < 64; i += 4)
+        for (int i = 1; i < 64; i += 3)
         {
-            g = 0;
-            long temp1 = (a >> i) & 15;
-            for (int j = 0; j < 16; ++j)
-            {
-                long tmp2 = temp1 - j;
-                g ^= (u[j] & -(1 - ((tmp2 | -tmp2) >>> 63)));
-            }
-
-            l ^= g << i;
-            h ^= g >>> (64 - i);
-        }
-
-        // Step 3
-        mask_tab [0] = - ((b >> 60) & 1);
-        mask_tab [1] = - ((b >> 61) & 1);
-        mask_tab [2] = - ((b >> 62) & 1);
-        mask_tab [3] = - ((b >> 63) & 1);
-
-        l ^= ((a << 60) & mask_tab[0]);
-        h ^= ((a >>> 4) & mask_tab[0]);
+            long m0 = -((a >>> i) & 1L);
+            long m1 = -((a >>> (i + 1)) & 1L);
+            long m2 = -((a >>> (i + 2)) & 1L);
 
-        l ^= ((a << 61) & mask_tab[1]);
-        h ^= ((a >>> 3) & mask_tab[1]);
-
-        l ^= ((a << 62) & mask_tab[2]);
-        h ^= ((a >>> 2) & mask_tab[2]);
-
-        l ^= ((a << 63) & mask_tab[3]);
-        h ^= ((a >>> 1) & mask_tab[3]);
+            l ^= ((b << i) & m0) ^ ((b << (i + 1)) & m1) ^ ((b << (i + 2)) & m2);
+            h ^= ((b >>> (64 - i)) & m0) ^ ((b >>> (63 - i)) & m1) ^ ((b >>> (62 - i)) & m2);
+        }
 
         c[0 + cOffset] = l;
         c[1 + cOffset] = h;
     }
 
-
-
-
     private void karatsuba_add1(long[] alh, int alhOffset,
                         long[] blh, int blhOffset,
                         long[] a, int aOffset,
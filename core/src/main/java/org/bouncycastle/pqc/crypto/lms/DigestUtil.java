@@ -3,6 +3,9 @@
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
 import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.MultiLaneDigest;
+import org.bouncycastle.crypto.digests.MultiLaneSHA256Digest;
+import org.bouncycastle.crypto.digests.MultiLaneSHAKEDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHAKEDigest;
 
@@ -21,6 +24,25 @@ static Digest getDigest(LMSigParameters sigParameters)
         return createDigest(sigParameters.getDigestOID(), sigParameters.getM());
     }
 
+    /**
+     * Return a multi-lane version of the OTS digest - note: callers must truncate the output to n bytes.
+     */
+    static MultiLaneDigest getMultiLaneDigest(LMOtsParameters otsParameters, int lanes)
+    {
+        ASN1ObjectIdentifier oid = otsParameters.getDigestOID();
+
+        if (oid.equals(NISTObjectIdentifiers.id_sha256))
+        {
+            return new MultiLaneSHA256Digest(lanes);
+        }
+        if (oid.equals(NISTObjectIdentifiers.id_shake256_len))
+        {
+            return new MultiLaneSHAKEDigest(256, lanes);
+        }
+
+        throw new IllegalArgumentException("unrecognized digest OID: " + oid);
+    }
+
     private static Digest createDigest(ASN1ObjectIdentifier oid, int length)
     {
         Digest digest = createDigest(oid);
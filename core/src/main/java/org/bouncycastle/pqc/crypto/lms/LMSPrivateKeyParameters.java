@@ -4,40 +4,38 @@
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 
-import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.pqc.crypto.ExhaustedPrivateKeyException;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Properties;
 import org.bouncycastle.util.io.Streams;
 
+/**
+ * An LMS private key.
+ * <p>
+ * Authentication paths are produced by a layered tree traversal, so the memory held by a key in use is
+ * bounded and each signature costs at most a few extra leaf calculations. The height of the subtrees in
+ * each layer sets the trade-off - larger subtrees use more memory but fewer calculations per signature.
+ * It defaults to 10 and can be set with the property "org.bouncycastle.lms.subtree_height". The whole
+ * tree is calculated once, the first time a key is used for signing.
+ * </p>
+ */
 public class LMSPrivateKeyParameters
     extends LMSKeyParameters
     implements LMSContextBasedSigner
 {
-    private static CacheKey T1 = new CacheKey(1);
-    private static CacheKey[] internedKeys = new CacheKey[129];
-
-    static
-    {
-        internedKeys[1] = T1;
-        for (int i = 2; i < internedKeys.length; i++)
-        {
-            internedKeys[i] = new CacheKey(i);
-        }
-    }
+    private static final int DEFAULT_SUBTREE_HEIGHT = 10;
 
     private final byte[] I;
     private final LMSigParameters parameters;
     private final LMOtsParameters otsParameters;
     private final int maxQ;
     private final byte[] masterSecret;
-    private final Map<CacheKey, byte[]> tCache;
-    private final int maxCacheR;
-    private final Digest tDigest;
 
     private int q;
+    private LMSTraversal traversal;
+    private Executor traversalExecutor;
 
     //
     // These are not final because they can be generated.
@@ -55,9 +53,6 @@ public LMSPrivateKeyParameters(LMSigParameters lmsParameter, LMOtsParameters ots
         this.I = Arrays.clone(I);
         this.maxQ = maxQ;
         this.masterSecret = Arrays.clone(masterSecret);
-        this.maxCacheR = 1 << (parameters.getH() + 1);
-        this.tCache = new WeakHashMap<CacheKey, byte[]>();
-        this.tDigest = DigestUtil.getDigest(lmsParameter);
     }
 
     private LMSPrivateKeyParameters(LMSPrivateKeyParameters parent, int q, int maxQ)
@@ -69,9 +64,8 @@ private LMSPrivateKeyParameters(LMSPrivateKeyParameters parent, int q, int maxQ)
         this.I = parent.I;
         this.maxQ = maxQ;
         this.masterSecret = parent.masterSecret;
-        this.maxCacheR = 1 << parameters.getH();
-        this.tCache = parent.tCache;
-        this.tDigest = DigestUtil.getDigest(parameters);
+        this.traversal = parent.getTraversal(q).copy();
+        this.traversalExecutor = parent.traversalExecutor;
         this.publicKey = parent.publicKey;
     }
 
@@ -188,29 +182,34 @@ synchronized void incIndex()
         q++;
     }
 
-    public LMSContext generateLMSContext()
+    /**
+     * Set an executor to prepare the authentication path for the next signature on once the current
+     * signature's path has been taken, so the work is done between signatures rather than during them.
+     * Calls on the key wait for any preparation still running.
+     *
+     * @param executor the executor to use, null to do the work on the signing thread.
+     */
+    public synchronized void setTraversalExecutor(Executor executor)
     {
-        // Step 1.
-        LMSigParameters lmsParameter = this.getSigParameters();
+        this.traversalExecutor = executor;
+    }
 
-        // Step 2
-        int h = lmsParameter.getH();
-        int q = getIndex();
-        LMOtsPrivateKey otsPk = getNextOtsPrivateKey();
+    public LMSContext generateLMSContext()
+    {
+        synchronized (this)
+        {
+            LMOtsPrivateKey otsPk = getNextOtsPrivateKey();
 
-        int i = 0;
-        int r = (1 << h) + q;
-        byte[][] path = new byte[h][];
+            LMSTraversal traversal = getTraversal(otsPk.getQ());
+            byte[][] path = traversal.getAuthPath();
 
-        while (i < h)
-        {
-            int tmp = (r / (1 << i)) ^ 1;
+            if (q < maxQ && q < (1 << parameters.getH()))
+            {
+                traversal.advanceTo(q, traversalExecutor);
+            }
 
-            path[i] = this.findT(tmp);
-            i++;
+            return otsPk.getSignatureContext(parameters, path);
         }
-
-        return otsPk.getSignatureContext(this.getSigParameters(), path);
     }
 
     public byte[] generateSignature(LMSContext context)
@@ -253,7 +252,7 @@ public LMSPrivateKeyParameters extractKeyShard(int usageCount)
     {
         synchronized (this)
         {
-            if (q + usageCount >= maxQ)
+            if (q + usageCount > maxQ)
             {
                 throw new IllegalArgumentException("usageCount exceeds usages remaining");
             }
@@ -295,79 +294,31 @@ public LMSPublicKeyParameters getPublicKey()
         {
             if (publicKey == null)
             {
-                publicKey = new LMSPublicKeyParameters(parameters, otsParameters, this.findT(T1), I);
+                byte[] T1 = (traversal != null) ? traversal.getRoot() : getTraversal(q).getRoot();
+
+                publicKey = new LMSPublicKeyParameters(parameters, otsParameters, T1, I);
             }
             return publicKey;
         }
     }
 
-    byte[] findT(int r)
-    {
-        if (r < maxCacheR)
-        {
-            return findT(r < internedKeys.length ? internedKeys[r] : new CacheKey(r));
-        }
-
-        return calcT(r);
-    }
-
-    private byte[] findT(CacheKey key)
+    /**
+     * Return the traversal, positioned at leaf index - built if there is not one already.
+     */
+    private LMSTraversal getTraversal(int index)
     {
-        synchronized (tCache)
+        if (traversal == null || traversal.getIndex() > index)
         {
-            byte[] t = tCache.get(key);
-
-            if (t != null)
-            {
-                return t;
-            }
+            int k = Properties.asInteger("org.bouncycastle.lms.subtree_height", DEFAULT_SUBTREE_HEIGHT);
 
-            t = calcT(key.index);
-            tCache.put(key, t);
-
-            return t;
+            traversal = new LMSTraversal(parameters, otsParameters, I, masterSecret, k, index);
         }
-    }
-
-    private byte[] calcT(int r)
-    {
-        int h = this.getSigParameters().getH();
-
-        int twoToh = 1 << h;
-
-        byte[] T;
-
-        // r is a base 1 index.
-
-        if (r >= twoToh)
+        else if (traversal.getIndex() != index)
         {
-            LmsUtils.byteArray(this.getI(), tDigest);
-            LmsUtils.u32str(r, tDigest);
-            LmsUtils.u16str(LMS.D_LEAF, tDigest);
-            //
-            // These can be pre generated at the time of key generation and held within the private key.
-            // However it will cost memory to have them stick around.
-            //
-            byte[] K = LM_OTS.lms_ots_generatePublicKey(this.getOtsParameters(), this.getI(), (r - twoToh), this.getMasterSecret());
-
-            LmsUtils.byteArray(K, tDigest);
-            T = new byte[tDigest.getDigestSize()];
-            tDigest.doFinal(T, 0);
-            return T;
+            traversal.advanceTo(index, null);
         }
 
-        byte[] t2r = findT(2 * r);
-        byte[] t2rPlus1 = findT((2 * r + 1));
-
-        LmsUtils.byteArray(this.getI(), tDigest);
-        LmsUtils.u32str(r, tDigest);
-        LmsUtils.u16str(LMS.D_INTR, tDigest);
-        LmsUtils.byteArray(t2r, tDigest);
-        LmsUtils.byteArray(t2rPlus1, tDigest);
-        T = new byte[tDigest.getDigestSize()];
-        tDigest.doFinal(T, 0);
-
-        return T;
+        return traversal;
     }
 
     @Override
@@ -453,29 +404,4 @@ public byte[] getEncoded()
             .bytes(masterSecret) // the master secret
             .build();
     }
-
-    private static class CacheKey
-    {
-        private final int index;
-
-        CacheKey(int index)
-        {
-            this.index = index;
-        }
-
-        public int hashCode()
-        {
-            return index;
-        }
-
-        public boolean equals(Object o)
-        {
-            if (o instanceof CacheKey)
-            {
-                return ((CacheKey)o).index == this.index;
-            }
-
-            return false;
-        }
-    }
 }
@@ -0,0 +1,450 @@
+package org.bouncycastle.pqc.crypto.lms;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.bouncycastle.crypto.Digest;
+
+/**
+ * Authentication path generation for an LMS private key using a layered (fractal) tree traversal.
+ * <p>
+ * The tree of height h is split into layers of subtrees of height at most k. For each layer the subtree
+ * holding the current leaf's path (the "existing" subtree) is kept in full, together with the next subtree
+ * along in the same layer (the "desired" subtree), which is built up one leaf per signature so that it is
+ * complete by the time the existing subtree is used up. Signing costs at most one leaf calculation per
+ * layer below the top one, and memory is bounded by roughly 2 * ceil(h/k) * 2^(k+1) nodes, regardless of
+ * garbage collection. A larger k trades memory for speed - with k = h the whole tree is kept.
+ * </p>
+ * <p>
+ * Not thread safe, although an advance can be run on a separate thread, in which case any later call
+ * waits for it to finish.
+ * </p>
+ */
+class LMSTraversal
+{
+    private final LMSigParameters parameters;
+    private final LMOtsParameters otsParameters;
+    private final byte[] I;
+    private final byte[] masterSecret;
+    private final int h;
+    private final int k;
+    private final Layer[] layers;
+    private final Digest digest;
+
+    private byte[] root;
+    private int index;
+    private FutureTask pending;
+
+    /**
+     * Build the traversal state for leaf q. This involves calculating every node in the tree once.
+     */
+    LMSTraversal(LMSigParameters parameters, LMOtsParameters otsParameters, byte[] I, byte[] masterSecret, int k, int q)
+    {
+        this.parameters = parameters;
+        this.otsParameters = otsParameters;
+        this.I = I;
+        this.masterSecret = masterSecret;
+        this.h = parameters.getH();
+        this.k = Math.max(1, Math.min(k, h));
+        this.digest = DigestUtil.getDigest(parameters);
+        this.layers = new Layer[(h + this.k - 1) / this.k];
+
+        for (int j = 0; j != layers.length; j++)
+        {
+            int low = j * this.k;
+            Layer layer = new Layer(low, Math.min(low + this.k, h));
+
+            layer.existing = q >>> layer.high;
+            layer.existingNodes = layer.allocate();
+            if (((layer.existing + 1) << layer.high) < (1 << h))
+            {
+                // built in the same pass below, so it starts out complete
+                layer.desired = layer.existing + 1;
+                layer.desiredNodes = layer.allocate();
+                layer.desiredLeaves = 1 << layer.high;
+            }
+            layers[j] = layer;
+        }
+
+        TreeHash treeHash = new TreeHash(h);
+        for (int leaf = 0; leaf < (1 << h); leaf++)
+        {
+            update(treeHash, leaf, null);
+        }
+
+        this.index = q;
+    }
+
+    private LMSTraversal(LMSTraversal other)
+    {
+        this.parameters = other.parameters;
+        this.otsParameters = other.otsParameters;
+        this.I = other.I;
+        this.masterSecret = other.masterSecret;
+        this.h = other.h;
+        this.k = other.k;
+        this.digest = DigestUtil.getDigest(parameters);
+        this.root = other.root;
+        this.index = other.index;
+        this.layers = new Layer[other.layers.length];
+        for (int j = 0; j != layers.length; j++)
+        {
+            layers[j] = new Layer(other.layers[j]);
+        }
+    }
+
+    /**
+     * Return an independent copy of this traversal, in the same position.
+     */
+    LMSTraversal copy()
+    {
+        await();
+
+        return new LMSTraversal(this);
+    }
+
+    byte[] getRoot()
+    {
+        return root;
+    }
+
+    int getIndex()
+    {
+        await();
+
+        return index;
+    }
+
+    /**
+     * Return the authentication path for the current leaf.
+     */
+    byte[][] getAuthPath()
+    {
+        await();
+
+        byte[][] path = new byte[h][];
+        for (int t = 0; t < h; t++)
+        {
+            Layer layer = layers[t / k];
+            int sibling = (index >>> t) ^ 1;
+
+            path[t] = layer.existingNodes[t - layer.low][sibling - (layer.existing << (layer.high - t))];
+        }
+
+        return path;
+    }
+
+    /**
+     * Move the traversal on to the leaf target, running the work needed on executor if it is not null.
+     */
+    void advanceTo(final int target, Executor executor)
+    {
+        await();
+
+        if (executor == null)
+        {
+            advanceTo(target);
+            return;
+        }
+
+        pending = new FutureTask(new Callable()
+        {
+            public Object call()
+            {
+                advanceTo(target);
+                return null;
+            }
+        });
+
+        executor.execute(pending);
+    }
+
+    private void advanceTo(int target)
+    {
+        if (target < index || target >= (1 << h))
+        {
+            throw new IllegalArgumentException("target leaf out of range for traversal");
+        }
+
+        for (int j = 0; j != layers.length; j++)
+        {
+            Layer layer = layers[j];
+            int s = target >>> layer.high;
+
+            if (s != layer.existing)
+            {
+                byte[][][] spare;
+
+                if (s == layer.desired)
+                {
+                    completeDesired(layer, 1 << layer.high);
+
+                    spare = layer.existingNodes;
+                    layer.existingNodes = layer.desiredNodes;
+                    layer.existing = s;
+                }
+                else
+                {
+                    // jumped beyond the desired subtree - the existing one has to be built from scratch.
+                    spare = layer.desiredNodes;
+                    layer.existing = s;
+                    layer.desired = -1;
+                    TreeHash treeHash = new TreeHash(layer.high);
+                    for (int leaf = s << layer.high, end = (s + 1) << layer.high; leaf < end; leaf++)
+                    {
+                        update(treeHash, leaf, layer);
+                    }
+                }
+
+                if (((s + 1) << layer.high) < (1 << h))
+                {
+                    layer.desired = s + 1;
+                    layer.desiredNodes = (spare != null) ? spare : layer.allocate();
+                }
+                else
+                {
+                    layer.desired = -1;
+                    layer.desiredNodes = null;
+                }
+                layer.desiredLeaves = 0;
+                layer.treeHash = null;
+            }
+
+            // keep the desired subtree level with the leaves used so far in the existing one.
+            completeDesired(layer, target - (s << layer.high));
+        }
+
+        index = target;
+    }
+
+    private void completeDesired(Layer layer, int leaves)
+    {
+        if (layer.desired < 0)
+        {
+            return;
+        }
+
+        int start = layer.desired << layer.high;
+        while (layer.desiredLeaves < leaves)
+        {
+            if (layer.treeHash == null)
+            {
+                layer.treeHash = new TreeHash(layer.high);
+            }
+            update(layer.treeHash, start + layer.desiredLeaves, layer);
+            layer.desiredLeaves++;
+        }
+
+        if (layer.desiredLeaves == (1 << layer.high))
+        {
+            layer.treeHash = null;
+        }
+    }
+
+    private void await()
+    {
+        if (pending == null)
+        {
+            return;
+        }
+
+        boolean interrupted = false;
+        try
+        {
+            for (;;)
+            {
+                try
+                {
+                    pending.get();
+                    break;
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException)cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error)cause;
+                    }
+                    throw new IllegalStateException("traversal update failed: " + cause.getMessage(), cause);
+                }
+            }
+        }
+        finally
+        {
+            pending = null;
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Add the next leaf to treeHash, passing each node completed to target (or to every layer if target is null).
+     */
+    private void update(TreeHash treeHash, int leaf, Layer target)
+    {
+        byte[] K = LM_OTS.lms_ots_generatePublicKey(otsParameters, I, leaf, masterSecret);
+
+        LmsUtils.byteArray(I, digest);
+        LmsUtils.u32str((1 << h) + leaf, digest);
+        LmsUtils.u16str(LMS.D_LEAF, digest);
+        LmsUtils.byteArray(K, digest);
+        byte[] node = new byte[digest.getDigestSize()];
+        digest.doFinal(node, 0);
+
+        int height = 0;
+        int nodeIndex = leaf;
+        offer(height, nodeIndex, node, target);
+
+        while (treeHash.size > 0 && treeHash.heights[treeHash.size - 1] == height)
+        {
+            byte[] left = treeHash.nodes[--treeHash.size];
+            treeHash.nodes[treeHash.size] = null;
+
+            height++;
+            nodeIndex >>>= 1;
+
+            LmsUtils.byteArray(I, digest);
+            LmsUtils.u32str((1 << (h - height)) + nodeIndex, digest);
+            LmsUtils.u16str(LMS.D_INTR, digest);
+            LmsUtils.byteArray(left, digest);
+            LmsUtils.byteArray(node, digest);
+            node = new byte[digest.getDigestSize()];
+            digest.doFinal(node, 0);
+
+            offer(height, nodeIndex, node, target);
+        }
+
+        treeHash.heights[treeHash.size] = height;
+        treeHash.nodes[treeHash.size++] = node;
+    }
+
+    private void offer(int height, int nodeIndex, byte[] node, Layer target)
+    {
+        if (target != null)
+        {
+            target.offer(height, nodeIndex, node);
+            return;
+        }
+
+        for (int j = 0; j != layers.length; j++)
+        {
+            layers[j].offer(height, nodeIndex, node);
+        }
+        if (height == h)
+        {
+            root = node;
+        }
+    }
+
+    private static class TreeHash
+    {
+        final byte[][] nodes;
+        final int[] heights;
+        int size;
+
+        TreeHash(int height)
+        {
+            this.nodes = new byte[height + 1][];
+            this.heights = new int[height + 1];
+        }
+
+        TreeHash(TreeHash other)
+        {
+            this.nodes = (byte[][])other.nodes.clone();
+            this.heights = (int[])other.heights.clone();
+            this.size = other.size;
+        }
+    }
+
+    /**
+     * The subtrees covering heights [low, high) - the nodes of a subtree are stored by height, so the
+     * sibling of a node is always found in the same subtree.
+     */
+    private static class Layer
+    {
+        final int low;
+        final int high;
+
+        int existing;
+        byte[][][] existingNodes;
+        int desired = -1;
+        byte[][][] desiredNodes;
+        int desiredLeaves;
+        TreeHash treeHash;
+
+        Layer(int low, int high)
+        {
+            this.low = low;
+            this.high = high;
+        }
+
+        Layer(Layer other)
+        {
+            this.low = other.low;
+            this.high = other.high;
+            this.existing = other.existing;
+            this.existingNodes = copy(other.existingNodes);
+            this.desired = other.desired;
+            this.desiredNodes = copy(other.desiredNodes);
+            this.desiredLeaves = other.desiredLeaves;
+            this.treeHash = (other.treeHash != null) ? new TreeHash(other.treeHash) : null;
+        }
+
+        byte[][][] allocate()
+        {
+            byte[][][] nodes = new byte[high - low][][];
+            for (int t = low; t < high; t++)
+            {
+                nodes[t - low] = new byte[1 << (high - t)][];
+            }
+            return nodes;
+        }
+
+        void offer(int height, int nodeIndex, byte[] node)
+        {
+            if (height < low || height >= high)
+            {
+                return;
+            }
+
+            int shift = high - height;
+            int s = nodeIndex >>> shift;
+            if (s == existing)
+            {
+                existingNodes[height - low][nodeIndex - (s << shift)] = node;
+            }
+            else if (s == desired)
+            {
+                desiredNodes[height - low][nodeIndex - (s << shift)] = node;
+            }
+        }
+
+        private static byte[][][] copy(byte[][][] nodes)
+        {
+            if (nodes == null)
+            {
+                return null;
+            }
+
+            // the node values themselves are never modified, so they can be shared.
+            byte[][][] rv = new byte[nodes.length][][];
+            for (int i = 0; i != nodes.length; i++)
+            {
+                rv[i] = (byte[][])nodes[i].clone();
+            }
+            return rv;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.bouncycastle.pqc.crypto.lms;
 
 import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.MultiLaneDigest;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Pack;
 
@@ -13,6 +14,7 @@
     private static final int ITER_J = 22;
     static final int SEED_RANDOMISER_INDEX = ~2;
     static final int MAX_HASH = 32;
+    private static final int LANES = 4;
 
     static final short D_MESG = (short)0x8181;
 
@@ -65,35 +67,58 @@ static byte[] lms_ots_generatePublicKey(LMOtsParameters parameter, byte[] I, int
             .build();
         publicContext.update(prehashPrefix, 0, prehashPrefix.length);
 
-        Digest ctx = DigestUtil.getDigest(parameter);
+        int p = parameter.getP();
+        int n = parameter.getN();
+        final int twoToWminus1 = (1 << parameter.getW()) - 1;
 
-        byte[] buf = Composer.compose()
-            .bytes(I)
-            .u32str(q)
-            .padUntil(0, 23 + ctx.getDigestSize())
-            .build();
+        // the chains are walked in groups, one step of every chain in the group per pass of the digest
+        MultiLaneDigest ctx = DigestUtil.getMultiLaneDigest(parameter, LANES);
 
+        byte[][] bufs = new byte[LANES][];
+        for (int l = 0; l < LANES; l++)
+        {
+            bufs[l] = Composer.compose()
+                .bytes(I)
+                .u32str(q)
+                .padUntil(0, ITER_PREV + n)
+                .build();
+        }
 
         SeedDerive derive = new SeedDerive(I, masterSecret, DigestUtil.getDigest(parameter));
         derive.setQ(q);
         derive.setJ(0);
 
-        int p = parameter.getP();
-        int n = parameter.getN();
-        final int twoToWminus1 = (1 << parameter.getW()) - 1;
+        for (int i0 = 0; i0 < p; i0 += LANES)
+        {
+            int count = Math.min(LANES, p - i0);
+            byte[][] group = bufs;
+            if (count < LANES)
+            {
+                group = new byte[count][];
+                System.arraycopy(bufs, 0, group, 0, count);
+            }
 
+            for (int l = 0; l < count; l++)
+            {
+                int i = i0 + l;
+                derive.deriveSeed(group[l], i < p - 1, ITER_PREV); // Private Key!
+                Pack.shortToBigEndian((short)i, group[l], ITER_K);
+            }
 
-        for (int i = 0; i < p; i++)
-        {
-            derive.deriveSeed(buf, i < p - 1, ITER_PREV); // Private Key!
-            Pack.shortToBigEndian((short)i, buf, ITER_K);
             for (int j = 0; j < twoToWminus1; j++)
             {
-                buf[ITER_J] = (byte)j;
-                ctx.update(buf, 0, buf.length);
-                ctx.doFinal(buf, ITER_PREV);
+                for (int l = 0; l < count; l++)
+                {
+                    group[l][ITER_J] = (byte)j;
+                }
+                ctx.update(group, 0, ITER_PREV + n);
+                ctx.doFinal(group, ITER_PREV, n);
+            }
+
+            for (int l = 0; l < count; l++)
+            {
+                publicContext.update(group[l], ITER_PREV, n);
             }
-            publicContext.update(buf, ITER_PREV, n);
         }
 
         byte[] K = new byte[publicContext.getDigestSize()];
@@ -0,0 +1,27 @@
+package org.bouncycastle.pqc.crypto.sphincsplus;
+
+/**
+ * Supplies each thread taking part in a parallel signature with its own engine, as an engine's digests
+ * cannot be shared between threads. Engines are initialised with the public seed on first use.
+ */
+class EngineThreadLocal
+    extends ThreadLocal<SPHINCSPlusEngine>
+{
+    private final SPHINCSPlusParameters parameters;
+    private final byte[] pkSeed;
+
+    EngineThreadLocal(SPHINCSPlusParameters parameters, byte[] pkSeed)
+    {
+        this.parameters = parameters;
+        this.pkSeed = pkSeed;
+    }
+
+    protected SPHINCSPlusEngine initialValue()
+    {
+        SPHINCSPlusEngine engine = parameters.getEngine();
+
+        engine.init(pkSeed);
+
+        return engine;
+    }
+}
@@ -1,6 +1,10 @@
 package org.bouncycastle.pqc.crypto.sphincsplus;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 import org.bouncycastle.util.Arrays;
 
@@ -24,36 +28,50 @@ byte[] treehash(byte[] skSeed, int s, int z, byte[] pkSeed, ADRS adrsParam)
             return null;
         }
 
-        ADRS adrs = new ADRS(adrsParam);
-
-        for (int idx = 0; idx < (1 << z); idx++)
+        // leaves are generated in groups so their F calls can share a pass of the tree digest
+        for (int idx0 = 0; idx0 < (1 << z); idx0 += SPHINCSPlusEngine.LANES)
         {
-            adrs.setType(ADRS.FORS_PRF);
-            adrs.setKeyPairAddress(adrsParam.getKeyPairAddress());
-            adrs.setTreeHeight(0);
-            adrs.setTreeIndex(s + idx);
+            int count = Math.min(SPHINCSPlusEngine.LANES, (1 << z) - idx0);
+            ADRS[] leafAdrs = new ADRS[count];
+            byte[][] leaves = new byte[count][];
 
-            byte[] sk = engine.PRF(pkSeed, skSeed, adrs);
+            for (int l = 0; l < count; l++)
+            {
+                ADRS adrs = new ADRS(adrsParam);
+                adrs.setType(ADRS.FORS_PRF);
+                adrs.setKeyPairAddress(adrsParam.getKeyPairAddress());
+                adrs.setTreeHeight(0);
+                adrs.setTreeIndex(s + idx0 + l);
 
-            adrs.changeType(ADRS.FORS_TREE);
+                leaves[l] = engine.PRF(pkSeed, skSeed, adrs);
 
-            byte[] node = engine.F(pkSeed, adrs, sk);
+                adrs.changeType(ADRS.FORS_TREE);
+                leafAdrs[l] = adrs;
+            }
 
-            adrs.setTreeHeight(1);
+            engine.F(pkSeed, leafAdrs, leaves);
 
-            // while ( Top node on Stack has same height as node )
-            while (!stack.isEmpty()
-                && ((NodeEntry)stack.get(0)).nodeHeight == adrs.getTreeHeight())
+            for (int l = 0; l < count; l++)
             {
-                adrs.setTreeIndex((adrs.getTreeIndex() - 1) / 2);
-                NodeEntry current = ((NodeEntry)stack.remove(0));
+                ADRS adrs = leafAdrs[l];
+                byte[] node = leaves[l];
 
-                node = engine.H(pkSeed, adrs, current.nodeValue, node);
-                //topmost node is now one layer higher
-                adrs.setTreeHeight(adrs.getTreeHeight() + 1);
-            }
+                adrs.setTreeHeight(1);
 
-            stack.add(0, new NodeEntry(node, adrs.getTreeHeight()));
+                // while ( Top node on Stack has same height as node )
+                while (!stack.isEmpty()
+                    && ((NodeEntry)stack.get(0)).nodeHeight == adrs.getTreeHeight())
+                {
+                    adrs.setTreeIndex((adrs.getTreeIndex() - 1) / 2);
+                    NodeEntry current = ((NodeEntry)stack.remove(0));
+
+                    node = engine.H(pkSeed, adrs, current.nodeValue, node);
+                    //topmost node is now one layer higher
+                    adrs.setTreeHeight(adrs.getTreeHeight() + 1);
+                }
+
+                stack.add(0, new NodeEntry(node, adrs.getTreeHeight()));
+            }
         }
 
         return ((NodeEntry)stack.get(0)).nodeValue;
@@ -93,6 +111,52 @@ public SIG_FORS[] sign(byte[] md, byte[] skSeed, byte[] pkSeed, ADRS paramAdrs)
         return sig_fors;
     }
 
+    /**
+     * Sign as sign(md, skSeed, pkSeed, paramAdrs) does, but with the treehash calls for the authentication
+     * paths of all the FORS trees shared out over the passed in pool.
+     */
+    SIG_FORS[] sign(byte[] md, byte[] skSeed, byte[] pkSeed, ADRS paramAdrs, ForkJoinPool pool, EngineThreadLocal engines)
+    {
+        ADRS adrs = new ADRS(paramAdrs);
+
+        int[] idxs = message_to_idxs(md, engine.K, engine.A);
+        byte[][] sks = new byte[engine.K][];
+        List<Callable<byte[]>> tasks = new ArrayList<Callable<byte[]>>(engine.K * engine.A);
+        int t = engine.T;
+        for (int i = 0; i < engine.K; i++)
+        {
+            int idx = idxs[i];
+
+            adrs.setType(ADRS.FORS_PRF);
+            adrs.setKeyPairAddress(paramAdrs.getKeyPairAddress());
+            adrs.setTreeHeight(0);
+            adrs.setTreeIndex(i * t + idx);
+
+            sks[i] = engine.PRF(pkSeed, skSeed, adrs);
+
+            adrs.changeType(ADRS.FORS_TREE);
+
+            ADRS treeAdrs = new ADRS(adrs);
+            for (int j = 0; j < engine.A; j++)
+            {
+                int s = (idx / (1 << j)) ^ 1;
+                tasks.add(new TreehashTask(engines, skSeed, i * t + s * (1 << j), j, pkSeed, treeAdrs));
+            }
+        }
+
+        byte[][] nodes = HT.invokeAll(pool, tasks);
+
+        SIG_FORS[] sig_fors = new SIG_FORS[engine.K];
+        for (int i = 0; i < engine.K; i++)
+        {
+            byte[][] authPath = new byte[engine.A][];
+            System.arraycopy(nodes, i * engine.A, authPath, 0, engine.A);
+
+            sig_fors[i] = new SIG_FORS(sks[i], authPath);
+        }
+        return sig_fors;
+    }
+
     public byte[] pkFromSig(SIG_FORS[] sig_fors, byte[] message, byte[] pkSeed, ADRS adrs)
     {
         byte[][] node = new byte[2][];
@@ -157,4 +221,30 @@ static int[] message_to_idxs(byte[] msg, int fors_trees, int fors_height)
         }
         return idxs;
     }
+
+    private static class TreehashTask
+        implements Callable<byte[]>
+    {
+        private final EngineThreadLocal engines;
+        private final byte[] skSeed;
+        private final int s;
+        private final int z;
+        private final byte[] pkSeed;
+        private final ADRS adrs;
+
+        TreehashTask(EngineThreadLocal engines, byte[] skSeed, int s, int z, byte[] pkSeed, ADRS adrs)
+        {
+            this.engines = engines;
+            this.skSeed = skSeed;
+            this.s = s;
+            this.z = z;
+            this.pkSeed = pkSeed;
+            this.adrs = adrs;
+        }
+
+        public byte[] call()
+        {
+            return new Fors(engines.get()).treehash(skSeed, s, z, pkSeed, adrs);
+        }
+    }
 }
@@ -1,6 +1,12 @@
 package org.bouncycastle.pqc.crypto.sphincsplus;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.util.Arrays;
 
@@ -11,8 +17,6 @@
     SPHINCSPlusEngine engine;
     WotsPlus wots;
 
-    final byte[] htPubKey;
-
     public HT(SPHINCSPlusEngine engine, byte[] skSeed, byte[] pkSeed)
     {
         this.skSeed = skSeed;
@@ -20,19 +24,18 @@ public HT(SPHINCSPlusEngine engine, byte[] skSeed, byte[] pkSeed)
 
         this.engine = engine;
         this.wots = new WotsPlus(engine);
+    }
 
+    /**
+     * Return the hypertree public key - the root of the single tree on the top layer.
+     */
+    byte[] getPublicKey()
+    {
         ADRS adrs = new ADRS();
         adrs.setLayerAddress(engine.D - 1);
         adrs.setTreeAddress(0);
 
-        if (skSeed != null)
-        {
-            htPubKey = xmss_PKgen(skSeed, pkSeed, adrs);
-        }
-        else
-        {
-            htPubKey = null;
-        }
+        return xmss_PKgen(skSeed, pkSeed, adrs);
     }
 
     byte[] sign(byte[] M, long idx_tree, int idx_leaf)
@@ -66,6 +69,71 @@ byte[] sign(byte[] M, long idx_tree, int idx_leaf)
             }
         }
 
+        return encode(SIG_HT);
+    }
+
+    /**
+     * Sign as sign(M, idx_tree, idx_leaf) does, but with the treehash calls for the authentication paths
+     * of every layer, which do not depend on the message, shared out over the passed in pool. Only the
+     * WOTS+ signatures, which chain from one layer to the next, are done on the calling thread.
+     */
+    byte[] sign(byte[] M, long idx_tree, int idx_leaf, ForkJoinPool pool, EngineThreadLocal engines)
+    {
+        long[] trees = new long[engine.D];
+        int[] leaves = new int[engine.D];
+
+        trees[0] = idx_tree;
+        leaves[0] = idx_leaf;
+        for (int j = 1; j < engine.D; j++)
+        {
+            leaves[j] = (int)(trees[j - 1] & ((1 << engine.H_PRIME) - 1));  // least significant bits of idx_tree;
+            trees[j] = trees[j - 1] >>> engine.H_PRIME; // most significant bits of idx_tree;
+        }
+
+        List<Callable<byte[]>> tasks = new ArrayList<Callable<byte[]>>(engine.D * engine.H_PRIME);
+        for (int j = 0; j < engine.D; j++)
+        {
+            ADRS adrs = new ADRS();
+            adrs.setLayerAddress(j);
+            adrs.setTreeAddress(trees[j]);
+            adrs.setType(ADRS.TREE);
+
+            for (int h = 0; h < engine.H_PRIME; h++)
+            {
+                int k = (leaves[j] / (1 << h)) ^ 1;
+                tasks.add(new TreehashTask(engines, skSeed, k * (1 << h), h, pkSeed, adrs));
+            }
+        }
+
+        byte[][] nodes = invokeAll(pool, tasks);
+
+        SIG_XMSS[] SIG_HT = new SIG_XMSS[engine.D];
+        byte[] root = M;
+        for (int j = 0; j < engine.D; j++)
+        {
+            byte[][] AUTH = new byte[engine.H_PRIME][];
+            System.arraycopy(nodes, j * engine.H_PRIME, AUTH, 0, engine.H_PRIME);
+
+            ADRS adrs = new ADRS();
+            adrs.setLayerAddress(j);
+            adrs.setTreeAddress(trees[j]);
+
+            ADRS wotsAdrs = new ADRS(adrs);
+            wotsAdrs.setType(ADRS.WOTS_PK);
+            wotsAdrs.setKeyPairAddress(leaves[j]);
+
+            SIG_HT[j] = new SIG_XMSS(wots.sign(root, skSeed, pkSeed, wotsAdrs), AUTH);
+            if (j < engine.D - 1)
+            {
+                root = xmss_pkFromSig(leaves[j], SIG_HT[j], root, pkSeed, adrs);
+            }
+        }
+
+        return encode(SIG_HT);
+    }
+
+    private static byte[] encode(SIG_XMSS[] SIG_HT)
+    {
         byte[][] totSigs = new byte[SIG_HT.length][];
         for (int i = 0; i != totSigs.length; i++)
         {
@@ -75,6 +143,43 @@ byte[] sign(byte[] M, long idx_tree, int idx_leaf)
         return Arrays.concatenate(totSigs);
     }
 
+    /**
+     * Run the passed in tasks on pool, returning their results in the order the tasks were given.
+     */
+    static byte[][] invokeAll(ForkJoinPool pool, List<Callable<byte[]>> tasks)
+    {
+        List<Future<byte[]>> futures = pool.invokeAll(tasks);
+
+        byte[][] results = new byte[futures.size()][];
+        for (int i = 0; i != results.length; i++)
+        {
+            try
+            {
+                results[i] = futures.get(i).get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted during parallel signature generation");
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException)cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error)cause;
+                }
+                throw new IllegalStateException("parallel signature generation failed: " + cause.getMessage());
+            }
+        }
+
+        return results;
+    }
+
     byte[] xmss_PKgen(byte[] skSeed, byte[] pkSeed, ADRS adrs)
     {
         return treehash(skSeed, 0, engine.H_PRIME, pkSeed, adrs);
@@ -210,4 +315,30 @@ public boolean verify(byte[] M, SIG_XMSS[] sig_ht, byte[] pkSeed, long idx_tree,
         }
         return Arrays.areEqual(PK_HT, node);
     }
+
+    private static class TreehashTask
+        implements Callable<byte[]>
+    {
+        private final EngineThreadLocal engines;
+        private final byte[] skSeed;
+        private final int s;
+        private final int z;
+        private final byte[] pkSeed;
+        private final ADRS adrs;
+
+        TreehashTask(EngineThreadLocal engines, byte[] skSeed, int s, int z, byte[] pkSeed, ADRS adrs)
+        {
+            this.engines = engines;
+            this.skSeed = skSeed;
+            this.s = s;
+            this.z = z;
+            this.pkSeed = pkSeed;
+            this.adrs = adrs;
+        }
+
+        public byte[] call()
+        {
+            return new HT(engines.get(), null, pkSeed).treehash(skSeed, s, z, pkSeed, adrs);
+        }
+    }
 }
@@ -2,6 +2,8 @@
 
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.Xof;
+import org.bouncycastle.crypto.digests.MultiLaneSHA256Digest;
+import org.bouncycastle.crypto.digests.MultiLaneSHAKEDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.digests.SHAKEDigest;
@@ -16,6 +18,11 @@
 
 abstract class SPHINCSPlusEngine
 {
+    /**
+     * The number of chains or leaves hashed together by the group form of F.
+     */
+    static final int LANES = 4;
+
     /**
      * @deprecated
      * obsolete to be removed
@@ -102,6 +109,19 @@ else if (N <= 256)
 
     abstract byte[] F(byte[] pkSeed, ADRS adrs, byte[] m1);
 
+    /**
+     * Apply F to a group of at most LANES messages, replacing each m[i] with F(pkSeed, adrs[i], m[i]).
+     * Implementations may hash the whole group in one pass using a multi-lane digest.
+     */
+    void F(byte[] pkSeed, ADRS[] adrs, byte[][] m)
+    {
+        for (int i = 0; i < m.length; i++)
+        {
+            byte[] rv = F(pkSeed, adrs[i], m[i]);
+            System.arraycopy(rv, 0, m[i], 0, N);
+        }
+    }
+
     abstract byte[] H(byte[] pkSeed, ADRS adrs, byte[] m1, byte[] m2);
 
     abstract IndexedDigest H_msg(byte[] prf, byte[] pkSeed, byte[] pkRoot, byte[] message);
@@ -123,9 +143,11 @@ else if (N <= 256)
         private final int bl;
         private final Digest sha256 = new SHA256Digest();
         private final byte[] sha256Buf = new byte[sha256.getDigestSize()];
+        private final MultiLaneSHA256Digest sha256x = new MultiLaneSHA256Digest(LANES);
 
         private Memoable msgMemo;
         private Memoable sha256Memo;
+        private Memoable sha256xMemo;
 
         public Sha2Engine(boolean robust, int n, int w, int d, int a, int k, int h)
         {
@@ -164,6 +186,12 @@ void init(byte[] pkSeed)
             sha256Memo = ((Memoable)sha256).copy();
 
             sha256.reset();
+
+            sha256x.update(pkSeed, 0, pkSeed.length);
+            sha256x.update(padding, 0, 64 - pkSeed.length);
+            sha256xMemo = sha256x.copy();
+
+            sha256x.reset();
         }
 
         public byte[] F(byte[] pkSeed, ADRS adrs, byte[] m1)
@@ -184,6 +212,27 @@ public byte[] F(byte[] pkSeed, ADRS adrs, byte[] m1)
             return Arrays.copyOfRange(sha256Buf, 0, N);
         }
 
+        void F(byte[] pkSeed, ADRS[] adrs, byte[][] m)
+        {
+            if (robust)
+            {
+                super.F(pkSeed, adrs, m);
+                return;
+            }
+
+            byte[][] compressedADRS = new byte[m.length][];
+            for (int i = 0; i < m.length; i++)
+            {
+                compressedADRS[i] = compressedADRS(adrs[i]);
+            }
+
+            sha256x.reset(sha256xMemo);
+
+            sha256x.update(compressedADRS, 0, 22);
+            sha256x.update(m, 0, N);
+            sha256x.doFinal(m, 0, N);
+        }
+
         public byte[] H(byte[] pkSeed, ADRS adrs, byte[] m1, byte[] m2)
         {
             byte[] compressedADRS = compressedADRS(adrs);
@@ -329,6 +378,7 @@ protected byte[] bitmask256(byte[] key, byte[] m)
     {
         private final Xof treeDigest;
         private final Xof maskDigest;
+        private final MultiLaneSHAKEDigest treeDigestX;
 
         public Shake256Engine(boolean robust, int n, int w, int d, int a, int k, int h)
         {
@@ -336,6 +386,7 @@ public Shake256Engine(boolean robust, int n, int w, int d, int a, int k, int h)
 
             this.treeDigest = new SHAKEDigest(256);
             this.maskDigest = new SHAKEDigest(256);
+            this.treeDigestX = new MultiLaneSHAKEDigest(256, LANES);
         }
 
         void init(byte[] pkSeed)
@@ -361,6 +412,26 @@ byte[] F(byte[] pkSeed, ADRS adrs, byte[] m1)
             return rv;
         }
 
+        void F(byte[] pkSeed, ADRS[] adrs, byte[][] m)
+        {
+            if (robust)
+            {
+                super.F(pkSeed, adrs, m);
+                return;
+            }
+
+            byte[][] adrsValues = new byte[m.length][];
+            for (int i = 0; i < m.length; i++)
+            {
+                adrsValues[i] = adrs[i].value;
+            }
+
+            treeDigestX.update(pkSeed, 0, pkSeed.length);
+            treeDigestX.update(adrsValues, 0, 32);
+            treeDigestX.update(m, 0, N);
+            treeDigestX.doFinal(m, 0, N);
+        }
+
         byte[] H(byte[] pkSeed, ADRS adrs, byte[] m1, byte[] m2)
         {
             byte[] rv = new byte[N];
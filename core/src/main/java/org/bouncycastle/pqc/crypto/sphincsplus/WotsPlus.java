@@ -18,22 +18,39 @@ byte[] pkGen(byte[] skSeed, byte[] pkSeed, ADRS paramAdrs)
     {
         ADRS wotspkADRS = new ADRS(paramAdrs); // copy address to create OTS public key address
 
+        // the chains are walked in groups, one step of every chain in the group per call to F
         byte[][] tmp = new byte[engine.WOTS_LEN][];
-        for (int i = 0; i < engine.WOTS_LEN; i++)
+        for (int i0 = 0; i0 < engine.WOTS_LEN; i0 += SPHINCSPlusEngine.LANES)
         {
-            ADRS adrs = new ADRS(paramAdrs);
-            adrs.setType(ADRS.WOTS_PRF);
-            adrs.setKeyPairAddress(paramAdrs.getKeyPairAddress());
-            adrs.setChainAddress(i);
-            adrs.setHashAddress(0);
+            int count = Math.min(SPHINCSPlusEngine.LANES, engine.WOTS_LEN - i0);
+            ADRS[] adrs = new ADRS[count];
+            byte[][] nodes = new byte[count][];
 
-            byte[] sk = engine.PRF(pkSeed, skSeed, adrs);
+            for (int l = 0; l < count; l++)
+            {
+                adrs[l] = new ADRS(paramAdrs);
+                adrs[l].setType(ADRS.WOTS_PRF);
+                adrs[l].setKeyPairAddress(paramAdrs.getKeyPairAddress());
+                adrs[l].setChainAddress(i0 + l);
+                adrs[l].setHashAddress(0);
 
-            adrs.setType(ADRS.WOTS_HASH);
-            adrs.setKeyPairAddress(paramAdrs.getKeyPairAddress());
-            adrs.setChainAddress(i);
-            adrs.setHashAddress(0);
-            tmp[i] = chain(sk, 0, w - 1, pkSeed, adrs);
+                nodes[l] = engine.PRF(pkSeed, skSeed, adrs[l]);
+
+                adrs[l].setType(ADRS.WOTS_HASH);
+                adrs[l].setKeyPairAddress(paramAdrs.getKeyPairAddress());
+                adrs[l].setChainAddress(i0 + l);
+            }
+
+            for (int j = 0; j < w - 1; j++)
+            {
+                for (int l = 0; l < count; l++)
+                {
+                    adrs[l].setHashAddress(j);
+                }
+                engine.F(pkSeed, adrs, nodes);
+            }
+
+            System.arraycopy(nodes, 0, tmp, i0, count);
         }
 
         wotspkADRS.setType(ADRS.WOTS_PK);
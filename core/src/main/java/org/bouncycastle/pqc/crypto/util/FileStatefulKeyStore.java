@@ -0,0 +1,129 @@
+package org.bouncycastle.pqc.crypto.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.util.io.Streams;
+
+/**
+ * A {@link StatefulKeyStore} holding the key as a PrivateKeyInfo encoding in a single file.
+ * <p>
+ * A new state is written to a temporary file next to the key file, synced to disk, and then renamed over
+ * the key file. The directory holding the key file is then synced as well, so the rename itself survives a
+ * power loss, and a crash at any point leaves either the old state or the new one in place. Where the
+ * platform cannot rename over an existing file the key file is removed first, in which case the synced
+ * temporary file is picked up by the next load.
+ * </p>
+ * <p>
+ * Syncing a directory needs Java 7 or later, and a platform which allows it (it is not possible on Windows).
+ * Elsewhere only the file contents are synced, and whether a rename survives a power loss depends on the
+ * file system.
+ * </p>
+ */
+public class FileStatefulKeyStore
+    implements StatefulKeyStore
+{
+    private final File file;
+    private final File tmpFile;
+
+    /**
+     * Base constructor.
+     *
+     * @param file the file the key is to be kept in.
+     */
+    public FileStatefulKeyStore(File file)
+    {
+        this.file = file;
+        this.tmpFile = new File(file.getPath() + ".tmp");
+    }
+
+    public synchronized AsymmetricKeyParameter load()
+        throws IOException
+    {
+        File source = file.exists() ? file : tmpFile;
+        if (!source.exists())
+        {
+            throw new FileNotFoundException("no key stored in " + file.getPath());
+        }
+
+        InputStream fIn = new FileInputStream(source);
+        try
+        {
+            return PrivateKeyFactory.createKey(Streams.readAll(fIn));
+        }
+        finally
+        {
+            fIn.close();
+        }
+    }
+
+    public synchronized void store(AsymmetricKeyParameter privateKey)
+        throws IOException
+    {
+        byte[] encoding = PrivateKeyInfoFactory.createPrivateKeyInfo(privateKey).getEncoded();
+
+        FileOutputStream fOut = new FileOutputStream(tmpFile);
+        try
+        {
+            fOut.write(encoding);
+            fOut.flush();
+            fOut.getFD().sync();
+        }
+        finally
+        {
+            fOut.close();
+        }
+
+        if (!tmpFile.renameTo(file))
+        {
+            if (!file.delete() || !tmpFile.renameTo(file))
+            {
+                throw new IOException("unable to replace key file " + file.getPath());
+            }
+        }
+
+        syncDirectory(file.getAbsoluteFile().getParentFile());
+    }
+
+    private static void syncDirectory(File dir)
+        throws IOException
+    {
+        FileChannel channel;
+        try
+        {
+            // FileChannel.open(dir.toPath(), StandardOpenOption.READ), by reflection as it is a Java 7 API
+            Class pathClass = Class.forName("java.nio.file.Path");
+            Class openOptionClass = Class.forName("java.nio.file.OpenOption");
+
+            Object options = Array.newInstance(openOptionClass, 1);
+            Array.set(options, 0, Class.forName("java.nio.file.StandardOpenOption").getField("READ").get(null));
+
+            Method open = FileChannel.class.getMethod("open", new Class[]{ pathClass, options.getClass() });
+            Object path = File.class.getMethod("toPath", new Class[0]).invoke(dir, new Object[0]);
+
+            channel = (FileChannel)open.invoke(null, new Object[]{ path, options });
+        }
+        catch (Exception e)
+        {
+            // no java.nio.file, or directories cannot be opened on this platform
+            return;
+        }
+
+        try
+        {
+            channel.force(true);
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
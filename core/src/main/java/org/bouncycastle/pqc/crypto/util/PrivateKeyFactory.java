@@ -151,7 +151,8 @@ else if (algOID.equals(PKCSObjectIdentifiers.id_alg_hss_lms_hashsig))
             byte[] keyEnc = ASN1OctetString.getInstance(keyInfo.parsePrivateKey()).getOctets();
             ASN1BitString pubKey = keyInfo.getPublicKeyData();
 
-            if (Pack.bigEndianToInt(keyEnc, 0) == 1)
+            // a single level HSS key also starts with 1, but its version is followed by L rather than an LMS type
+            if (Pack.bigEndianToInt(keyEnc, 0) == 1 && !(keyEnc.length >= 12 && Pack.bigEndianToInt(keyEnc, 8) == 1))
             {
                 if (pubKey != null)
                 {
@@ -0,0 +1,78 @@
+package org.bouncycastle.pqc.crypto.util;
+
+import java.io.IOException;
+
+import org.bouncycastle.crypto.CipherParameters;
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.pqc.crypto.MessageSigner;
+
+/**
+ * A stateful signer (LMSSigner, HSSSigner, XMSSSigner, XMSSMTSigner) driven by a {@link StatefulKeyReserver}.
+ * Signing keys are taken from the reserver a batch at a time, so the key state only has to be written out
+ * once per batch rather than after every signature.
+ * <p>
+ * For signature generation the signer should be initialised with a null parameter - the key comes from the
+ * reserver. Verification is passed straight through to the underlying signer.
+ * </p>
+ */
+public class ReservingMessageSigner
+    implements MessageSigner
+{
+    private final MessageSigner signer;
+    private final StatefulKeyReserver reserver;
+
+    private AsymmetricKeyParameter shard;
+    private boolean forSigning;
+
+    /**
+     * Base constructor.
+     *
+     * @param signer the stateful signer to use.
+     * @param reserver the source of signing keys.
+     */
+    public ReservingMessageSigner(MessageSigner signer, StatefulKeyReserver reserver)
+    {
+        this.signer = signer;
+        this.reserver = reserver;
+    }
+
+    public void init(boolean forSigning, CipherParameters param)
+    {
+        this.forSigning = forSigning;
+        this.shard = null;
+
+        if (!forSigning)
+        {
+            signer.init(false, param);
+        }
+    }
+
+    public synchronized byte[] generateSignature(byte[] message)
+    {
+        if (!forSigning)
+        {
+            throw new IllegalStateException("signer not initialized for signature generation");
+        }
+
+        if (shard == null || StatefulKeyReserver.getUsagesRemaining(shard) <= 0)
+        {
+            try
+            {
+                shard = reserver.reserve();
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("unable to reserve key usages: " + e.getMessage(), e);
+            }
+
+            signer.init(true, shard);
+        }
+
+        return signer.generateSignature(message);
+    }
+
+    public boolean verifySignature(byte[] message, byte[] signature)
+    {
+        return signer.verifySignature(message, signature);
+    }
+}
@@ -0,0 +1,127 @@
+package org.bouncycastle.pqc.crypto.util;
+
+import java.io.IOException;
+
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.pqc.crypto.ExhaustedPrivateKeyException;
+import org.bouncycastle.pqc.crypto.lms.HSSPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.lms.LMSPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.xmss.XMSSMTPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.xmss.XMSSPrivateKeyParameters;
+
+/**
+ * Hands out shards of a stateful private key, reserving the range of one-time keys covered by each shard
+ * in a {@link StatefulKeyStore} before the shard is released (a write-ahead reservation). The store is only
+ * written once per batch, rather than once per signature, and after a crash the stored key carries on from
+ * the end of the last reserved range - at worst the unused part of a range is lost, no one-time key is ever
+ * used twice.
+ * <p>
+ * Supported keys are LMS, HSS, XMSS and XMSS^MT private keys.
+ * </p>
+ */
+public class StatefulKeyReserver
+{
+    private final StatefulKeyStore store;
+    private final int batchSize;
+
+    private AsymmetricKeyParameter privateKey;
+
+    /**
+     * Create a reserver for the key currently held in store.
+     *
+     * @param store the store holding the key.
+     * @param batchSize the number of one-time keys to reserve on each visit to the store.
+     * @throws IOException if the key cannot be loaded.
+     */
+    public StatefulKeyReserver(StatefulKeyStore store, int batchSize)
+        throws IOException
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+
+        this.store = store;
+        this.batchSize = batchSize;
+        this.privateKey = store.load();
+
+        getUsagesRemaining(privateKey);      // check the key type
+    }
+
+    /**
+     * Return the number of one-time keys not yet reserved.
+     *
+     * @return the usages remaining in the stored key.
+     */
+    public synchronized long getUsagesRemaining()
+    {
+        return getUsagesRemaining(privateKey);
+    }
+
+    /**
+     * Reserve the next batch of one-time keys, returning a key shard which can only use that batch. The
+     * reservation is durable in the store before this method returns.
+     *
+     * @return a private key usable for at most batchSize signatures.
+     * @throws IOException if the reservation cannot be saved, in which case no shard is released.
+     * @throws ExhaustedPrivateKeyException if no one-time keys remain.
+     */
+    public synchronized AsymmetricKeyParameter reserve()
+        throws IOException
+    {
+        long remaining = getUsagesRemaining(privateKey);
+        if (remaining <= 0)
+        {
+            throw new ExhaustedPrivateKeyException("no usages of private key remaining");
+        }
+
+        int usageCount = (int)Math.min(batchSize, remaining);
+
+        // the parent moves past the range before it is saved, so a failed save can never lead to reuse
+        AsymmetricKeyParameter shard = extractKeyShard(privateKey, usageCount);
+
+        store.store(privateKey);
+
+        return shard;
+    }
+
+    static long getUsagesRemaining(AsymmetricKeyParameter key)
+    {
+        if (key instanceof LMSPrivateKeyParameters)
+        {
+            return ((LMSPrivateKeyParameters)key).getUsagesRemaining();
+        }
+        if (key instanceof HSSPrivateKeyParameters)
+        {
+            return ((HSSPrivateKeyParameters)key).getUsagesRemaining();
+        }
+        if (key instanceof XMSSPrivateKeyParameters)
+        {
+            return ((XMSSPrivateKeyParameters)key).getUsagesRemaining();
+        }
+        if (key instanceof XMSSMTPrivateKeyParameters)
+        {
+            return ((XMSSMTPrivateKeyParameters)key).getUsagesRemaining();
+        }
+
+        throw new IllegalArgumentException("key is not a stateful signature private key: " + key.getClass().getName());
+    }
+
+    private static AsymmetricKeyParameter extractKeyShard(AsymmetricKeyParameter key, int usageCount)
+    {
+        if (key instanceof LMSPrivateKeyParameters)
+        {
+            return ((LMSPrivateKeyParameters)key).extractKeyShard(usageCount);
+        }
+        if (key instanceof HSSPrivateKeyParameters)
+        {
+            return ((HSSPrivateKeyParameters)key).extractKeyShard(usageCount);
+        }
+        if (key instanceof XMSSPrivateKeyParameters)
+        {
+            return ((XMSSPrivateKeyParameters)key).extractKeyShard(usageCount);
+        }
+
+        return ((XMSSMTPrivateKeyParameters)key).extractKeyShard(usageCount);
+    }
+}
@@ -0,0 +1,33 @@
+package org.bouncycastle.pqc.crypto.util;
+
+import java.io.IOException;
+
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+
+/**
+ * Durable storage for the private key of a stateful signature scheme (LMS, HSS, XMSS, XMSS^MT).
+ * <p>
+ * Implementations must not return from store() until the key is safely on stable storage, as the
+ * state saved is what protects the one-time keys from reuse after a restart or crash.
+ * </p>
+ */
+public interface StatefulKeyStore
+{
+    /**
+     * Load the last key saved.
+     *
+     * @return the stored private key.
+     * @throws IOException if no key is available or it cannot be read.
+     */
+    AsymmetricKeyParameter load()
+        throws IOException;
+
+    /**
+     * Save a key, replacing any key already stored, returning once the key is durable.
+     *
+     * @param privateKey the private key to save.
+     * @throws IOException if the key cannot be written.
+     */
+    void store(AsymmetricKeyParameter privateKey)
+        throws IOException;
+}
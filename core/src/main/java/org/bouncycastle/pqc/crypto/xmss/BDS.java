@@ -11,6 +11,9 @@
 import java.util.Map;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 
@@ -21,6 +24,11 @@
     implements Serializable
 {
     private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of leaves calculated by each task when a tree is set up on a pool.
+     */
+    private static final int LEAF_BLOCK_SIZE = 64;
     
     private transient WOTSPlus wotsPlus;
 
@@ -61,9 +69,24 @@
      * @param otsHashAddress hash address
      */
     BDS(XMSSParameters params, byte[] publicSeed, byte[] secretKeySeed, OTSHashAddress otsHashAddress)
+    {
+        this(params, publicSeed, secretKeySeed, otsHashAddress, (ForkJoinPool)null);
+    }
+
+    /**
+     * Set up constructor calculating the leaves of the tree on a pool. The resulting state is identical
+     * to the one built by a single thread.
+     *
+     * @param params tree parameters
+     * @param publicSeed public seed for tree
+     * @param secretKeySeed secret seed for tree
+     * @param otsHashAddress hash address
+     * @param pool pool to calculate the leaves on, null to calculate them on the calling thread.
+     */
+    BDS(XMSSParameters params, byte[] publicSeed, byte[] secretKeySeed, OTSHashAddress otsHashAddress, ForkJoinPool pool)
     {
         this(params.getWOTSPlus(), params.getHeight(), params.getK(), ((1 << params.getHeight()) - 1));
-        this.initialize(publicSeed, secretKeySeed, otsHashAddress);
+        this.initialize(publicSeed, secretKeySeed, otsHashAddress, pool);
     }
 
     /**
@@ -79,7 +102,7 @@
     {
         this(params.getWOTSPlus(), params.getHeight(), params.getK(), ((1 << params.getHeight()) - 1));
 
-        this.initialize(publicSeed, secretKeySeed, otsHashAddress);
+        this.initialize(publicSeed, secretKeySeed, otsHashAddress, null);
 
         while (this.index < index)
         {
@@ -230,40 +253,53 @@ public BDS getNextState(byte[] publicSeed, byte[] secretKeySeed, OTSHashAddress
         return new BDS(this, publicSeed, secretKeySeed, otsHashAddress);
     }
 
-    private void initialize(byte[] publicSeed, byte[] secretSeed, OTSHashAddress otsHashAddress)
+    private void initialize(byte[] publicSeed, byte[] secretSeed, OTSHashAddress otsHashAddress, ForkJoinPool pool)
     {
         if (otsHashAddress == null)
         {
             throw new NullPointerException("otsHashAddress == null");
         }
         /* prepare addresses */
-        LTreeAddress lTreeAddress = (LTreeAddress)new LTreeAddress.Builder()
-            .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
-            .build();
         HashTreeAddress hashTreeAddress = (HashTreeAddress)new HashTreeAddress.Builder()
             .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
             .build();
 
+        LinkedList<Future<XMSSNode[]>> blocks = null;
+        int nextBlock = 0;
+        XMSSNode[] leaves = null;
+        int leafOff = 0;
+
+        if (pool != null)
+        {
+            /* the hash tree itself is built here, only the leaves come from the pool */
+            wotsPlus.importKeys(wotsPlus.getWOTSPlusSecretKey(secretSeed, otsHashAddress), publicSeed);
+            blocks = new LinkedList<Future<XMSSNode[]>>();
+        }
+
         /* iterate indexes */
         for (int indexLeaf = 0; indexLeaf < (1 << treeHeight); indexLeaf++)
         {
-            /* generate leaf */
-            otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder()
-                .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
-                .withOTSAddress(indexLeaf).withChainAddress(otsHashAddress.getChainAddress())
-                .withHashAddress(otsHashAddress.getHashAddress()).withKeyAndMask(otsHashAddress.getKeyAndMask())
-                .build();
-            /*
-             * import WOTSPlusSecretKey as its needed to calculate the public
-             * key on the fly
-             */
-            wotsPlus.importKeys(wotsPlus.getWOTSPlusSecretKey(secretSeed, otsHashAddress), publicSeed);
-            WOTSPlusPublicKeyParameters wotsPlusPublicKey = wotsPlus.getPublicKey(otsHashAddress);
-            lTreeAddress = (LTreeAddress)new LTreeAddress.Builder().withLayerAddress(lTreeAddress.getLayerAddress())
-                .withTreeAddress(lTreeAddress.getTreeAddress()).withLTreeAddress(indexLeaf)
-                .withTreeHeight(lTreeAddress.getTreeHeight()).withTreeIndex(lTreeAddress.getTreeIndex())
-                .withKeyAndMask(lTreeAddress.getKeyAndMask()).build();
-            XMSSNode node = XMSSNodeUtil.lTree(wotsPlus, wotsPlusPublicKey, lTreeAddress);
+            XMSSNode node;
+            if (pool == null)
+            {
+                node = calculateLeaf(wotsPlus, publicSeed, secretSeed, otsHashAddress, indexLeaf);
+            }
+            else
+            {
+                if (leaves == null || leafOff == leaves.length)
+                {
+                    // keep a bounded number of blocks in flight, so memory use does not grow with the tree.
+                    while (nextBlock < (1 << treeHeight) && blocks.size() < 4 * pool.getParallelism())
+                    {
+                        int end = Math.min(nextBlock + LEAF_BLOCK_SIZE, 1 << treeHeight);
+                        blocks.add(pool.submit(new LeafBlock(wotsPlus.getParams(), publicSeed, secretSeed, otsHashAddress, nextBlock, end)));
+                        nextBlock = end;
+                    }
+                    leaves = XMSSUtil.getResult(blocks.removeFirst());
+                    leafOff = 0;
+                }
+                node = leaves[leafOff++];
+            }
 
             hashTreeAddress = (HashTreeAddress)new HashTreeAddress.Builder()
                 .withLayerAddress(hashTreeAddress.getLayerAddress())
@@ -317,6 +353,62 @@ private void initialize(byte[] publicSeed, byte[] secretSeed, OTSHashAddress ots
         root = stack.pop();
     }
 
+    private static XMSSNode calculateLeaf(WOTSPlus wotsPlus, byte[] publicSeed, byte[] secretSeed, OTSHashAddress otsHashAddress, int indexLeaf)
+    {
+        /* generate leaf */
+        otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder()
+            .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
+            .withOTSAddress(indexLeaf).withChainAddress(otsHashAddress.getChainAddress())
+            .withHashAddress(otsHashAddress.getHashAddress()).withKeyAndMask(otsHashAddress.getKeyAndMask())
+            .build();
+        /*
+         * import WOTSPlusSecretKey as its needed to calculate the public
+         * key on the fly
+         */
+        wotsPlus.importKeys(wotsPlus.getWOTSPlusSecretKey(secretSeed, otsHashAddress), publicSeed);
+        WOTSPlusPublicKeyParameters wotsPlusPublicKey = wotsPlus.getPublicKey(otsHashAddress);
+        LTreeAddress lTreeAddress = (LTreeAddress)new LTreeAddress.Builder()
+            .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
+            .withLTreeAddress(indexLeaf).build();
+
+        return XMSSNodeUtil.lTree(wotsPlus, wotsPlusPublicKey, lTreeAddress);
+    }
+
+    /**
+     * Task calculating the leaves in [start, end) with its own WOTS+ instance.
+     */
+    private static class LeafBlock
+        implements Callable<XMSSNode[]>
+    {
+        private final WOTSPlusParameters params;
+        private final byte[] publicSeed;
+        private final byte[] secretSeed;
+        private final OTSHashAddress otsHashAddress;
+        private final int start;
+        private final int end;
+
+        LeafBlock(WOTSPlusParameters params, byte[] publicSeed, byte[] secretSeed, OTSHashAddress otsHashAddress, int start, int end)
+        {
+            this.params = params;
+            this.publicSeed = publicSeed;
+            this.secretSeed = secretSeed;
+            this.otsHashAddress = otsHashAddress;
+            this.start = start;
+            this.end = end;
+        }
+
+        public XMSSNode[] call()
+        {
+            WOTSPlus wotsPlus = new WOTSPlus(params);
+            XMSSNode[] leaves = new XMSSNode[end - start];
+            for (int i = 0; i != leaves.length; i++)
+            {
+                leaves[i] = calculateLeaf(wotsPlus, publicSeed, secretSeed, otsHashAddress, start + i);
+            }
+            return leaves;
+        }
+    }
+
     private void nextAuthenticationPath(byte[] publicSeed, byte[] secretSeed, OTSHashAddress otsHashAddress)
     {
         if (otsHashAddress == null)
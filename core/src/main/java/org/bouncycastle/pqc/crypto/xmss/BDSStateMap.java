@@ -7,6 +7,7 @@
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.util.Integers;
@@ -51,6 +52,17 @@ public long getMaxIndex()
     }
 
     void updateState(XMSSMTParameters params, long globalIndex, byte[] publicSeed, byte[] secretKeySeed)
+    {
+        updateState(params, globalIndex, publicSeed, secretKeySeed, null);
+    }
+
+    /**
+     * Move the state on from globalIndex to the next index. Where the next index starts a new tree on a layer
+     * the BDS state for that tree is set up here, so the work is not left to the signature generation.
+     *
+     * @param pool pool to calculate the leaves of new trees on, null to use the calling thread.
+     */
+    void updateState(XMSSMTParameters params, long globalIndex, byte[] publicSeed, byte[] secretKeySeed, ForkJoinPool pool)
     {
         XMSSParameters xmssParams = params.getXMSSParameters();
         int xmssHeight = xmssParams.getHeight();
@@ -67,13 +79,20 @@ void updateState(XMSSMTParameters params, long globalIndex, byte[] publicSeed, b
         /* prepare authentication path for next leaf */
         if (indexLeaf < ((1 << xmssHeight) - 1))
         {
-            if (this.get(0) == null || indexLeaf == 0)
+            if (this.get(0) == null || (indexLeaf == 0 && this.get(0).getIndex() != 0))
             {
-                this.put(0, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress));
+                this.put(0, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress, pool));
             }
 
             this.update(0, publicSeed, secretKeySeed, otsHashAddress);
         }
+        else if (globalIndex < maxIndex)
+        {
+            /* set up the next tree on layer 0 ahead of its first leaf */
+            otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder().withTreeAddress(indexTree + 1).build();
+
+            this.put(0, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress, pool));
+        }
 
         /* loop over remaining layers */
         for (int layer = 1; layer < params.getLayers(); layer++)
@@ -85,16 +104,27 @@ void updateState(XMSSMTParameters params, long globalIndex, byte[] publicSeed, b
             otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder().withLayerAddress(layer)
                 .withTreeAddress(indexTree).withOTSAddress(indexLeaf).build();
 
-                /* prepare authentication path for next leaf */
-            if (bdsState.get(layer) == null || XMSSUtil.isNewBDSInitNeeded(globalIndex, xmssHeight, layer))
+                /* prepare authentication path for next leaf - a state still at index 0 is already for the new tree */
+            if (bdsState.get(layer) == null
+                || (XMSSUtil.isNewBDSInitNeeded(globalIndex, xmssHeight, layer) && this.get(layer).getIndex() != 0))
             {
-                bdsState.put(layer, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress));
+                bdsState.put(layer, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress, pool));
             }
 
-            if (indexLeaf < ((1 << xmssHeight) - 1)
-                && XMSSUtil.isNewAuthenticationPathNeeded(globalIndex, xmssHeight, layer))
+            if (XMSSUtil.isNewAuthenticationPathNeeded(globalIndex, xmssHeight, layer))
             {
-                this.update(layer, publicSeed, secretKeySeed, otsHashAddress);
+                if (indexLeaf < ((1 << xmssHeight) - 1))
+                {
+                    this.update(layer, publicSeed, secretKeySeed, otsHashAddress);
+                }
+                else if (globalIndex < maxIndex)
+                {
+                    /* set up the next tree on this layer ahead of its first leaf */
+                    otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder().withLayerAddress(layer)
+                        .withTreeAddress(indexTree + 1).build();
+
+                    bdsState.put(layer, new BDS(xmssParams, publicSeed, secretKeySeed, otsHashAddress, pool));
+                }
             }
         }
     }
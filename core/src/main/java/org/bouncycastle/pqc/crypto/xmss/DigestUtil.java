@@ -6,6 +6,9 @@
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
 import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.MultiLaneDigest;
+import org.bouncycastle.crypto.digests.MultiLaneSHA256Digest;
+import org.bouncycastle.crypto.digests.MultiLaneSHAKEDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.digests.SHAKEDigest;
@@ -50,6 +53,27 @@ static Digest getDigest(ASN1ObjectIdentifier oid)
         throw new IllegalArgumentException("unrecognized digest OID: " + oid);
     }
 
+    /**
+     * Return a multi-lane version of the digest for oid, or null if there is not one.
+     */
+    static MultiLaneDigest getMultiLaneDigest(ASN1ObjectIdentifier oid, int lanes)
+    {
+        if (oid.equals(NISTObjectIdentifiers.id_sha256))
+        {
+            return new MultiLaneSHA256Digest(lanes);
+        }
+        if (oid.equals(NISTObjectIdentifiers.id_shake128))
+        {
+            return new MultiLaneSHAKEDigest(128, lanes);
+        }
+        if (oid.equals(NISTObjectIdentifiers.id_shake256))
+        {
+            return new MultiLaneSHAKEDigest(256, lanes);
+        }
+
+        return null;
+    }
+
     static String getDigestName(ASN1ObjectIdentifier oid)
     {
         String name = oidToName.get(oid);
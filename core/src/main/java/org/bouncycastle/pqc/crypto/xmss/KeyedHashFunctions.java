@@ -3,14 +3,26 @@
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.crypto.Xof;
+import org.bouncycastle.crypto.digests.MultiLaneDigest;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Memoable;
 
 /**
  * Crypto functions for XMSS.
  */
 final class KeyedHashFunctions
 {
+    /**
+     * Number of chains hashed together by the multi-lane functions.
+     */
+    static final int LANES = 4;
+
     private final Digest digest;
     private final int digestSize;
+    private final MultiLaneDigest multiLaneDigest;
+
+    private byte[] prfKey;
+    private Memoable prfMemo;
 
     protected KeyedHashFunctions(ASN1ObjectIdentifier treeDigest, int digestSize)
     {
@@ -21,6 +33,7 @@ protected KeyedHashFunctions(ASN1ObjectIdentifier treeDigest, int digestSize)
         }
         this.digest = DigestUtil.getDigest(treeDigest);
         this.digestSize = digestSize;
+        this.multiLaneDigest = DigestUtil.getMultiLaneDigest(treeDigest, LANES);
     }
 
     private byte[] coreDigest(int fixedValue, byte[] key, byte[] index)
@@ -92,4 +105,54 @@ protected byte[] PRF(byte[] key, byte[] address)
         }
         return coreDigest(3, key, address);
     }
+
+    /**
+     * Return true if the multi-lane forms of PRF and F are available for the tree digest.
+     */
+    boolean hasMultiLane()
+    {
+        return multiLaneDigest != null;
+    }
+
+    /**
+     * Multi-lane PRF: out[i] = PRF(key, addresses[i]) for up to LANES addresses.
+     */
+    void PRF(byte[] key, byte[][] addresses, byte[][] out)
+    {
+        if (key.length != digestSize)
+        {
+            throw new IllegalArgumentException("wrong key length");
+        }
+
+        // toBytes(3, n) || key is shared by every call for the same key, so its state is kept
+        if (prfMemo == null || !Arrays.areEqual(prfKey, key))
+        {
+            byte[] in = XMSSUtil.toBytesBigEndian(3, digestSize);
+            multiLaneDigest.reset();
+            multiLaneDigest.update(in, 0, in.length);
+            multiLaneDigest.update(key, 0, key.length);
+            prfMemo = ((Memoable)multiLaneDigest).copy();
+            prfKey = Arrays.clone(key);
+        }
+        else
+        {
+            ((Memoable)multiLaneDigest).reset(prfMemo);
+        }
+
+        multiLaneDigest.update(addresses, 0, 32);
+        multiLaneDigest.doFinal(out, 0, digestSize);
+    }
+
+    /**
+     * Multi-lane F: out[i] = F(keys[i], in[i]) for up to LANES inputs, out may be the same as in.
+     */
+    void F(byte[][] keys, byte[][] in, byte[][] out)
+    {
+        byte[] prefix = XMSSUtil.toBytesBigEndian(0, digestSize);
+        multiLaneDigest.reset();
+        multiLaneDigest.update(prefix, 0, prefix.length);
+        multiLaneDigest.update(keys, 0, digestSize);
+        multiLaneDigest.update(in, 0, digestSize);
+        multiLaneDigest.doFinal(out, 0, digestSize);
+    }
 }
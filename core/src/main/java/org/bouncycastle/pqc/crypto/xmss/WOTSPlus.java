@@ -4,6 +4,8 @@
 import java.util.List;
 
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Bytes;
+import org.bouncycastle.util.Pack;
 
 /**
  * WOTS+.
@@ -380,6 +382,10 @@ WOTSPlusPublicKeyParameters getPublicKey(OTSHashAddress otsHashAddress)
         {
             throw new NullPointerException("otsHashAddress == null");
         }
+        if (khf.hasMultiLane())
+        {
+            return getPublicKeyMultiLane(otsHashAddress);
+        }
         byte[][] publicKey = new byte[params.getLen()][];
         /* derive public key from secretKeySeed */
         for (int i = 0; i < params.getLen(); i++)
@@ -393,4 +399,63 @@ WOTSPlusPublicKeyParameters getPublicKey(OTSHashAddress otsHashAddress)
         }
         return new WOTSPlusPublicKeyParameters(params, publicKey);
     }
+
+    /**
+     * Calculate the public key walking the chains in groups, taking one step of every chain in the
+     * group per pass of the multi-lane tree digest. The result is the same as for the chain by chain
+     * calculation.
+     *
+     * @param otsHashAddress OTS hash address for randomization.
+     * @return WOTS+ public key.
+     */
+    private WOTSPlusPublicKeyParameters getPublicKeyMultiLane(OTSHashAddress otsHashAddress)
+    {
+        int len = params.getLen();
+        int n = params.getTreeDigestSize();
+        int steps = params.getWinternitzParameter() - 1;
+
+        byte[][] publicKey = new byte[len][];
+        for (int i0 = 0; i0 < len; i0 += KeyedHashFunctions.LANES)
+        {
+            int count = Math.min(KeyedHashFunctions.LANES, len - i0);
+            byte[][] tmp = new byte[count][];
+            byte[][] addresses = new byte[count][];
+            byte[][] keys = new byte[count][n];
+            byte[][] masks = new byte[count][n];
+
+            for (int l = 0; l < count; l++)
+            {
+                tmp[l] = expandSecretKeySeed(i0 + l);
+                addresses[l] = new OTSHashAddress.Builder()
+                    .withLayerAddress(otsHashAddress.getLayerAddress()).withTreeAddress(otsHashAddress.getTreeAddress())
+                    .withOTSAddress(otsHashAddress.getOTSAddress()).withChainAddress(i0 + l)
+                    .build().toByteArray();
+            }
+
+            for (int j = 0; j < steps; j++)
+            {
+                for (int l = 0; l < count; l++)
+                {
+                    Pack.intToBigEndian(j, addresses[l], 24);    // hash address
+                    Pack.intToBigEndian(0, addresses[l], 28);    // key and mask
+                }
+                khf.PRF(publicSeed, addresses, keys);
+
+                for (int l = 0; l < count; l++)
+                {
+                    Pack.intToBigEndian(1, addresses[l], 28);
+                }
+                khf.PRF(publicSeed, addresses, masks);
+
+                for (int l = 0; l < count; l++)
+                {
+                    Bytes.xorTo(n, masks[l], tmp[l]);
+                }
+                khf.F(keys, tmp, tmp);
+            }
+
+            System.arraycopy(tmp, 0, publicKey, i0, count);
+        }
+        return new WOTSPlusPublicKeyParameters(params, publicKey);
+    }
 }
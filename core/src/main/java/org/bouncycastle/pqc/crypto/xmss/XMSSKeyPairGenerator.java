@@ -1,6 +1,7 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
 import org.bouncycastle.crypto.AsymmetricCipherKeyPairGenerator;
@@ -12,6 +13,8 @@
 public final class XMSSKeyPairGenerator
     implements AsymmetricCipherKeyPairGenerator
 {
+    private final ForkJoinPool pool;
+
     private XMSSParameters params;
     private SecureRandom prng;
 
@@ -20,6 +23,19 @@
      */
     public XMSSKeyPairGenerator()
     {
+        this(null);
+    }
+
+    /**
+     * Constructor for a generator which calculates the leaves of the tree on a pool. The leaves dominate
+     * the cost of key generation and do not depend on one another, so the work shares out almost
+     * perfectly. Keys are identical to those generated on a single thread.
+     *
+     * @param pool the pool to use, null to generate keys on the calling thread.
+     */
+    public XMSSKeyPairGenerator(ForkJoinPool pool)
+    {
+        this.pool = pool;
     }
 
     public void init(
@@ -68,7 +84,7 @@ private XMSSPrivateKeyParameters generatePrivateKey(XMSSParameters params, Secur
 
         XMSSPrivateKeyParameters privateKey = new XMSSPrivateKeyParameters.Builder(params).withSecretKeySeed(secretKeySeed)
             .withSecretKeyPRF(secretKeyPRF).withPublicSeed(publicSeed)
-            .withBDSState(new BDS(params, publicSeed, secretKeySeed, (OTSHashAddress)new OTSHashAddress.Builder().build())).build();
+            .withBDSState(new BDS(params, publicSeed, secretKeySeed, (OTSHashAddress)new OTSHashAddress.Builder().build(), pool)).build();
 
         return privateKey;
     }
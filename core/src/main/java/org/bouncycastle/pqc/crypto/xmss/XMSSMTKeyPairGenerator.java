@@ -1,6 +1,7 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
 import org.bouncycastle.crypto.AsymmetricCipherKeyPairGenerator;
@@ -12,6 +13,8 @@
 public final class XMSSMTKeyPairGenerator
     implements AsymmetricCipherKeyPairGenerator
 {
+    private final ForkJoinPool pool;
+
     private XMSSMTParameters params;
     private XMSSParameters xmssParams;
 
@@ -23,6 +26,20 @@
      */
     public XMSSMTKeyPairGenerator()
     {
+        this(null);
+    }
+
+    /**
+     * Constructor for a generator which calculates tree leaves on a pool. As well as the top tree, the
+     * first tree on each of the lower layers is set up during key generation, rather than at the first
+     * signature, so the first signature costs no more than any other. Signatures are identical to those
+     * from keys generated on a single thread.
+     *
+     * @param pool the pool to use, null to generate keys on the calling thread.
+     */
+    public XMSSMTKeyPairGenerator(ForkJoinPool pool)
+    {
+        this.pool = pool;
     }
 
     public void init(
@@ -55,10 +72,22 @@ public AsymmetricCipherKeyPair generateKeyPair()
             .build();
 
                   /* store BDS instance of root xmss instance */
-        BDS bdsRoot = new BDS(xmssParams, privateKey.getPublicSeed(), privateKey.getSecretKeySeed(), otsHashAddress);
+        BDS bdsRoot = new BDS(xmssParams, privateKey.getPublicSeed(), privateKey.getSecretKeySeed(), otsHashAddress, pool);
         XMSSNode root = bdsRoot.getRoot();
         privateKey.getBDSState().put(rootLayerIndex, bdsRoot);
 
+        if (pool != null)
+        {
+            /* set up the first tree on the lower layers as well */
+            for (int layer = 0; layer < rootLayerIndex; layer++)
+            {
+                otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder().withLayerAddress(layer).build();
+
+                privateKey.getBDSState().put(layer,
+                    new BDS(xmssParams, privateKey.getPublicSeed(), privateKey.getSecretKeySeed(), otsHashAddress, pool));
+            }
+        }
+
             /* set XMSS^MT root / create public key */
         privateKey = new XMSSMTPrivateKeyParameters.Builder(params).withSecretKeySeed(privateKey.getSecretKeySeed())
             .withSecretKeyPRF(privateKey.getSecretKeyPRF()).withPublicSeed(privateKey.getPublicSeed())
@@ -1,6 +1,9 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Encodable;
@@ -22,6 +25,12 @@
     private volatile BDSStateMap bdsState;
     private volatile boolean used;
 
+    /**
+     * Update of bdsState to index, when being run by the traversal executor.
+     */
+    private FutureTask<Object> stateUpdate;
+    private Executor traversalExecutor;
+
     private XMSSMTPrivateKeyParameters(Builder builder)
     {
         super(true, builder.params.getTreeDigest());
@@ -176,6 +185,22 @@ public byte[] getEncoded()
         }
     }
 
+    /**
+     * Set an executor to advance the BDS states on after each signature, so the work of preparing the next
+     * authentication paths, including setting up any new trees, is done between signatures rather than
+     * during them. If the executor is a ForkJoinPool the leaves of new trees are also calculated in parallel
+     * on it. Anything needing the new states waits for them to be ready.
+     *
+     * @param executor the executor to use, null to advance the states on the signing thread.
+     */
+    public void setTraversalExecutor(Executor executor)
+    {
+        synchronized (this)
+        {
+            this.traversalExecutor = executor;
+        }
+    }
+
     public static class Builder
     {
         /* mandatory */
@@ -266,6 +291,8 @@ public byte[] toByteArray()
     {
         synchronized (this)
         {
+            BDSStateMap bdsState = getBDSState();
+
             /* index || secretKeySeed || secretKeyPRF || publicSeed || root */
             int n = params.getTreeDigestSize();
             int indexSize = (params.getHeight() + 7) / 8;
@@ -338,7 +365,16 @@ public byte[] getRoot()
 
     BDSStateMap getBDSState()
     {
-        return bdsState;
+        synchronized (this)
+        {
+            if (stateUpdate != null)
+            {
+                XMSSUtil.getResult(stateUpdate);
+                stateUpdate = null;
+            }
+
+            return bdsState;
+        }
     }
 
     public XMSSMTParameters getParameters()
@@ -358,16 +394,36 @@ XMSSMTPrivateKeyParameters rollKey()
     {
         synchronized (this)
         {
+            final BDSStateMap bdsState = getBDSState();
+
             if (this.getIndex() < bdsState.getMaxIndex())
             {
-                bdsState.updateState(params, index, publicSeed, secretKeySeed);
-                index = index + 1;
+                final long index = this.index;
+
+                if (traversalExecutor != null)
+                {
+                    final ForkJoinPool pool = (traversalExecutor instanceof ForkJoinPool) ? (ForkJoinPool)traversalExecutor : null;
+
+                    stateUpdate = new FutureTask<Object>(new Runnable()
+                    {
+                        public void run()
+                        {
+                            bdsState.updateState(params, index, publicSeed, secretKeySeed, pool);
+                        }
+                    }, null);
+                    traversalExecutor.execute(stateUpdate);
+                }
+                else
+                {
+                    bdsState.updateState(params, index, publicSeed, secretKeySeed);
+                }
+                this.index = index + 1;
                 used = false;
             }
             else
             {
-                index = bdsState.getMaxIndex() + 1;
-                bdsState = new BDSStateMap(bdsState.getMaxIndex());
+                this.index = bdsState.getMaxIndex() + 1;
+                this.bdsState = new BDSStateMap(bdsState.getMaxIndex());
                 used = false;
             }
 
@@ -398,7 +454,7 @@ public XMSSMTPrivateKeyParameters extractKeyShard(int usageCount)
                                     .withSecretKeySeed(secretKeySeed).withSecretKeyPRF(secretKeyPRF)
                                     .withPublicSeed(publicSeed).withRoot(root)
                                     .withIndex(getIndex())
-                                    .withBDSState(new BDSStateMap(this.bdsState, getIndex() + usageCount - 1)).build();
+                                    .withBDSState(new BDSStateMap(getBDSState(), getIndex() + usageCount - 1)).build();
 
                 for (int i = 0; i != usageCount; i++)
                 {
@@ -111,8 +111,8 @@ public byte[] generateSignature(byte[] message)
                 OTSHashAddress otsHashAddress = (OTSHashAddress)new OTSHashAddress.Builder().withTreeAddress(indexTree)
                     .withOTSAddress(indexLeaf).build();
 
-                /* get authentication path from BDS */
-                if (bdsState.get(0) == null || indexLeaf == 0)
+                /* get authentication path from BDS - a state at index 0 has been set up in advance */
+                if (bdsState.get(0) == null || (indexLeaf == 0 && bdsState.get(0).getIndex() != 0))
                 {
                     bdsState.put(0, new BDS(xmssParams, privateKey.getPublicSeed(), privateKey.getSecretKeySeed(), otsHashAddress));
                 }
@@ -141,7 +141,8 @@ public byte[] generateSignature(byte[] message)
                     /* sign root digest of layer - 1 */
                     wotsPlusSignature = wotsSign(root.getValue(), otsHashAddress);
                     /* get authentication path from BDS */
-                    if (bdsState.get(layer) == null || XMSSUtil.isNewBDSInitNeeded(globalIndex, xmssHeight, layer))
+                    if (bdsState.get(layer) == null
+                        || (XMSSUtil.isNewBDSInitNeeded(globalIndex, xmssHeight, layer) && bdsState.get(layer).getIndex() != 0))
                     {
                         bdsState.put(layer, new BDS(xmssParams, privateKey.getPublicSeed(), privateKey.getSecretKeySeed(), otsHashAddress));
                     }
@@ -1,6 +1,9 @@
 package org.bouncycastle.pqc.crypto.xmss;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Encodable;
@@ -39,6 +42,11 @@
      * BDS state.
      */
     private volatile BDS bdsState;
+    /**
+     * BDS state for the next index, when being calculated by the traversal executor.
+     */
+    private FutureTask<BDS> nextState;
+    private Executor traversalExecutor;
 
     private XMSSPrivateKeyParameters(Builder builder)
     {
@@ -186,6 +194,21 @@ public long getUsagesRemaining()
         }
     }
 
+    /**
+     * Set an executor to advance the BDS state on after each signature, so the work of preparing the next
+     * authentication path is done between signatures rather than during them. Anything needing the new state
+     * waits for it to be ready.
+     *
+     * @param executor the executor to use, null to advance the state on the signing thread.
+     */
+    public void setTraversalExecutor(Executor executor)
+    {
+        synchronized (this)
+        {
+            this.traversalExecutor = executor;
+        }
+    }
+
     public byte[] getEncoded()
         throws IOException
     {
@@ -199,14 +222,30 @@ XMSSPrivateKeyParameters rollKey()
     {
         synchronized (this)
         {
+            final BDS bdsState = getBDSState();
+
             /* prepare authentication path for next leaf */
             if (bdsState.getIndex() < bdsState.getMaxIndex())
             {
-                bdsState = bdsState.getNextState(publicSeed, secretKeySeed, (OTSHashAddress)new OTSHashAddress.Builder().build());
+                if (traversalExecutor != null)
+                {
+                    nextState = new FutureTask<BDS>(new Callable<BDS>()
+                    {
+                        public BDS call()
+                        {
+                            return bdsState.getNextState(publicSeed, secretKeySeed, (OTSHashAddress)new OTSHashAddress.Builder().build());
+                        }
+                    });
+                    traversalExecutor.execute(nextState);
+                }
+                else
+                {
+                    this.bdsState = bdsState.getNextState(publicSeed, secretKeySeed, (OTSHashAddress)new OTSHashAddress.Builder().build());
+                }
             }
             else
             {
-                bdsState = new BDS(params, bdsState.getMaxIndex(), bdsState.getMaxIndex() + 1); // no more nodes left.
+                this.bdsState = new BDS(params, bdsState.getMaxIndex(), bdsState.getMaxIndex() + 1); // no more nodes left.
             }
 
             return this;
@@ -239,6 +278,8 @@ public XMSSPrivateKeyParameters extractKeyShard(int usageCount)
         }
         synchronized (this)
         {
+            BDS bdsState = getBDSState();
+
             /* prepare authentication path for next leaf */
             if (usageCount <= this.getUsagesRemaining())
             {
@@ -259,8 +300,9 @@ public XMSSPrivateKeyParameters extractKeyShard(int usageCount)
                     OTSHashAddress hashAddress = (OTSHashAddress)new OTSHashAddress.Builder().build();
                     for (int i = 0; i != usageCount; i++)
                     {
-                        this.bdsState = bdsState.getNextState(publicSeed, secretKeySeed, hashAddress);
+                        bdsState = bdsState.getNextState(publicSeed, secretKeySeed, hashAddress);
                     }
+                    this.bdsState = bdsState;
                 }
 
                 return keyParams;
@@ -354,6 +396,8 @@ public byte[] toByteArray()
     {
         synchronized (this)
         {
+            BDS bdsState = getBDSState();
+
             /* index || secretKeySeed || secretKeyPRF || publicSeed || root */
             int n = params.getTreeDigestSize();
             int indexSize = 4;
@@ -395,7 +439,11 @@ public byte[] toByteArray()
 
     public int getIndex()
     {
-        return bdsState.getIndex();
+        synchronized (this)
+        {
+            // a state still being calculated is always for the index after the current one.
+            return (nextState != null) ? bdsState.getIndex() + 1 : bdsState.getIndex();
+        }
     }
 
     public byte[] getSecretKeySeed()
@@ -420,7 +468,16 @@ public byte[] getRoot()
 
     BDS getBDSState()
     {
-        return bdsState;
+        synchronized (this)
+        {
+            if (nextState != null)
+            {
+                bdsState = XMSSUtil.getResult(nextState);
+                nextState = null;
+            }
+
+            return bdsState;
+        }
     }
 
     public XMSSParameters getParameters()
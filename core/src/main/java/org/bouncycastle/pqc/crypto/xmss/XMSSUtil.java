@@ -10,6 +10,8 @@
 import java.io.ObjectStreamClass;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.crypto.Digest;
 import org.bouncycastle.util.Arrays;
@@ -359,6 +361,49 @@ public static int calculateTau(int index, int height)
         return tau;
     }
 
+    /**
+     * Wait for the result of a task, rethrowing anything the task threw. The wait is not given up on interrupt,
+     * as tree state being calculated must not be abandoned part way through - the interrupt is passed on instead.
+     */
+    static <T> T getResult(Future<T> future)
+    {
+        boolean interrupted = false;
+        try
+        {
+            for (;;)
+            {
+                try
+                {
+                    return future.get();
+                }
+                catch (InterruptedException e)
+                {
+                    interrupted = true;
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException)cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error)cause;
+                    }
+                    throw new IllegalStateException("tree calculation failed: " + cause.getMessage(), cause);
+                }
+            }
+        }
+        finally
+        {
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     public static boolean isNewBDSInitNeeded(long globalIndex, int xmssHeight, int layer)
     {
         if (globalIndex == 0)
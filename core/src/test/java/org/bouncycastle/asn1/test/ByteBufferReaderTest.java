@@ -0,0 +1,160 @@
+package org.bouncycastle.asn1.test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.bouncycastle.asn1.ASN1ByteBufferReader;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1InputStream;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.BERSequence;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.test.SimpleTest;
+
+public class ByteBufferReaderTest
+    extends SimpleTest
+{
+    private static final byte[] cert = Base64.decode(
+           "MIIDXjCCAsegAwIBAgIBBzANBgkqhkiG9w0BAQQFADCBtzELMAkGA1UEBhMCQVUx"
+        + "ETAPBgNVBAgTCFZpY3RvcmlhMRgwFgYDVQQHEw9Tb3V0aCBNZWxib3VybmUxGjAY"
+        + "BgNVBAoTEUNvbm5lY3QgNCBQdHkgTHRkMR4wHAYDVQQLExVDZXJ0aWZpY2F0ZSBB"
+        + "dXRob3JpdHkxFTATBgNVBAMTDENvbm5lY3QgNCBDQTEoMCYGCSqGSIb3DQEJARYZ"
+        + "d2VibWFzdGVyQGNvbm5lY3Q0LmNvbS5hdTAeFw0wMDA2MDIwNzU2MjFaFw0wMTA2"
+        + "MDIwNzU2MjFaMIG4MQswCQYDVQQGEwJBVTERMA8GA1UECBMIVmljdG9yaWExGDAW"
+        + "BgNVBAcTD1NvdXRoIE1lbGJvdXJuZTEaMBgGA1UEChMRQ29ubmVjdCA0IFB0eSBM"
+        + "dGQxFzAVBgNVBAsTDldlYnNlcnZlciBUZWFtMR0wGwYDVQQDExR3d3cyLmNvbm5l"
+        + "Y3Q0LmNvbS5hdTEoMCYGCSqGSIb3DQEJARYZd2VibWFzdGVyQGNvbm5lY3Q0LmNv"
+        + "bS5hdTCBnzANBgkqhkiG9w0BAQEFAAOBjQAwgYkCgYEArvDxclKAhyv7Q/Wmr2re"
+        + "Gw4XL9Cnh9e+6VgWy2AWNy/MVeXdlxzd7QAuc1eOWQkGQEiLPy5XQtTY+sBUJ3AO"
+        + "Rvd2fEVJIcjf29ey7bYua9J/vz5MG2KYo9/WCHIwqD9mmG9g0xLcfwq/s8ZJBswE"
+        + "7sb85VU+h94PTvsWOsWuKaECAwEAAaN3MHUwJAYDVR0RBB0wG4EZd2VibWFzdGVy"
+        + "QGNvbm5lY3Q0LmNvbS5hdTA6BglghkgBhvhCAQ0ELRYrbW9kX3NzbCBnZW5lcmF0"
+        + "ZWQgY3VzdG9tIHNlcnZlciBjZXJ0aWZpY2F0ZTARBglghkgBhvhCAQEEBAMCBkAw"
+        + "DQYJKoZIhvcNAQEEBQADgYEAotccfKpwSsIxM1Hae8DR7M/Rw8dg/RqOWx45HNVL"
+        + "iBS4/3N/TO195yeQKbfmzbAA2jbPVvIvGgTxPgO1MP4ZgvgRhasaa0qCJCkWvpM4"
+        + "yQf33vOiYQbpv4rTwzU8AmRlBG45WdjyNIigGV+oRc61aKCTnLq7zB8N3z1TF/bF"
+        + "5/8=");
+
+    private static final byte[] truncated = new byte[]{ (byte)0x30, (byte)0x05, (byte)0x02, (byte)0x01, (byte)0x01 };
+
+    public String getName()
+    {
+        return "ByteBufferReader";
+    }
+
+    public void performTest()
+        throws Exception
+    {
+        ByteBuffer heap = ByteBuffer.wrap(cert);
+        ByteBuffer direct = ByteBuffer.allocateDirect(cert.length);
+        direct.put(cert);
+        direct.flip();
+
+        ASN1Primitive expected = new ASN1InputStream(cert).readObject();
+
+        checkCertificate(expected, heap, true);
+        checkCertificate(expected, heap, false);
+        checkCertificate(expected, direct, true);
+        checkCertificate(expected, direct, false);
+
+        isEquals("source position changed", 0, heap.position());
+        isEquals("source position changed", 0, direct.position());
+
+        checkMultipleObjects();
+        checkIndefiniteLength();
+
+        try
+        {
+            new ASN1ByteBufferReader(ByteBuffer.wrap(truncated)).readObject();
+            fail("truncated object not detected");
+        }
+        catch (IOException e)
+        {
+            isTrue("wrong exception: " + e, e instanceof EOFException);
+        }
+    }
+
+    private void checkCertificate(ASN1Primitive expected, ByteBuffer input, boolean lazy)
+        throws IOException
+    {
+        ASN1ByteBufferReader reader = new ASN1ByteBufferReader(input, lazy);
+
+        ASN1Primitive p = reader.readObject();
+        isTrue("certificate not decoded", expected.equals(p));
+        isTrue("encoding mismatch", Arrays.areEqual(cert, p.getEncoded()));
+        isTrue("DER encoding mismatch", Arrays.areEqual(cert, p.getEncoded(ASN1Encoding.DER)));
+        isTrue("unexpected trailing data", !reader.hasRemaining());
+        isTrue("null expected at end", null == reader.readObject());
+
+        Certificate c = Certificate.getInstance(new ASN1ByteBufferReader(input, lazy).readObject());
+        isEquals(Certificate.getInstance(expected).getSubject(), c.getSubject());
+        isTrue("TBS encoding mismatch",
+            Arrays.areEqual(Certificate.getInstance(expected).getTBSCertificate().getEncoded(),
+                c.getTBSCertificate().getEncoded()));
+    }
+
+    private void checkMultipleObjects()
+        throws IOException
+    {
+        ASN1Primitive seq = new DERSequence(new ASN1Encodable[]{ new ASN1Integer(42), new DEROctetString(cert) });
+        ASN1Primitive oct = new DEROctetString(new byte[]{ 1, 2, 3 });
+
+        byte[] enc = Arrays.concatenate(seq.getEncoded(), oct.getEncoded());
+
+        // leading bytes which are not part of the buffer view
+        ByteBuffer buf = ByteBuffer.allocate(enc.length + 3);
+        buf.put(new byte[3]);
+        buf.put(enc);
+        buf.position(3);
+
+        ASN1ByteBufferReader reader = new ASN1ByteBufferReader(buf);
+
+        ByteBuffer first = reader.readEncoding();
+        isEquals(seq.getEncoded().length, first.remaining());
+        isTrue("read-only view expected", first.isReadOnly());
+
+        ASN1Primitive second = reader.readObject();
+        isEquals(oct, second);
+        isTrue(null == reader.readEncoding());
+
+        ASN1Sequence decoded = ASN1Sequence.getInstance(new ASN1ByteBufferReader(first).readObject());
+        isEquals(2, decoded.size());
+        isEquals(new ASN1Integer(42), decoded.getObjectAt(0));
+        isTrue(Arrays.areEqual(cert, ASN1OctetString.getInstance(decoded.getObjectAt(1)).getOctets()));
+    }
+
+    private void checkIndefiniteLength()
+        throws IOException
+    {
+        ASN1Primitive ber = new BERSequence(new ASN1Encodable[]{ new ASN1Integer(1), new ASN1Integer(2) });
+        ASN1Primitive der = new ASN1Integer(3);
+
+        byte[] enc = Arrays.concatenate(ber.getEncoded(), der.getEncoded());
+
+        ASN1ByteBufferReader reader = new ASN1ByteBufferReader(ByteBuffer.wrap(enc));
+
+        isEquals(ber, reader.readObject());
+        isEquals(der, reader.readObject());
+        isTrue(null == reader.readObject());
+
+        reader = new ASN1ByteBufferReader(ByteBuffer.wrap(enc));
+
+        isEquals(ber.getEncoded().length, reader.readEncoding().remaining());
+        isEquals(der, reader.readObject());
+    }
+
+    public static void main(
+        String[] args)
+    {
+        runTest(new ByteBufferReaderTest());
+    }
+}
@@ -0,0 +1,112 @@
+package org.bouncycastle.asn1.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.BERSequence;
+import org.bouncycastle.asn1.DERBufferWriter;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSet;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.DLSequence;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.test.SimpleTest;
+
+public class DERBufferWriterTest
+    extends SimpleTest
+{
+    public String getName()
+    {
+        return "DERBufferWriter";
+    }
+
+    public void performTest()
+        throws Exception
+    {
+        ASN1EncodableVector v = new ASN1EncodableVector();
+        for (int i = 0; i != 40; i++)
+        {
+            v.add(new DLSequence(new ASN1Encodable[]{ new ASN1Integer(i), new DEROctetString(new byte[i * 7]) }));
+        }
+
+        ASN1Primitive[] objects = new ASN1Primitive[]{
+            new ASN1Integer(0),
+            new DLSequence(v),
+            new BERSequence(v),
+            new DERSet(new ASN1Encodable[]{ new ASN1Integer(3), new ASN1Integer(1), new ASN1Integer(2) }),
+            new DERTaggedObject(false, 3, new BERSequence(v)),
+        };
+
+        // deliberately small initial buffer so growth is exercised
+        DERBufferWriter writer = new DERBufferWriter(4);
+
+        for (int i = 0; i != objects.length; i++)
+        {
+            byte[] expected = objects[i].getEncoded(ASN1Encoding.DER);
+
+            isEquals(expected.length, DERBufferWriter.getEncodedLength(objects[i]));
+
+            isEquals(expected.length, writer.encode(objects[i]));
+            isTrue("buffer encoding " + i, Arrays.areEqual(expected, writer.toByteArray()));
+
+            byte[] out = new byte[expected.length + 10];
+            isEquals(expected.length, writer.encode(objects[i], out, 5));
+            isTrue("array encoding " + i, Arrays.areEqual(expected, Arrays.copyOfRange(out, 5, 5 + expected.length)));
+
+            checkByteBuffer(writer, objects[i], expected, ByteBuffer.allocate(expected.length + 2));
+            checkByteBuffer(writer, objects[i], expected, ByteBuffer.allocateDirect(expected.length + 2));
+
+            ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+            isEquals(expected.length, writer.encode(objects[i], Channels.newChannel(bOut)));
+            isTrue("channel encoding " + i, Arrays.areEqual(expected, bOut.toByteArray()));
+        }
+
+        try
+        {
+            writer.encode(objects[1], new byte[10], 0);
+            fail("short array not detected");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // expected
+        }
+
+        try
+        {
+            writer.encode(objects[1], ByteBuffer.allocate(10));
+            fail("short buffer not detected");
+        }
+        catch (BufferOverflowException e)
+        {
+            // expected
+        }
+    }
+
+    private void checkByteBuffer(DERBufferWriter writer, ASN1Primitive obj, byte[] expected, ByteBuffer dst)
+        throws Exception
+    {
+        dst.put((byte)0xFF);
+
+        isEquals(expected.length, writer.encode(obj, dst));
+        isEquals(expected.length + 1, dst.position());
+
+        byte[] written = new byte[expected.length];
+        dst.flip();
+        dst.get();
+        dst.get(written);
+        isTrue("ByteBuffer encoding", Arrays.areEqual(expected, written));
+    }
+
+    public static void main(
+        String[] args)
+    {
+        runTest(new DERBufferWriterTest());
+    }
+}
@@ -55,7 +55,10 @@
         new DLExternalTest(),
         new KMACParamsTest(),
         new DERPrivateTest(),
-        new X509AltTest()
+        new X509AltTest(),
+        new ByteBufferReaderTest(),
+        new DERBufferWriterTest(),
+        new SequenceLayoutTest()
     };
 
     public static void main(String[] args)
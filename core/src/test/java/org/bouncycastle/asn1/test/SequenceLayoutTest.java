@@ -0,0 +1,313 @@
+package org.bouncycastle.asn1.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.ASN1SequenceFields;
+import org.bouncycastle.asn1.ASN1SequenceLayout;
+import org.bouncycastle.asn1.BERTags;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.ocsp.BasicOCSPResponse;
+import org.bouncycastle.asn1.ocsp.BasicOCSPResponseLayout;
+import org.bouncycastle.asn1.ocsp.OCSPResponse;
+import org.bouncycastle.asn1.ocsp.ResponseDataLayout;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.asn1.x509.TBSCertificateLayout;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.test.SimpleTest;
+
+public class SequenceLayoutTest
+    extends SimpleTest
+{
+    private static final byte[] cert = Base64.decode(
+           "MIIDXjCCAsegAwIBAgIBBzANBgkqhkiG9w0BAQQFADCBtzELMAkGA1UEBhMCQVUx"
+        + "ETAPBgNVBAgTCFZpY3RvcmlhMRgwFgYDVQQHEw9Tb3V0aCBNZWxib3VybmUxGjAY"
+        + "BgNVBAoTEUNvbm5lY3QgNCBQdHkgTHRkMR4wHAYDVQQLExVDZXJ0aWZpY2F0ZSBB"
+        + "dXRob3JpdHkxFTATBgNVBAMTDENvbm5lY3QgNCBDQTEoMCYGCSqGSIb3DQEJARYZ"
+        + "d2VibWFzdGVyQGNvbm5lY3Q0LmNvbS5hdTAeFw0wMDA2MDIwNzU2MjFaFw0wMTA2"
+        + "MDIwNzU2MjFaMIG4MQswCQYDVQQGEwJBVTERMA8GA1UECBMIVmljdG9yaWExGDAW"
+        + "BgNVBAcTD1NvdXRoIE1lbGJvdXJuZTEaMBgGA1UEChMRQ29ubmVjdCA0IFB0eSBM"
+        + "dGQxFzAVBgNVBAsTDldlYnNlcnZlciBUZWFtMR0wGwYDVQQDExR3d3cyLmNvbm5l"
+        + "Y3Q0LmNvbS5hdTEoMCYGCSqGSIb3DQEJARYZd2VibWFzdGVyQGNvbm5lY3Q0LmNv"
+        + "bS5hdTCBnzANBgkqhkiG9w0BAQEFAAOBjQAwgYkCgYEArvDxclKAhyv7Q/Wmr2re"
+        + "Gw4XL9Cnh9e+6VgWy2AWNy/MVeXdlxzd7QAuc1eOWQkGQEiLPy5XQtTY+sBUJ3AO"
+        + "Rvd2fEVJIcjf29ey7bYua9J/vz5MG2KYo9/WCHIwqD9mmG9g0xLcfwq/s8ZJBswE"
+        + "7sb85VU+h94PTvsWOsWuKaECAwEAAaN3MHUwJAYDVR0RBB0wG4EZd2VibWFzdGVy"
+        + "QGNvbm5lY3Q0LmNvbS5hdTA6BglghkgBhvhCAQ0ELRYrbW9kX3NzbCBnZW5lcmF0"
+        + "ZWQgY3VzdG9tIHNlcnZlciBjZXJ0aWZpY2F0ZTARBglghkgBhvhCAQEEBAMCBkAw"
+        + "DQYJKoZIhvcNAQEEBQADgYEAotccfKpwSsIxM1Hae8DR7M/Rw8dg/RqOWx45HNVL"
+        + "iBS4/3N/TO195yeQKbfmzbAA2jbPVvIvGgTxPgO1MP4ZgvgRhasaa0qCJCkWvpM4"
+        + "yQf33vOiYQbpv4rTwzU8AmRlBG45WdjyNIigGV+oRc61aKCTnLq7zB8N3z1TF/bF"
+        + "5/8=");
+
+    private static final byte[] response = Base64.decode(
+            "MIIFnAoBAKCCBZUwggWRBgkrBgEFBQcwAQEEggWCMIIFfjCCARehgZ8wgZwx"
+          + "CzAJBgNVBAYTAklOMRcwFQYDVQQIEw5BbmRocmEgcHJhZGVzaDESMBAGA1UE"
+          + "BxMJSHlkZXJhYmFkMQwwCgYDVQQKEwNUQ1MxDDAKBgNVBAsTA0FUQzEeMBwG"
+          + "A1UEAxMVVENTLUNBIE9DU1AgUmVzcG9uZGVyMSQwIgYJKoZIhvcNAQkBFhVv"
+          + "Y3NwQHRjcy1jYS50Y3MuY28uaW4YDzIwMDMwNDAyMTIzNDU4WjBiMGAwOjAJ"
+          + "BgUrDgMCGgUABBRs07IuoCWNmcEl1oHwIak1BPnX8QQUtGyl/iL9WJ1VxjxF"
+          + "j0hAwJ/s1AcCAQKhERgPMjAwMjA4MjkwNzA5MjZaGA8yMDAzMDQwMjEyMzQ1"
+          + "OFowDQYJKoZIhvcNAQEFBQADgYEAfbN0TCRFKdhsmvOdUoiJ+qvygGBzDxD/"
+          + "VWhXYA+16AphHLIWNABR3CgHB3zWtdy2j7DJmQ/R7qKj7dUhWLSqclAiPgFt"
+          + "QQ1YvSJAYfEIdyHkxv4NP0LSogxrumANcDyC9yt/W9yHjD2ICPBIqCsZLuLk"
+          + "OHYi5DlwWe9Zm9VFwCGgggPMMIIDyDCCA8QwggKsoAMCAQICAQYwDQYJKoZI"
+          + "hvcNAQEFBQAwgZQxFDASBgNVBAMTC1RDUy1DQSBPQ1NQMSYwJAYJKoZIhvcN"
+          + "AQkBFhd0Y3MtY2FAdGNzLWNhLnRjcy5jby5pbjEMMAoGA1UEChMDVENTMQww"
+          + "CgYDVQQLEwNBVEMxEjAQBgNVBAcTCUh5ZGVyYWJhZDEXMBUGA1UECBMOQW5k"
+          + "aHJhIHByYWRlc2gxCzAJBgNVBAYTAklOMB4XDTAyMDgyOTA3MTE0M1oXDTAz"
+          + "MDgyOTA3MTE0M1owgZwxCzAJBgNVBAYTAklOMRcwFQYDVQQIEw5BbmRocmEg"
+          + "cHJhZGVzaDESMBAGA1UEBxMJSHlkZXJhYmFkMQwwCgYDVQQKEwNUQ1MxDDAK"
+          + "BgNVBAsTA0FUQzEeMBwGA1UEAxMVVENTLUNBIE9DU1AgUmVzcG9uZGVyMSQw"
+          + "IgYJKoZIhvcNAQkBFhVvY3NwQHRjcy1jYS50Y3MuY28uaW4wgZ8wDQYJKoZI"
+          + "hvcNAQEBBQADgY0AMIGJAoGBAM+XWW4caMRv46D7L6Bv8iwtKgmQu0SAybmF"
+          + "RJiz12qXzdvTLt8C75OdgmUomxp0+gW/4XlTPUqOMQWv463aZRv9Ust4f8MH"
+          + "EJh4ekP/NS9+d8vEO3P40ntQkmSMcFmtA9E1koUtQ3MSJlcs441JjbgUaVnm"
+          + "jDmmniQnZY4bU3tVAgMBAAGjgZowgZcwDAYDVR0TAQH/BAIwADALBgNVHQ8E"
+          + "BAMCB4AwEwYDVR0lBAwwCgYIKwYBBQUHAwkwNgYIKwYBBQUHAQEEKjAoMCYG"
+          + "CCsGAQUFBzABhhpodHRwOi8vMTcyLjE5LjQwLjExMDo3NzAwLzAtBgNVHR8E"
+          + "JjAkMCKgIKAehhxodHRwOi8vMTcyLjE5LjQwLjExMC9jcmwuY3JsMA0GCSqG"
+          + "SIb3DQEBBQUAA4IBAQB6FovM3B4VDDZ15o12gnADZsIk9fTAczLlcrmXLNN4"
+          + "PgmqgnwF0Ymj3bD5SavDOXxbA65AZJ7rBNAguLUo+xVkgxmoBH7R2sBxjTCc"
+          + "r07NEadxM3HQkt0aX5XYEl8eRoifwqYAI9h0ziZfTNes8elNfb3DoPPjqq6V"
+          + "mMg0f0iMS4W8LjNPorjRB+kIosa1deAGPhq0eJ8yr0/s2QR2/WFD5P4aXc8I"
+          + "KWleklnIImS3zqiPrq6tl2Bm8DZj7vXlTOwmraSQxUwzCKwYob1yGvNOUQTq"
+          + "pG6jxn7jgDawHU1+WjWQe4Q34/pWeGLysxTraMa+Ug9kPe+jy/qRX2xwvKBZ");
+
+    public String getName()
+    {
+        return "SequenceLayout";
+    }
+
+    public void performTest()
+        throws Exception
+    {
+        checkTBSCertificate();
+        checkBasicOCSPResponse();
+        checkOptionalFields();
+        checkErrors();
+        checkEncode();
+        checkEncodeErrors();
+    }
+
+    private void checkTBSCertificate()
+        throws IOException
+    {
+        TBSCertificate tbs = Certificate.getInstance(cert).getTBSCertificate();
+        byte[] tbsEnc = tbs.getEncoded();
+
+        ASN1SequenceFields fields = TBSCertificateLayout.LAYOUT.decode(ByteBuffer.wrap(tbsEnc));
+
+        isEquals(10, fields.size());
+        isTrue(fields.isPresent(TBSCertificateLayout.VERSION));
+        isTrue(!fields.isPresent(TBSCertificateLayout.ISSUER_UNIQUE_ID));
+        isTrue(!fields.isPresent(TBSCertificateLayout.SUBJECT_UNIQUE_ID));
+        isTrue(fields.isPresent(TBSCertificateLayout.EXTENSIONS));
+        isTrue(null == fields.getEncoding(TBSCertificateLayout.ISSUER_UNIQUE_ID));
+        isEquals(BERTags.CONTEXT_SPECIFIC | BERTags.CONSTRUCTED | 3,
+            fields.getIdentifier(TBSCertificateLayout.EXTENSIONS));
+
+        isEquals(tbs.getSerialNumber(), fields.getObject(TBSCertificateLayout.SERIAL_NUMBER));
+        isEquals(tbs.getSubject(), X500Name.getInstance(fields.getObject(TBSCertificateLayout.SUBJECT)));
+        isEquals(tbs.getIssuer(), X500Name.getInstance(fields.getObject(TBSCertificateLayout.ISSUER)));
+        isEquals(tbs.getSubjectPublicKeyInfo(),
+            SubjectPublicKeyInfo.getInstance(fields.getObject(TBSCertificateLayout.SUBJECT_PUBLIC_KEY_INFO)));
+
+        ByteBuffer spki = fields.getEncoding(TBSCertificateLayout.SUBJECT_PUBLIC_KEY_INFO);
+        byte[] spkiEnc = new byte[spki.remaining()];
+        spki.get(spkiEnc);
+        isTrue(Arrays.areEqual(tbs.getSubjectPublicKeyInfo().getEncoded(), spkiEnc));
+
+        ByteBuffer serial = fields.getContents(TBSCertificateLayout.SERIAL_NUMBER);
+        isEquals(1, serial.remaining());
+        isEquals(7, serial.get(0));
+    }
+
+    private void checkBasicOCSPResponse()
+        throws IOException
+    {
+        BasicOCSPResponse basic = BasicOCSPResponse.getInstance(
+            OCSPResponse.getInstance(response).getResponseBytes().getResponse().getOctets());
+
+        ASN1SequenceFields fields = BasicOCSPResponseLayout.LAYOUT.decode(basic.getEncoded());
+
+        isTrue(fields.isPresent(BasicOCSPResponseLayout.CERTS));
+        isEquals(basic.getSignature(), fields.getObject(BasicOCSPResponseLayout.SIGNATURE));
+
+        ASN1SequenceFields data = ResponseDataLayout.LAYOUT.decode(
+            fields.getEncoding(BasicOCSPResponseLayout.TBS_RESPONSE_DATA));
+
+        isTrue(!data.isPresent(ResponseDataLayout.VERSION));
+        isTrue(!data.isPresent(ResponseDataLayout.RESPONSE_EXTENSIONS));
+        isEquals(basic.getTbsResponseData().getProducedAt(),
+            ASN1GeneralizedTime.getInstance(data.getObject(ResponseDataLayout.PRODUCED_AT)));
+        isEquals(basic.getTbsResponseData().getResponses(), data.getObject(ResponseDataLayout.RESPONSES));
+    }
+
+    private void checkOptionalFields()
+        throws IOException
+    {
+        ASN1SequenceLayout layout = new ASN1SequenceLayout.Builder()
+            .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+            .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+            .addOptionalField(BERTags.UNIVERSAL, BERTags.NULL)
+            .addOptionalField(BERTags.CONTEXT_SPECIFIC, 1)
+            .build();
+
+        ASN1SequenceFields fields = layout.decode(new DERSequence(new ASN1Encodable[]{
+            new ASN1Integer(5), new DERTaggedObject(true, 1, DERNull.INSTANCE) }).getEncoded());
+
+        isTrue(!fields.isPresent(0));
+        isEquals(new ASN1Integer(5), fields.getObject(1));
+        isTrue(!fields.isPresent(2));
+        isTrue(null == fields.getObject(2));
+        isEquals(new DERTaggedObject(true, 1, DERNull.INSTANCE), fields.getObject(3));
+    }
+
+    private void checkErrors()
+    {
+        ASN1SequenceLayout layout = new ASN1SequenceLayout.Builder()
+            .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+            .addField(BERTags.UNIVERSAL, BERTags.NULL)
+            .build();
+
+        checkError(layout, new DERSequence(new ASN1Integer(1)), "missing field 1");
+        checkError(layout, new DERSequence(DERNull.INSTANCE), "unexpected tag [0:5] for field 0");
+        checkError(layout, new DERSequence(new ASN1Encodable[]{
+            new ASN1Integer(1), DERNull.INSTANCE, DERNull.INSTANCE }), "unexpected trailing element in SEQUENCE");
+        checkError(layout, new ASN1Integer(1), "SEQUENCE expected");
+    }
+
+    private void checkEncode()
+        throws IOException
+    {
+        // every field passed back unchanged gives the original encoding
+        TBSCertificate tbs = Certificate.getInstance(cert).getTBSCertificate();
+        byte[] tbsEnc = tbs.getEncoded();
+
+        ASN1SequenceFields fields = TBSCertificateLayout.LAYOUT.decode(tbsEnc);
+
+        ByteBuffer[] encodings = new ByteBuffer[fields.size()];
+        for (int i = 0; i != encodings.length; i++)
+        {
+            encodings[i] = fields.getEncoding(i);
+        }
+
+        isTrue(Arrays.areEqual(tbsEnc, TBSCertificateLayout.LAYOUT.encode(encodings)));
+
+        // as does a field being replaced, compared with building the object tree
+        ASN1Sequence seq = ASN1Sequence.getInstance(tbsEnc);
+        ASN1EncodableVector v = new ASN1EncodableVector();
+        for (int i = 0; i != seq.size(); i++)
+        {
+            v.add(i == TBSCertificateLayout.SERIAL_NUMBER ? new ASN1Integer(1000) : seq.getObjectAt(i));
+        }
+
+        encodings[TBSCertificateLayout.SERIAL_NUMBER] = ByteBuffer.wrap(new ASN1Integer(1000).getEncoded());
+        isTrue(Arrays.areEqual(new DERSequence(v).getEncoded(), TBSCertificateLayout.LAYOUT.encode(encodings)));
+
+        // nested layouts, with absent OPTIONAL fields passed as null
+        byte[] basicEnc = BasicOCSPResponse.getInstance(
+            OCSPResponse.getInstance(response).getResponseBytes().getResponse().getOctets()).getEncoded();
+
+        ASN1SequenceFields basic = BasicOCSPResponseLayout.LAYOUT.decode(basicEnc);
+        ASN1SequenceFields data = ResponseDataLayout.LAYOUT.decode(
+            basic.getEncoding(BasicOCSPResponseLayout.TBS_RESPONSE_DATA));
+
+        ByteBuffer[] dataEncodings = new ByteBuffer[data.size()];
+        for (int i = 0; i != dataEncodings.length; i++)
+        {
+            dataEncodings[i] = data.getEncoding(i);
+        }
+
+        ByteBuffer[] basicEncodings = new ByteBuffer[basic.size()];
+        for (int i = 0; i != basicEncodings.length; i++)
+        {
+            basicEncodings[i] = basic.getEncoding(i);
+        }
+        basicEncodings[BasicOCSPResponseLayout.TBS_RESPONSE_DATA] =
+            ByteBuffer.wrap(ResponseDataLayout.LAYOUT.encode(dataEncodings));
+
+        isTrue(Arrays.areEqual(basicEnc, BasicOCSPResponseLayout.LAYOUT.encode(basicEncodings)));
+
+        // absent OPTIONAL fields are left out
+        ASN1SequenceLayout layout = new ASN1SequenceLayout.Builder()
+            .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+            .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+            .addOptionalField(BERTags.UNIVERSAL, BERTags.NULL)
+            .build();
+
+        byte[] enc = layout.encode(new byte[][]{ null, new ASN1Integer(5).getEncoded(), DERNull.INSTANCE.getEncoded() });
+        isTrue(Arrays.areEqual(new DERSequence(new ASN1Encodable[]{
+            new ASN1Integer(5), DERNull.INSTANCE }).getEncoded(), enc));
+    }
+
+    private void checkEncodeErrors()
+        throws IOException
+    {
+        ASN1SequenceLayout layout = new ASN1SequenceLayout.Builder()
+            .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+            .addField(BERTags.UNIVERSAL, BERTags.NULL)
+            .build();
+
+        byte[] one = new ASN1Integer(1).getEncoded();
+        byte[] nul = DERNull.INSTANCE.getEncoded();
+
+        checkEncodeError(layout, new byte[][]{ one, null }, "missing field 1");
+        checkEncodeError(layout, new byte[][]{ nul, nul }, "unexpected tag [0:5] for field 0");
+        checkEncodeError(layout, new byte[][]{ Arrays.concatenate(one, one), nul }, "field 0 is not a single element");
+
+        try
+        {
+            layout.encode(new byte[][]{ one });
+            fail("no exception");
+        }
+        catch (IllegalArgumentException e)
+        {
+            isEquals("layout has 2 fields, 1 given", e.getMessage());
+        }
+    }
+
+    private void checkEncodeError(ASN1SequenceLayout layout, byte[][] fields, String message)
+    {
+        try
+        {
+            layout.encode(fields);
+            fail("no exception for: " + message);
+        }
+        catch (IOException e)
+        {
+            isEquals(message, e.getMessage());
+        }
+    }
+
+    private void checkError(ASN1SequenceLayout layout, ASN1Encodable obj, String message)
+    {
+        try
+        {
+            layout.decode(obj.toASN1Primitive().getEncoded());
+            fail("no exception for: " + message);
+        }
+        catch (IOException e)
+        {
+            isEquals(message, e.getMessage());
+        }
+    }
+
+    public static void main(
+        String[] args)
+    {
+        runTest(new SequenceLayoutTest());
+    }
+}
@@ -31,6 +31,7 @@
 import org.bouncycastle.crypto.params.MQVPublicParameters;
 import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.bouncycastle.crypto.signers.DSADigestSigner;
+import org.bouncycastle.crypto.signers.ECDSAPresignaturePool;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.math.ec.ECConstants;
 import org.bouncycastle.math.ec.ECCurve;
@@ -735,6 +736,93 @@ private void testECDSAKeyGenTest()
         }
     }
 
+    /**
+     * presignature pool test - each presignature is used once, and signing carries on when the pool is empty.
+     */
+    private void testECDSAPresignaturePool()
+        throws Exception
+    {
+        SecureRandom random = new SecureRandom();
+
+        X9ECParameters x9 = CustomNamedCurves.getByName("secp256r1");
+        ECDomainParameters params = new ECDomainParameters(x9.getCurve(), x9.getG(), x9.getN(), x9.getH());
+
+        ECKeyPairGenerator pGen = new ECKeyPairGenerator();
+        pGen.init(new ECKeyGenerationParameters(params, random));
+
+        AsymmetricCipherKeyPair pair = pGen.generateKeyPair();
+
+        ECDSAPresignaturePool pool = new ECDSAPresignaturePool(params, 4, random);
+        pool.fill();
+
+        isEquals(4, pool.size());
+        isEquals(4, pool.getGeneratedCount());
+
+        ECDSASigner ecdsa = new ECDSASigner(pool);
+        ECDSASigner verifier = new ECDSASigner();
+        verifier.init(false, pair.getPublic());
+
+        byte[] message = Strings.toByteArray("presignature pool");
+        BigInteger[] rs = new BigInteger[6];
+
+        for (int i = 0; i < rs.length; ++i)
+        {
+            ecdsa.init(true, pair.getPrivate());
+
+            BigInteger[] sig = ecdsa.generateSignature(message);
+            if (!verifier.verifySignature(message, sig[0], sig[1]))
+            {
+                fail("presignature pool signature fails");
+            }
+
+            for (int j = 0; j < i; ++j)
+            {
+                if (rs[j].equals(sig[0]))
+                {
+                    fail("presignature reused");
+                }
+            }
+            rs[i] = sig[0];
+        }
+
+        isEquals(0, pool.size());
+        isEquals(4, pool.getUsedCount());
+        isEquals(2, pool.getMissedCount());
+
+        pool.start();
+        try
+        {
+            for (int i = 0; pool.size() < pool.getCapacity(); ++i)
+            {
+                if (i == 1000)
+                {
+                    fail("presignature pool not refilled");
+                }
+                Thread.sleep(10);
+            }
+        }
+        finally
+        {
+            pool.stop();
+        }
+
+        isEquals(8, pool.getGeneratedCount());
+
+        X9ECParameters otherX9 = CustomNamedCurves.getByName("secp384r1");
+        pGen.init(new ECKeyGenerationParameters(
+            new ECDomainParameters(otherX9.getCurve(), otherX9.getG(), otherX9.getN(), otherX9.getH()), random));
+
+        try
+        {
+            ecdsa.init(true, pGen.generateKeyPair().getPrivate());
+            fail("no exception");
+        }
+        catch (IllegalArgumentException e)
+        {
+            isEquals("presignature pool is for different domain parameters", e.getMessage());
+        }
+    }
+
     /**
      * Basic Key Agreement Test
      */
@@ -1141,6 +1229,7 @@ public String getName()
     }
 
     public void performTest()
+        throws Exception
     {
         decodeTest();
         testECDSA192bitPrime();
@@ -1148,6 +1237,7 @@ public void performTest()
         testECDSA191bitBinary();
         testECDSA239bitBinary();
         testECDSAKeyGenTest();
+        testECDSAPresignaturePool();
         testECDHBasicAgreement();
         testECDHBasicAgreementCofactor();
 
@@ -0,0 +1,161 @@
+package org.bouncycastle.crypto.test;
+
+import java.security.SecureRandom;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.Xof;
+import org.bouncycastle.crypto.digests.MultiLaneDigest;
+import org.bouncycastle.crypto.digests.MultiLaneSHA256Digest;
+import org.bouncycastle.crypto.digests.MultiLaneSHAKEDigest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.digests.SHAKEDigest;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Memoable;
+import org.bouncycastle.util.test.SimpleTest;
+
+/**
+ * Check each lane of the multi-lane digests against the single lane implementation.
+ */
+public class MultiLaneDigestTest
+    extends SimpleTest
+{
+    private static final int[] LENGTHS = { 0, 1, 31, 55, 56, 63, 64, 65, 100, 135, 136, 137, 167, 168, 169, 300, 1000 };
+
+    private final SecureRandom random = new SecureRandom();
+
+    public String getName()
+    {
+        return "MultiLaneDigest";
+    }
+
+    public void performTest()
+        throws Exception
+    {
+        for (int lanes = 1; lanes <= 8; lanes *= 2)
+        {
+            checkLanes(new MultiLaneSHA256Digest(lanes), new SHA256Digest());
+            checkLanes(new MultiLaneSHAKEDigest(128, lanes), new SHAKEDigest(128));
+            checkLanes(new MultiLaneSHAKEDigest(256, lanes), new SHAKEDigest(256));
+        }
+
+        checkPrefix(new MultiLaneSHA256Digest(4), new SHA256Digest());
+        checkPrefix(new MultiLaneSHAKEDigest(256, 4), new SHAKEDigest(256));
+
+        checkOutputLengths(new MultiLaneSHAKEDigest(128, 4), new SHAKEDigest(128), new int[]{ 0, 7, 16, 168, 169, 500 });
+        checkOutputLengths(new MultiLaneSHA256Digest(4), new SHA256Digest(), new int[]{ 0, 3, 16, 24, 32 });
+    }
+
+    private void checkLanes(MultiLaneDigest multi, Digest single)
+    {
+        for (int i = 0; i != LENGTHS.length; i++)
+        {
+            int len = LENGTHS[i];
+            int lanes = multi.getLanes();
+
+            for (int count = 1; count <= lanes; count++)
+            {
+                byte[] common = new byte[len / 3];
+                random.nextBytes(common);
+
+                byte[][] in = new byte[count][len + 2];
+                byte[][] out = new byte[count][multi.getDigestSize() + 1];
+                for (int l = 0; l != count; l++)
+                {
+                    random.nextBytes(in[l]);
+                }
+
+                multi.update(common, 0, common.length);
+                multi.update(in, 1, len);
+                multi.doFinal(out, 1);
+
+                for (int l = 0; l != count; l++)
+                {
+                    byte[] expected = new byte[single.getDigestSize()];
+                    single.update(common, 0, common.length);
+                    single.update(in[l], 1, len);
+                    single.doFinal(expected, 0);
+
+                    isTrue(multi.getAlgorithmName() + " lane " + l + " of " + count + " mismatch for length " + len,
+                        Arrays.areEqual(expected, Arrays.copyOfRange(out[l], 1, out[l].length)));
+                }
+            }
+        }
+    }
+
+    private void checkPrefix(MultiLaneDigest multi, Digest single)
+    {
+        byte[] prefix = new byte[200];
+        random.nextBytes(prefix);
+
+        multi.update(prefix, 0, prefix.length);
+        Memoable memo = ((Memoable)multi).copy();
+
+        for (int round = 0; round != 3; round++)
+        {
+            ((Memoable)multi).reset(memo);
+
+            byte[][] in = new byte[3][48];
+            byte[][] out = new byte[3][multi.getDigestSize()];
+            for (int l = 0; l != in.length; l++)
+            {
+                random.nextBytes(in[l]);
+            }
+
+            multi.update(in, 0, 48);
+            multi.doFinal(out, 0);
+
+            for (int l = 0; l != in.length; l++)
+            {
+                byte[] expected = new byte[single.getDigestSize()];
+                single.update(prefix, 0, prefix.length);
+                single.update(in[l], 0, 48);
+                single.doFinal(expected, 0);
+
+                isTrue(multi.getAlgorithmName() + " prefix lane " + l + " mismatch", Arrays.areEqual(expected, out[l]));
+            }
+        }
+    }
+
+    private void checkOutputLengths(MultiLaneDigest multi, Digest single, int[] outLens)
+    {
+        byte[][] in = new byte[multi.getLanes()][77];
+        for (int l = 0; l != in.length; l++)
+        {
+            random.nextBytes(in[l]);
+        }
+
+        for (int i = 0; i != outLens.length; i++)
+        {
+            int outLen = outLens[i];
+            byte[][] out = new byte[in.length][outLen];
+
+            multi.update(in, 0, in[0].length);
+            multi.doFinal(out, 0, outLen);
+
+            for (int l = 0; l != in.length; l++)
+            {
+                single.update(in[l], 0, in[l].length);
+
+                byte[] expected;
+                if (single instanceof Xof)
+                {
+                    expected = new byte[outLen];
+                    ((Xof)single).doFinal(expected, 0, outLen);
+                }
+                else
+                {
+                    expected = new byte[single.getDigestSize()];
+                    single.doFinal(expected, 0);
+                    expected = Arrays.copyOfRange(expected, 0, outLen);
+                }
+
+                isTrue(multi.getAlgorithmName() + " output length " + outLen + " mismatch", Arrays.areEqual(expected, out[l]));
+            }
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        runTest(new MultiLaneDigestTest());
+    }
+}
@@ -10,6 +10,7 @@
 import org.bouncycastle.crypto.params.RSAKeyGenerationParameters;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
+import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
 
@@ -192,6 +193,70 @@ private void testOAEP(RSAKeyParameters pubParameters, RSAKeyParameters privParam
         }
     }
 
+    /*
+     * the blinding pair for a key is carried over between operations and refreshed periodically, make sure
+     * results stay correct across refreshes and when the key is used from several threads at once.
+     */
+    private void testBlindingReuse(final RSAKeyParameters pubParameters, final RSAKeyParameters privParameters)
+    {
+        final SecureRandom random = new SecureRandom();
+        final BigInteger modulus = pubParameters.getModulus();
+        final boolean[] failed = new boolean[1];
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t != threads.length; t++)
+        {
+            threads[t] = new Thread()
+            {
+                public void run()
+                {
+                    AsymmetricBlockCipher priv = new RSABlindedEngine();
+                    AsymmetricBlockCipher pub = new RSABlindedEngine();
+
+                    priv.init(true, privParameters);
+                    pub.init(false, pubParameters);
+
+                    try
+                    {
+                        for (int i = 0; i != 100; i++)
+                        {
+                            byte[] msg = BigIntegers.asUnsignedByteArray(BigIntegers.createRandomInRange(BigInteger.valueOf(2), modulus.subtract(BigInteger.valueOf(1)), random));
+                            byte[] sig = priv.processBlock(msg, 0, msg.length);
+                            byte[] res = pub.processBlock(sig, 0, sig.length);
+
+                            if (!new BigInteger(1, msg).equals(new BigInteger(1, res)))
+                            {
+                                failed[0] = true;
+                            }
+                        }
+                    }
+                    catch (Exception e)
+                    {
+                        failed[0] = true;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+
+        for (int t = 0; t != threads.length; t++)
+        {
+            try
+            {
+                threads[t].join();
+            }
+            catch (InterruptedException e)
+            {
+                fail("interrupted");
+            }
+        }
+
+        if (failed[0])
+        {
+            fail("blinded operation failed with reused blinding");
+        }
+    }
+
     public void performTest()
     {
         RSAKeyParameters    pubParameters = new RSAKeyParameters(false, mod, pubExp);
@@ -416,6 +481,7 @@ public void performTest()
         testMissingDataPKCS1Block(pubParameters, privParameters);
         testTruncatedPKCS1Block(pubParameters, privParameters);
         testWrongPaddingPKCS1Block(pubParameters, privParameters);
+        testBlindingReuse(pubParameters, privParameters);
 
         try
         {
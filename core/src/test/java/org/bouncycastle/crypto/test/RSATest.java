@@ -1,5 +1,6 @@
 package org.bouncycastle.crypto.test;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.security.SecureRandom;
 
@@ -11,13 +12,18 @@
 import org.bouncycastle.crypto.digests.SHA1Digest;
 import org.bouncycastle.crypto.encodings.OAEPEncoding;
 import org.bouncycastle.crypto.encodings.PKCS1Encoding;
+import org.bouncycastle.crypto.engines.RSABlindedEngine;
 import org.bouncycastle.crypto.engines.RSAEngine;
 import org.bouncycastle.crypto.generators.RSAKeyPairGenerator;
 import org.bouncycastle.crypto.params.ParametersWithRandom;
 import org.bouncycastle.crypto.params.RSAKeyGenerationParameters;
 import org.bouncycastle.crypto.params.RSAKeyParameters;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
 import org.bouncycastle.crypto.params.RSAPrivateCrtKeyParameters;
+import org.bouncycastle.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.crypto.util.PrivateKeyInfoFactory;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
 
@@ -418,6 +424,82 @@ private void test_CVE_2017_15361()
         }
     }
 
+    private void testMultiPrime()
+    {
+        SecureRandom random = new SecureRandom();
+        BigInteger e = BigInteger.valueOf(65537);
+        RSAKeyPairGenerator pGen = new RSAKeyPairGenerator();
+
+        try
+        {
+            new RSAKeyGenerationParameters(e, random, 2048, 100, 4);
+            fail("too many primes accepted");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // expected
+        }
+
+        pGen.init(new RSAKeyGenerationParameters(e, random, 2048, 100, 3));
+
+        AsymmetricCipherKeyPair pair = pGen.generateKeyPair();
+        RSAKeyParameters pub = (RSAKeyParameters)pair.getPublic();
+        RSAMultiPrimePrivateCrtKeyParameters priv = (RSAMultiPrimePrivateCrtKeyParameters)pair.getPrivate();
+
+        BigInteger n = pub.getModulus();
+        BigInteger[] otherPrimes = priv.getOtherPrimes();
+        if (n.bitLength() != 2048 || otherPrimes.length != 1
+            || !priv.getP().multiply(priv.getQ()).multiply(otherPrimes[0]).equals(n))
+        {
+            fail("multi-prime key generation failed");
+        }
+
+        AsymmetricBlockCipher eng = new RSAEngine();
+        AsymmetricBlockCipher blinded = new RSABlindedEngine();
+
+        eng.init(false, priv);
+        blinded.init(false, priv);
+
+        for (int i = 0; i != 20; i++)
+        {
+            BigInteger x = BigIntegers.createRandomInRange(BigInteger.valueOf(0), n.subtract(BigInteger.valueOf(1)), random);
+            byte[] msg = BigIntegers.asUnsignedByteArray(256, x);
+            BigInteger expected = x.modPow(priv.getExponent(), n);
+
+            try
+            {
+                if (!expected.equals(new BigInteger(1, eng.processBlock(msg, 0, msg.length)))
+                    || !expected.equals(new BigInteger(1, blinded.processBlock(msg, 0, msg.length))))
+                {
+                    fail("multi-prime CRT result incorrect");
+                }
+            }
+            catch (InvalidCipherTextException ex)
+            {
+                fail("failed - exception " + ex.toString(), ex);
+            }
+        }
+
+        try
+        {
+            RSAMultiPrimePrivateCrtKeyParameters decoded = (RSAMultiPrimePrivateCrtKeyParameters)PrivateKeyFactory.createKey(
+                PrivateKeyInfoFactory.createPrivateKeyInfo(priv));
+
+            if (!decoded.getModulus().equals(n) || !decoded.getExponent().equals(priv.getExponent())
+                || !decoded.getQInv().equals(priv.getQInv())
+                || !decoded.getOtherPrimes()[0].equals(otherPrimes[0])
+                || !decoded.getOtherExponents()[0].equals(priv.getOtherExponents()[0])
+                || !decoded.getOtherCoefficients()[0].equals(priv.getOtherCoefficients()[0]))
+            {
+                fail("multi-prime key encoding failed");
+            }
+        }
+        catch (IOException ex)
+        {
+            fail("failed - exception " + ex.toString(), ex);
+        }
+    }
+
     public void performTest()
     {
         RSAKeyParameters pubParameters = new RSAKeyParameters(false, mod, pubExp);
@@ -698,6 +780,7 @@ public void performTest()
         testWrongPaddingPKCS1Block(pubParameters, privParameters);
         test_CVE_2017_15361();
         testUnsafeModulusAndWrongExp();
+        testMultiPrime();
 
         try
         {
@@ -152,6 +152,7 @@
             new Blake2xsDigestTest(),
             new KeccakDigestTest(),
             new SHAKEDigestTest(),
+            new MultiLaneDigestTest(),
             new SM2EngineTest(),
             new SM2KeyExchangeTest(),
             new SM2SignerTest(),
@@ -7,6 +7,7 @@
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.crypto.ec.CustomNamedCurves;
 import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.custom.sec.SecP384R1Field;
 import org.bouncycastle.math.raw.Nat;
 
 import junit.framework.TestCase;
@@ -117,6 +118,32 @@ public void testSquare_CarryBug_Reported()
         assertEquals(R, Z);
     }
 
+    public void testMultiplyScratch()
+    {
+        int COUNT = 1000;
+
+        int[] z1 = Nat.create(12), z2 = Nat.create(12);
+        int[] tt = Nat.create(24), t = Nat.create(24);
+
+        for (int i = 0; i < COUNT; ++i)
+        {
+            int[] x = Nat.fromBigInteger(384, generateMultiplyInput_Random().toBigInteger());
+            int[] y = Nat.fromBigInteger(384, generateMultiplyInput_Random().toBigInteger());
+
+            SecP384R1Field.multiply(x, y, z1, tt);
+            SecP384R1Field.multiply(x, y, z2, tt, t);
+            assertTrue(Nat.eq(12, z1, z2));
+
+            SecP384R1Field.square(x, z1, tt);
+            SecP384R1Field.square(x, z2, tt, t);
+            assertTrue(Nat.eq(12, z1, z2));
+
+            SecP384R1Field.squareN(x, 3, z1, tt);
+            SecP384R1Field.squareN(x, 3, z2, tt, t);
+            assertTrue(Nat.eq(12, z1, z2));
+        }
+    }
+
     private ECFieldElement fe(BigInteger x)
     {
         return DP.getCurve().fromBigInteger(x);
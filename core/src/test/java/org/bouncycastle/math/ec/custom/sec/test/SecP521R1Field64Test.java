@@ -0,0 +1,143 @@
+package org.bouncycastle.math.ec.custom.sec.test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field64;
+import org.bouncycastle.math.raw.Nat;
+
+import junit.framework.TestCase;
+
+public class SecP521R1Field64Test extends TestCase
+{
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final BigInteger Q = BigInteger.ONE.shiftLeft(521).subtract(BigInteger.ONE);
+
+    public void testAgainstSecP521R1Field()
+    {
+        int[] x32 = Nat.create(17), y32 = Nat.create(17), t32 = Nat.create(17);
+        int[] r32 = Nat.create(17), r64 = Nat.create(17);
+        long[] x64 = SecP521R1Field64.create(), y64 = SecP521R1Field64.create(), t64 = SecP521R1Field64.create();
+
+        for (int i = 1; i <= 1000; ++i)
+        {
+            SecP521R1Field.random(RANDOM, x32);
+            SecP521R1Field.random(RANDOM, y32);
+            SecP521R1Field64.decode(x32, x64);
+            SecP521R1Field64.decode(y32, y64);
+
+            // Partially reduced limbs, as produced inside the point formulae
+            SecP521R1Field.subtract(x32, y32, t32);
+            SecP521R1Field.multiply(t32, x32, x32);
+            SecP521R1Field.add(x32, y32, x32);
+            SecP521R1Field.square(x32, y32);
+            SecP521R1Field.negate(y32, t32);
+            SecP521R1Field.twice(t32, t32);
+            SecP521R1Field.multiply(t32, x32, x32);
+            SecP521R1Field.add(x32, x32, t32);
+            SecP521R1Field.add(t32, x32, x32);
+
+            SecP521R1Field64.subtract(x64, y64, t64);
+            SecP521R1Field64.multiply(t64, x64, x64);
+            SecP521R1Field64.add(x64, y64, x64);
+            SecP521R1Field64.square(x64, y64);
+            SecP521R1Field64.negate(y64, t64);
+            SecP521R1Field64.twice(t64, t64);
+            SecP521R1Field64.multiply(t64, x64, x64);
+            SecP521R1Field64.multiply(x64, 3, x64);
+
+            SecP521R1Field64.copy(x64, t64);
+            SecP521R1Field64.normalize(t64);
+            SecP521R1Field64.encode(t64, r64);
+            assertTrue("mul #" + i, Nat.eq(17, x32, r64));
+
+            SecP521R1Field.inv(x32, r32);
+            SecP521R1Field64.inv(x64, t64);
+            SecP521R1Field64.normalize(t64);
+            SecP521R1Field64.encode(t64, r64);
+            assertTrue("inv #" + i, Nat.eq(17, r32, r64));
+        }
+    }
+
+    public void testBounds()
+    {
+        // Every limb at the largest partially reduced value
+        long[] x = SecP521R1Field64.create(), z = SecP521R1Field64.create();
+        for (int i = 0; i < SecP521R1Field64.SIZE; ++i)
+        {
+            x[i] = (1L << 58) + (1L << 6) - 1;
+        }
+
+        BigInteger X = toBigInteger(x);
+
+        SecP521R1Field64.multiply(x, x, z);
+        assertEquals(X.multiply(X).mod(Q), toBigInteger(z).mod(Q));
+        assertTrue(isPartiallyReduced(z));
+
+        SecP521R1Field64.square(x, z);
+        assertEquals(X.multiply(X).mod(Q), toBigInteger(z).mod(Q));
+        assertTrue(isPartiallyReduced(z));
+
+        SecP521R1Field64.subtract(SecP521R1Field64.create(), x, z);
+        assertEquals(X.negate().mod(Q), toBigInteger(z).mod(Q));
+        assertTrue(isPartiallyReduced(z));
+
+        SecP521R1Field64.multiply(x, 8, z);
+        assertEquals(X.shiftLeft(3).mod(Q), toBigInteger(z).mod(Q));
+        assertTrue(isPartiallyReduced(z));
+
+        SecP521R1Field64.normalize(x);
+        assertEquals(X.mod(Q), SecP521R1Field64.toBigInteger(x));
+    }
+
+    public void testNormalize()
+    {
+        // p, 2^521 and 2^522 - 1
+        BigInteger[] xs = new BigInteger[]{ Q, Q.add(BigInteger.ONE), BigInteger.ONE.shiftLeft(522).subtract(BigInteger.ONE) };
+
+        for (int i = 0; i < xs.length; ++i)
+        {
+            long[] x = fromBigInteger(xs[i]);
+            SecP521R1Field64.normalize(x);
+            assertEquals(xs[i].mod(Q), SecP521R1Field64.toBigInteger(x));
+        }
+
+        long[] p = fromBigInteger(Q);
+        SecP521R1Field64.normalize(p);
+        assertTrue(SecP521R1Field64.isZero(p));
+    }
+
+    private static long[] fromBigInteger(BigInteger x)
+    {
+        long[] z = SecP521R1Field64.create();
+        for (int i = 0; i < SecP521R1Field64.SIZE; ++i)
+        {
+            z[i] = x.shiftRight(58 * i).longValue() & ((1L << 58) - 1);
+        }
+        return z;
+    }
+
+    private static boolean isPartiallyReduced(long[] x)
+    {
+        for (int i = 0; i < SecP521R1Field64.SIZE; ++i)
+        {
+            if (x[i] < 0 || x[i] >= (1L << 58) + (1L << 6))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BigInteger toBigInteger(long[] x)
+    {
+        BigInteger z = BigInteger.ZERO;
+        for (int i = SecP521R1Field64.SIZE - 1; i >= 0; --i)
+        {
+            z = z.shiftLeft(58).add(BigInteger.valueOf(x[i]));
+        }
+        return z;
+    }
+}
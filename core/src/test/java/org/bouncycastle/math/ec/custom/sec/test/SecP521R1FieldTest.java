@@ -0,0 +1,95 @@
+package org.bouncycastle.math.ec.custom.sec.test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import org.bouncycastle.asn1.sec.SECObjectIdentifiers;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field;
+import org.bouncycastle.math.raw.Nat;
+
+import junit.framework.TestCase;
+
+public class SecP521R1FieldTest extends TestCase
+{
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final X9ECParameters DP = CustomNamedCurves
+        .getByOID(SECObjectIdentifiers.secp521r1);
+    private static final BigInteger Q = DP.getCurve().getField().getCharacteristic();
+
+    public void testMultiply1()
+    {
+        int COUNT = 1000;
+
+        for (int i = 0; i < COUNT; ++i)
+        {
+            ECFieldElement x = generateMultiplyInput_Random();
+            ECFieldElement y = generateMultiplyInput_Random();
+
+            BigInteger X = x.toBigInteger(), Y = y.toBigInteger();
+            BigInteger R = X.multiply(Y).mod(Q);
+
+            ECFieldElement z = x.multiply(y);
+            BigInteger Z = z.toBigInteger();
+
+            assertEquals(R, Z);
+        }
+    }
+
+    public void testSquare()
+    {
+        int COUNT = 1000;
+
+        for (int i = 0; i < COUNT; ++i)
+        {
+            ECFieldElement x = generateMultiplyInput_Random();
+
+            BigInteger X = x.toBigInteger();
+            BigInteger R = X.multiply(X).mod(Q);
+
+            ECFieldElement z = x.square();
+            BigInteger Z = z.toBigInteger();
+
+            assertEquals(R, Z);
+        }
+    }
+
+    public void testMultiplyScratch()
+    {
+        int COUNT = 1000;
+
+        int[] z1 = Nat.create(17), z2 = Nat.create(17);
+        int[] tt = Nat.create(33), t = Nat.create(32);
+
+        for (int i = 0; i < COUNT; ++i)
+        {
+            int[] x = Nat.fromBigInteger(521, generateMultiplyInput_Random().toBigInteger());
+            int[] y = Nat.fromBigInteger(521, generateMultiplyInput_Random().toBigInteger());
+
+            SecP521R1Field.multiply(x, y, z1, tt);
+            SecP521R1Field.multiply(x, y, z2, tt, t);
+            assertTrue(Nat.eq(17, z1, z2));
+
+            SecP521R1Field.square(x, z1, tt);
+            SecP521R1Field.square(x, z2, tt, t);
+            assertTrue(Nat.eq(17, z1, z2));
+
+            SecP521R1Field.squareN(x, 3, z1, tt);
+            SecP521R1Field.squareN(x, 3, z2, tt, t);
+            assertTrue(Nat.eq(17, z1, z2));
+        }
+    }
+
+    private ECFieldElement fe(BigInteger x)
+    {
+        return DP.getCurve().fromBigInteger(x);
+    }
+
+    private ECFieldElement generateMultiplyInput_Random()
+    {
+        return fe(new BigInteger(DP.getCurve().getFieldSize() + 32, RANDOM).mod(Q));
+    }
+}
@@ -0,0 +1,88 @@
+package org.bouncycastle.math.ec.rfc7748.test;
+
+import java.security.SecureRandom;
+
+import junit.framework.TestCase;
+import org.bouncycastle.math.ec.rfc7748.X25519Field;
+import org.bouncycastle.math.ec.rfc7748.X25519Field64;
+import org.bouncycastle.util.Arrays;
+
+public class X25519Field64Test
+    extends TestCase
+{
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+//    @Test
+    public void testAgainstX25519Field()
+    {
+        byte[] bx = new byte[32], by = new byte[32];
+        byte[] r32 = new byte[32], r64 = new byte[32];
+
+        int[] x32 = X25519Field.create(), y32 = X25519Field.create();
+        int[] p32 = X25519Field.create(), m32 = X25519Field.create();
+        long[] x64 = X25519Field64.create(), y64 = X25519Field64.create();
+        long[] p64 = X25519Field64.create(), m64 = X25519Field64.create();
+
+        for (int i = 1; i <= 1000; ++i)
+        {
+            RANDOM.nextBytes(bx);
+            RANDOM.nextBytes(by);
+
+            X25519Field.decode(bx, 0, x32);
+            X25519Field.decode(by, 0, y32);
+            X25519Field64.decode(bx, 0, x64);
+            X25519Field64.decode(by, 0, y64);
+
+            // Unreduced (and possibly negative) limbs, as produced inside the point formulae
+            X25519Field.apm(x32, y32, p32, m32);
+            X25519Field.mul(p32, m32, x32);
+            X25519Field.sqr(m32, y32);
+            X25519Field.sub(x32, y32, y32);
+            X25519Field.mul(y32, 121666, y32);
+            X25519Field.mul(p32, y32, x32);
+
+            X25519Field64.apm(x64, y64, p64, m64);
+            X25519Field64.mul(p64, m64, x64);
+            X25519Field64.sqr(m64, y64);
+            X25519Field64.sub(x64, y64, y64);
+            X25519Field64.mul(y64, 121666, y64);
+            X25519Field64.mul(p64, y64, x64);
+
+            X25519Field.normalize(x32);
+            X25519Field.encode(x32, r32, 0);
+            X25519Field64.normalize(x64);
+            X25519Field64.encode(x64, r64, 0);
+            assertTrue("mul #" + i, Arrays.areEqual(r32, r64));
+
+            X25519Field.inv(x32, x32);
+            X25519Field.normalize(x32);
+            X25519Field.encode(x32, r32, 0);
+            X25519Field64.inv(x64, x64);
+            X25519Field64.normalize(x64);
+            X25519Field64.encode(x64, r64, 0);
+            assertTrue("inv #" + i, Arrays.areEqual(r32, r64));
+        }
+    }
+
+//    @Test
+    public void testNormalize()
+    {
+        // p, p + 1 and 2^255 - 1, in 51-bit limbs
+        long[][] xs = new long[][]{
+            { 0x7FFFFFFFFFFEDL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL },
+            { 0x7FFFFFFFFFFEEL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL },
+            { 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL, 0x7FFFFFFFFFFFFL } };
+        long[] expected = new long[]{ 0, 1, 18 };
+
+        for (int i = 0; i < xs.length; ++i)
+        {
+            long[] x = xs[i];
+            X25519Field64.normalize(x);
+            assertEquals(expected[i], x[0]);
+            for (int j = 1; j < X25519Field64.SIZE; ++j)
+            {
+                assertEquals(0L, x[j]);
+            }
+        }
+    }
+}
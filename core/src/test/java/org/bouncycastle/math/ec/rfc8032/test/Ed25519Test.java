@@ -79,6 +79,43 @@ public void testEd25519Consistency()
         }
     }
     
+//    @Test
+    public void testEd25519PublicPointReuse()
+    {
+        byte[] sk = new byte[Ed25519.SECRET_KEY_SIZE];
+        byte[] pk = new byte[Ed25519.PUBLIC_KEY_SIZE];
+        byte[] m = new byte[255];
+        byte[] sig = new byte[Ed25519.SIGNATURE_SIZE];
+
+        Ed25519.generatePrivateKey(RANDOM, sk);
+        Ed25519.PublicPoint publicPoint = Ed25519.generatePublicKey(sk, 0);
+        Ed25519.encodePublicPoint(publicPoint, pk, 0);
+
+        for (int i = 0; i < 20; ++i)
+        {
+            RANDOM.nextBytes(m);
+            int mLen = RANDOM.nextInt() & 255;
+
+            Ed25519.sign(sk, 0, pk, 0, m, 0, mLen, sig, 0);
+
+            assertTrue("Ed25519 reused point sign/verify #" + i, Ed25519.verify(sig, 0, publicPoint, m, 0, mLen));
+
+            byte[] badSig = Arrays.clone(sig);
+            badSig[RANDOM.nextInt(Ed25519.SIGNATURE_SIZE - 1)] ^= 1 << (RANDOM.nextInt() & 7);
+
+            assertEquals("Ed25519 reused point verification failure #" + i,
+                Ed25519.verify(badSig, 0, pk, 0, m, 0, mLen), Ed25519.verify(badSig, 0, publicPoint, m, 0, mLen));
+
+            if (mLen > 0)
+            {
+                m[0] ^= 1;
+
+                assertFalse("Ed25519 reused point message tampering #" + i,
+                    Ed25519.verify(sig, 0, publicPoint, m, 0, mLen));
+            }
+        }
+    }
+
 //    @Test
     public void testEd25519ctxConsistency()
     {
@@ -690,14 +727,27 @@ private static boolean implTamingVector(String msgHex, String pubHex, String sig
         byte[] pub = Hex.decodeStrict(pubHex);
         byte[] sig = Hex.decodeStrict(sigHex);
 
+        boolean result;
         try
         {
-            return Ed25519.verify(sig, 0, pub, 0, msg, 0, msg.length);
+            result = Ed25519.verify(sig, 0, pub, 0, msg, 0, msg.length);
         }
         catch (RuntimeException e)
         {
             return false;
         }
+
+        // Repeated verifications against the same PublicPoint switch to its comb table and must agree
+        Ed25519.PublicPoint publicPoint = Ed25519.validatePublicKeyPartialExport(pub, 0);
+        if (publicPoint != null)
+        {
+            for (int i = 0; i < 3; ++i)
+            {
+                assertEquals(result, Ed25519.verify(sig, 0, publicPoint, msg, 0, msg.length));
+            }
+        }
+
+        return result;
     }
 
     private static void checkEd25519Vector(String sSK, String sPK, String sM, String sSig, String text)
@@ -80,6 +80,47 @@ public void testEd448Consistency()
         }
     }
 
+//    @Test
+    public void testEd448PublicPointReuse()
+    {
+        byte[] sk = new byte[Ed448.SECRET_KEY_SIZE];
+        byte[] pk = new byte[Ed448.PUBLIC_KEY_SIZE];
+        byte[] ctx = new byte[RANDOM.nextInt() & 7];
+        byte[] m = new byte[255];
+        byte[] sig = new byte[Ed448.SIGNATURE_SIZE];
+
+        RANDOM.nextBytes(ctx);
+
+        Ed448.generatePrivateKey(RANDOM, sk);
+        Ed448.PublicPoint publicPoint = Ed448.generatePublicKey(sk, 0);
+        Ed448.encodePublicPoint(publicPoint, pk, 0);
+
+        for (int i = 0; i < 20; ++i)
+        {
+            RANDOM.nextBytes(m);
+            int mLen = RANDOM.nextInt() & 255;
+
+            Ed448.sign(sk, 0, pk, 0, ctx, m, 0, mLen, sig, 0);
+
+            assertTrue("Ed448 reused point sign/verify #" + i, Ed448.verify(sig, 0, publicPoint, ctx, m, 0, mLen));
+
+            byte[] badSig = Arrays.clone(sig);
+            badSig[RANDOM.nextInt(Ed448.SIGNATURE_SIZE - 1)] ^= 1 << (RANDOM.nextInt() & 7);
+
+            assertEquals("Ed448 reused point verification failure #" + i,
+                Ed448.verify(badSig, 0, pk, 0, ctx, m, 0, mLen),
+                Ed448.verify(badSig, 0, publicPoint, ctx, m, 0, mLen));
+
+            if (mLen > 0)
+            {
+                m[0] ^= 1;
+
+                assertFalse("Ed448 reused point message tampering #" + i,
+                    Ed448.verify(sig, 0, publicPoint, ctx, m, 0, mLen));
+            }
+        }
+    }
+
 //    @Test
     public void testEd448phConsistency()
     {
@@ -643,6 +684,14 @@ private static void checkEd448Vector(String sSK, String sPK, String sM, String s
 
         boolean shouldNotVerify = Ed448.verify(badsig, 0, pk, 0, ctx, m, 0, m.length);
         assertFalse(text, shouldNotVerify);
+
+        // Repeated verifications against the same PublicPoint switch to its comb table
+        Ed448.PublicPoint publicPoint = Ed448.validatePublicKeyPartialExport(pk, 0);
+        for (int i = 0; i < 3; ++i)
+        {
+            assertTrue(text, Ed448.verify(sig, 0, publicPoint, ctx, m, 0, m.length));
+            assertFalse(text, Ed448.verify(badsig, 0, publicPoint, ctx, m, 0, m.length));
+        }
     }
 
     private static void checkEd448phVector(String sSK, String sPK, String sM, String sCTX, String sSig, String text)
@@ -22,10 +22,12 @@
 import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECFieldElement;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
 import org.bouncycastle.math.ec.WNafUtil;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.BigIntegers;
 import org.bouncycastle.util.Integers;
+import org.bouncycastle.util.Properties;
 import org.bouncycastle.util.encoders.Hex;
 
 /**
@@ -663,6 +665,156 @@ public void testExampleFpB0() throws Exception
         implAddSubtractMultiplyTwiceEncodingTestAllCoords(x9);
     }
 
+    public void testDecodePointCache()
+    {
+        X9ECParameters x9 = CustomNamedCurves.getByName("secp256r1");
+        ECCurve curve = x9.getCurve();
+        SecureRandom secRand = new SecureRandom();
+
+        ECPoint q = x9.getG().multiply(new BigInteger(x9.getN().bitLength() - 1, secRand)).normalize();
+        byte[] compressed = q.getEncoded(true);
+        byte[] uncompressed = q.getEncoded(false);
+
+        ECPoint p1 = curve.decodePoint(compressed);
+        assertPointsEqual("Decoded point inconsistency", q, p1);
+
+        // a later decoding of the same encoding returns the same point, with its precomputations
+        ECAlgorithms.sumOfTwoMultiplies(x9.getG(), BigInteger.ONE, p1, BigInteger.valueOf(2));
+        assertSame(p1, curve.decodePoint(Arrays.clone(compressed)));
+        assertNotNull(curve.getPreCompInfo(p1, WNafUtil.PRECOMP_NAME));
+
+        // the cache must hold its own copy of the encoding
+        byte[] encoding = Arrays.clone(uncompressed);
+        ECPoint p2 = curve.decodePoint(encoding);
+        encoding[encoding.length - 1] ^= 1;
+        assertSame(p2, curve.decodePoint(uncompressed));
+
+        try
+        {
+            curve.decodePoint(encoding);
+            fail("invalid point decoded");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+
+        Properties.setThreadOverride("org.bouncycastle.ec.disable_point_cache", true);
+        try
+        {
+            assertNotSame(p1, curve.decodePoint(compressed));
+        }
+        finally
+        {
+            Properties.removeThreadOverride("org.bouncycastle.ec.disable_point_cache");
+        }
+    }
+
+    public void testMultiplyExceptionalCases()
+    {
+        implMultiplyExceptionalCasesTest(CustomNamedCurves.getByName("secp256r1"));
+        implMultiplyExceptionalCasesTest(CustomNamedCurves.getByName("secp384r1"));
+        implMultiplyExceptionalCasesTest(CustomNamedCurves.getByName("secp521r1"));
+    }
+
+    private void implMultiplyExceptionalCasesTest(X9ECParameters x9)
+    {
+        // small scalars, and those just below the order, make the in-place accumulators hit doublings
+        ECPoint G = x9.getG();
+        BigInteger n = x9.getN();
+        FixedPointCombMultiplier comb = new FixedPointCombMultiplier();
+
+        ECPoint ref = G.getCurve().getInfinity();
+        for (int i = 1; i <= 200; ++i)
+        {
+            ref = ref.add(G);
+
+            BigInteger k = BigInteger.valueOf(i);
+            assertPointsEqual("ECPoint.multiply is incorrect", ref, G.multiply(k));
+            assertPointsEqual("FixedPointCombMultiplier is incorrect", ref, comb.multiply(G, k));
+
+            k = n.subtract(k);
+            assertPointsEqual("ECPoint.multiply is incorrect", ref.negate(), G.multiply(k));
+            assertPointsEqual("FixedPointCombMultiplier is incorrect", ref.negate(), comb.multiply(G, k));
+        }
+
+        // as do some scalars of the form 2^i + c, for the comb
+        ECPoint[] small = new ECPoint[8];
+        for (int c = 1; c < 8; ++c)
+        {
+            small[c] = ECAlgorithms.referenceMultiply(G, BigInteger.valueOf(c));
+        }
+
+        ECPoint pow2 = G.twice();
+        for (int i = 2; i < n.bitLength() - 1; ++i)
+        {
+            pow2 = pow2.twice();
+            for (int c = 1; c < 8; ++c)
+            {
+                BigInteger k = BigInteger.ONE.shiftLeft(i).add(BigInteger.valueOf(c));
+                assertPointsEqual("FixedPointCombMultiplier is incorrect", pow2.add(small[c]), comb.multiply(G, k));
+            }
+        }
+    }
+
+    public void testDecodePoints()
+    {
+        implDecodePointsTest(CustomNamedCurves.getByName("secp256r1"));
+        implDecodePointsTest(CustomNamedCurves.getByName("sect283k1"));
+        implDecodePointsTest(ECNamedCurveTable.getByName("sect233r1"));
+        implDecodePointsTest(ECNamedCurveTable.getByName("c2tnb239v3"));
+    }
+
+    private void implDecodePointsTest(X9ECParameters x9)
+    {
+        ECCurve curve = x9.getCurve();
+        SecureRandom secRand = new SecureRandom();
+
+        int count = 20;
+        ECPoint[] expected = new ECPoint[count];
+        byte[][] encodings = new byte[count][];
+        for (int i = 0; i < count; ++i)
+        {
+            expected[i] = (i == 0) ? curve.getInfinity()
+                : x9.getG().multiply(new BigInteger(x9.getN().bitLength() - 1, secRand)).normalize();
+            encodings[i] = expected[i].getEncoded((i & 1) == 0);
+        }
+
+        ECPoint[] decoded = curve.decodePoints(encodings);
+        assertEquals(count, decoded.length);
+        for (int i = 0; i < count; ++i)
+        {
+            assertPointsEqual("Batch decoded point inconsistency", expected[i], decoded[i]);
+            assertPointsEqual("Batch decoded point inconsistency", curve.decodePoint(encodings[i]), decoded[i]);
+        }
+
+        // find an x that does not decompress and check the whole batch is rejected
+        byte[] invalid = Arrays.clone(encodings[2]);
+        for (;;)
+        {
+            invalid[invalid.length - 1]++;
+            try
+            {
+                curve.decodePoint(invalid);
+            }
+            catch (IllegalArgumentException e)
+            {
+                break;
+            }
+        }
+
+        encodings[count / 2] = invalid;
+        try
+        {
+            curve.decodePoints(encodings);
+            fail("invalid point decoded in batch");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
     private void assertPointsEqual(String message, ECPoint a, ECPoint b)
     {
         // NOTE: We intentionally test points for equality in both directions
@@ -1,5 +1,8 @@
 package org.bouncycastle.pqc.crypto.lms;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import junit.framework.TestCase;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
@@ -168,4 +171,102 @@ public void testContextSingleUse()
 
     }
 
+    public void testTraversal()
+        throws Exception
+    {
+        byte[] I = Hex.decode("d08fabd4a2091ff0a8cb4ed834e74534");
+        byte[] seed = Hex.decode("558b8966c48ae9cb898b423c83443aae014a72f1b1ab5cc85cf1d892903b5439");
+
+        LMSigParameters sigParameters = LMSigParameters.lms_sha256_n32_h5;
+        LMOtsParameters otsParameters = LMOtsParameters.sha256_n32_w8;
+
+        // subtree height 5 keeps the whole tree, the others have to build their subtrees as they go.
+        LMSTraversal full = new LMSTraversal(sigParameters, otsParameters, I, seed, 5, 0);
+        LMSTraversal layered = new LMSTraversal(sigParameters, otsParameters, I, seed, 2, 0);
+        LMSTraversal jumping = new LMSTraversal(sigParameters, otsParameters, I, seed, 1, 0);
+
+        assertTrue(Arrays.areEqual(full.getRoot(), layered.getRoot()));
+        assertTrue(Arrays.areEqual(full.getRoot(), jumping.getRoot()));
+
+        for (int q = 0; q < 32; q++)
+        {
+            byte[][] path = full.getAuthPath();
+
+            assertPathEquals(path, layered.getAuthPath());
+            if (jumping.getIndex() == q)
+            {
+                assertPathEquals(path, jumping.getAuthPath());
+            }
+
+            if (q < 31)
+            {
+                full.advanceTo(q + 1, null);
+                layered.advanceTo(q + 1, null);
+                if (q % 7 == 0)
+                {
+                    jumping.advanceTo(Math.min(31, q + 1 + q / 3), null);
+                }
+            }
+        }
+
+        // the LMSTraversal.copy() used for shards must carry on independently.
+        LMSTraversal start = new LMSTraversal(sigParameters, otsParameters, I, seed, 2, 9);
+        LMSTraversal copy = start.copy();
+        start.advanceTo(30, null);
+        for (int q = 9; q < 32; q++)
+        {
+            assertPathEquals(path(sigParameters, otsParameters, I, seed, q), copy.getAuthPath());
+            if (q < 31)
+            {
+                copy.advanceTo(q + 1, null);
+            }
+        }
+        assertPathEquals(path(sigParameters, otsParameters, I, seed, 30), start.getAuthPath());
+    }
+
+    public void testTraversalExecutor()
+        throws Exception
+    {
+        LMSPrivateKeyParameters privKey = new LMSPrivateKeyParameters(LMSigParameters.lms_sha256_n32_h5,
+            LMOtsParameters.sha256_n32_w4, 0, Hex.decode("d08fabd4a2091ff0a8cb4ed834e74534"), 32,
+            Hex.decode("558b8966c48ae9cb898b423c83443aae014a72f1b1ab5cc85cf1d892903b5439"));
+        LMSPublicKeyParameters pubKey = privKey.getPublicKey();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            privKey.setTraversalExecutor(executor);
+
+            LMSSigner signer = new LMSSigner();
+            byte[] msg = Hex.decode("deadbeef");
+
+            for (int i = 0; i != 32; i++)
+            {
+                signer.init(true, privKey);
+                byte[] sig = signer.generateSignature(msg);
+
+                signer.init(false, pubKey);
+                assertTrue(signer.verifySignature(msg, sig));
+            }
+            assertEquals(0, privKey.getUsagesRemaining());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertPathEquals(byte[][] expected, byte[][] path)
+    {
+        assertEquals(expected.length, path.length);
+        for (int i = 0; i != expected.length; i++)
+        {
+            assertTrue(Arrays.areEqual(expected[i], path[i]));
+        }
+    }
+
+    private static byte[][] path(LMSigParameters sigParameters, LMOtsParameters otsParameters, byte[] I, byte[] seed, int q)
+    {
+        return new LMSTraversal(sigParameters, otsParameters, I, seed, sigParameters.getH(), q).getAuthPath();
+    }
 }
@@ -230,6 +230,54 @@ public void testVectors()
         }
     }
 
+    public void testDilithiumRepeatedKeyUse()
+    {
+        DilithiumParameters[] params = new DilithiumParameters[]{
+            DilithiumParameters.dilithium2,
+            DilithiumParameters.dilithium3,
+            DilithiumParameters.dilithium5,
+        };
+
+        SecureRandom random = new SecureRandom();
+        for (int p = 0; p != params.length; p++)
+        {
+            DilithiumKeyPairGenerator keyGen = new DilithiumKeyPairGenerator();
+
+            keyGen.init(new DilithiumKeyGenerationParameters(random, params[p]));
+
+            AsymmetricCipherKeyPair keyPair = keyGen.generateKeyPair();
+            DilithiumPrivateKeyParameters skparam = (DilithiumPrivateKeyParameters)keyPair.getPrivate();
+            DilithiumPublicKeyParameters pkparam = (DilithiumPublicKeyParameters)keyPair.getPublic();
+
+            DilithiumSigner signer = new DilithiumSigner();
+            signer.init(true, skparam);
+
+            // deterministic signatures must not depend on which copy of the key is used
+            DilithiumSigner otherSigner = new DilithiumSigner();
+            otherSigner.init(true, new DilithiumPrivateKeyParameters(params[p], skparam.getEncoded(), pkparam));
+
+            DilithiumSigner verifier = new DilithiumSigner();
+            verifier.init(false, pkparam);
+
+            for (int i = 0; i != 20; i++)
+            {
+                byte[] msg = Strings.toByteArray("Hello World! " + i);
+
+                byte[] sig = signer.generateSignature(msg);
+
+                assertTrue(Arrays.areEqual(sig, otherSigner.generateSignature(msg)));
+                assertTrue(verifier.verifySignature(msg, sig));
+
+                // a verifier for a copy of the public key decoded from its encoding
+                DilithiumSigner otherVerifier = new DilithiumSigner();
+                otherVerifier.init(false, new DilithiumPublicKeyParameters(params[p], pkparam.getEncoded()));
+
+                assertTrue(otherVerifier.verifySignature(msg, sig));
+                assertFalse(otherVerifier.verifySignature(Strings.toByteArray("Hello World? " + i), sig));
+            }
+        }
+    }
+
     public void testDilithiumRandom()
     {
         byte[] msg = Strings.toByteArray("Hello World!");
@@ -293,6 +293,62 @@ public void testVectors()
         }
     }
 
+    public void testKyberRepeatedEncapsulation()
+    {
+        KyberParameters[] params = new KyberParameters[]{
+                KyberParameters.kyber512,
+                KyberParameters.kyber768,
+                KyberParameters.kyber1024,
+        };
+
+        SecureRandom random = new SecureRandom();
+        for (int p = 0; p != params.length; p++)
+        {
+            KyberKeyPairGenerator keyGen = new KyberKeyPairGenerator();
+
+            keyGen.init(new KyberKeyGenerationParameters(random, params[p]));
+
+            AsymmetricCipherKeyPair keyPair = keyGen.generateKeyPair();
+            KyberPublicKeyParameters pubKey = (KyberPublicKeyParameters)keyPair.getPublic();
+
+            KyberKEMGenerator kemGen = new KyberKEMGenerator(random);
+            KyberKEMExtractor kemExtract = new KyberKEMExtractor((KyberPrivateKeyParameters)keyPair.getPrivate());
+
+            byte[] encapsulation = null;
+            for (int i = 0; i != 50; i++)
+            {
+                // alternate between the original key and a copy decoded from its encoding
+                KyberPublicKeyParameters key = (i % 2 == 0) ? pubKey : new KyberPublicKeyParameters(params[p], pubKey.getEncoded());
+
+                SecretWithEncapsulation secretEncap = kemGen.generateEncapsulated(key);
+
+                assertTrue(Arrays.areEqual(secretEncap.getSecret(), kemExtract.extractSecret(secretEncap.getEncapsulation())));
+
+                encapsulation = secretEncap.getEncapsulation();
+            }
+
+            // implicit rejection must be stable across extractors for the same key
+            encapsulation[0] ^= 1;
+            byte[] rejected = kemExtract.extractSecret(encapsulation);
+            KyberKEMExtractor otherExtract = new KyberKEMExtractor((KyberPrivateKeyParameters)keyPair.getPrivate());
+            assertTrue(Arrays.areEqual(rejected, otherExtract.extractSecret(encapsulation)));
+
+            // a key failing the modulus check must still be rejected
+            byte[] badKey = pubKey.getEncoded();
+            badKey[0] = (byte)0xff;
+            badKey[1] |= 0x0f;
+            try
+            {
+                kemGen.generateEncapsulated(new KyberPublicKeyParameters(params[p], badKey));
+                fail("no exception");
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertEquals("Input validation: Modulus check failed for ml-kem encapsulation", e.getMessage());
+            }
+        }
+    }
+
     public void testKyberRandom()
     {
         SecureRandom random = new SecureRandom();
@@ -171,4 +171,38 @@ public void testFalconRandom()
             assertTrue("count = " + i, verifier.verifySignature(msg, sigGenerated));
         }
     }
+
+    public void testFalconExpandedKeyReuse()
+        throws Exception
+    {
+        byte[] seed = Hex.decode("061550234D158C5EC95595FE04EF7A25767F2E24CC2BC479D09D86DC9ABCFDE7056A8C266F9EF97ED08541DBD2E1FFA1");
+        FalconKeyPairGenerator keyGen = new FalconKeyPairGenerator();
+
+        keyGen.init(new FalconKeyGenerationParameters(new NISTSecureRandom(seed, null), FalconParameters.falcon_512));
+
+        AsymmetricCipherKeyPair keyPair = keyGen.generateKeyPair();
+        FalconPrivateKeyParameters skparam = (FalconPrivateKeyParameters)keyPair.getPrivate();
+
+        FalconSigner verifier = new FalconSigner();
+        verifier.init(false, keyPair.getPublic());
+
+        for (int i = 0; i != 10; i++)
+        {
+            byte[] msg = Strings.toByteArray("Hello World! " + i);
+
+            // a key signing for the first time, and one whose expanded form has already been built, should agree
+            FalconPrivateKeyParameters fresh = (FalconPrivateKeyParameters)PrivateKeyFactory.createKey(
+                PrivateKeyInfoFactory.createPrivateKeyInfo(skparam));
+
+            FalconSigner signer = new FalconSigner();
+            signer.init(true, new ParametersWithRandom(skparam, new NISTSecureRandom(seed, null)));
+            byte[] sig1 = signer.generateSignature(msg);
+
+            signer.init(true, new ParametersWithRandom(fresh, new NISTSecureRandom(seed, null)));
+            byte[] sig2 = signer.generateSignature(msg);
+
+            assertTrue("count = " + i, Arrays.areEqual(sig1, sig2));
+            assertTrue("count = " + i, verifier.verifySignature(msg, sig1));
+        }
+    }
 }
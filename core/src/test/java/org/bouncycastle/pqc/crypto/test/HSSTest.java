@@ -1,6 +1,9 @@
 package org.bouncycastle.pqc.crypto.test;
 
+import java.io.File;
 import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
 
 import junit.framework.TestCase;
 import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
@@ -14,6 +17,10 @@
 import org.bouncycastle.pqc.crypto.lms.LMOtsParameters;
 import org.bouncycastle.pqc.crypto.lms.LMSParameters;
 import org.bouncycastle.pqc.crypto.lms.LMSigParameters;
+import org.bouncycastle.pqc.crypto.util.FileStatefulKeyStore;
+import org.bouncycastle.pqc.crypto.util.ReservingMessageSigner;
+import org.bouncycastle.pqc.crypto.util.StatefulKeyReserver;
+import org.bouncycastle.util.Pack;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.Strings;
 
@@ -203,4 +210,61 @@ public void testKeyGenAndSignTwoSigsWithShard()
 
         assertTrue(signer.verifySignature(msg1, sig1));
     }
+
+    public void testReservedKeyStore()
+        throws Exception
+    {
+        byte[] msg = Strings.toByteArray("Hello, world!");
+        AsymmetricCipherKeyPairGenerator kpGen = new HSSKeyPairGenerator();
+
+        kpGen.init(new HSSKeyGenerationParameters(
+            new LMSParameters[]{
+                new LMSParameters(LMSigParameters.lms_sha256_n32_h5, LMOtsParameters.sha256_n32_w4)
+            }, new SecureRandom()));
+
+        AsymmetricCipherKeyPair kp = kpGen.generateKeyPair();
+
+        File keyFile = File.createTempFile("hss", ".key");
+        try
+        {
+            FileStatefulKeyStore store = new FileStatefulKeyStore(keyFile);
+            store.store(kp.getPrivate());
+
+            HSSSigner verifier = new HSSSigner();
+            verifier.init(false, kp.getPublic());
+
+            Set<Long> usedIndexes = new HashSet<Long>();
+
+            // sign part way into a batch, then "crash" and restart from the store
+            ReservingMessageSigner signer = new ReservingMessageSigner(new HSSSigner(), new StatefulKeyReserver(store, 4));
+            signer.init(true, null);
+            for (int i = 0; i != 6; i++)
+            {
+                byte[] sig = signer.generateSignature(msg);
+                assertTrue(verifier.verifySignature(msg, sig));
+                // single level, so the LMS q value follows the HSS level count
+                assertTrue(usedIndexes.add(Long.valueOf(Pack.bigEndianToInt(sig, 4))));
+            }
+
+            StatefulKeyReserver reserver = new StatefulKeyReserver(store, 4);
+            assertEquals(32 - 8, reserver.getUsagesRemaining());
+
+            signer = new ReservingMessageSigner(new HSSSigner(), reserver);
+            signer.init(true, null);
+            for (int i = 0; i != 6; i++)
+            {
+                byte[] sig = signer.generateSignature(msg);
+                assertTrue(verifier.verifySignature(msg, sig));
+                // single level, so the LMS q value follows the HSS level count
+                assertTrue(usedIndexes.add(Long.valueOf(Pack.bigEndianToInt(sig, 4))));
+            }
+
+            HSSPrivateKeyParameters stored = (HSSPrivateKeyParameters)store.load();
+            assertEquals(16, stored.getIndex());
+        }
+        finally
+        {
+            keyFile.delete();
+        }
+    }
 }
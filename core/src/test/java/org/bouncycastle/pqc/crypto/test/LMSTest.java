@@ -1,6 +1,9 @@
 package org.bouncycastle.pqc.crypto.test;
 
+import java.io.File;
 import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
 
 import junit.framework.TestCase;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
@@ -16,9 +19,14 @@
 import org.bouncycastle.pqc.crypto.lms.LMSPublicKeyParameters;
 import org.bouncycastle.pqc.crypto.lms.LMSSigner;
 import org.bouncycastle.pqc.crypto.lms.LMSigParameters;
+import org.bouncycastle.pqc.crypto.util.FileStatefulKeyStore;
 import org.bouncycastle.pqc.crypto.util.PrivateKeyFactory;
 import org.bouncycastle.pqc.crypto.util.PrivateKeyInfoFactory;
+import org.bouncycastle.pqc.crypto.util.ReservingMessageSigner;
+import org.bouncycastle.pqc.crypto.util.StatefulKeyReserver;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Integers;
+import org.bouncycastle.util.Pack;
 import org.bouncycastle.util.Strings;
 import org.bouncycastle.util.encoders.Hex;
 
@@ -163,6 +171,58 @@ public void testKeyGenAndSignTwoSigsWithShard()
         assertTrue(signer.verifySignature(msg1, sig1));
     }
 
+    public void testReservedKeyStoreExhaustion()
+        throws Exception
+    {
+        byte[] msg = Strings.toByteArray("Hello, world!");
+        AsymmetricCipherKeyPairGenerator kpGen = new LMSKeyPairGenerator();
+
+        kpGen.init(new LMSKeyGenerationParameters(
+            new LMSParameters(LMSigParameters.lms_sha256_n32_h5, LMOtsParameters.sha256_n32_w4), new SecureRandom()));
+
+        AsymmetricCipherKeyPair kp = kpGen.generateKeyPair();
+
+        File keyFile = File.createTempFile("lms", ".key");
+        try
+        {
+            FileStatefulKeyStore store = new FileStatefulKeyStore(keyFile);
+            store.store(kp.getPrivate());
+
+            LMSSigner verifier = new LMSSigner();
+            verifier.init(false, kp.getPublic());
+
+            // 32 one-time keys in batches of 5, so the final batch is the 2 left over
+            StatefulKeyReserver reserver = new StatefulKeyReserver(store, 5);
+            ReservingMessageSigner signer = new ReservingMessageSigner(new LMSSigner(), reserver);
+            signer.init(true, null);
+
+            Set<Integer> usedIndexes = new HashSet<Integer>();
+            for (int i = 0; i != 32; i++)
+            {
+                byte[] sig = signer.generateSignature(msg);
+                assertTrue(verifier.verifySignature(msg, sig));
+                assertTrue(usedIndexes.add(Integers.valueOf(Pack.bigEndianToInt(sig, 0))));
+            }
+
+            assertEquals(0, reserver.getUsagesRemaining());
+            assertEquals(32, ((LMSPrivateKeyParameters)store.load()).getIndex());
+
+            try
+            {
+                reserver.reserve();
+                fail("no exception");
+            }
+            catch (ExhaustedPrivateKeyException e)
+            {
+                assertEquals("no usages of private key remaining", e.getMessage());
+            }
+        }
+        finally
+        {
+            keyFile.delete();
+        }
+    }
+
     public void test_shouldRecogniseInvalidSignature()
         throws Exception
     {
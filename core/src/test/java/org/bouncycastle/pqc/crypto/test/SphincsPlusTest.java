@@ -8,6 +8,7 @@
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import junit.framework.TestCase;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
@@ -324,6 +325,56 @@ public void testDeterministicSignature()
         assertTrue(signer.verifySignature(msg, sig));
     }
 
+    public void testParallelSignature()
+    {
+        SPHINCSPlusParameters[] params = new SPHINCSPlusParameters[]{
+            SPHINCSPlusParameters.sha2_128f,
+            SPHINCSPlusParameters.shake_128f_robust,
+            SPHINCSPlusParameters.haraka_128f_simple,
+            SPHINCSPlusParameters.sha2_256f,
+        };
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (int i = 0; i != params.length; i++)
+            {
+                SPHINCSPlusKeyPairGenerator kpGen = new SPHINCSPlusKeyPairGenerator();
+
+                kpGen.init(new SPHINCSPlusKeyGenerationParameters(new SecureRandom(), params[i]));
+
+                AsymmetricCipherKeyPair kp = kpGen.generateKeyPair();
+
+                byte[] msg = Hex.decode("D81C4D8D734FCBFBEADE3D3F8A039FAA2A2C9957E835AD55B22E75BF57BB556AC8");
+
+                SPHINCSPlusSigner signer = new SPHINCSPlusSigner();
+
+                signer.init(true, kp.getPrivate());
+
+                byte[] sig = signer.generateSignature(msg);
+
+                SPHINCSPlusSigner parallelSigner = new SPHINCSPlusSigner(pool);
+
+                parallelSigner.init(true, kp.getPrivate());
+
+                // deterministic signing, so the parallel signature must match exactly
+                assertTrue(params[i].getName(), Arrays.areEqual(sig, parallelSigner.generateSignature(msg)));
+
+                parallelSigner.init(true, new ParametersWithRandom(kp.getPrivate(), new SecureRandom()));
+
+                byte[] randSig = parallelSigner.generateSignature(msg);
+
+                signer.init(false, kp.getPublic());
+
+                assertTrue(params[i].getName(), signer.verifySignature(msg, randSig));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     public void testBasicKeyGenerationShake256128fSimple()
     {
         SPHINCSPlusKeyPairGenerator kpGen = new SPHINCSPlusKeyPairGenerator();
@@ -3,6 +3,7 @@
 import java.io.IOException;
 import java.security.SecureRandom;
 import java.text.ParseException;
+import java.util.concurrent.ForkJoinPool;
 
 import junit.framework.TestCase;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
@@ -14,6 +15,7 @@
 import org.bouncycastle.pqc.crypto.xmss.XMSSMTKeyGenerationParameters;
 import org.bouncycastle.pqc.crypto.xmss.XMSSMTKeyPairGenerator;
 import org.bouncycastle.pqc.crypto.xmss.XMSSMTParameters;
+import org.bouncycastle.pqc.crypto.xmss.XMSSMTPrivateKeyParameters;
 import org.bouncycastle.pqc.crypto.xmss.XMSSMTSigner;
 import org.bouncycastle.pqc.crypto.xmss.XMSSUtil;
 import org.bouncycastle.util.Arrays;
@@ -17684,4 +17686,48 @@ public void testBDSImport()
         {
         }
     }
+
+    public void testParallelKeyGenAndTraversal()
+    {
+        XMSSMTParameters params = new XMSSMTParameters(6, 3, new SHA256Digest());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            XMSSMTKeyPairGenerator serialGen = new XMSSMTKeyPairGenerator();
+            serialGen.init(new XMSSMTKeyGenerationParameters(params, new NullPRNG()));
+            AsymmetricCipherKeyPair serialKp = serialGen.generateKeyPair();
+
+            XMSSMTKeyPairGenerator poolGen = new XMSSMTKeyPairGenerator(pool);
+            poolGen.init(new XMSSMTKeyGenerationParameters(params, new NullPRNG()));
+            AsymmetricCipherKeyPair poolKp = poolGen.generateKeyPair();
+
+            XMSSMTPrivateKeyParameters serialKey = (XMSSMTPrivateKeyParameters)serialKp.getPrivate();
+            XMSSMTPrivateKeyParameters poolKey = (XMSSMTPrivateKeyParameters)poolKp.getPrivate();
+            assertTrue(Arrays.areEqual(serialKey.getRoot(), poolKey.getRoot()));
+
+            // the pool key advances its state in the background - signatures must still match, across tree boundaries.
+            poolKey.setTraversalExecutor(pool);
+
+            XMSSMTSigner serialSigner = new XMSSMTSigner();
+            XMSSMTSigner poolSigner = new XMSSMTSigner();
+            XMSSMTSigner verifier = new XMSSMTSigner();
+            verifier.init(false, poolKp.getPublic());
+            for (int i = 0; i != 20; i++)
+            {
+                byte[] msg = new byte[]{ (byte)i };
+
+                serialSigner.init(true, serialKey);
+                poolSigner.init(true, poolKey);
+                byte[] sig = poolSigner.generateSignature(msg);
+
+                assertTrue(Arrays.areEqual(serialSigner.generateSignature(msg), sig));
+                assertTrue(verifier.verifySignature(msg, sig));
+                assertEquals(serialKey.getIndex(), poolKey.getIndex());
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
 }
@@ -4,15 +4,23 @@
 import java.security.SecureRandom;
 import java.text.ParseException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import junit.framework.TestCase;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.pqc.crypto.xmss.XMSS;
+import org.bouncycastle.pqc.crypto.xmss.XMSSKeyGenerationParameters;
+import org.bouncycastle.pqc.crypto.xmss.XMSSKeyPairGenerator;
 import org.bouncycastle.pqc.crypto.xmss.XMSSNode;
 import org.bouncycastle.pqc.crypto.xmss.XMSSParameters;
+import org.bouncycastle.pqc.crypto.xmss.XMSSPrivateKeyParameters;
 import org.bouncycastle.pqc.crypto.xmss.XMSSSignature;
+import org.bouncycastle.pqc.crypto.xmss.XMSSSigner;
 import org.bouncycastle.pqc.crypto.xmss.XMSSUtil;
 import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.encoders.Hex;
@@ -485,4 +493,50 @@ public void testBDSImport()
         {
         }
     }
+
+    public void testParallelKeyGenAndTraversal()
+    {
+        XMSSParameters params = new XMSSParameters(6, new SHA256Digest());
+
+        XMSSKeyPairGenerator serialGen = new XMSSKeyPairGenerator();
+        serialGen.init(new XMSSKeyGenerationParameters(params, new NullPRNG()));
+        XMSSPrivateKeyParameters serialKey = (XMSSPrivateKeyParameters)serialGen.generateKeyPair().getPrivate();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            XMSSKeyPairGenerator poolGen = new XMSSKeyPairGenerator(pool);
+            poolGen.init(new XMSSKeyGenerationParameters(params, new NullPRNG()));
+            AsymmetricCipherKeyPair poolKp = poolGen.generateKeyPair();
+            XMSSPrivateKeyParameters poolKey = (XMSSPrivateKeyParameters)poolKp.getPrivate();
+
+            assertTrue(Arrays.areEqual(serialKey.getRoot(), poolKey.getRoot()));
+
+            poolKey.setTraversalExecutor(executor);
+
+            XMSSSigner serialSigner = new XMSSSigner();
+            XMSSSigner poolSigner = new XMSSSigner();
+            XMSSSigner verifier = new XMSSSigner();
+            verifier.init(false, poolKp.getPublic());
+            for (int i = 0; i != 64; i++)
+            {
+                byte[] msg = new byte[]{ (byte)i };
+
+                serialSigner.init(true, serialKey);
+                poolSigner.init(true, poolKey);
+                byte[] sig = poolSigner.generateSignature(msg);
+
+                assertTrue(Arrays.areEqual(serialSigner.generateSignature(msg), sig));
+                assertTrue(verifier.verifySignature(msg, sig));
+                assertEquals(serialKey.getIndex(), poolKey.getIndex());
+            }
+            assertEquals(0, poolKey.getUsagesRemaining());
+        }
+        finally
+        {
+            executor.shutdown();
+            pool.shutdown();
+        }
+    }
 }
@@ -36,6 +36,8 @@
 import org.bouncycastle.math.ec.custom.sec.SecP256R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP384R1Curve;
 import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Curve64;
+import org.bouncycastle.math.ec.custom.sec.SecP521R1Field64;
 import org.bouncycastle.mls.codec.MLSOutputStream;
 import org.bouncycastle.mls.crypto.MlsCipherSuite;
 import org.bouncycastle.mls.crypto.MlsSigner;
@@ -71,7 +73,14 @@ public BcMlsSigner(int sigID)
             break;
         case ecdsa_secp521r1_sha512:
             signer = new DSADigestSigner(new ECDSASigner(), new SHA512Digest());
-            curve = new SecP521R1Curve();
+            if (SecP521R1Field64.isPreferred())
+            {
+                curve = new SecP521R1Curve64();
+            }
+            else
+            {
+                curve = new SecP521R1Curve();
+            }
             domainParams = new ECDomainParameters(
                 curve,
                 curve.createPoint(
@@ -12,6 +12,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -460,6 +461,24 @@ public boolean verifySignatures(SignerInformationVerifierProvider verifierProvid
         return true;
     }
 
+    /**
+     * Verify all the SignerInformation objects and optionally their associated counter signatures attached
+     * to this CMS SignedData object, running the individual signature checks on the passed in executor.
+     * The signed content is read once, with one digest calculated for each digest algorithm in use.
+     *
+     * @param verifierProvider        a provider of SignerInformationVerifier objects.
+     * @param ignoreCounterSignatures if true don't check counter signatures. If false check counter signatures as well.
+     * @param executor                the executor to run the signature checks on.
+     * @return true if all verify, false otherwise.
+     * @throws CMSException if an exception occurs during the verification process.
+     */
+    public boolean verifySignatures(SignerInformationVerifierProvider verifierProvider, boolean ignoreCounterSignatures,
+        Executor executor)
+        throws CMSException
+    {
+        return this.getSignerInfos().verify(verifierProvider, ignoreCounterSignatures, executor);
+    }
+
     private boolean verifyCounterSignature(SignerInformation counterSigner, SignerInformationVerifierProvider verifierProvider)
         throws OperatorCreationException, CMSException
     {
@@ -12,6 +12,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -99,6 +100,8 @@
     private SignerInformationStore  _signerInfoStore;
     private ASN1Set                 _certSet, _crlSet;
     private boolean                 _isCertCrlParsed;
+    private Executor                digestExecutor;
+    private DigestFanOutInputStream digestStream;
 
     public CMSSignedDataParser(
         DigestCalculatorProvider digestCalculatorProvider,
@@ -265,7 +268,20 @@ public SignerInformationStore getSignerInfos()
         if (_signerInfoStore == null)
         {
             populateCertCrlSets();
-            
+
+            if (digestStream != null)
+            {
+                // content read short of its end may still be held in the fan-out buffer
+                try
+                {
+                    digestStream.flushDigests();
+                }
+                catch (IOException e)
+                {
+                    throw new CMSException("unable to complete digest calculation: " + e.getMessage(), e);
+                }
+            }
+
             List      signerInfos = new ArrayList();
             Map       hashes = new HashMap();
             
@@ -390,6 +406,19 @@ public String getSignedContentTypeOID()
         return _signedContentType.getId();
     }
 
+    /**
+     * Set an executor to be used to run the content digest calculations concurrently. Where more than
+     * one digest algorithm is in use, large blocks of content are passed to each digest on a separate task.
+     * <p>
+     * Note: this needs to be called before getSignedContent().
+     * </p>
+     * @param executor the executor to use, null (the default) to calculate all digests on the reading thread.
+     */
+    public void setDigestExecutor(Executor executor)
+    {
+        this.digestExecutor = executor;
+    }
+
     public CMSTypedStream getSignedContent()
     {
         if (_signedContent == null)
@@ -398,7 +427,12 @@ public CMSTypedStream getSignedContent()
         }
 
         InputStream digStream = CMSUtils.attachDigestsToInputStream(
-            digests.values(), _signedContent.getContentStream());
+            digests.values(), _signedContent.getContentStream(), digestExecutor);
+
+        if (digStream instanceof DigestFanOutInputStream)
+        {
+            digestStream = (DigestFanOutInputStream)digStream;
+        }
 
         return new CMSTypedStream(_signedContent.getContentType(), digStream);
     }
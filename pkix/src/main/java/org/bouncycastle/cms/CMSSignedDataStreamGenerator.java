@@ -7,6 +7,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1Integer;
@@ -53,6 +54,7 @@
     extends CMSSignedGenerator
 {
     private int  _bufferSize;
+    private Executor _digestExecutor;
 
     /**
      * base constructor
@@ -80,6 +82,18 @@ public void setBufferSize(
         _bufferSize = bufferSize;
     }
 
+    /**
+     * Set an executor to be used to run the signers' digest calculations concurrently. Where there
+     * is more than one signer, large blocks of content are passed to each signer on a separate task.
+     *
+     * @param executor the executor to use, null (the default) to process all signers on the writing thread.
+     */
+    public void setDigestExecutor(
+        Executor executor)
+    {
+        _digestExecutor = executor;
+    }
+
     /**
      * generate a signed object that for a CMS Signed Data
      * object using the given provider.
@@ -237,7 +251,7 @@ public OutputStream open(
         OutputStream contentStream = CMSUtils.getSafeTeeOutputStream(dataOutputStream, encapStream);
 
         // Let all the signers see the data as it is written
-        OutputStream sigStream = CMSUtils.attachSignersToOutputStream(signerGens, contentStream);
+        OutputStream sigStream = CMSUtils.attachSignersToOutputStream(signerGens, contentStream, _digestExecutor);
 
         return new CmsSignedDataOutputStream(sigStream, eContentType, sGen, sigGen, eiGen);
     }
@@ -11,6 +11,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -56,7 +57,6 @@
 import org.bouncycastle.util.Store;
 import org.bouncycastle.util.Strings;
 import org.bouncycastle.util.io.Streams;
-import org.bouncycastle.util.io.TeeInputStream;
 import org.bouncycastle.util.io.TeeOutputStream;
 
 class CMSUtils
@@ -387,26 +387,63 @@ public static byte[] streamToByteArray(
 
     static InputStream attachDigestsToInputStream(Collection digests, InputStream s)
     {
-        InputStream result = s;
+        return attachDigestsToInputStream(digests, s, null);
+    }
+
+    static InputStream attachDigestsToInputStream(Collection digests, InputStream s, Executor executor)
+    {
+        if (digests.isEmpty())
+        {
+            return s;
+        }
+
+        OutputStream[] outputs = new OutputStream[digests.size()];
         Iterator it = digests.iterator();
-        while (it.hasNext())
+        for (int i = 0; i != outputs.length; i++)
         {
             DigestCalculator digest = (DigestCalculator)it.next();
-            result = new TeeInputStream(result, digest.getOutputStream());
+            outputs[i] = digest.getOutputStream();
         }
-        return result;
+        return new DigestFanOutInputStream(s, new DigestFanOutOutputStream(outputs, executor));
     }
 
     static OutputStream attachSignersToOutputStream(Collection signers, OutputStream s)
     {
-        OutputStream result = s;
+        return attachSignersToOutputStream(signers, s, null);
+    }
+
+    static OutputStream attachSignersToOutputStream(Collection signers, OutputStream s, Executor executor)
+    {
+        if (signers.isEmpty())
+        {
+            return s;
+        }
+
+        List outputs = new ArrayList(signers.size());
         Iterator it = signers.iterator();
         while (it.hasNext())
         {
             SignerInfoGenerator signerGen = (SignerInfoGenerator)it.next();
-            result = getSafeTeeOutputStream(result, signerGen.getCalculatingOutputStream());
+            OutputStream sigOut = signerGen.getCalculatingOutputStream();
+            if (sigOut != null)
+            {
+                outputs.add(sigOut);
+            }
         }
-        return result;
+
+        // only the calculators share the fan out's buffering - the content itself is passed straight on to s
+        return getSafeTeeOutputStream(s, outputs.isEmpty() ? null : getFanOutOutputStream(outputs, executor));
+    }
+
+    static OutputStream getFanOutOutputStream(List outputs, Executor executor)
+    {
+        if (outputs.isEmpty())
+        {
+            return new NullOutputStream();
+        }
+
+        return new DigestFanOutOutputStream(
+            (OutputStream[])outputs.toArray(new OutputStream[outputs.size()]), executor);
     }
 
     static OutputStream getSafeOutputStream(OutputStream s)
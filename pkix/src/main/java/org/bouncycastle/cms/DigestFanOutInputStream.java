@@ -0,0 +1,78 @@
+package org.bouncycastle.cms;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Internal use stream which copies anything read through it to a {@link DigestFanOutOutputStream},
+ * flushing the fan-out stream when the end of the input is reached so the digests are complete. A reader
+ * which stops short of the end must call {@link #flushDigests()} before the digests are used.
+ */
+class DigestFanOutInputStream
+    extends InputStream
+{
+    private final InputStream input;
+    private final DigestFanOutOutputStream output;
+
+    DigestFanOutInputStream(InputStream input, DigestFanOutOutputStream output)
+    {
+        this.input = input;
+        this.output = output;
+    }
+
+    public int available()
+        throws IOException
+    {
+        return input.available();
+    }
+
+    public int read(byte[] buf, int off, int len)
+        throws IOException
+    {
+        int i = input.read(buf, off, len);
+
+        if (i > 0)
+        {
+            output.write(buf, off, i);
+        }
+        else if (i < 0)
+        {
+            output.flush();
+        }
+
+        return i;
+    }
+
+    public int read()
+        throws IOException
+    {
+        int i = input.read();
+
+        if (i >= 0)
+        {
+            output.write(i);
+        }
+        else
+        {
+            output.flush();
+        }
+
+        return i;
+    }
+
+    /**
+     * Pass any data still buffered on to the digests.
+     */
+    void flushDigests()
+        throws IOException
+    {
+        output.flush();
+    }
+
+    public void close()
+        throws IOException
+    {
+        this.input.close();
+        this.output.close();
+    }
+}
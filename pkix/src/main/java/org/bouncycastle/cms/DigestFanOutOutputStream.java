@@ -0,0 +1,218 @@
+package org.bouncycastle.cms;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Internal use stream which passes data on to several underlying streams (typically digest or signature
+ * calculators) in large blocks. Small writes are collected in an internal buffer, so each calculator sees
+ * one call per block rather than one call per byte as happens with a chain of TeeOutputStreams. The buffer
+ * starts small and grows as data arrives, up to its maximum size, so short messages do not pay for a large
+ * buffer. If an executor is provided, large blocks are handed to the calculators concurrently, one task per
+ * calculator.
+ * <p>
+ * Note: data is held back until the buffer fills, so the stream must be flushed, or closed, before the
+ * results of the calculators are used.
+ * </p>
+ */
+class DigestFanOutOutputStream
+    extends OutputStream
+{
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int PARALLEL_THRESHOLD = 16 * 1024;
+
+    private final OutputStream[] outputs;
+    private final Executor executor;
+    private final int bufferSize;
+
+    private byte[] buf;
+    private int bufOff;
+
+    DigestFanOutOutputStream(OutputStream[] outputs, Executor executor)
+    {
+        this(outputs, executor, DEFAULT_BUFFER_SIZE);
+    }
+
+    DigestFanOutOutputStream(OutputStream[] outputs, Executor executor, int bufferSize)
+    {
+        this.outputs = outputs;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.buf = new byte[Math.min(INITIAL_BUFFER_SIZE, bufferSize)];
+        this.bufOff = 0;
+    }
+
+    public void write(int b)
+        throws IOException
+    {
+        if (bufOff == bufferSize)
+        {
+            flushBuffer();
+        }
+
+        ensureCapacity(bufOff + 1);
+        buf[bufOff++] = (byte)b;
+    }
+
+    public void write(byte[] b, int off, int len)
+        throws IOException
+    {
+        if (len >= bufferSize)
+        {
+            flushBuffer();
+            dispatch(b, off, len);
+            return;
+        }
+
+        if (len > bufferSize - bufOff)
+        {
+            flushBuffer();
+        }
+
+        ensureCapacity(bufOff + len);
+        System.arraycopy(b, off, buf, bufOff, len);
+        bufOff += len;
+    }
+
+    public void flush()
+        throws IOException
+    {
+        flushBuffer();
+
+        for (int i = 0; i != outputs.length; i++)
+        {
+            outputs[i].flush();
+        }
+    }
+
+    public void close()
+        throws IOException
+    {
+        flushBuffer();
+
+        for (int i = 0; i != outputs.length; i++)
+        {
+            outputs[i].close();
+        }
+    }
+
+    private void ensureCapacity(int required)
+    {
+        if (required > buf.length)
+        {
+            byte[] tmp = new byte[Math.min(bufferSize, Math.max(required, buf.length * 2))];
+            System.arraycopy(buf, 0, tmp, 0, bufOff);
+            buf = tmp;
+        }
+    }
+
+    private void flushBuffer()
+        throws IOException
+    {
+        if (bufOff > 0)
+        {
+            dispatch(buf, 0, bufOff);
+            bufOff = 0;
+        }
+    }
+
+    private void dispatch(byte[] b, int off, int len)
+        throws IOException
+    {
+        int count = outputs.length;
+        if (executor == null || count < 2 || len < PARALLEL_THRESHOLD)
+        {
+            for (int i = 0; i != count; i++)
+            {
+                outputs[i].write(b, off, len);
+            }
+            return;
+        }
+
+        // the first output is processed on the calling thread while the others run on the executor
+        FutureTask[] tasks = new FutureTask[count - 1];
+        for (int i = 1; i != count; i++)
+        {
+            tasks[i - 1] = new FutureTask(new WriteTask(outputs[i], b, off, len));
+            executor.execute(tasks[i - 1]);
+        }
+
+        IOException failure = null;
+        try
+        {
+            outputs[0].write(b, off, len);
+        }
+        catch (IOException e)
+        {
+            failure = e;
+        }
+
+        // always wait for every task, as the block may be reused as soon as we return
+        for (int i = 0; i != tasks.length; i++)
+        {
+            try
+            {
+                tasks[i].get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                if (failure == null)
+                {
+                    failure = new IOException("interrupted waiting for digest calculation");
+                }
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException)cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error)cause;
+                }
+                if (failure == null)
+                {
+                    failure = (IOException)cause;
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    private static class WriteTask
+        implements Callable
+    {
+        private final OutputStream out;
+        private final byte[] b;
+        private final int off;
+        private final int len;
+
+        WriteTask(OutputStream out, byte[] b, int off, int len)
+        {
+            this.out = out;
+            this.b = b;
+            this.off = off;
+            this.len = len;
+        }
+
+        public Object call()
+            throws IOException
+        {
+            out.write(b, off, len);
+            return null;
+        }
+    }
+}
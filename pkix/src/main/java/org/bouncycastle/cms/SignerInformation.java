@@ -646,6 +646,28 @@ public boolean verify(SignerInformationVerifier verifier)
         return doVerify(verifier);
     }
 
+    /**
+     * Return true if the content digest still has to be calculated by reading the signed content, and the
+     * signature is over signed attributes so the digest can be calculated independently of the signature.
+     */
+    boolean isContentDigestRequired()
+    {
+        return resultDigest == null && content != null && signedAttributeSet != null;
+    }
+
+    CMSProcessable getSignedContent()
+    {
+        return content;
+    }
+
+    /**
+     * Return a copy of this signer using a content digest which has already been calculated.
+     */
+    SignerInformation withContentDigest(byte[] contentDigest)
+    {
+        return new SignerInformation(info, contentType, content, contentDigest);
+    }
+
     /**
      * Return the underlying ASN.1 object defining this SignerInformation object.
      *
@@ -1,12 +1,21 @@
 package org.bouncycastle.cms;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.util.Iterable;
 
 public class SignerInformationStore
@@ -131,6 +140,227 @@ public Collection<SignerInformation> getSigners(
         }
     }
 
+    /**
+     * Verify all the signers in this store and their associated counter signatures, running the
+     * individual signature checks on the passed in executor.
+     *
+     * @param verifierProvider a provider of SignerInformationVerifier objects.
+     * @param executor the executor to run the signature checks on.
+     * @return true if all verify, false otherwise.
+     * @throws CMSException if an exception occurs during the verification process.
+     */
+    public boolean verify(SignerInformationVerifierProvider verifierProvider, Executor executor)
+        throws CMSException
+    {
+        return verify(verifierProvider, false, executor);
+    }
+
+    /**
+     * Verify all the signers in this store and optionally their associated counter signatures, running the
+     * individual signature checks on the passed in executor.
+     * <p>
+     * Signers with signed attributes which share the same signed content have their content digests
+     * calculated up front, in a single pass over the content with one digest per digest algorithm, rather
+     * than each signer reading the content again. Verifiers are obtained from the provider on the calling
+     * thread, so the provider does not need to be thread safe, but the verifiers it returns will be used
+     * concurrently.
+     * </p>
+     *
+     * @param verifierProvider a provider of SignerInformationVerifier objects.
+     * @param ignoreCounterSignatures if true don't check counter signatures. If false check counter signatures as well.
+     * @param executor the executor to run the signature checks on.
+     * @return true if all verify, false otherwise.
+     * @throws CMSException if an exception occurs during the verification process.
+     */
+    public boolean verify(SignerInformationVerifierProvider verifierProvider, boolean ignoreCounterSignatures,
+        Executor executor)
+        throws CMSException
+    {
+        List signers = new ArrayList();
+        addSigners(signers, all, ignoreCounterSignatures);
+
+        int count = signers.size();
+        SignerInformationVerifier[] verifiers = new SignerInformationVerifier[count];
+
+        try
+        {
+            for (int i = 0; i != count; i++)
+            {
+                verifiers[i] = verifierProvider.get(((SignerInformation)signers.get(i)).getSID());
+            }
+        }
+        catch (OperatorCreationException e)
+        {
+            throw new CMSException("failure in verifier provider: " + e.getMessage(), e);
+        }
+
+        calculateContentDigests(signers, verifiers, executor);
+
+        FutureTask[] tasks = new FutureTask[count];
+        for (int i = 0; i != count; i++)
+        {
+            tasks[i] = new FutureTask(new VerifyTask((SignerInformation)signers.get(i), verifiers[i]));
+            executor.execute(tasks[i]);
+        }
+
+        boolean verified = true;
+        for (int i = 0; i != count; i++)
+        {
+            try
+            {
+                if (!((Boolean)tasks[i].get()).booleanValue())
+                {
+                    verified = false;
+                }
+            }
+            catch (InterruptedException e)
+            {
+                cancel(tasks, i);
+                Thread.currentThread().interrupt();
+                throw new CMSException("interrupted waiting for signer verification", e);
+            }
+            catch (ExecutionException e)
+            {
+                cancel(tasks, i);
+
+                Throwable cause = e.getCause();
+                if (cause instanceof CMSException)
+                {
+                    throw (CMSException)cause;
+                }
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException)cause;
+                }
+                if (cause instanceof Error)
+                {
+                    throw (Error)cause;
+                }
+                throw new CMSException("signer verification failed: " + cause.getMessage(), (Exception)cause);
+            }
+        }
+
+        return verified;
+    }
+
+    private static void addSigners(List result, Collection signers, boolean ignoreCounterSignatures)
+    {
+        for (Iterator it = signers.iterator(); it.hasNext();)
+        {
+            SignerInformation signer = (SignerInformation)it.next();
+
+            result.add(signer);
+
+            if (!ignoreCounterSignatures)
+            {
+                addSigners(result, signer.getCounterSignatures().all, false);
+            }
+        }
+    }
+
+    /**
+     * Read each distinct signed content once, feeding it to one digest calculator per digest algorithm, and
+     * replace the signers concerned with copies carrying the calculated digests.
+     */
+    private static void calculateContentDigests(List signers, SignerInformationVerifier[] verifiers, Executor executor)
+        throws CMSException
+    {
+        List contents = new ArrayList();
+        for (int i = 0; i != signers.size(); i++)
+        {
+            SignerInformation signer = (SignerInformation)signers.get(i);
+            if (signer.isContentDigestRequired() && !contents.contains(signer.getSignedContent()))
+            {
+                contents.add(signer.getSignedContent());
+            }
+        }
+
+        for (int c = 0; c != contents.size(); c++)
+        {
+            CMSProcessable content = (CMSProcessable)contents.get(c);
+            Map calculators = new HashMap();
+            List digOuts = new ArrayList();
+
+            try
+            {
+                for (int i = 0; i != signers.size(); i++)
+                {
+                    SignerInformation signer = (SignerInformation)signers.get(i);
+                    if (signer.isContentDigestRequired() && signer.getSignedContent() == content)
+                    {
+                        AlgorithmIdentifier digestAlg = signer.getDigestAlgorithmID();
+                        if (!calculators.containsKey(digestAlg))
+                        {
+                            DigestCalculator calc = verifiers[i].getDigestCalculator(digestAlg);
+
+                            calculators.put(digestAlg, calc);
+                            digOuts.add(calc.getOutputStream());
+                        }
+                    }
+                }
+
+                OutputStream digOut = CMSUtils.getFanOutOutputStream(digOuts, executor);
+
+                content.write(digOut);
+                digOut.close();
+            }
+            catch (IOException e)
+            {
+                throw new CMSException("can't process content to calculate digests.", e);
+            }
+            catch (OperatorCreationException e)
+            {
+                throw new CMSException("can't create digest calculator: " + e.getMessage(), e);
+            }
+
+            Map digests = new HashMap();
+            for (Iterator it = calculators.entrySet().iterator(); it.hasNext();)
+            {
+                Map.Entry entry = (Map.Entry)it.next();
+
+                digests.put(entry.getKey(), ((DigestCalculator)entry.getValue()).getDigest());
+            }
+
+            for (int i = 0; i != signers.size(); i++)
+            {
+                SignerInformation signer = (SignerInformation)signers.get(i);
+                if (signer.isContentDigestRequired() && signer.getSignedContent() == content)
+                {
+                    byte[] digest = (byte[])digests.get(signer.getDigestAlgorithmID());
+
+                    signers.set(i, signer.withContentDigest(digest));
+                }
+            }
+        }
+    }
+
+    private static void cancel(FutureTask[] tasks, int from)
+    {
+        for (int i = from; i < tasks.length; i++)
+        {
+            tasks[i].cancel(true);
+        }
+    }
+
+    private static class VerifyTask
+        implements Callable
+    {
+        private final SignerInformation signer;
+        private final SignerInformationVerifier verifier;
+
+        VerifyTask(SignerInformation signer, SignerInformationVerifier verifier)
+        {
+            this.signer = signer;
+            this.verifier = verifier;
+        }
+
+        public Object call()
+            throws CMSException
+        {
+            return signer.verify(verifier) ? Boolean.TRUE : Boolean.FALSE;
+        }
+    }
+
     /**
      * Support method for Iterable where available.
      */
@@ -3,7 +3,9 @@
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.KeyPair;
 import java.security.MessageDigest;
@@ -19,6 +21,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -58,6 +62,7 @@
 import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.util.Arrays;
 import org.bouncycastle.util.CollectionStore;
 import org.bouncycastle.util.Store;
 import org.bouncycastle.util.encoders.Base64;
@@ -587,6 +592,130 @@ public void testSHA1AndMD5WithRSA()
         verifySignatures(sp);
     }
     
+    public void testSHA256AndSHA512WithRSAConcurrentDigests()
+        throws Exception
+    {
+        List                  certList = new ArrayList();
+        ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+
+        certList.add(_origCert);
+        certList.add(_signCert);
+
+        Store           certs = new JcaCertStore(certList);
+
+        byte[] data = new byte[300 * 1024 + 17];
+        for (int i = 0; i != data.length; i++)
+        {
+            data[i] = (byte)(i * 31);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            CMSSignedDataStreamGenerator gen = new CMSSignedDataStreamGenerator();
+            JcaSignerInfoGeneratorBuilder signerInfoGeneratorBuilder = new JcaSignerInfoGeneratorBuilder(new JcaDigestCalculatorProviderBuilder().setProvider(BC).build());
+            ContentSigner sha256Signer = new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_origKP.getPrivate());
+            ContentSigner sha512Signer = new JcaContentSignerBuilder("SHA512withRSA").setProvider(BC).build(_origKP.getPrivate());
+
+            gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(sha256Signer, _origCert));
+            gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(sha512Signer, _origCert));
+
+            gen.addCertificates(certs);
+            gen.setDigestExecutor(executor);
+
+            OutputStream sigOut = gen.open(bOut, true);
+
+            int headerSize = bOut.size();
+
+            // mix of single byte, small and large writes
+            int off = 0;
+            for (; off != 1000; off++)
+            {
+                sigOut.write(data[off]);
+            }
+            sigOut.write(data, off, 5000);
+            off += 5000;
+
+            // the content is passed on as it is written, only the digests are batched
+            assertTrue(bOut.size() - headerSize >= 4000);
+
+            sigOut.write(data, off, 200 * 1024);
+            off += 200 * 1024;
+            sigOut.write(data, off, data.length - off);
+
+            sigOut.close();
+
+            CMSSignedDataParser     sp = new CMSSignedDataParser(new JcaDigestCalculatorProviderBuilder().setProvider(BC).build(), bOut.toByteArray());
+
+            sp.setDigestExecutor(executor);
+
+            assertTrue(Arrays.areEqual(data, Streams.readAll(sp.getSignedContent().getContentStream())));
+
+            verifySignatures(sp);
+
+            sp.close();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        CMSSignedDataParser     sp = new CMSSignedDataParser(new JcaDigestCalculatorProviderBuilder().setProvider(BC).build(), bOut.toByteArray());
+
+        sp.getSignedContent().drain();
+
+        verifySignatures(sp);
+    }
+
+    public void testSHA256AndSHA512WithRSAReadFully()
+        throws Exception
+    {
+        List                  certList = new ArrayList();
+        ByteArrayOutputStream bOut = new ByteArrayOutputStream();
+
+        certList.add(_origCert);
+        certList.add(_signCert);
+
+        Store           certs = new JcaCertStore(certList);
+
+        byte[] data = new byte[1000];
+        for (int i = 0; i != data.length; i++)
+        {
+            data[i] = (byte)(i * 31);
+        }
+
+        CMSSignedDataStreamGenerator gen = new CMSSignedDataStreamGenerator();
+        JcaSignerInfoGeneratorBuilder signerInfoGeneratorBuilder = new JcaSignerInfoGeneratorBuilder(new JcaDigestCalculatorProviderBuilder().setProvider(BC).build());
+        ContentSigner sha256Signer = new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_origKP.getPrivate());
+        ContentSigner sha512Signer = new JcaContentSignerBuilder("SHA512withRSA").setProvider(BC).build(_origKP.getPrivate());
+
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(sha256Signer, _origCert));
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(sha512Signer, _origCert));
+
+        gen.addCertificates(certs);
+
+        OutputStream sigOut = gen.open(bOut, true);
+
+        sigOut.write(data);
+
+        sigOut.close();
+
+        CMSSignedDataParser     sp = new CMSSignedDataParser(new JcaDigestCalculatorProviderBuilder().setProvider(BC).build(), bOut.toByteArray());
+
+        // read exactly the content, never reaching the end of the stream
+        InputStream contentIn = sp.getSignedContent().getContentStream();
+        byte[] content = new byte[data.length];
+
+        content[0] = (byte)contentIn.read();
+        new DataInputStream(contentIn).readFully(content, 1, content.length - 1);
+
+        assertTrue(Arrays.areEqual(data, content));
+
+        verifySignatures(sp);
+
+        sp.close();
+    }
+
     public void testSHA1WithRSAEncapsulatedBufferedStream()
         throws Exception
     {
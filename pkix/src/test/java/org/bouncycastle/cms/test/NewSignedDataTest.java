@@ -19,6 +19,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.Assert;
 import junit.framework.Test;
@@ -72,6 +74,7 @@
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
 import org.bouncycastle.cms.CMSSignedDataParser;
+import org.bouncycastle.cms.CMSSignerDigestMismatchException;
 import org.bouncycastle.cms.CMSTypedData;
 import org.bouncycastle.cms.DefaultCMSSignatureAlgorithmNameGenerator;
 import org.bouncycastle.cms.DefaultSignedAttributeTableGenerator;
@@ -2207,6 +2210,96 @@ else if (_origCert.getSerialNumber().equals(signerId.getSerialNumber()))
         assertTrue(s.verifySignatures(vProv, false));
     }
 
+    public void testConcurrentSignerVerification()
+        throws Exception
+    {
+        List                certList = new ArrayList();
+        CMSTypedData        msg = new CMSProcessableByteArray("Hello World!".getBytes());
+
+        certList.add(_signCert);
+        certList.add(_origCert);
+
+        DigestCalculatorProvider digProvider = new JcaDigestCalculatorProviderBuilder().setProvider(BC).build();
+        JcaSignerInfoGeneratorBuilder signerInfoGeneratorBuilder = new JcaSignerInfoGeneratorBuilder(digProvider);
+
+        CMSSignedDataGenerator gen = new CMSSignedDataGenerator();
+
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(new JcaContentSignerBuilder("SHA1withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_signKP.getPrivate()), _signCert));
+        gen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(new JcaContentSignerBuilder("SHA384withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+
+        gen.addCertificates(new JcaCertStore(certList));
+
+        CMSSignedData s = gen.generate(msg, true);
+
+        // add counter signatures to each signer
+        CMSSignedDataGenerator counterGen = new CMSSignedDataGenerator();
+
+        counterGen.addSignerInfoGenerator(signerInfoGeneratorBuilder.build(new JcaContentSignerBuilder("SHA256withRSA").setProvider(BC).build(_origKP.getPrivate()), _origCert));
+
+        List signers = new ArrayList();
+        for (Iterator it = s.getSignerInfos().getSigners().iterator(); it.hasNext();)
+        {
+            SignerInformation signer = (SignerInformation)it.next();
+
+            signers.add(SignerInformation.addCounterSigners(signer, counterGen.generateCounterSigners(signer)));
+        }
+
+        s = CMSSignedData.replaceSigners(s, new SignerInformationStore(signers));
+        s = new CMSSignedData(s.getEncoded());
+
+        SignerInformationVerifierProvider vProv = new SignerInformationVerifierProvider()
+        {
+            public SignerInformationVerifier get(SignerId signerId)
+                throws OperatorCreationException
+            {
+                if (_signCert.getSerialNumber().equals(signerId.getSerialNumber()))
+                {
+                    return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(_signCert);
+                }
+                return new JcaSimpleSignerInfoVerifierBuilder().setProvider(BC).build(_origCert);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            assertTrue(s.verifySignatures(vProv, false, executor));
+            assertTrue(s.getSignerInfos().verify(vProv, executor));
+
+            // signers verified through the store must be left untouched.
+            SignerInformation signer = (SignerInformation)s.getSignerInfos().getSigners().iterator().next();
+            try
+            {
+                signer.getContentDigest();
+                fail("digest available before verification");
+            }
+            catch (IllegalStateException e)
+            {
+                // expected
+            }
+
+            assertTrue(s.verifySignatures(vProv, false));
+
+            // wrong detached content
+            CMSSignedData detached = new CMSSignedData(new CMSProcessableByteArray("Hello World?".getBytes()), s.getEncoded());
+            try
+            {
+                detached.verifySignatures(vProv, true, executor);
+                fail("bad content not detected");
+            }
+            catch (CMSSignerDigestMismatchException e)
+            {
+                assertEquals("message-digest attribute value does not match calculated value", e.getMessage());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
     public void testAddDigestAlgorithm()
         throws Exception
     {
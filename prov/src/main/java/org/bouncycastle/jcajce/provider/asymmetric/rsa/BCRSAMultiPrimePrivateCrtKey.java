@@ -0,0 +1,242 @@
+package org.bouncycastle.jcajce.provider.asymmetric.rsa;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.security.interfaces.RSAMultiPrimePrivateCrtKey;
+import java.security.spec.RSAMultiPrimePrivateCrtKeySpec;
+import java.security.spec.RSAOtherPrimeInfo;
+
+import org.bouncycastle.asn1.pkcs.OtherPrimeInfo;
+import org.bouncycastle.asn1.pkcs.RSAPrivateKey;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.crypto.params.RSAMultiPrimePrivateCrtKeyParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.KeyUtil;
+
+/**
+ * A provider representation for a multi-prime RSA private key, with CRT factors included.
+ */
+public class BCRSAMultiPrimePrivateCrtKey
+    extends BCRSAPrivateCrtKey
+    implements RSAMultiPrimePrivateCrtKey
+{
+    static final long serialVersionUID = -3516297102838405470L;
+
+    private BigInteger[] otherPrimes;
+    private BigInteger[] otherExponents;
+    private BigInteger[] otherCoefficients;
+
+    /**
+     * construct a private key from it's org.bouncycastle.crypto equivalent.
+     *
+     * @param key the parameters object representing the private key.
+     */
+    BCRSAMultiPrimePrivateCrtKey(
+        RSAMultiPrimePrivateCrtKeyParameters key)
+    {
+        super(key);
+
+        this.otherPrimes = key.getOtherPrimes();
+        this.otherExponents = key.getOtherExponents();
+        this.otherCoefficients = key.getOtherCoefficients();
+    }
+
+    BCRSAMultiPrimePrivateCrtKey(
+        AlgorithmIdentifier algorithmIdentifier,
+        RSAMultiPrimePrivateCrtKeyParameters key)
+    {
+        super(algorithmIdentifier, key);
+
+        this.otherPrimes = key.getOtherPrimes();
+        this.otherExponents = key.getOtherExponents();
+        this.otherCoefficients = key.getOtherCoefficients();
+    }
+
+    /**
+     * construct a private key from an RSAMultiPrimePrivateCrtKeySpec
+     *
+     * @param spec the spec to be used in construction.
+     */
+    BCRSAMultiPrimePrivateCrtKey(
+        RSAMultiPrimePrivateCrtKeySpec spec)
+    {
+        this(toParameters(spec.getModulus(), spec.getPublicExponent(), spec.getPrivateExponent(),
+            spec.getPrimeP(), spec.getPrimeQ(), spec.getPrimeExponentP(), spec.getPrimeExponentQ(),
+            spec.getCrtCoefficient(), spec.getOtherPrimeInfo()));
+    }
+
+    /**
+     * construct a private key from another RSAMultiPrimePrivateCrtKey.
+     *
+     * @param key the object implementing the RSAMultiPrimePrivateCrtKey interface.
+     */
+    BCRSAMultiPrimePrivateCrtKey(
+        RSAMultiPrimePrivateCrtKey key)
+    {
+        this(toParameters(key));
+    }
+
+    /**
+     * construct an RSA key from a ASN.1 RSA private key object carrying other prime information.
+     */
+    BCRSAMultiPrimePrivateCrtKey(
+        AlgorithmIdentifier algorithmIdentifier,
+        RSAPrivateKey key)
+    {
+        this(algorithmIdentifier, toParameters(key));
+    }
+
+    static RSAMultiPrimePrivateCrtKeyParameters toParameters(RSAMultiPrimePrivateCrtKey key)
+    {
+        return toParameters(key.getModulus(), key.getPublicExponent(), key.getPrivateExponent(),
+            key.getPrimeP(), key.getPrimeQ(), key.getPrimeExponentP(), key.getPrimeExponentQ(),
+            key.getCrtCoefficient(), key.getOtherPrimeInfo());
+    }
+
+    private static RSAMultiPrimePrivateCrtKeyParameters toParameters(BigInteger modulus, BigInteger publicExponent,
+        BigInteger privateExponent, BigInteger p, BigInteger q, BigInteger dP, BigInteger dQ, BigInteger qInv,
+        RSAOtherPrimeInfo[] otherPrimeInfo)
+    {
+        if (otherPrimeInfo == null)
+        {
+            throw new IllegalArgumentException("multi-prime key requires other prime information");
+        }
+
+        BigInteger[] primes = new BigInteger[otherPrimeInfo.length];
+        BigInteger[] exponents = new BigInteger[otherPrimeInfo.length];
+        BigInteger[] coefficients = new BigInteger[otherPrimeInfo.length];
+
+        for (int i = 0; i != otherPrimeInfo.length; i++)
+        {
+            primes[i] = otherPrimeInfo[i].getPrime();
+            exponents[i] = otherPrimeInfo[i].getExponent();
+            coefficients[i] = otherPrimeInfo[i].getCrtCoefficient();
+        }
+
+        return new RSAMultiPrimePrivateCrtKeyParameters(modulus, publicExponent, privateExponent,
+            p, q, dP, dQ, qInv, primes, exponents, coefficients);
+    }
+
+    private static RSAMultiPrimePrivateCrtKeyParameters toParameters(RSAPrivateKey key)
+    {
+        OtherPrimeInfo[] otherPrimeInfos = key.getOtherPrimeInfos();
+        if (otherPrimeInfos == null)
+        {
+            throw new IllegalArgumentException("multi-prime key requires other prime information");
+        }
+
+        BigInteger[] primes = new BigInteger[otherPrimeInfos.length];
+        BigInteger[] exponents = new BigInteger[otherPrimeInfos.length];
+        BigInteger[] coefficients = new BigInteger[otherPrimeInfos.length];
+
+        for (int i = 0; i != otherPrimeInfos.length; i++)
+        {
+            primes[i] = otherPrimeInfos[i].getPrime();
+            exponents[i] = otherPrimeInfos[i].getExponent();
+            coefficients[i] = otherPrimeInfos[i].getCoefficient();
+        }
+
+        return new RSAMultiPrimePrivateCrtKeyParameters(key.getModulus(), key.getPublicExponent(),
+            key.getPrivateExponent(), key.getPrime1(), key.getPrime2(), key.getExponent1(), key.getExponent2(),
+            key.getCoefficient(), primes, exponents, coefficients);
+    }
+
+    /**
+     * Return a PKCS8 representation of the key. The sequence returned
+     * represents a full PrivateKeyInfo object.
+     *
+     * @return a PKCS8 representation of the key.
+     */
+    public byte[] getEncoded()
+    {
+        OtherPrimeInfo[] otherPrimeInfos = new OtherPrimeInfo[otherPrimes.length];
+        for (int i = 0; i != otherPrimes.length; i++)
+        {
+            otherPrimeInfos[i] = new OtherPrimeInfo(otherPrimes[i], otherExponents[i], otherCoefficients[i]);
+        }
+
+        return KeyUtil.getEncodedPrivateKeyInfo(algorithmIdentifier, new RSAPrivateKey(getModulus(), getPublicExponent(), getPrivateExponent(), getPrimeP(), getPrimeQ(), getPrimeExponentP(), getPrimeExponentQ(), getCrtCoefficient(), otherPrimeInfos));
+    }
+
+    /**
+     * return the information for the primes after P and Q.
+     *
+     * @return the other prime information.
+     */
+    public RSAOtherPrimeInfo[] getOtherPrimeInfo()
+    {
+        RSAOtherPrimeInfo[] infos = new RSAOtherPrimeInfo[otherPrimes.length];
+        for (int i = 0; i != otherPrimes.length; i++)
+        {
+            infos[i] = new RSAOtherPrimeInfo(otherPrimes[i], otherExponents[i], otherCoefficients[i]);
+        }
+
+        return infos;
+    }
+
+    public boolean equals(Object o)
+    {
+        if (o == this)
+        {
+            return true;
+        }
+
+        if (!(o instanceof RSAMultiPrimePrivateCrtKey))
+        {
+            return false;
+        }
+
+        RSAMultiPrimePrivateCrtKey key = (RSAMultiPrimePrivateCrtKey)o;
+
+        if (!(this.getModulus().equals(key.getModulus())
+            && this.getPublicExponent().equals(key.getPublicExponent())
+            && this.getPrivateExponent().equals(key.getPrivateExponent())
+            && this.getPrimeP().equals(key.getPrimeP())
+            && this.getPrimeQ().equals(key.getPrimeQ())
+            && this.getPrimeExponentP().equals(key.getPrimeExponentP())
+            && this.getPrimeExponentQ().equals(key.getPrimeExponentQ())
+            && this.getCrtCoefficient().equals(key.getCrtCoefficient())))
+        {
+            return false;
+        }
+
+        RSAOtherPrimeInfo[] otherPrimeInfo = key.getOtherPrimeInfo();
+        if (otherPrimeInfo == null || otherPrimeInfo.length != otherPrimes.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i != otherPrimes.length; i++)
+        {
+            if (!(otherPrimes[i].equals(otherPrimeInfo[i].getPrime())
+                && otherExponents[i].equals(otherPrimeInfo[i].getExponent())
+                && otherCoefficients[i].equals(otherPrimeInfo[i].getCrtCoefficient())))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void readObject(
+        ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+
+        this.rsaPrivateKey = new RSAMultiPrimePrivateCrtKeyParameters(this.getModulus(),
+                                        this.getPublicExponent(), this.getPrivateExponent(),
+                                        this.getPrimeP(), this.getPrimeQ(),
+                                        this.getPrimeExponentP(), this.getPrimeExponentQ(), this.getCrtCoefficient(),
+                                        otherPrimes, otherExponents, otherCoefficients);
+    }
+
+    private void writeObject(
+        ObjectOutputStream out)
+        throws IOException
+    {
+        out.defaultWriteObject();
+    }
+}
@@ -5,11 +5,13 @@
 import java.security.Key;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.RSAMultiPrimePrivateCrtKey;
 import java.security.interfaces.RSAPrivateCrtKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAMultiPrimePrivateCrtKeySpec;
 import java.security.spec.RSAPrivateCrtKeySpec;
 import java.security.spec.RSAPrivateKeySpec;
 import java.security.spec.RSAPublicKeySpec;
@@ -46,7 +48,20 @@ protected KeySpec engineGetKeySpec(
 
             return new RSAPublicKeySpec(k.getModulus(), k.getPublicExponent());
         }
-        else if ((spec.isAssignableFrom(KeySpec.class) || spec.isAssignableFrom(RSAPrivateCrtKeySpec.class)) && key instanceof RSAPrivateCrtKey)
+        else if ((spec.isAssignableFrom(KeySpec.class) || spec.isAssignableFrom(RSAMultiPrimePrivateCrtKeySpec.class)) && key instanceof RSAMultiPrimePrivateCrtKey)
+        {
+            RSAMultiPrimePrivateCrtKey k = (RSAMultiPrimePrivateCrtKey)key;
+
+            return new RSAMultiPrimePrivateCrtKeySpec(
+                k.getModulus(), k.getPublicExponent(),
+                k.getPrivateExponent(),
+                k.getPrimeP(), k.getPrimeQ(),
+                k.getPrimeExponentP(), k.getPrimeExponentQ(),
+                k.getCrtCoefficient(), k.getOtherPrimeInfo());
+        }
+        // the CRT values of a multi-prime key only describe part of it, so a two-prime spec cannot be produced.
+        else if ((spec.isAssignableFrom(KeySpec.class) || spec.isAssignableFrom(RSAPrivateCrtKeySpec.class)) && key instanceof RSAPrivateCrtKey
+            && !(key instanceof RSAMultiPrimePrivateCrtKey))
         {
             RSAPrivateCrtKey k = (RSAPrivateCrtKey)key;
 
@@ -81,7 +96,8 @@ else if (spec.isAssignableFrom(OpenSSHPublicKeySpec.class) && key instanceof RSA
                 throw new IllegalArgumentException("unable to produce encoding: " + e.getMessage());
             }
         }
-        else if (spec.isAssignableFrom(OpenSSHPrivateKeySpec.class) && key instanceof RSAPrivateCrtKey)
+        else if (spec.isAssignableFrom(OpenSSHPrivateKeySpec.class) && key instanceof RSAPrivateCrtKey
+            && !(key instanceof RSAMultiPrimePrivateCrtKey))
         {
             try
             {
@@ -113,6 +129,10 @@ protected Key engineTranslateKey(
         {
             return new BCRSAPublicKey((RSAPublicKey)key);
         }
+        else if (key instanceof RSAMultiPrimePrivateCrtKey)
+        {
+            return new BCRSAMultiPrimePrivateCrtKey((RSAMultiPrimePrivateCrtKey)key);
+        }
         else if (key instanceof RSAPrivateCrtKey)
         {
             return new BCRSAPrivateCrtKey((RSAPrivateCrtKey)key);
@@ -142,8 +162,14 @@ protected PrivateKey engineGeneratePrivate(
                 //
                 try
                 {
-                    return new BCRSAPrivateCrtKey(
-                        RSAPrivateKey.getInstance(((PKCS8EncodedKeySpec)keySpec).getEncoded()));
+                    RSAPrivateKey rsaPrivKey = RSAPrivateKey.getInstance(((PKCS8EncodedKeySpec)keySpec).getEncoded());
+
+                    if (rsaPrivKey.getOtherPrimeInfos() != null)
+                    {
+                        return new BCRSAMultiPrimePrivateCrtKey(BCRSAPublicKey.DEFAULT_ALGORITHM_IDENTIFIER, rsaPrivKey);
+                    }
+
+                    return new BCRSAPrivateCrtKey(rsaPrivKey);
                 }
                 catch (Exception ex)
                 {
@@ -151,6 +177,19 @@ protected PrivateKey engineGeneratePrivate(
                 }
             }
         }
+        else if (keySpec instanceof RSAMultiPrimePrivateCrtKeySpec)
+        {
+            RSAMultiPrimePrivateCrtKeySpec spec = (RSAMultiPrimePrivateCrtKeySpec)keySpec;
+
+            if (spec.getOtherPrimeInfo() == null)
+            {
+                return new BCRSAPrivateCrtKey(new RSAPrivateCrtKeySpec(spec.getModulus(), spec.getPublicExponent(),
+                    spec.getPrivateExponent(), spec.getPrimeP(), spec.getPrimeQ(), spec.getPrimeExponentP(),
+                    spec.getPrimeExponentQ(), spec.getCrtCoefficient()));
+            }
+
+            return new BCRSAMultiPrimePrivateCrtKey(spec);
+        }
         else if (keySpec instanceof RSAPrivateCrtKeySpec)
         {
             return new BCRSAPrivateCrtKey((RSAPrivateCrtKeySpec)keySpec);
@@ -211,6 +250,10 @@ public PrivateKey generatePrivate(PrivateKeyInfo keyInfo)
             {
                 return new BCRSAPrivateKey(keyInfo.getPrivateKeyAlgorithm(), rsaPrivKey);
             }
+            else if (rsaPrivKey.getOtherPrimeInfos() != null)
+            {
+                return new BCRSAMultiPrimePrivateCrtKey(keyInfo.getPrivateKeyAlgorithm(), rsaPrivKey);
+            }
             else
             {
                 return new BCRSAPrivateCrtKey(keyInfo);
@@ -1,6 +1,7 @@
 package org.bouncycastle.jcajce.provider.asymmetric.rsa;
 
 import java.math.BigInteger;
+import java.security.interfaces.RSAMultiPrimePrivateCrtKey;
 import java.security.interfaces.RSAPrivateCrtKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
@@ -59,7 +60,11 @@ static RSAKeyParameters generatePrivateKeyParameter(
             return ((BCRSAPrivateKey)key).engineGetKeyParameters();
         }
 
-        if (key instanceof RSAPrivateCrtKey)
+        if (key instanceof RSAMultiPrimePrivateCrtKey)
+        {
+            return BCRSAMultiPrimePrivateCrtKey.toParameters((RSAMultiPrimePrivateCrtKey)key);
+        }
+        else if (key instanceof RSAPrivateCrtKey)
         {
             RSAPrivateCrtKey k = (RSAPrivateCrtKey)key;
 
@@ -0,0 +1,14 @@
+package org.bouncycastle.math.raw;
+
+public abstract class Mul64
+{
+    public static boolean isIntrinsic()
+    {
+        return true;
+    }
+
+    public static long multiplyHigh(long x, long y)
+    {
+        return Math.multiplyHigh(x, y);
+    }
+}
@@ -17,6 +17,7 @@
 import java.security.SecureRandom;
 import java.security.Security;
 import java.security.Signature;
+import java.security.interfaces.RSAMultiPrimePrivateCrtKey;
 import java.security.interfaces.RSAPrivateCrtKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
@@ -25,6 +26,7 @@
 import java.security.spec.MGF1ParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.RSAKeyGenParameterSpec;
+import java.security.spec.RSAMultiPrimePrivateCrtKeySpec;
 import java.security.spec.RSAPrivateCrtKeySpec;
 import java.security.spec.RSAPrivateKeySpec;
 import java.security.spec.RSAPublicKeySpec;
@@ -49,11 +51,17 @@
 import org.bouncycastle.asn1.x509.DigestInfo;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.asn1.x509.X509ObjectIdentifiers;
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair;
+import org.bouncycastle.crypto.generators.RSAKeyPairGenerator;
+import org.bouncycastle.crypto.params.RSAKeyGenerationParameters;
+import org.bouncycastle.crypto.params.RSAKeyParameters;
+import org.bouncycastle.crypto.util.PrivateKeyInfoFactory;
 import org.bouncycastle.internal.asn1.oiw.OIWObjectIdentifiers;
 import org.bouncycastle.jcajce.spec.OpenSSHPrivateKeySpec;
 import org.bouncycastle.jcajce.spec.OpenSSHPublicKeySpec;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.Strings;
 import org.bouncycastle.util.encoders.Base64;
 import org.bouncycastle.util.encoders.Hex;
 import org.bouncycastle.util.test.SimpleTest;
@@ -752,6 +760,52 @@ public void performTest()
         oaepDigestCheck("SHA3-512", NISTObjectIdentifiers.id_sha3_512, pub2048Key, priv2048Key, rand, Hex.decode("7b7870bb5ae52276a8b06b59f7321043afb1fa4e5dbca9f14bcce9efaacded531f090646ab0f8701b012cc93c51e0a8591043e6457cde1950f4ffc8ad87d946622ea48a70f95f40c22d88679eb92c10c19db487fd64857d723daf4ccfe749fdd05e6c0be28de57e09d3b5a0981322b6cc7a9743a50eec355a7af5bdcdcddc5e279ad90f599b68c47fdb39916c7a597cf989169e8667fd8602e88c9c128085d0e158ea75eeb37919a91cdf3f2cd5394adaadc4a2f25a6222d2637cb464841dc5820e54843495cb97af6b19edc72f137123813f5d78503232f79e4f617be3a9f09b0206634a2ecfe457dbd71d2d3d8e3dbca486e75e543f559dcea3112ad50a21d"));
 
         testPSSKeys();
+        testMultiPrimeKeys();
+    }
+
+    private void testMultiPrimeKeys()
+        throws Exception
+    {
+        RSAKeyPairGenerator pGen = new RSAKeyPairGenerator();
+
+        pGen.init(new RSAKeyGenerationParameters(BigInteger.valueOf(65537), new SecureRandom(), 1024, 100, 3));
+
+        AsymmetricCipherKeyPair pair = pGen.generateKeyPair();
+        RSAKeyParameters pubParams = (RSAKeyParameters)pair.getPublic();
+
+        KeyFactory kFact = KeyFactory.getInstance("RSA", "BC");
+
+        PrivateKey privKey = kFact.generatePrivate(
+            new PKCS8EncodedKeySpec(PrivateKeyInfoFactory.createPrivateKeyInfo(pair.getPrivate()).getEncoded()));
+        PublicKey pubKey = kFact.generatePublic(new RSAPublicKeySpec(pubParams.getModulus(), pubParams.getExponent()));
+
+        isTrue(privKey instanceof RSAMultiPrimePrivateCrtKey);
+        isTrue(((RSAMultiPrimePrivateCrtKey)privKey).getOtherPrimeInfo().length == 1);
+
+        Signature sig = Signature.getInstance("SHA256withRSA", "BC");
+        byte[] msg = Strings.toByteArray("multi-prime message");
+
+        sig.initSign(privKey);
+        sig.update(msg);
+        byte[] sigBytes = sig.sign();
+
+        sig.initVerify(pubKey);
+        sig.update(msg);
+        isTrue("multi-prime signature failed", sig.verify(sigBytes));
+
+        RSAMultiPrimePrivateCrtKeySpec spec = (RSAMultiPrimePrivateCrtKeySpec)kFact.getKeySpec(privKey, RSAMultiPrimePrivateCrtKeySpec.class);
+        PrivateKey specKey = kFact.generatePrivate(spec);
+
+        isTrue(privKey.equals(specKey));
+        isTrue(Arrays.areEqual(privKey.getEncoded(), specKey.getEncoded()));
+
+        PrivateKey serialKey = (PrivateKey)serializeDeserialize(privKey);
+
+        isTrue(privKey.equals(serialKey));
+
+        sig.initSign(serialKey);
+        sig.update(msg);
+        isTrue(Arrays.areEqual(sigBytes, sig.sign()));
     }
 
     private void testPSSKeys()
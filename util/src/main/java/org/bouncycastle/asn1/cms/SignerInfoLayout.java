@@ -0,0 +1,44 @@
+package org.bouncycastle.asn1.cms;
+
+import org.bouncycastle.asn1.ASN1SequenceLayout;
+import org.bouncycastle.asn1.BERTags;
+
+/**
+ * Field layout of a SignerInfo, for use with {@link ASN1SequenceLayout#decode(java.nio.ByteBuffer)}
+ * and {@link ASN1SequenceLayout#encode(java.nio.ByteBuffer[])}.
+ * <pre>
+ * SignerInfo ::= SEQUENCE {
+ *     version CMSVersion,
+ *     sid SignerIdentifier,
+ *     digestAlgorithm DigestAlgorithmIdentifier,
+ *     signedAttrs [0] IMPLICIT SignedAttributes OPTIONAL,
+ *     signatureAlgorithm SignatureAlgorithmIdentifier,
+ *     signature SignatureValue,
+ *     unsignedAttrs [1] IMPLICIT UnsignedAttributes OPTIONAL
+ * }
+ * </pre>
+ */
+public final class SignerInfoLayout
+{
+    public static final int VERSION = 0;
+    public static final int SID = 1;
+    public static final int DIGEST_ALGORITHM = 2;
+    public static final int SIGNED_ATTRS = 3;
+    public static final int SIGNATURE_ALGORITHM = 4;
+    public static final int SIGNATURE = 5;
+    public static final int UNSIGNED_ATTRS = 6;
+
+    public static final ASN1SequenceLayout LAYOUT = new ASN1SequenceLayout.Builder()
+        .addField(BERTags.UNIVERSAL, BERTags.INTEGER)
+        .addAnyField()
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 0)
+        .addField(BERTags.UNIVERSAL, BERTags.SEQUENCE)
+        .addField(BERTags.UNIVERSAL, BERTags.OCTET_STRING)
+        .addOptionalField(BERTags.CONTEXT_SPECIFIC, 1)
+        .build();
+
+    private SignerInfoLayout()
+    {
+    }
+}